@@ -0,0 +1,70 @@
+package io.github.vazh;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+/**
+ * Entity manager factory of the data backed benchmarks.
+ * <p>
+ * The schema is created by Hibernate in an in-memory H2 database running in PostgreSQL mode, so the benchmarks need
+ * neither a database server nor Docker. Connections are pooled like in the application, and the second level cache is
+ * disabled to measure the queries themselves.
+ */
+public final class BenchmarkPersistence {
+
+    private static final String URL = "jdbc:h2:mem:%s;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+
+    private BenchmarkPersistence() {}
+
+    /**
+     * Create an entity manager factory on a new empty database.
+     *
+     * @param databaseName the name of the in-memory database.
+     * @return the entity manager factory, to be closed by the caller.
+     */
+    public static EntityManagerFactory createEntityManagerFactory(String databaseName) {
+        return createEntityManagerFactory(databaseName, Map.of());
+    }
+
+    /**
+     * Create an entity manager factory on an in-memory database, with additional Hibernate settings.
+     *
+     * @param databaseName the name of the in-memory database.
+     * @param properties the Hibernate settings, overriding the default ones.
+     * @return the entity manager factory, to be closed by the caller.
+     */
+    public static EntityManagerFactory createEntityManagerFactory(String databaseName, Map<String, Object> properties) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(URL.formatted(databaseName));
+
+        Map<String, Object> jpaProperties = new HashMap<>(
+            Map.of(
+                "hibernate.hbm2ddl.auto",
+                "create-drop",
+                "hibernate.physical_naming_strategy",
+                "org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy",
+                "hibernate.cache.use_second_level_cache",
+                "false",
+                "hibernate.jdbc.batch_size",
+                "25",
+                "hibernate.order_inserts",
+                "true",
+                "hibernate.id.optimizer.pooled.preferred",
+                "pooled-lo"
+            )
+        );
+        jpaProperties.putAll(properties);
+
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan("io.github.vazh.domain");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(jpaProperties);
+        factoryBean.afterPropertiesSet();
+        return factoryBean.getObject();
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.vazh.config;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import java.io.IOException;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import org.hibernate.cache.spi.support.AbstractReadWriteAccess;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.redisson.client.codec.Codec;
+import org.redisson.codec.SerializationCodec;
+
+/**
+ * Compares {@link HibernateCacheCodec} with the {@link SerializationCodec} previously used for the Hibernate cache.
+ * <p>
+ * The encoded size of each entry is printed when the trial starts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class HibernateCacheCodecBenchmark {
+
+    @Param({ "java", "binary", "binary-lz4" })
+    private String codecName;
+
+    @Param({ "employee", "job-tasks" })
+    private String entryName;
+
+    private Codec codec;
+    private Object entry;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() throws IOException {
+        codec = switch (codecName) {
+            case "java" -> new SerializationCodec();
+            case "binary" -> new HibernateCacheCodec(null, 0);
+            default -> new HibernateCacheCodec(null, 64);
+        };
+        entry = "employee".equals(entryName) ? employeeItem() : jobTasksItem();
+        ByteBuf buf = codec.getValueEncoder().encode(entry);
+        encoded = ByteBufUtil.getBytes(buf);
+        buf.release();
+        System.out.printf("%n%s codec, %s entry: %d bytes%n", codecName, entryName, encoded.length);
+    }
+
+    @Benchmark
+    public int encode() throws IOException {
+        ByteBuf buf = codec.getValueEncoder().encode(entry);
+        int size = buf.readableBytes();
+        buf.release();
+        return size;
+    }
+
+    @Benchmark
+    public Object decode() throws IOException {
+        return codec.getValueDecoder().decode(Unpooled.wrappedBuffer(encoded), null);
+    }
+
+    private static AbstractReadWriteAccess.Item employeeItem() {
+        Serializable[] state = new Serializable[] {
+            "Anna",
+            "Smith",
+            "anna.smith@example.com",
+            "+33 6 12 34 56 78",
+            Instant.parse("2024-06-26T18:08:03Z"),
+            12_500L,
+            new BigDecimal("0.15"),
+            4L,
+            12L,
+        };
+        return HibernateCacheCodec.newItem(
+            HibernateCacheCodec.newEntityEntry(state, "io.github.vazh.domain.Employee", null),
+            null,
+            7_429_116_530_917_376L
+        );
+    }
+
+    private static AbstractReadWriteAccess.Item jobTasksItem() {
+        Serializable[] taskIds = LongStream.rangeClosed(1_000, 1_050).boxed().toArray(Serializable[]::new);
+        return HibernateCacheCodec.newItem(HibernateCacheCodec.newCollectionEntry(taskIds), null, 7_429_116_530_917_376L);
+    }
+}
@@ -0,0 +1,118 @@
+package io.github.vazh.domain;
+
+import io.github.vazh.BenchmarkPersistence;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.boot.model.naming.Identifier;
+import org.hibernate.engine.jdbc.env.spi.JdbcEnvironment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the batched inserts of 16 concurrent writers, each transaction inserting departments, employees and tasks.
+ * <p>
+ * {@code shared} is the former mapping, all the entities calling the single {@code sequence_generator} with the pooled
+ * optimizer. {@code per-entity} is the current one, each entity calling its own sequence with the pooled-lo optimizer.
+ * Both reserve blocks of 50 ids.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@Threads(16)
+@State(Scope.Benchmark)
+public class EntitySequenceBenchmark {
+
+    @Param({ "shared", "per-entity" })
+    private String sequences;
+
+    @Param({ "25" })
+    private int rowsPerEntity;
+
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManagerFactory schemaEntityManagerFactory;
+
+    @Setup
+    public void setupDatabase() {
+        if ("per-entity".equals(sequences)) {
+            entityManagerFactory = BenchmarkPersistence.createEntityManagerFactory("sequences-per-entity");
+            return;
+        }
+        // The schema is created with the current mapping, sequence_generator included as User still uses it
+        schemaEntityManagerFactory = BenchmarkPersistence.createEntityManagerFactory("sequences-shared");
+        entityManagerFactory = BenchmarkPersistence.createEntityManagerFactory(
+            "sequences-shared",
+            Map.of(
+                "hibernate.hbm2ddl.auto",
+                "none",
+                "hibernate.physical_naming_strategy",
+                new SharedSequenceNamingStrategy(),
+                "hibernate.id.optimizer.pooled.preferred",
+                "pooled"
+            )
+        );
+    }
+
+    /**
+     * Keeps the in-memory database from growing for the whole run.
+     */
+    @Setup(Level.Iteration)
+    public void deleteRows() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        entityManager.createQuery("delete from Employee").executeUpdate();
+        entityManager.createQuery("delete from Department").executeUpdate();
+        entityManager.createQuery("delete from Task").executeUpdate();
+        entityManager.getTransaction().commit();
+        entityManager.close();
+    }
+
+    @TearDown
+    public void closeDatabase() {
+        entityManagerFactory.close();
+        if (schemaEntityManagerFactory != null) {
+            schemaEntityManagerFactory.close();
+        }
+    }
+
+    @Benchmark
+    public void insert() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        for (int i = 0; i < rowsPerEntity; i++) {
+            Department department = new Department().departmentName("Department " + i);
+            entityManager.persist(department);
+            entityManager.persist(new Employee().firstName("First " + i).lastName("Last " + i).department(department));
+            entityManager.persist(new Task().title("Task " + i));
+        }
+        entityManager.getTransaction().commit();
+        entityManager.close();
+    }
+
+    /**
+     * Maps every sequence to {@code sequence_generator}, like the former {@code @SequenceGenerator(name = "sequenceGenerator")}.
+     */
+    public static class SharedSequenceNamingStrategy extends CamelCaseToUnderscoresNamingStrategy {
+
+        @Override
+        public Identifier toPhysicalSequenceName(Identifier logicalName, JdbcEnvironment jdbcEnvironment) {
+            return Identifier.toIdentifier("sequence_generator");
+        }
+    }
+}
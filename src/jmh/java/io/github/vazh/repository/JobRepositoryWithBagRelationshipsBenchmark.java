@@ -0,0 +1,102 @@
+package io.github.vazh.repository;
+
+import io.github.vazh.BenchmarkPersistence;
+import io.github.vazh.domain.Job;
+import io.github.vazh.domain.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Benchmark of {@link JobRepositoryWithBagRelationshipsImpl#fetchBagRelationships(List)}, the second query loading the
+ * tasks of a page of jobs.
+ * <p>
+ * Each invocation gets a fresh persistence context holding the page of jobs, like a list request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class JobRepositoryWithBagRelationshipsBenchmark {
+
+    private static final int JOBS = 1_000;
+    private static final int TASKS = 200;
+
+    @Param({ "20", "100" })
+    private int pageSize;
+
+    @Param({ "1", "10" })
+    private int tasksPerJob;
+
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private BagRelationshipFetcher bagRelationshipFetcher;
+    private JobRepositoryWithBagRelationshipsImpl repository;
+    private List<Job> page;
+
+    @Setup
+    public void setupDatabase() {
+        entityManagerFactory = BenchmarkPersistence.createEntityManagerFactory("fetch-tasks-" + pageSize + "-" + tasksPerJob);
+        Random random = new Random(42);
+        EntityManager setupEntityManager = entityManagerFactory.createEntityManager();
+        setupEntityManager.getTransaction().begin();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            Task task = new Task().title("Task " + i).description("Description of the task " + i);
+            setupEntityManager.persist(task);
+            tasks.add(task);
+        }
+        for (int i = 0; i < JOBS; i++) {
+            Job job = new Job().jobTitle("Job " + i).minSalary(30_000L).maxSalary(90_000L);
+            for (int t = 0; t < tasksPerJob; t++) {
+                job.addTask(tasks.get(random.nextInt(TASKS)));
+            }
+            setupEntityManager.persist(job);
+        }
+        setupEntityManager.getTransaction().commit();
+        setupEntityManager.close();
+        bagRelationshipFetcher = new BagRelationshipFetcher();
+        repository = new JobRepositoryWithBagRelationshipsImpl(bagRelationshipFetcher);
+    }
+
+    @Setup(Level.Invocation)
+    public void loadPage() {
+        entityManager = entityManagerFactory.createEntityManager();
+        ReflectionTestUtils.setField(bagRelationshipFetcher, "entityManager", entityManager);
+        page = entityManager.createQuery("select job from Job job order by job.id", Job.class).setMaxResults(pageSize).getResultList();
+    }
+
+    @TearDown(Level.Invocation)
+    public void closePage() {
+        entityManager.close();
+    }
+
+    @TearDown
+    public void closeDatabase() {
+        entityManagerFactory.close();
+    }
+
+    @Benchmark
+    public List<Job> fetchBagRelationships() {
+        return repository.fetchBagRelationships(page);
+    }
+}
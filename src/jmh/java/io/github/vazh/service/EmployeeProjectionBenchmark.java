@@ -0,0 +1,168 @@
+package io.github.vazh.service;
+
+import io.github.vazh.BenchmarkPersistence;
+import io.github.vazh.config.ApplicationProperties;
+import io.github.vazh.domain.Department;
+import io.github.vazh.domain.Employee;
+import io.github.vazh.repository.CriteriaProjectionRepository;
+import io.github.vazh.repository.QueryPlanRepository;
+import io.github.vazh.repository.QueryPlanStatements;
+import io.github.vazh.service.criteria.EmployeeCriteria;
+import io.github.vazh.service.dto.EmployeeDTO;
+import io.github.vazh.service.mapper.EmployeeMapper;
+import io.github.vazh.service.mapper.EmployeeMapperImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Benchmark of a page of employees read through {@link EmployeeQueryService#findSliceByCriteria(EmployeeCriteria, Pageable, Set)}.
+ * <p>
+ * {@code entities} is the former implementation, loading the managed entities then mapping them with {@link EmployeeMapper}.
+ * {@code projection} is the current one, reading only the columns of the DTO through a cached query plan. {@code sparseProjection} reads only the
+ * columns of the sparse fieldset of a list showing the names.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class EmployeeProjectionBenchmark {
+
+    private static final int DEPARTMENTS = 20;
+    private static final int EMPLOYEES = 5_000;
+    private static final Set<String> NAME_FIELDS = Set.of("id", "firstName", "lastName");
+
+    @Param({ "20", "200" })
+    private int pageSize;
+
+    private EntityManagerFactory entityManagerFactory;
+    private QueryPlanRepository queryPlanRepository;
+    private EmployeeQueryService employeeQueryService;
+    private final EmployeeMapper employeeMapper = new EmployeeMapperImpl();
+    private Pageable page;
+
+    @Setup
+    public void setupDatabase() {
+        entityManagerFactory = BenchmarkPersistence.createEntityManagerFactory("employee-projection-" + pageSize);
+        EntityManager setupEntityManager = entityManagerFactory.createEntityManager();
+        setupEntityManager.getTransaction().begin();
+        List<Department> departments = new ArrayList<>();
+        for (int i = 0; i < DEPARTMENTS; i++) {
+            Department department = new Department().departmentName("Department " + i);
+            setupEntityManager.persist(department);
+            departments.add(department);
+        }
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < EMPLOYEES; i++) {
+            Employee employee = new Employee()
+                .firstName("First " + i)
+                .lastName("Last " + i)
+                .email("employee" + i + "@localhost")
+                .phoneNumber("+33 1 00 00 00 00")
+                .hireDate(Instant.parse("2020-01-01T00:00:00Z"))
+                .salary(30_000L + i)
+                .commissionPct(5L)
+                .department(departments.get(i % DEPARTMENTS))
+                .manager(i == 0 ? null : employees.get((i - 1) / 5));
+            setupEntityManager.persist(employee);
+            employees.add(employee);
+        }
+        setupEntityManager.getTransaction().commit();
+        setupEntityManager.close();
+        queryPlanRepository = new QueryPlanRepository(new QueryPlanStatements(new ApplicationProperties()));
+        QueryPlanCache queryPlanCache = new QueryPlanCache(new ApplicationProperties(), new SimpleMeterRegistry());
+        employeeQueryService = new EmployeeQueryService(
+            null,
+            employeeMapper,
+            null,
+            null,
+            new CriteriaProjectionRepository(),
+            queryPlanRepository,
+            queryPlanCache
+        );
+        page = PageRequest.of(3, pageSize, Sort.by("lastName"));
+    }
+
+    @TearDown
+    public void closeDatabase() {
+        entityManagerFactory.close();
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> entities() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            Specification<Employee> specification = employeeQueryService.createSpecification(new EmployeeCriteria());
+            CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+            CriteriaQuery<Employee> query = builder.createQuery(Employee.class);
+            Root<Employee> root = query.from(Employee.class);
+            Predicate predicate = specification.toPredicate(root, query, builder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+            query.select(root).orderBy(QueryUtils.toOrders(page.getSort(), root, builder));
+            return entityManager
+                .createQuery(query)
+                .setFirstResult((int) page.getOffset())
+                .setMaxResults(page.getPageSize() + 1)
+                .getResultList()
+                .stream()
+                .limit(page.getPageSize())
+                .map(employeeMapper::toDto)
+                .toList();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> projection() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        ReflectionTestUtils.setField(queryPlanRepository, "entityManager", entityManager);
+        try {
+            return employeeQueryService.findSliceByCriteria(new EmployeeCriteria(), page, null).getContent();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> sparseProjection() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        ReflectionTestUtils.setField(queryPlanRepository, "entityManager", entityManager);
+        try {
+            return employeeQueryService.findSliceByCriteria(new EmployeeCriteria(), page, NAME_FIELDS).getContent();
+        } finally {
+            entityManager.close();
+        }
+    }
+}
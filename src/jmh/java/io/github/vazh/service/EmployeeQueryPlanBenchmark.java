@@ -0,0 +1,156 @@
+package io.github.vazh.service;
+
+import io.github.vazh.BenchmarkPersistence;
+import io.github.vazh.config.ApplicationProperties;
+import io.github.vazh.domain.Department;
+import io.github.vazh.domain.Employee;
+import io.github.vazh.repository.CriteriaProjectionRepository;
+import io.github.vazh.repository.QueryPlanRepository;
+import io.github.vazh.repository.QueryPlanStatements;
+import io.github.vazh.service.criteria.EmployeeCriteria;
+import io.github.vazh.service.dto.EmployeeDTO;
+import io.github.vazh.service.mapper.EmployeeMapperImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Benchmark of a filtered slice of employees read through {@link EmployeeQueryService#findSliceByCriteria(EmployeeCriteria, Pageable, Set)},
+ * for criteria of growing complexity.
+ * <p>
+ * {@code specification} is the former implementation, building a criteria tree from the specification on every call,
+ * which Hibernate translates to SQL again. {@code queryPlan} is the current one, executing the HQL cached for the shape of
+ * the criteria, whose translation Hibernate caches as well.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class EmployeeQueryPlanBenchmark {
+
+    private static final int DEPARTMENTS = 10;
+    private static final int EMPLOYEES = 200;
+
+    @Param({ "1", "3", "6" })
+    private int filters;
+
+    private EntityManagerFactory entityManagerFactory;
+    private CriteriaProjectionRepository criteriaProjectionRepository;
+    private QueryPlanRepository queryPlanRepository;
+    private EmployeeQueryService employeeQueryService;
+    private EmployeeCriteria criteria;
+    private final Pageable page = PageRequest.of(0, 20, Sort.by("lastName"));
+
+    @Setup
+    public void setupDatabase() {
+        entityManagerFactory = BenchmarkPersistence.createEntityManagerFactory("employee-query-plan-" + filters);
+        EntityManager setupEntityManager = entityManagerFactory.createEntityManager();
+        setupEntityManager.getTransaction().begin();
+        List<Department> departments = new ArrayList<>();
+        for (int i = 0; i < DEPARTMENTS; i++) {
+            Department department = new Department().departmentName("Department " + i);
+            setupEntityManager.persist(department);
+            departments.add(department);
+        }
+        for (int i = 0; i < EMPLOYEES; i++) {
+            Employee employee = new Employee()
+                .firstName("First " + i)
+                .lastName(i % 3 == 0 ? "Smith " + i : "Last " + i)
+                .email("employee" + i + "@localhost")
+                .hireDate(Instant.parse("2020-01-01T00:00:00Z").plusSeconds(i * 86_400L))
+                .salary(20_000L + 100L * i)
+                .department(departments.get(i % DEPARTMENTS));
+            setupEntityManager.persist(employee);
+        }
+        setupEntityManager.getTransaction().commit();
+        setupEntityManager.close();
+        criteriaProjectionRepository = new CriteriaProjectionRepository();
+        queryPlanRepository = new QueryPlanRepository(new QueryPlanStatements(new ApplicationProperties()));
+        QueryPlanCache queryPlanCache = new QueryPlanCache(new ApplicationProperties(), new SimpleMeterRegistry());
+        employeeQueryService = new EmployeeQueryService(
+            null,
+            new EmployeeMapperImpl(),
+            null,
+            null,
+            criteriaProjectionRepository,
+            queryPlanRepository,
+            queryPlanCache
+        );
+        criteria = criteria(filters);
+    }
+
+    @TearDown
+    public void closeDatabase() {
+        entityManagerFactory.close();
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> specification() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        ReflectionTestUtils.setField(criteriaProjectionRepository, "entityManager", entityManager);
+        try {
+            return criteriaProjectionRepository
+                .findSlice(
+                    Employee.class,
+                    employeeQueryService.createSpecification(criteria),
+                    root -> EmployeeQueryService.projection(root, null),
+                    page
+                )
+                .map(EmployeeQueryService::toDto)
+                .getContent();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> queryPlan() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        ReflectionTestUtils.setField(queryPlanRepository, "entityManager", entityManager);
+        try {
+            return employeeQueryService.findSliceByCriteria(criteria, page, null).getContent();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private static EmployeeCriteria criteria(int filters) {
+        EmployeeCriteria criteria = new EmployeeCriteria();
+        if (filters >= 1) {
+            criteria.lastName().setContains("mit");
+        }
+        if (filters >= 3) {
+            criteria.salary().setGreaterThanOrEqual(30_000L);
+            criteria.hireDate().setGreaterThan(Instant.parse("2020-01-01T00:00:00Z"));
+        }
+        if (filters >= 6) {
+            criteria.email().setSpecified(true);
+            criteria.departmentId().setEquals(4L);
+            criteria.jobId().setIn(List.of(1L, 2L, 3L));
+        }
+        return criteria;
+    }
+}
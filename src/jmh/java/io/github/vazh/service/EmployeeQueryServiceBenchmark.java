@@ -0,0 +1,93 @@
+package io.github.vazh.service;
+
+import io.github.vazh.BenchmarkPersistence;
+import io.github.vazh.domain.Employee;
+import io.github.vazh.service.criteria.EmployeeCriteria;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Benchmark of {@link EmployeeQueryService#createSpecification(EmployeeCriteria)} for criteria of growing complexity,
+ * alone and followed by the creation of the JPA predicate, which is where the joins and paths are resolved.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class EmployeeQueryServiceBenchmark {
+
+    @Param({ "0", "1", "3", "6" })
+    private int filters;
+
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private EmployeeQueryService employeeQueryService;
+    private EmployeeCriteria criteria;
+
+    @Setup
+    public void setup() {
+        // Bootstrapping Hibernate also fills the static metamodel used by the specifications
+        entityManagerFactory = BenchmarkPersistence.createEntityManagerFactory("employee-query-service-" + filters);
+        entityManager = entityManagerFactory.createEntityManager();
+        employeeQueryService = new EmployeeQueryService(null, null, null, null, null, null, null);
+        criteria = criteria(filters);
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManager.close();
+        entityManagerFactory.close();
+    }
+
+    @Benchmark
+    public Specification<Employee> createSpecification() {
+        return employeeQueryService.createSpecification(criteria);
+    }
+
+    @Benchmark
+    public Predicate createPredicate() {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Employee> query = builder.createQuery(Employee.class);
+        Root<Employee> root = query.from(Employee.class);
+        return employeeQueryService.createSpecification(criteria).toPredicate(root, query, builder);
+    }
+
+    private static EmployeeCriteria criteria(int filters) {
+        EmployeeCriteria criteria = new EmployeeCriteria();
+        if (filters >= 1) {
+            criteria.lastName().setContains("mit");
+        }
+        if (filters >= 3) {
+            criteria.salary().setGreaterThanOrEqual(30_000L);
+            criteria.hireDate().setGreaterThan(Instant.parse("2020-01-01T00:00:00Z"));
+        }
+        if (filters >= 6) {
+            criteria.email().setSpecified(true);
+            criteria.departmentId().setEquals(4L);
+            criteria.jobId().setIn(List.of(1L, 2L, 3L));
+        }
+        return criteria;
+    }
+}
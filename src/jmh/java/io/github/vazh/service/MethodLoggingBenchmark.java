@@ -0,0 +1,90 @@
+package io.github.vazh.service;
+
+import io.github.vazh.aop.logging.LoggingAspect;
+import io.github.vazh.aop.logging.LoggingClassFilter;
+import io.github.vazh.aop.logging.LoggingInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.stereotype.Service;
+import tech.jhipster.config.JHipsterConstants;
+
+/**
+ * Benchmark of the per-call overhead of the entry/exit logging of the beans, with the debug level disabled as usual.
+ * <p>
+ * {@code direct} calls the bean without any proxy, {@code loggingAspect} through the {@link LoggingAspect} resolving the
+ * logger of the join point on every call, and {@code loggingInterceptor} through the {@link LoggingInterceptor} of the
+ * sampled mode. The bean lives in the service package to be matched by the pointcuts of the aspect.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class MethodLoggingBenchmark {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Greeter direct = new Greeter();
+    private Greeter loggingAspect;
+    private Greeter loggingInterceptor;
+
+    @Setup
+    public void setupProxies() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.setActiveProfiles(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT);
+        AspectJProxyFactory aspectProxyFactory = new AspectJProxyFactory(new Greeter());
+        aspectProxyFactory.setProxyTargetClass(true);
+        aspectProxyFactory.addAspect(new LoggingAspect(environment));
+        loggingAspect = aspectProxyFactory.getProxy();
+
+        ProxyFactory interceptorProxyFactory = new ProxyFactory(new Greeter());
+        interceptorProxyFactory.setProxyTargetClass(true);
+        interceptorProxyFactory.addAdvisor(
+            new DefaultPointcutAdvisor(
+                new ComposablePointcut(new LoggingClassFilter(List.of("io.github.vazh.service"), List.of())),
+                new LoggingInterceptor(() -> meterRegistry, 0.01, false)
+            )
+        );
+        loggingInterceptor = (Greeter) interceptorProxyFactory.getProxy();
+    }
+
+    @Benchmark
+    public String direct() {
+        return direct.greet("Ada", 36);
+    }
+
+    @Benchmark
+    public String loggingAspect() {
+        return loggingAspect.greet("Ada", 36);
+    }
+
+    @Benchmark
+    public String loggingInterceptor() {
+        return loggingInterceptor.greet("Ada", 36);
+    }
+
+    @Service
+    public static class Greeter {
+
+        public String greet(String name, int age) {
+            return name + " (" + age + ")";
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.vazh.service.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.github.vazh.config.JacksonConfiguration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the Jackson serialization of a page of {@link EmployeeDTO}, with the modules of {@link JacksonConfiguration}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class EmployeeDTOSerializationBenchmark {
+
+    @Param({ "20", "100", "1000" })
+    private int size;
+
+    private ObjectWriter writer;
+    private List<EmployeeDTO> employees;
+
+    @Setup
+    public void setup() {
+        JacksonConfiguration jacksonConfiguration = new JacksonConfiguration();
+        writer = JsonMapper.builder()
+            .addModules(jacksonConfiguration.javaTimeModule(), jacksonConfiguration.jdk8TimeModule(), jacksonConfiguration.hibernate6Module())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build()
+            .writerFor(new TypeReference<List<EmployeeDTO>>() {});
+
+        employees = new ArrayList<>(size);
+        for (long i = 0; i < size; i++) {
+            EmployeeDTO manager = new EmployeeDTO();
+            manager.setId(i / 10);
+            DepartmentDTO department = new DepartmentDTO();
+            department.setId(i % 7);
+
+            EmployeeDTO employee = new EmployeeDTO();
+            employee.setId(i);
+            employee.setFirstName("First" + i);
+            employee.setLastName("Last" + i);
+            employee.setEmail("employee" + i + "@example.com");
+            employee.setPhoneNumber("+33 6 12 34 56 78");
+            employee.setHireDate(Instant.parse("2024-06-26T18:08:03Z").plusSeconds(i * 3_600));
+            employee.setSalary(40_000L + i);
+            employee.setCommissionPct(i % 20);
+            employee.setManager(manager);
+            employee.setDepartment(department);
+            employees.add(employee);
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return writer.writeValueAsBytes(employees);
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.vazh.service.mapper;
+
+import io.github.vazh.domain.Department;
+import io.github.vazh.domain.Employee;
+import io.github.vazh.domain.Job;
+import io.github.vazh.domain.Task;
+import io.github.vazh.service.dto.EmployeeDTO;
+import io.github.vazh.service.dto.JobDTO;
+import io.github.vazh.service.dto.TaskDTO;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the MapStruct generated {@link EmployeeMapper} and {@link JobMapper}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    private final EmployeeMapper employeeMapper = new EmployeeMapperImpl();
+    private final JobMapper jobMapper = new JobMapperImpl();
+
+    private final Employee employee = new Employee()
+        .id(1500L)
+        .firstName("Anna")
+        .lastName("Smith")
+        .email("anna.smith@example.com")
+        .phoneNumber("+33 6 12 34 56 78")
+        .hireDate(Instant.parse("2024-06-26T18:08:03Z"))
+        .salary(52_000L)
+        .commissionPct(15L)
+        .manager(new Employee().id(12L))
+        .department(new Department().id(4L));
+
+    @State(Scope.Benchmark)
+    public static class JobState {
+
+        @Param({ "1", "10", "100" })
+        private int tasksPerJob;
+
+        private Job job;
+
+        @Setup
+        public void setup() {
+            job = new Job().id(42L).jobTitle("Accountant").minSalary(30_000L).maxSalary(90_000L).employee(new Employee().id(1500L));
+            for (long i = 0; i < tasksPerJob; i++) {
+                job.addTask(new Task().id(i).title("Task " + i).description("Description of the task " + i));
+            }
+        }
+    }
+
+    @Benchmark
+    public EmployeeDTO employeeToDto() {
+        return employeeMapper.toDto(employee);
+    }
+
+    @Benchmark
+    public JobDTO jobToDto(JobState state) {
+        return jobMapper.toDto(state.job);
+    }
+
+    @Benchmark
+    public Set<TaskDTO> jobTaskTitleSet(JobState state) {
+        return jobMapper.toDtoTaskTitleSet(state.job.getTasks());
+    }
+}
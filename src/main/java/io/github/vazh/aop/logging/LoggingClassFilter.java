@@ -0,0 +1,66 @@
+package io.github.vazh.aop.logging;
+
+import java.util.List;
+import org.springframework.aop.ClassFilter;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Repository;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Selects the beans advised by the {@link LoggingInterceptor}: the repositories, services and REST controllers of the
+ * application packages, like the pointcuts of {@link LoggingAspect}, except the ones of the disabled packages.
+ * <p>
+ * It is evaluated once per bean when the proxies are created, so a disabled package costs nothing at runtime.
+ */
+public class LoggingClassFilter implements ClassFilter {
+
+    private final List<String> packages;
+
+    private final List<String> disabledPackages;
+
+    /**
+     * @param packages the packages whose beans are advised, sub-packages included.
+     * @param disabledPackages the packages whose beans are not advised, sub-packages included.
+     */
+    public LoggingClassFilter(List<String> packages, List<String> disabledPackages) {
+        this.packages = List.copyOf(packages);
+        this.disabledPackages = List.copyOf(disabledPackages);
+    }
+
+    @Override
+    public boolean matches(Class<?> clazz) {
+        if (isLogged(clazz)) {
+            return true;
+        }
+        // Spring Data repositories are proxies of the annotated interfaces
+        for (Class<?> type : ClassUtils.getAllInterfacesForClassAsSet(clazz)) {
+            if (isLogged(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isLogged(Class<?> type) {
+        String packageName = type.getPackageName();
+        return (
+            isStereotype(type) &&
+            packages.stream().anyMatch(name -> isInPackage(packageName, name)) &&
+            disabledPackages.stream().noneMatch(name -> isInPackage(packageName, name))
+        );
+    }
+
+    private static boolean isStereotype(Class<?> type) {
+        return (
+            AnnotatedElementUtils.hasAnnotation(type, Repository.class) ||
+            AnnotatedElementUtils.hasAnnotation(type, Service.class) ||
+            AnnotatedElementUtils.hasAnnotation(type, RestController.class)
+        );
+    }
+
+    private static boolean isInPackage(String packageName, String name) {
+        return packageName.equals(name) || packageName.startsWith(name + '.');
+    }
+}
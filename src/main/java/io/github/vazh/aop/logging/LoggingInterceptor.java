@@ -0,0 +1,144 @@
+package io.github.vazh.aop.logging;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Lower overhead alternative to {@link LoggingAspect}, logging the same messages.
+ * <p>
+ * The logger, the name and the timer of each method are resolved on its first call on each class of bean, and the
+ * arguments are only rendered when a message is actually written. The calls of a Spring Data repository are logged under
+ * its interface, even for the methods inherited from the generic repository interfaces. Which beans are intercepted is decided once, when they are proxied, see
+ * {@link LoggingClassFilter}. A sample of the calls is timed, the timers being only registered when sampling is
+ * enabled. It is only used in the dev profile, so the stack traces of the exceptions are always logged.
+ */
+public class LoggingInterceptor implements MethodInterceptor {
+
+    static final String METRIC_CALLS = "method.logging.calls";
+
+    private final Map<Class<?>, Map<Method, JoinPoint>> joinPoints = new ConcurrentHashMap<>();
+
+    private final Supplier<MeterRegistry> meterRegistry;
+
+    private final double timingSampleRate;
+
+    private final boolean timingHistogram;
+
+    /**
+     * @param meterRegistry the registry of the timers, resolved on the first call of each method.
+     * @param timingSampleRate the share of the calls timed, from 0 for none to 1 for all of them.
+     * @param timingHistogram whether the timers publish a percentile histogram.
+     */
+    public LoggingInterceptor(Supplier<MeterRegistry> meterRegistry, double timingSampleRate, boolean timingHistogram) {
+        this.meterRegistry = meterRegistry;
+        this.timingSampleRate = timingSampleRate;
+        this.timingHistogram = timingHistogram;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Object target = invocation.getThis();
+        Map<Method, JoinPoint> classJoinPoints = joinPoints.computeIfAbsent(
+            target == null ? invocation.getMethod().getDeclaringClass() : target.getClass(),
+            type -> new ConcurrentHashMap<>()
+        );
+        JoinPoint joinPoint = classJoinPoints.get(invocation.getMethod());
+        if (joinPoint == null) {
+            joinPoint = classJoinPoints.computeIfAbsent(invocation.getMethod(), method -> joinPoint(loggedClass(target, method), method));
+        }
+        Logger log = joinPoint.log();
+        if (log.isDebugEnabled()) {
+            log.debug("Enter: {}() with argument[s] = {}", joinPoint.name(), new Arguments(invocation.getArguments()));
+        }
+        long start = timingSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < timingSampleRate ? System.nanoTime() : 0;
+        try {
+            Object result = invocation.proceed();
+            if (log.isDebugEnabled()) {
+                log.debug("Exit: {}() with result = {}", joinPoint.name(), result);
+            }
+            return result;
+        } catch (Throwable e) {
+            if (e instanceof IllegalArgumentException) {
+                log.error("Illegal argument: {} in {}()", new Arguments(invocation.getArguments()), joinPoint.name());
+            }
+            logException(joinPoint, e);
+            throw e;
+        } finally {
+            if (start != 0) {
+                joinPoint.timer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private void logException(JoinPoint joinPoint, Throwable e) {
+        joinPoint
+            .log()
+            .error(
+                "Exception in {}() with cause = '{}' and exception = '{}'",
+                joinPoint.name(),
+                e.getCause() != null ? e.getCause() : "NULL",
+                e.getMessage(),
+                e
+            );
+    }
+
+    /**
+     * The class the calls of a method of the target are logged under: for a Spring Data repository, which is a proxy
+     * of its interface, the first proxied interface declaring the method, else the class of the target.
+     */
+    static Class<?> loggedClass(Object target, Method method) {
+        if (target == null) {
+            return method.getDeclaringClass();
+        }
+        if (AopUtils.isJdkDynamicProxy(target) && target instanceof Advised advised) {
+            for (Class<?> type : advised.getProxiedInterfaces()) {
+                if (method.getDeclaringClass().isAssignableFrom(type)) {
+                    return type;
+                }
+            }
+            return method.getDeclaringClass();
+        }
+        return ClassUtils.getUserClass(AopUtils.getTargetClass(target));
+    }
+
+    private JoinPoint joinPoint(Class<?> loggedClass, Method method) {
+        Timer timer = null;
+        if (timingSampleRate > 0) {
+            timer = Timer.builder(METRIC_CALLS)
+                .description("Sampled durations of the logged method calls")
+                .tags("class", loggedClass.getSimpleName(), "method", method.getName())
+                .publishPercentileHistogram(timingHistogram)
+                .register(meterRegistry.get());
+        }
+        return new JoinPoint(LoggerFactory.getLogger(loggedClass), method.getName(), timer);
+    }
+
+    /**
+     * The logger, name and timer of a method, the timer being {@code null} when sampling is disabled.
+     */
+    private record JoinPoint(Logger log, String name, Timer timer) {}
+
+    /**
+     * Arguments rendered only when a message is written.
+     */
+    private record Arguments(Object[] values) {
+        @Override
+        public String toString() {
+            return Arrays.toString(values);
+        }
+    }
+}
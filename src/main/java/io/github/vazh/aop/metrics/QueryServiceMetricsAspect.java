@@ -0,0 +1,170 @@
+package io.github.vazh.aop.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.util.ReflectionUtils;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.Filter;
+
+/**
+ * Aspect recording the latency and the number of rows returned of the calls to the query services.
+ * <p>
+ * The metrics are tagged by entity, method and criteria shape, the shape listing the filters and operators used like
+ * {@code Employee[departmentId.equals,salary.greaterThan]}, so slow filter combinations show up without any SQL logging.
+ * The number of shapes tagged is bounded, the calls with other shapes being tagged as {@code Employee[other]}.
+ */
+@Aspect
+public class QueryServiceMetricsAspect {
+
+    static final String METRIC_CALLS = "query.service.calls";
+    static final String METRIC_ROWS = "query.service.rows";
+
+    private static final String OTHER_SHAPE = "other";
+
+    private final MeterRegistry meterRegistry;
+
+    private final int maxShapes;
+
+    private final Set<String> shapes = ConcurrentHashMap.newKeySet();
+
+    private final Map<Class<?>, List<PropertyDescriptor>> filterProperties = new ConcurrentHashMap<>();
+
+    public QueryServiceMetricsAspect(MeterRegistry meterRegistry, int maxShapes) {
+        this.meterRegistry = meterRegistry;
+        this.maxShapes = maxShapes;
+    }
+
+    /**
+     * Pointcut that matches the public methods of the query services.
+     */
+    @Pointcut("execution(public * tech.jhipster.service.QueryService+.*(..))")
+    public void queryServicePointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Advice that records the latency and the number of rows of the calls taking a criteria.
+     *
+     * @param joinPoint join point for advice.
+     * @return result.
+     * @throws Throwable the exception of the call, which is tagged.
+     */
+    @Around("queryServicePointcut()")
+    public Object recordQuery(ProceedingJoinPoint joinPoint) throws Throwable {
+        Criteria criteria = criteria(joinPoint.getArgs());
+        if (criteria == null) {
+            return joinPoint.proceed();
+        }
+        Tags tags = Tags.of("entity", entityName(criteria), "method", joinPoint.getSignature().getName(), "shape", boundedShape(criteria));
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            Object result = joinPoint.proceed();
+            Long rows = rows(result);
+            if (rows != null) {
+                DistributionSummary.builder(METRIC_ROWS).baseUnit("rows").tags(tags).register(meterRegistry).record(rows);
+            }
+            return result;
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(METRIC_CALLS).tags(tags.and("exception", exception)).register(meterRegistry));
+        }
+    }
+
+    /**
+     * Get the shape of a criteria: its entity, then the filters and operators it uses, sorted by name.
+     *
+     * @param criteria the criteria.
+     * @return the shape.
+     */
+    String shape(Criteria criteria) {
+        List<String> operators = new ArrayList<>();
+        for (PropertyDescriptor filterProperty : filterProperties(criteria.getClass())) {
+            Object filter = ReflectionUtils.invokeMethod(filterProperty.getReadMethod(), criteria);
+            if (filter != null) {
+                for (PropertyDescriptor operatorProperty : filterProperties(filter.getClass())) {
+                    if (ReflectionUtils.invokeMethod(operatorProperty.getReadMethod(), filter) != null) {
+                        operators.add(filterProperty.getName() + '.' + operatorProperty.getName());
+                    }
+                }
+            }
+        }
+        StringJoiner shape = new StringJoiner(",", entityName(criteria) + '[', "]");
+        operators.stream().sorted().forEach(shape::add);
+        return shape.toString();
+    }
+
+    private String boundedShape(Criteria criteria) {
+        String shape = shape(criteria);
+        if (shapes.contains(shape) || (shapes.size() < maxShapes && shapes.add(shape))) {
+            return shape;
+        }
+        return entityName(criteria) + '[' + OTHER_SHAPE + ']';
+    }
+
+    /**
+     * The properties of a criteria holding its filters, or the properties of a filter holding its operators.
+     */
+    private List<PropertyDescriptor> filterProperties(Class<?> type) {
+        return filterProperties.computeIfAbsent(type, key -> {
+            boolean criteria = Criteria.class.isAssignableFrom(key);
+            List<PropertyDescriptor> properties = new ArrayList<>();
+            for (PropertyDescriptor descriptor : BeanUtils.getPropertyDescriptors(key)) {
+                Method readMethod = descriptor.getReadMethod();
+                if (
+                    readMethod != null &&
+                    readMethod.getDeclaringClass() != Object.class &&
+                    (!criteria || Filter.class.isAssignableFrom(readMethod.getReturnType()))
+                ) {
+                    properties.add(descriptor);
+                }
+            }
+            return properties;
+        });
+    }
+
+    private static Criteria criteria(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof Criteria criteria) {
+                return criteria;
+            }
+        }
+        return null;
+    }
+
+    private static String entityName(Criteria criteria) {
+        String name = criteria.getClass().getSimpleName();
+        return name.endsWith("Criteria") ? name.substring(0, name.length() - "Criteria".length()) : name;
+    }
+
+    private static Long rows(Object result) {
+        if (result instanceof Slice<?> slice) {
+            return (long) slice.getNumberOfElements();
+        } else if (result instanceof Window<?> window) {
+            return (long) window.size();
+        } else if (result instanceof Collection<?> collection) {
+            return (long) collection.size();
+        }
+        return null;
+    }
+}
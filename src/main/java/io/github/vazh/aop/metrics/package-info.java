@@ -0,0 +1,4 @@
+/**
+ * Metrics aspect.
+ */
+package io.github.vazh.aop.metrics;
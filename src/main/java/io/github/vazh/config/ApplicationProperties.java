@@ -1,5 +1,8 @@
 package io.github.vazh.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -13,12 +16,78 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final NearCache nearCache = new NearCache();
+
+    private final CacheCodec cacheCodec = new CacheCodec();
+
+    private final Bulk bulk = new Bulk();
+
+    private final QueryPlanCache queryPlanCache = new QueryPlanCache();
+
+    private final QueryMetrics queryMetrics = new QueryMetrics();
+
+    private final MethodLogging methodLogging = new MethodLogging();
+
+    private final JwtCache jwtCache = new JwtCache();
+
+    private final Authentication authentication = new Authentication();
+
+    private final UserSnapshotCache userSnapshotCache = new UserSnapshotCache();
+
+    private final VirtualThreads virtualThreads = new VirtualThreads();
+
+    private final ReadReplicas readReplicas = new ReadReplicas();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public NearCache getNearCache() {
+        return nearCache;
+    }
+
+    public CacheCodec getCacheCodec() {
+        return cacheCodec;
+    }
+
+    public Bulk getBulk() {
+        return bulk;
+    }
+
+    public QueryPlanCache getQueryPlanCache() {
+        return queryPlanCache;
+    }
+
+    public QueryMetrics getQueryMetrics() {
+        return queryMetrics;
+    }
+
+    public MethodLogging getMethodLogging() {
+        return methodLogging;
+    }
+
+    public JwtCache getJwtCache() {
+        return jwtCache;
+    }
+
+    public Authentication getAuthentication() {
+        return authentication;
+    }
+
+    public UserSnapshotCache getUserSnapshotCache() {
+        return userSnapshotCache;
+    }
+
+    public VirtualThreads getVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public ReadReplicas getReadReplicas() {
+        return readReplicas;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -33,5 +102,470 @@ public class ApplicationProperties {
             this.asyncStart = asyncStart;
         }
     }
+
+    /**
+     * Per-node in-process tier in front of the Hibernate second level cache regions.
+     */
+    public static class NearCache {
+
+        private boolean enabled = false;
+
+        /**
+         * Maximum number of entries per region, used when {@link #maxWeight} is not set.
+         */
+        private long maxEntries = 10_000;
+
+        /**
+         * Maximum weight per region, an entry weighing one plus the number of its disassembled properties. Disabled when zero.
+         */
+        private long maxWeight = 0;
+
+        private Duration timeToLive = Duration.ofMinutes(5);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(long maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public long getMaxWeight() {
+            return maxWeight;
+        }
+
+        public void setMaxWeight(long maxWeight) {
+            this.maxWeight = maxWeight;
+        }
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+    }
+
+    /**
+     * Codec of the values stored in Redis.
+     */
+    public static class CacheCodec {
+
+        public enum Type {
+            /**
+             * Java serialization of every value.
+             */
+            JAVA,
+            /**
+             * Compact binary format for the Hibernate cache entries and keys, Java serialization for the other values.
+             */
+            BINARY,
+        }
+
+        private Type type = Type.BINARY;
+
+        /**
+         * Size in bytes above which the binary payloads are compressed with LZ4. Disabled when zero.
+         */
+        private int compressionThreshold = 1024;
+
+        public Type getType() {
+            return type;
+        }
+
+        public void setType(Type type) {
+            this.type = type;
+        }
+
+        public int getCompressionThreshold() {
+            return compressionThreshold;
+        }
+
+        public void setCompressionThreshold(int compressionThreshold) {
+            this.compressionThreshold = compressionThreshold;
+        }
+    }
+
+    /**
+     * Bulk create, update and delete endpoints.
+     */
+    public static class Bulk {
+
+        /**
+         * Number of items written in each transaction, best kept a multiple of {@code hibernate.jdbc.batch_size}.
+         */
+        private int chunkSize = 500;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    /**
+     * Queries compiled from the shape of the criteria of the list endpoints.
+     */
+    public static class QueryPlanCache {
+
+        /**
+         * Maximum number of compiled queries kept, one per combination of filters, operators, fields and sort.
+         */
+        private long maxEntries = 1000;
+
+        public long getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(long maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+    }
+
+    /**
+     * Latency and row count metrics of the query services, tagged by criteria shape.
+     */
+    public static class QueryMetrics {
+
+        /**
+         * Maximum number of criteria shapes tagged, the calls with other shapes being tagged as {@code Entity[other]}.
+         */
+        private int maxShapes = 200;
+
+        public int getMaxShapes() {
+            return maxShapes;
+        }
+
+        public void setMaxShapes(int maxShapes) {
+            this.maxShapes = maxShapes;
+        }
+    }
+
+    /**
+     * Logging of the entry and exit of the repository, service and REST controller methods, in the dev profile.
+     */
+    public static class MethodLogging {
+
+        public enum Mode {
+            /**
+             * The {@code LoggingAspect}, resolving the logger and the profile on every call.
+             */
+            STANDARD,
+            /**
+             * The {@code LoggingInterceptor}, with the loggers and switches resolved once and sampled timings.
+             */
+            SAMPLED,
+        }
+
+        private Mode mode = Mode.STANDARD;
+
+        /**
+         * Packages whose beans are not proxied in the {@code sampled} mode, sub-packages included.
+         */
+        private List<String> disabledPackages = new ArrayList<>();
+
+        /**
+         * Share of the calls timed in the {@code sampled} mode, from 0 for none to 1 for all of them.
+         */
+        private double timingSampleRate = 0.01;
+
+        /**
+         * Whether the timers of the {@code sampled} mode publish a percentile histogram, one per logged method.
+         */
+        private boolean timingHistogram = false;
+
+        public Mode getMode() {
+            return mode;
+        }
+
+        public void setMode(Mode mode) {
+            this.mode = mode;
+        }
+
+        public List<String> getDisabledPackages() {
+            return disabledPackages;
+        }
+
+        public void setDisabledPackages(List<String> disabledPackages) {
+            this.disabledPackages = disabledPackages;
+        }
+
+        public double getTimingSampleRate() {
+            return timingSampleRate;
+        }
+
+        public void setTimingSampleRate(double timingSampleRate) {
+            this.timingSampleRate = timingSampleRate;
+        }
+
+        public boolean isTimingHistogram() {
+            return timingHistogram;
+        }
+
+        public void setTimingHistogram(boolean timingHistogram) {
+            this.timingHistogram = timingHistogram;
+        }
+    }
+
+    /**
+     * Cache of the decoded and verified JWTs, kept until they expire.
+     */
+    public static class JwtCache {
+
+        private boolean enabled = true;
+
+        /**
+         * Maximum number of tokens kept, each active session presenting one.
+         */
+        private long maxEntries = 10_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(long maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+    }
+
+    /**
+     * Password authentication of {@code POST /api/authenticate}.
+     */
+    public static class Authentication {
+
+        /**
+         * BCrypt cost of the password hashes, the passwords hashed with another cost being rehashed on login.
+         */
+        private int passwordHashCost = 10;
+
+        /**
+         * Threads verifying the passwords, outside of the web server threads.
+         */
+        private int poolSize = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * Authentications waiting for a thread, beyond which they are rejected with a 503 status.
+         */
+        private int queueCapacity = 100;
+
+        /**
+         * Delay sent in the {@code Retry-After} header of the rejected authentications.
+         */
+        private Duration retryAfter = Duration.ofSeconds(5);
+
+        public int getPasswordHashCost() {
+            return passwordHashCost;
+        }
+
+        public void setPasswordHashCost(int passwordHashCost) {
+            this.passwordHashCost = passwordHashCost;
+        }
+
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public void setPoolSize(int poolSize) {
+            this.poolSize = poolSize;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public Duration getRetryAfter() {
+            return retryAfter;
+        }
+
+        public void setRetryAfter(Duration retryAfter) {
+            this.retryAfter = retryAfter;
+        }
+    }
+
+    /**
+     * In-process cache of the users authenticating or reading their account, evicted on every change on all the nodes.
+     */
+    public static class UserSnapshotCache {
+
+        /**
+         * Maximum number of snapshots kept, each user having up to two, by login and by email.
+         */
+        private long maxEntries = 10_000;
+
+        /**
+         * Time to live of a snapshot, bounding its staleness should an eviction message be lost.
+         */
+        private Duration timeToLive = Duration.ofMinutes(10);
+
+        public long getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(long maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+    }
+
+    /**
+     * Virtual threads, enabled by {@code spring.threads.virtual.enabled} in the {@code virtual-threads} profile.
+     */
+    public static class VirtualThreads {
+
+        /**
+         * Minimum duration of a virtual thread pinned to its carrier thread for it to be reported.
+         */
+        private Duration pinnedThreshold = Duration.ofMillis(20);
+
+        public Duration getPinnedThreshold() {
+            return pinnedThreshold;
+        }
+
+        public void setPinnedThreshold(Duration pinnedThreshold) {
+            this.pinnedThreshold = pinnedThreshold;
+        }
+    }
+
+    /**
+     * Read replicas taking the read-only transactions, see {@link ReplicaRoutingDataSource}.
+     */
+    public static class ReadReplicas {
+
+        /**
+         * Whether the read-only transactions are routed to the replicas, the primary taking everything otherwise.
+         */
+        private boolean enabled = false;
+
+        /**
+         * JDBC URLs of the replicas, connected to with the credentials and the Hikari settings of the primary.
+         */
+        private List<String> urls = new ArrayList<>();
+
+        /**
+         * Replication lag beyond which a replica is taken out of the rotation until it catches up.
+         */
+        private Duration maxLag = Duration.ofSeconds(5);
+
+        /**
+         * Delay between two measures of the lag of the replicas.
+         */
+        private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+        /**
+         * Query returning the replication lag of a replica in seconds, zero when it replayed everything it received.
+         */
+        private String lagQuery =
+            "SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+        /**
+         * Time during which the reads of a user go to the primary after they committed a write, at least the maximum lag.
+         */
+        private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+        /**
+         * Maximum number of users remembered as having written within the window.
+         */
+        private long maxRecentWriters = 100_000;
+
+        /**
+         * Maximum size of the pool of each replica.
+         */
+        private int maximumPoolSize = 10;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public List<String> getUrls() {
+            return urls;
+        }
+
+        public void setUrls(List<String> urls) {
+            this.urls = urls;
+        }
+
+        public Duration getMaxLag() {
+            return maxLag;
+        }
+
+        public void setMaxLag(Duration maxLag) {
+            this.maxLag = maxLag;
+        }
+
+        public Duration getHealthCheckInterval() {
+            return healthCheckInterval;
+        }
+
+        public void setHealthCheckInterval(Duration healthCheckInterval) {
+            this.healthCheckInterval = healthCheckInterval;
+        }
+
+        public String getLagQuery() {
+            return lagQuery;
+        }
+
+        public void setLagQuery(String lagQuery) {
+            this.lagQuery = lagQuery;
+        }
+
+        public Duration getReadYourWritesWindow() {
+            return readYourWritesWindow;
+        }
+
+        public void setReadYourWritesWindow(Duration readYourWritesWindow) {
+            this.readYourWritesWindow = readYourWritesWindow;
+        }
+
+        public long getMaxRecentWriters() {
+            return maxRecentWriters;
+        }
+
+        public void setMaxRecentWriters(long maxRecentWriters) {
+            this.maxRecentWriters = maxRecentWriters;
+        }
+
+        public int getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        public void setMaximumPoolSize(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
@@ -0,0 +1,24 @@
+package io.github.vazh.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Bounded pool verifying the passwords of {@code POST /api/authenticate}, so that a login storm cannot take all the web
+ * server threads. Its pool and queue metrics are published as {@code executor.*{name=authenticationExecutor}}.
+ */
+@Configuration
+public class AuthenticationExecutorConfiguration {
+
+    @Bean(name = "authenticationExecutor")
+    public ThreadPoolTaskExecutor authenticationExecutor(ApplicationProperties applicationProperties) {
+        ApplicationProperties.Authentication authentication = applicationProperties.getAuthentication();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(authentication.getPoolSize());
+        executor.setMaxPoolSize(authentication.getPoolSize());
+        executor.setQueueCapacity(authentication.getQueueCapacity());
+        executor.setThreadNamePrefix("authentication-");
+        return executor;
+    }
+}
@@ -1,12 +1,124 @@
 package io.github.vazh.config;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.github.vazh.repository.QueryPlanStatements;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 @Configuration
 @EnableJpaRepositories({ "io.github.vazh.repository" })
 @EnableJpaAuditing(auditorAwareRef = "springSecurityAuditorAware")
 @EnableTransactionManagement
-public class DatabaseConfiguration {}
+public class DatabaseConfiguration {
+
+    /**
+     * Record the SQL of the query plans, to explain them from the {@code queryplans} management endpoint.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer queryPlanStatementsCustomizer(QueryPlanStatements queryPlanStatements) {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, queryPlanStatements);
+    }
+
+    /**
+     * Route the read-only transactions to the read replicas, replacing the data source of Spring Boot.
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = "application.read-replicas", name = "enabled", havingValue = "true")
+    static class ReadReplicaConfiguration {
+
+        @Bean
+        @ConfigurationProperties("spring.datasource.hikari")
+        public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+            return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        }
+
+        @Bean
+        public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            ApplicationProperties applicationProperties,
+            RedissonClient redissonClient,
+            MeterRegistry meterRegistry
+        ) {
+            ApplicationProperties.ReadReplicas readReplicas = applicationProperties.getReadReplicas();
+            Map<String, DataSource> replicas = new LinkedHashMap<>();
+            List<String> urls = readReplicas.getUrls();
+            for (int i = 0; i < urls.size(); i++) {
+                String name = primaryDataSource.getPoolName() + "-replica-" + (i + 1);
+                replicas.put(name, replicaDataSource(primaryDataSource, name, urls.get(i), readReplicas, meterRegistry));
+            }
+            return new ReplicaRoutingDataSource(primaryDataSource, replicas, readReplicas, redissonClient, meterRegistry);
+        }
+
+        /**
+         * The data source of the application: the primary, unless the transaction is read-only.
+         */
+        @Bean
+        @Primary
+        public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+            LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(replicaRoutingDataSource.writes());
+            dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+            return dataSource;
+        }
+
+        /**
+         * Keep the entities read from the replicas out of the second level cache, see {@link ReplicaJpaDialect}. Set on
+         * the entity manager factory before it falls back to the dialect of its vendor adapter, the transaction manager
+         * taking it from the factory.
+         */
+        @Bean
+        public static BeanPostProcessor replicaJpaDialectPostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                    if (bean instanceof AbstractEntityManagerFactoryBean entityManagerFactory) {
+                        entityManagerFactory.setJpaDialect(new ReplicaJpaDialect());
+                    }
+                    return bean;
+                }
+            };
+        }
+
+        /**
+         * A pool with the settings of the primary, named after the replica to get its own {@code hikaricp} metrics. It
+         * starts even if the replica is down, the health checks keeping it out of the rotation until it answers.
+         */
+        private static HikariDataSource replicaDataSource(
+            HikariDataSource primaryDataSource,
+            String name,
+            String url,
+            ApplicationProperties.ReadReplicas readReplicas,
+            MeterRegistry meterRegistry
+        ) {
+            HikariConfig config = new HikariConfig();
+            primaryDataSource.copyStateTo(config);
+            config.setJdbcUrl(url);
+            config.setPoolName(name);
+            config.setMaximumPoolSize(readReplicas.getMaximumPoolSize());
+            config.setMinimumIdle(Math.min(config.getMinimumIdle(), readReplicas.getMaximumPoolSize()));
+            config.setReadOnly(true);
+            config.setInitializationFailTimeout(-1);
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            return new HikariDataSource(config);
+        }
+    }
+}
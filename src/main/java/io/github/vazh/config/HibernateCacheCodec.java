@@ -0,0 +1,429 @@
+package io.github.vazh.config;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.hibernate.cache.internal.BasicCacheKeyImplementation;
+import org.hibernate.cache.internal.CacheKeyImplementation;
+import org.hibernate.cache.spi.entry.CollectionCacheEntry;
+import org.hibernate.cache.spi.entry.StandardCacheEntryImpl;
+import org.hibernate.cache.spi.support.AbstractReadWriteAccess;
+import org.redisson.client.codec.BaseCodec;
+import org.redisson.client.protocol.Decoder;
+import org.redisson.client.protocol.Encoder;
+import org.redisson.codec.CustomObjectInputStream;
+
+/**
+ * Redisson codec writing the Hibernate second level cache entries and keys in a compact binary format.
+ * <p>
+ * Entity entries, collection entries, read-write items and cache keys are written field by field, with a one byte tag
+ * per value and variable length integers, instead of the class descriptors of Java serialization. Any other value,
+ * like the cached {@code User} of the Spring caches, falls back to Java serialization. Payloads bigger than the
+ * compression threshold are compressed with LZ4. Values written by {@link org.redisson.codec.SerializationCodec} are
+ * still readable, so the codec can be switched without flushing Redis.
+ */
+public class HibernateCacheCodec extends BaseCodec {
+
+    private static final byte FORMAT_RAW = 0;
+    private static final byte FORMAT_LZ4 = 1;
+    private static final int JAVA_SERIALIZATION_MAGIC = 0xACED;
+
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_STRING = 1;
+    private static final byte TAG_LONG = 2;
+    private static final byte TAG_INTEGER = 3;
+    private static final byte TAG_TRUE = 4;
+    private static final byte TAG_FALSE = 5;
+    private static final byte TAG_DOUBLE = 6;
+    private static final byte TAG_BIG_DECIMAL = 7;
+    private static final byte TAG_INSTANT = 8;
+    private static final byte TAG_LOCAL_DATE = 9;
+    private static final byte TAG_UUID = 10;
+    private static final byte TAG_ENUM = 11;
+    private static final byte TAG_ARRAY = 12;
+    private static final byte TAG_ENTITY_ENTRY = 20;
+    private static final byte TAG_COLLECTION_ENTRY = 21;
+    private static final byte TAG_ITEM = 22;
+    private static final byte TAG_CACHE_KEY = 23;
+    private static final byte TAG_BASIC_CACHE_KEY = 24;
+    private static final byte TAG_SERIALIZED = 127;
+
+    private static final MethodHandle NEW_ENTITY_ENTRY;
+    private static final MethodHandle NEW_COLLECTION_ENTRY;
+    private static final MethodHandle NEW_ITEM;
+    private static final VarHandle ITEM_VERSION;
+    private static final VarHandle ITEM_TIMESTAMP;
+
+    static {
+        // Hibernate only exposes these constructors and fields to its own serialization
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            NEW_ENTITY_ENTRY = MethodHandles.privateLookupIn(StandardCacheEntryImpl.class, lookup).findConstructor(
+                StandardCacheEntryImpl.class,
+                MethodType.methodType(void.class, Serializable[].class, String.class, Object.class)
+            );
+            NEW_COLLECTION_ENTRY = MethodHandles.privateLookupIn(CollectionCacheEntry.class, lookup).findConstructor(
+                CollectionCacheEntry.class,
+                MethodType.methodType(void.class, Serializable.class)
+            );
+            MethodHandles.Lookup itemLookup = MethodHandles.privateLookupIn(AbstractReadWriteAccess.Item.class, lookup);
+            NEW_ITEM = itemLookup.findConstructor(
+                AbstractReadWriteAccess.Item.class,
+                MethodType.methodType(void.class, Object.class, Object.class, long.class)
+            );
+            ITEM_VERSION = itemLookup.findVarHandle(AbstractReadWriteAccess.Item.class, "version", Object.class);
+            ITEM_TIMESTAMP = itemLookup.findVarHandle(AbstractReadWriteAccess.Item.class, "timestamp", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final ClassLoader classLoader;
+    private final int compressionThreshold;
+    private final LZ4Compressor compressor = LZ4Factory.fastestInstance().fastCompressor();
+    private final LZ4FastDecompressor decompressor = LZ4Factory.fastestInstance().fastDecompressor();
+
+    private final Encoder encoder = this::encode;
+    private final Decoder<Object> decoder = (buf, state) -> decode(buf);
+
+    public HibernateCacheCodec() {
+        this(null, 0);
+    }
+
+    public HibernateCacheCodec(ClassLoader classLoader) {
+        this(classLoader, 0);
+    }
+
+    public HibernateCacheCodec(ClassLoader classLoader, HibernateCacheCodec codec) {
+        this(classLoader, codec.compressionThreshold);
+    }
+
+    /**
+     * @param classLoader the class loader of the Java serialization fallback, {@code null} for the default one.
+     * @param compressionThreshold the size in bytes above which payloads are compressed, zero or less to never compress.
+     */
+    public HibernateCacheCodec(ClassLoader classLoader, int compressionThreshold) {
+        this.classLoader = classLoader;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public Decoder<Object> getValueDecoder() {
+        return decoder;
+    }
+
+    @Override
+    public Encoder getValueEncoder() {
+        return encoder;
+    }
+
+    @Override
+    public ClassLoader getClassLoader() {
+        return classLoader != null ? classLoader : super.getClassLoader();
+    }
+
+    private ByteBuf encode(Object value) throws IOException {
+        ByteBuf out = ByteBufAllocator.DEFAULT.buffer();
+        try {
+            out.writeByte(FORMAT_RAW);
+            writeValue(out, value);
+            int length = out.readableBytes() - 1;
+            if (compressionThreshold <= 0 || length <= compressionThreshold) {
+                return out;
+            }
+            byte[] compressed = compressor.compress(ByteBufUtil.getBytes(out, 1, length));
+            if (compressed.length >= length) {
+                return out;
+            }
+            ByteBuf compressedOut = ByteBufAllocator.DEFAULT.buffer(compressed.length + 6);
+            compressedOut.writeByte(FORMAT_LZ4);
+            writeVarInt(compressedOut, length);
+            compressedOut.writeBytes(compressed);
+            out.release();
+            return compressedOut;
+        } catch (IOException | RuntimeException e) {
+            out.release();
+            throw e;
+        }
+    }
+
+    private Object decode(ByteBuf in) throws IOException {
+        if (in.readableBytes() >= 2 && in.getUnsignedShort(in.readerIndex()) == JAVA_SERIALIZATION_MAGIC) {
+            return readSerialized(in);
+        }
+        byte format = in.readByte();
+        if (format == FORMAT_RAW) {
+            return readValue(in);
+        }
+        if (format != FORMAT_LZ4) {
+            throw new IOException("Unknown cache payload format " + format);
+        }
+        int length = readVarInt(in);
+        byte[] raw = decompressor.decompress(ByteBufUtil.getBytes(in), length);
+        return readValue(Unpooled.wrappedBuffer(raw));
+    }
+
+    private void writeValue(ByteBuf out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(TAG_NULL);
+        } else if (value instanceof String string) {
+            out.writeByte(TAG_STRING);
+            writeString(out, string);
+        } else if (value instanceof Long number) {
+            out.writeByte(TAG_LONG);
+            writeVarLong(out, zigZag(number));
+        } else if (value instanceof Integer number) {
+            out.writeByte(TAG_INTEGER);
+            writeVarLong(out, zigZag(number));
+        } else if (value instanceof Boolean bool) {
+            out.writeByte(bool ? TAG_TRUE : TAG_FALSE);
+        } else if (value instanceof Double number) {
+            out.writeByte(TAG_DOUBLE);
+            out.writeDouble(number);
+        } else if (value instanceof BigDecimal number) {
+            out.writeByte(TAG_BIG_DECIMAL);
+            writeVarLong(out, zigZag(number.scale()));
+            writeBytes(out, number.unscaledValue().toByteArray());
+        } else if (value instanceof Instant instant) {
+            out.writeByte(TAG_INSTANT);
+            writeVarLong(out, zigZag(instant.getEpochSecond()));
+            writeVarInt(out, instant.getNano());
+        } else if (value instanceof LocalDate date) {
+            out.writeByte(TAG_LOCAL_DATE);
+            writeVarLong(out, zigZag(date.toEpochDay()));
+        } else if (value instanceof UUID uuid) {
+            out.writeByte(TAG_UUID);
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+        } else if (value instanceof Enum<?> constant) {
+            out.writeByte(TAG_ENUM);
+            writeString(out, constant.getDeclaringClass().getName());
+            writeString(out, constant.name());
+        } else if (value.getClass() == Serializable[].class) {
+            Serializable[] array = (Serializable[]) value;
+            out.writeByte(TAG_ARRAY);
+            writeVarInt(out, array.length);
+            for (Serializable element : array) {
+                writeValue(out, element);
+            }
+        } else if (value.getClass() == StandardCacheEntryImpl.class) {
+            StandardCacheEntryImpl entry = (StandardCacheEntryImpl) value;
+            out.writeByte(TAG_ENTITY_ENTRY);
+            writeString(out, entry.getSubclass());
+            writeValue(out, entry.getVersion());
+            writeValue(out, entry.getDisassembledState());
+        } else if (value.getClass() == CollectionCacheEntry.class) {
+            out.writeByte(TAG_COLLECTION_ENTRY);
+            writeValue(out, ((CollectionCacheEntry) value).getState());
+        } else if (value instanceof AbstractReadWriteAccess.Item item) {
+            out.writeByte(TAG_ITEM);
+            writeValue(out, item.getValue());
+            writeValue(out, ITEM_VERSION.get(item));
+            out.writeLong((long) ITEM_TIMESTAMP.get(item));
+        } else if (value instanceof CacheKeyImplementation key) {
+            out.writeByte(TAG_CACHE_KEY);
+            writeValue(out, key.getId());
+            writeString(out, key.getEntityOrRoleName());
+            writeValue(out, key.getTenantId());
+            out.writeInt(key.hashCode());
+        } else if (value instanceof BasicCacheKeyImplementation key) {
+            out.writeByte(TAG_BASIC_CACHE_KEY);
+            writeValue(out, key.getId());
+            writeString(out, key.getEntityOrRoleName());
+            out.writeInt(key.hashCode());
+        } else {
+            out.writeByte(TAG_SERIALIZED);
+            writeSerialized(out, value);
+        }
+    }
+
+    private Object readValue(ByteBuf in) throws IOException {
+        byte tag = in.readByte();
+        return switch (tag) {
+            case TAG_NULL -> null;
+            case TAG_STRING -> readString(in);
+            case TAG_LONG -> unZigZag(readVarLong(in));
+            case TAG_INTEGER -> (int) unZigZag(readVarLong(in));
+            case TAG_TRUE -> Boolean.TRUE;
+            case TAG_FALSE -> Boolean.FALSE;
+            case TAG_DOUBLE -> in.readDouble();
+            case TAG_BIG_DECIMAL -> readBigDecimal(in);
+            case TAG_INSTANT -> Instant.ofEpochSecond(unZigZag(readVarLong(in)), readVarInt(in));
+            case TAG_LOCAL_DATE -> LocalDate.ofEpochDay(unZigZag(readVarLong(in)));
+            case TAG_UUID -> new UUID(in.readLong(), in.readLong());
+            case TAG_ENUM -> readEnum(in);
+            case TAG_ARRAY -> readArray(in);
+            case TAG_ENTITY_ENTRY -> readEntityEntry(in);
+            case TAG_COLLECTION_ENTRY -> newCollectionEntry((Serializable) readValue(in));
+            case TAG_ITEM -> readItem(in);
+            case TAG_CACHE_KEY -> readCacheKey(in);
+            case TAG_BASIC_CACHE_KEY -> readBasicCacheKey(in);
+            case TAG_SERIALIZED -> readSerialized(in.readSlice(readVarInt(in)));
+            default -> throw new IOException("Unknown cache value tag " + tag);
+        };
+    }
+
+    private static BigDecimal readBigDecimal(ByteBuf in) {
+        int scale = (int) unZigZag(readVarLong(in));
+        return new BigDecimal(new BigInteger(readBytes(in)), scale);
+    }
+
+    private Serializable[] readArray(ByteBuf in) throws IOException {
+        Serializable[] array = new Serializable[readVarInt(in)];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = (Serializable) readValue(in);
+        }
+        return array;
+    }
+
+    private StandardCacheEntryImpl readEntityEntry(ByteBuf in) throws IOException {
+        String subclass = readString(in);
+        Object version = readValue(in);
+        return newEntityEntry((Serializable[]) readValue(in), subclass, version);
+    }
+
+    private AbstractReadWriteAccess.Item readItem(ByteBuf in) throws IOException {
+        Object value = readValue(in);
+        Object version = readValue(in);
+        return newItem(value, version, in.readLong());
+    }
+
+    private CacheKeyImplementation readCacheKey(ByteBuf in) throws IOException {
+        Object id = readValue(in);
+        String entityOrRoleName = readString(in);
+        String tenantId = (String) readValue(in);
+        return new CacheKeyImplementation(id, entityOrRoleName, tenantId, in.readInt());
+    }
+
+    private BasicCacheKeyImplementation readBasicCacheKey(ByteBuf in) throws IOException {
+        Serializable id = (Serializable) readValue(in);
+        return new BasicCacheKeyImplementation(id, readString(in), in.readInt());
+    }
+
+    static StandardCacheEntryImpl newEntityEntry(Serializable[] disassembledState, String subclass, Object version) {
+        try {
+            return (StandardCacheEntryImpl) NEW_ENTITY_ENTRY.invoke(disassembledState, subclass, version);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot create the cache entry of " + subclass, e);
+        }
+    }
+
+    static CollectionCacheEntry newCollectionEntry(Serializable state) {
+        try {
+            return (CollectionCacheEntry) NEW_COLLECTION_ENTRY.invoke(state);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot create the collection cache entry", e);
+        }
+    }
+
+    static AbstractReadWriteAccess.Item newItem(Object value, Object version, long timestamp) {
+        try {
+            return (AbstractReadWriteAccess.Item) NEW_ITEM.invoke(value, version, timestamp);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot create the read-write cache item", e);
+        }
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private Object readEnum(ByteBuf in) throws IOException {
+        String className = readString(in);
+        String name = readString(in);
+        try {
+            return Enum.valueOf((Class<? extends Enum>) Class.forName(className, false, getClassLoader()), name);
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Unknown enum " + className, e);
+        }
+    }
+
+    private static void writeSerialized(ByteBuf out, Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream stream = new ObjectOutputStream(bytes)) {
+            stream.writeObject(value);
+        }
+        writeBytes(out, bytes.toByteArray());
+    }
+
+    private Object readSerialized(ByteBuf in) throws IOException {
+        try (ObjectInputStream stream = new CustomObjectInputStream(getClassLoader(), new ByteBufInputStream(in))) {
+            return stream.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static void writeString(ByteBuf out, String value) {
+        writeVarInt(out, ByteBufUtil.utf8Bytes(value));
+        out.writeCharSequence(value, StandardCharsets.UTF_8);
+    }
+
+    private static String readString(ByteBuf in) {
+        return in.readCharSequence(readVarInt(in), StandardCharsets.UTF_8).toString();
+    }
+
+    private static void writeBytes(ByteBuf out, byte[] value) {
+        writeVarInt(out, value.length);
+        out.writeBytes(value);
+    }
+
+    private static byte[] readBytes(ByteBuf in) {
+        byte[] value = new byte[readVarInt(in)];
+        in.readBytes(value);
+        return value;
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarInt(ByteBuf out, int value) {
+        writeVarLong(out, Integer.toUnsignedLong(value));
+    }
+
+    private static int readVarInt(ByteBuf in) {
+        return (int) readVarLong(in);
+    }
+
+    private static void writeVarLong(ByteBuf out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(ByteBuf in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed variable length integer");
+    }
+}
@@ -4,6 +4,17 @@ import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
 import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module.Feature;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.github.vazh.service.dto.CountryDTO;
+import io.github.vazh.service.dto.DepartmentDTO;
+import io.github.vazh.service.dto.EmployeeDTO;
+import io.github.vazh.service.dto.JobDTO;
+import io.github.vazh.service.dto.JobHistoryDTO;
+import io.github.vazh.service.dto.LocationDTO;
+import io.github.vazh.service.dto.RegionDTO;
+import io.github.vazh.service.dto.TaskDTO;
+import io.github.vazh.web.util.SparseFieldsetUtil;
+import java.util.List;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -31,4 +42,25 @@ public class JacksonConfiguration {
     public Hibernate6Module hibernate6Module() {
         return new Hibernate6Module().configure(Feature.SERIALIZE_IDENTIFIER_FOR_LAZY_NOT_LOADED_OBJECTS, true);
     }
+
+    /**
+     * Support for sparse fieldsets on the entity DTOs, all their properties being written by default.
+     * @return the customizer of the object mapper.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer sparseFieldsetCustomizer() {
+        return builder -> {
+            builder.filters(SparseFieldsetUtil.ALL_FIELDS);
+            List.of(
+                RegionDTO.class,
+                CountryDTO.class,
+                LocationDTO.class,
+                DepartmentDTO.class,
+                TaskDTO.class,
+                EmployeeDTO.class,
+                JobDTO.class,
+                JobHistoryDTO.class
+            ).forEach(dtoClass -> builder.mixIn(dtoClass, SparseFieldsetUtil.FilteredMixIn.class));
+        };
+    }
 }
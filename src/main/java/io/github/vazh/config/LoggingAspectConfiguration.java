@@ -1,6 +1,15 @@
 package io.github.vazh.config;
 
 import io.github.vazh.aop.logging.LoggingAspect;
+import io.github.vazh.aop.logging.LoggingClassFilter;
+import io.github.vazh.aop.logging.LoggingInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.*;
 import org.springframework.core.env.Environment;
 import tech.jhipster.config.JHipsterConstants;
@@ -9,9 +18,30 @@ import tech.jhipster.config.JHipsterConstants;
 @EnableAspectJAutoProxy
 public class LoggingAspectConfiguration {
 
+    private static final List<String> LOGGED_PACKAGES = List.of(
+        "io.github.vazh.repository",
+        "io.github.vazh.service",
+        "io.github.vazh.web.rest"
+    );
+
     @Bean
     @Profile(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT)
+    @ConditionalOnProperty(prefix = "application.method-logging", name = "mode", havingValue = "standard", matchIfMissing = true)
     public LoggingAspect loggingAspect(Environment env) {
         return new LoggingAspect(env);
     }
+
+    @Bean
+    @Profile(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT)
+    @ConditionalOnProperty(prefix = "application.method-logging", name = "mode", havingValue = "sampled")
+    public Advisor loggingAdvisor(ObjectProvider<MeterRegistry> meterRegistry, ApplicationProperties applicationProperties) {
+        ApplicationProperties.MethodLogging methodLogging = applicationProperties.getMethodLogging();
+        LoggingInterceptor interceptor = new LoggingInterceptor(
+            meterRegistry::getObject,
+            methodLogging.getTimingSampleRate(),
+            methodLogging.isTimingHistogram()
+        );
+        LoggingClassFilter classFilter = new LoggingClassFilter(LOGGED_PACKAGES, methodLogging.getDisabledPackages());
+        return new DefaultPointcutAdvisor(new ComposablePointcut(classFilter), interceptor);
+    }
 }
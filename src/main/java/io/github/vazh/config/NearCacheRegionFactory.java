@@ -0,0 +1,96 @@
+package io.github.vazh.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.Serializable;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.codec.SerializationCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * JCache region factory putting a {@link NearCacheStorageAccess} in front of every entity and collection region.
+ * <p>
+ * The nodes share a single Redis topic: each write publishes the invalidated key, and every other node evicts it from
+ * its local tier. Query results and timestamps regions are left untouched, they stay in Redis only.
+ */
+public class NearCacheRegionFactory extends JCacheRegionFactory {
+
+    static final String INVALIDATION_TOPIC = "hibernate-near-cache-invalidation";
+
+    private static final Logger log = LoggerFactory.getLogger(NearCacheRegionFactory.class);
+
+    private final UUID nodeId = UUID.randomUUID();
+    private final Map<String, NearCacheStorageAccess> storageAccesses = new ConcurrentHashMap<>();
+    private final ApplicationProperties.NearCache properties;
+    private final MeterRegistry meterRegistry;
+    private final RTopic topic;
+    private int listenerId = -1;
+
+    public NearCacheRegionFactory(RedissonClient redissonClient, ApplicationProperties.NearCache properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.topic = redissonClient.getTopic(INVALIDATION_TOPIC, new SerializationCodec());
+    }
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+        super.prepareForUse(settings, configValues);
+        listenerId = topic.addListener(Invalidation.class, (channel, invalidation) -> onInvalidation(invalidation));
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(
+        DomainDataRegionConfig regionConfig,
+        DomainDataRegionBuildingContext buildingContext
+    ) {
+        String regionName = regionConfig.getRegionName();
+        NearCacheStorageAccess storageAccess = new NearCacheStorageAccess(
+            regionName,
+            super.createDomainDataStorageAccess(regionConfig, buildingContext),
+            properties,
+            key -> topic.publish(new Invalidation(nodeId, regionName, key)),
+            meterRegistry
+        );
+        storageAccesses.put(regionName, storageAccess);
+        return storageAccess;
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        if (listenerId != -1) {
+            topic.removeListener(listenerId);
+            listenerId = -1;
+        }
+        storageAccesses.clear();
+        super.releaseFromUse();
+    }
+
+    void onInvalidation(Invalidation invalidation) {
+        if (nodeId.equals(invalidation.origin())) {
+            return;
+        }
+        NearCacheStorageAccess storageAccess = storageAccesses.get(invalidation.region());
+        if (storageAccess != null) {
+            log.trace("Near cache invalidation of region {}, key {}", invalidation.region(), invalidation.key());
+            storageAccess.invalidateLocal(invalidation.key());
+        }
+    }
+
+    /**
+     * Message published on each write.
+     *
+     * @param origin the node which made the write.
+     * @param region the region name.
+     * @param key the invalidated key, {@code null} for the whole region.
+     */
+    record Invalidation(UUID origin, String region, Object key) implements Serializable {}
+}
@@ -0,0 +1,196 @@
+package io.github.vazh.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.cache.spi.entry.CacheEntry;
+import org.hibernate.cache.spi.entry.CollectionCacheEntry;
+import org.hibernate.cache.spi.support.AbstractReadWriteAccess;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+/**
+ * Storage access of a Hibernate domain data region, with a bounded in-process tier in front of the remote one.
+ * <p>
+ * Reads are served by the local tier when possible. Writes go to the remote tier, evict the local entry and are
+ * published to the other nodes, which evict their own copy. A remote read only populates the local tier if no
+ * invalidation happened while it was in flight, so a concurrent write can never be overwritten by a stale value.
+ * <p>
+ * With {@code READ_WRITE} regions, Hibernate puts the loaded values with {@link #putIntoCache} too, as items. An
+ * update first replaces the item with a soft lock, which is published, and the soft locks are never held locally, so
+ * no node can hold a stale copy of a key when an item is put: the puts of items are not published.
+ */
+class NearCacheStorageAccess implements DomainDataStorageAccess {
+
+    static final String METRIC_GETS = "cache.near.gets";
+    static final String METRIC_SIZE = "cache.near.size";
+    static final String METRIC_EVICTIONS = "cache.near.evictions";
+
+    private final String regionName;
+    private final DomainDataStorageAccess remote;
+    private final Cache<Object, Object> local;
+    private final Consumer<Object> invalidationPublisher;
+    private final AtomicLong invalidations = new AtomicLong();
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+
+    /**
+     * @param regionName the name of the region.
+     * @param remote the remote storage access.
+     * @param properties the near cache properties.
+     * @param invalidationPublisher publishes an invalidated key to the other nodes, {@code null} meaning the whole region.
+     * @param meterRegistry the registry of the hit/miss metrics of both tiers.
+     */
+    NearCacheStorageAccess(
+        String regionName,
+        DomainDataStorageAccess remote,
+        ApplicationProperties.NearCache properties,
+        Consumer<Object> invalidationPublisher,
+        MeterRegistry meterRegistry
+    ) {
+        this.regionName = regionName;
+        this.remote = remote;
+        this.invalidationPublisher = invalidationPublisher;
+
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().expireAfterWrite(properties.getTimeToLive()).recordStats();
+        if (properties.getMaxWeight() > 0) {
+            builder.maximumWeight(properties.getMaxWeight()).weigher(NearCacheStorageAccess::weigh);
+        } else {
+            builder.maximumSize(properties.getMaxEntries());
+        }
+        this.local = builder.build();
+
+        Tags tags = Tags.of("region", regionName);
+        FunctionCounter.builder(METRIC_GETS, local, cache -> cache.stats().hitCount())
+            .tags(tags.and("tier", "local", "result", "hit"))
+            .register(meterRegistry);
+        FunctionCounter.builder(METRIC_GETS, local, cache -> cache.stats().missCount())
+            .tags(tags.and("tier", "local", "result", "miss"))
+            .register(meterRegistry);
+        this.remoteHits = Counter.builder(METRIC_GETS).tags(tags.and("tier", "remote", "result", "hit")).register(meterRegistry);
+        this.remoteMisses = Counter.builder(METRIC_GETS).tags(tags.and("tier", "remote", "result", "miss")).register(meterRegistry);
+        Gauge.builder(METRIC_SIZE, local, Cache::estimatedSize).tags(tags).register(meterRegistry);
+        FunctionCounter.builder(METRIC_EVICTIONS, local, cache -> cache.stats().evictionCount()).tags(tags).register(meterRegistry);
+    }
+
+    String getRegionName() {
+        return regionName;
+    }
+
+    /**
+     * Evict a key, or the whole local tier when the key is {@code null}, following a write on another node.
+     *
+     * @param key the invalidated key.
+     */
+    void invalidateLocal(Object key) {
+        invalidations.incrementAndGet();
+        if (key == null) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(key);
+        }
+    }
+
+    @Override
+    public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+        Object value = local.getIfPresent(key);
+        if (value != null) {
+            return value;
+        }
+        long epoch = invalidations.get();
+        value = remote.getFromCache(key, session);
+        if (value == null) {
+            remoteMisses.increment();
+            return null;
+        }
+        remoteHits.increment();
+        if (invalidations.get() == epoch && !(value instanceof SoftLock)) {
+            local.asMap().putIfAbsent(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+        remote.putIntoCache(key, value, session);
+        invalidateLocal(key);
+        if (!isItem(value)) {
+            invalidationPublisher.accept(key);
+        }
+    }
+
+    @Override
+    public void putFromLoad(Object key, Object value, SharedSessionContractImplementor session) {
+        // The value has just been read from the database, the other nodes can only hold the same state or an
+        // already invalidated one, so there is nothing to publish.
+        remote.putFromLoad(key, value, session);
+        invalidateLocal(key);
+    }
+
+    @Override
+    public boolean contains(Object key) {
+        return local.getIfPresent(key) != null || remote.contains(key);
+    }
+
+    @Override
+    public void removeFromCache(Object key, SharedSessionContractImplementor session) {
+        remote.removeFromCache(key, session);
+        invalidateLocal(key);
+        invalidationPublisher.accept(key);
+    }
+
+    @Override
+    public void clearCache(SharedSessionContractImplementor session) {
+        remote.clearCache(session);
+        invalidateLocal(null);
+        invalidationPublisher.accept(null);
+    }
+
+    @Override
+    public void evictData() {
+        remote.evictData();
+        invalidateLocal(null);
+        invalidationPublisher.accept(null);
+    }
+
+    @Override
+    public void evictData(Object key) {
+        remote.evictData(key);
+        invalidateLocal(key);
+        invalidationPublisher.accept(key);
+    }
+
+    @Override
+    public void release() {
+        local.invalidateAll();
+        remote.release();
+    }
+
+    /**
+     * Whether the value is an item of a {@code READ_WRITE} region, put from a load, an insert or at the end of an update,
+     * rather than a soft lock or the value of another access strategy.
+     */
+    private static boolean isItem(Object value) {
+        return value instanceof AbstractReadWriteAccess.Lockable && !(value instanceof SoftLock);
+    }
+
+    private static int weigh(Object key, Object value) {
+        if (value instanceof AbstractReadWriteAccess.Lockable lockable && lockable.getValue() != null) {
+            value = lockable.getValue();
+        }
+        if (value instanceof CacheEntry entry && entry.getDisassembledState() != null) {
+            return 1 + entry.getDisassembledState().length;
+        }
+        if (value instanceof CollectionCacheEntry entry) {
+            return 1 + entry.getState().length;
+        }
+        return 1;
+    }
+}
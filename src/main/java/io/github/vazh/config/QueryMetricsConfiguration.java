@@ -0,0 +1,17 @@
+package io.github.vazh.config;
+
+import io.github.vazh.aop.metrics.QueryServiceMetricsAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+
+@Configuration
+@EnableAspectJAutoProxy
+public class QueryMetricsConfiguration {
+
+    @Bean
+    public QueryServiceMetricsAspect queryServiceMetricsAspect(MeterRegistry meterRegistry, ApplicationProperties applicationProperties) {
+        return new QueryServiceMetricsAspect(meterRegistry, applicationProperties.getQueryMetrics().getMaxShapes());
+    }
+}
@@ -0,0 +1,123 @@
+package io.github.vazh.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.vazh.repository.QueryPlan;
+import io.github.vazh.repository.QueryPlanRepository;
+import io.github.vazh.service.QueryPlanCache;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Management endpoint reporting the indexes used by the queries of each cached {@link QueryPlan}, from the generic plan
+ * PostgreSQL chooses for them with {@code EXPLAIN (GENERIC_PLAN)}, so regardless of the values of the filters.
+ * <p>
+ * Only the queries executed since their plan was cached are explained, the others are reported without indexes. A
+ * sequential scan on a large table points to a filter or a sort missing an index.
+ * <p>
+ * The list and count endpoints of every entity compile their criteria to query plans, except when sorted by an
+ * association or paged by cursor, which build JPA specifications that are neither cached nor reported.
+ */
+@Component
+@Endpoint(id = "queryplans")
+public class QueryPlanIndexesEndpoint {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryPlanIndexesEndpoint.class);
+
+    private final QueryPlanCache queryPlanCache;
+
+    private final QueryPlanRepository queryPlanRepository;
+
+    private final ObjectMapper objectMapper;
+
+    public QueryPlanIndexesEndpoint(QueryPlanCache queryPlanCache, QueryPlanRepository queryPlanRepository, ObjectMapper objectMapper) {
+        this.queryPlanCache = queryPlanCache;
+        this.queryPlanRepository = queryPlanRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @ReadOperation
+    public List<ShapeIndexes> queryPlans() {
+        return queryPlanCache
+            .getPlans()
+            .entrySet()
+            .stream()
+            .sorted(Map.Entry.comparingByKey())
+            .map(plan -> new ShapeIndexes(plan.getKey(), explain(plan.getValue().selectQuery()), explain(plan.getValue().countQuery())))
+            .toList();
+    }
+
+    private QueryIndexes explain(String query) {
+        try {
+            return queryPlanRepository.explain(query).map(this::indexes).orElseGet(QueryIndexes::notExecuted);
+        } catch (RuntimeException e) {
+            log.warn("Could not explain the query plan {}: {}", query, e.getMessage());
+            return QueryIndexes.failed(e.getMessage());
+        }
+    }
+
+    private QueryIndexes indexes(String explanation) {
+        try {
+            return indexes(objectMapper.readTree(explanation));
+        } catch (JsonProcessingException e) {
+            return QueryIndexes.failed(e.getMessage());
+        }
+    }
+
+    /**
+     * Collect the indexes and the sequentially scanned tables of a plan in the JSON format of PostgreSQL.
+     */
+    static QueryIndexes indexes(JsonNode explanation) {
+        JsonNode plan = explanation.path(0).path("Plan");
+        TreeSet<String> indexes = new TreeSet<>();
+        TreeSet<String> sequentialScans = new TreeSet<>();
+        List<JsonNode> nodes = new ArrayList<>(List.of(plan));
+        while (!nodes.isEmpty()) {
+            JsonNode node = nodes.remove(nodes.size() - 1);
+            if (node.hasNonNull("Index Name")) {
+                indexes.add(node.get("Index Name").asText());
+            }
+            if ("Seq Scan".equals(node.path("Node Type").asText())) {
+                sequentialScans.add(node.path("Relation Name").asText());
+            }
+            node.path("Plans").forEach(nodes::add);
+        }
+        return new QueryIndexes(true, List.copyOf(indexes), List.copyOf(sequentialScans), plan.path("Total Cost").asDouble(), null);
+    }
+
+    /**
+     * The indexes used by the queries of a plan.
+     *
+     * @param key the key of the plan, its shape followed by its selections and its sort.
+     * @param select the indexes of the query reading the rows.
+     * @param count the indexes of the query counting the rows.
+     */
+    public record ShapeIndexes(String key, QueryIndexes select, QueryIndexes count) {}
+
+    /**
+     * The indexes used by a query.
+     *
+     * @param explained whether the query was explained.
+     * @param indexes the names of the indexes scanned.
+     * @param sequentialScans the names of the tables read sequentially.
+     * @param totalCost the cost estimated by the planner.
+     * @param error why the query could not be explained, if it could not.
+     */
+    public record QueryIndexes(boolean explained, List<String> indexes, List<String> sequentialScans, double totalCost, String error) {
+        static QueryIndexes notExecuted() {
+            return new QueryIndexes(false, List.of(), List.of(), 0, null);
+        }
+
+        static QueryIndexes failed(String error) {
+            return new QueryIndexes(false, List.of(), List.of(), 0, error);
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package io.github.vazh.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.vazh.security.SecurityUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.Serializable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.codec.SerializationCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Connections of the {@code @Transactional(readOnly = true)} transactions, taken from the read replicas.
+ * <p>
+ * It is the read-only {@link DataSource} of a {@link LazyConnectionDataSourceProxy}, which only fetches the connection
+ * on the first statement, once the transaction is known to be read-only. The replicas are checked in the background:
+ * a replica lagging by more than the maximum lag, or not answering, gets no connections until it catches up. The
+ * reads go to the primary when no replica is healthy, and for a while after the current user committed a write,
+ * so that they read their own writes: the commit is published to the other nodes through a Redis topic, the next
+ * request of the user being free to land on any of them.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements SmartLifecycle, AutoCloseable {
+
+    static final String METRIC_CONNECTIONS = "datasource.routing.connections";
+    static final String METRIC_LAG = "datasource.replica.lag";
+    static final String METRIC_HEALTHY = "datasource.replica.healthy";
+    static final String RECENT_WRITES_TOPIC = "replica-recent-writes";
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final UUID nodeId = UUID.randomUUID();
+
+    private final DataSource primary;
+
+    private final List<Replica> replicas = new ArrayList<>();
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final Duration maxLag;
+
+    private final Duration healthCheckInterval;
+
+    private final String lagQuery;
+
+    private final Cache<String, Boolean> recentWriters;
+
+    private final RTopic topic;
+
+    private final int listenerId;
+
+    private final DataSource writes;
+
+    private final Counter replicaConnections;
+
+    private final Counter recentWriteConnections;
+
+    private final Counter noHealthyReplicaConnections;
+
+    private ScheduledExecutorService healthChecks;
+
+    /**
+     * @param primary the primary, taking the writes.
+     * @param replicas the replicas by name.
+     * @param properties the routing settings.
+     * @param redissonClient the client of the topic sharing the recent writers between the nodes.
+     * @param meterRegistry the registry of the routing metrics.
+     */
+    public ReplicaRoutingDataSource(
+        DataSource primary,
+        Map<String, DataSource> replicas,
+        ApplicationProperties.ReadReplicas properties,
+        RedissonClient redissonClient,
+        MeterRegistry meterRegistry
+    ) {
+        this.primary = primary;
+        this.maxLag = properties.getMaxLag();
+        this.healthCheckInterval = properties.getHealthCheckInterval();
+        this.lagQuery = properties.getLagQuery();
+        this.recentWriters = Caffeine.newBuilder()
+            .maximumSize(properties.getMaxRecentWriters())
+            .expireAfterWrite(properties.getReadYourWritesWindow())
+            .build();
+        this.topic = redissonClient.getTopic(RECENT_WRITES_TOPIC, new SerializationCodec());
+        this.listenerId = topic.addListener(RecentWrite.class, (channel, recentWrite) -> onRecentWrite(recentWrite));
+        this.writes = new WriteTrackingDataSource(primary);
+        replicas.forEach((name, dataSource) -> {
+            Replica replica = new Replica(name, dataSource);
+            this.replicas.add(replica);
+            Gauge.builder(METRIC_LAG, replica, r -> r.lagSeconds)
+                .description("Replication lag of the read replica, as of its last health check")
+                .tag("replica", name)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+            Gauge.builder(METRIC_HEALTHY, replica, r -> r.healthy ? 1 : 0)
+                .description("Whether the read replica takes the read-only transactions")
+                .tag("replica", name)
+                .register(meterRegistry);
+        });
+        this.replicaConnections = routedConnections(meterRegistry, "replica", "read-only");
+        this.recentWriteConnections = routedConnections(meterRegistry, "primary", "recent-write");
+        this.noHealthyReplicaConnections = routedConnections(meterRegistry, "primary", "no-healthy-replica");
+    }
+
+    private static Counter routedConnections(MeterRegistry meterRegistry, String route, String reason) {
+        return Counter.builder(METRIC_CONNECTIONS)
+            .description("Connections of the read-only transactions, by the pool they were taken from")
+            .tags("route", route, "reason", reason)
+            .register(meterRegistry);
+    }
+
+    /**
+     * The primary, remembering the users committing a transaction through it so that their next reads stay on it.
+     */
+    public DataSource writes() {
+        return writes;
+    }
+
+    private void onRecentWrite(RecentWrite recentWrite) {
+        if (!nodeId.equals(recentWrite.origin())) {
+            recentWriters.put(recentWrite.login(), Boolean.TRUE);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return target().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return target().getConnection(username, password);
+    }
+
+    private DataSource target() {
+        if (SecurityUtils.getCurrentUserLogin().map(recentWriters::getIfPresent).isPresent()) {
+            recentWriteConnections.increment();
+            return primary;
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                replicaConnections.increment();
+                return replica.dataSource;
+            }
+        }
+        noHealthyReplicaConnections.increment();
+        return primary;
+    }
+
+    /**
+     * Measure the lag of every replica, taking out of the rotation those lagging too much or failing.
+     */
+    void checkReplicas() {
+        replicas.forEach(this::checkReplica);
+    }
+
+    private void checkReplica(Replica replica) {
+        boolean healthy;
+        try (
+            Connection connection = replica.dataSource.getConnection();
+            Statement statement = connection.createStatement()
+        ) {
+            statement.setQueryTimeout((int) Math.max(1, healthCheckInterval.toSeconds()));
+            try (ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                double lagSeconds = Double.NaN;
+                if (resultSet.next()) {
+                    lagSeconds = resultSet.getDouble(1);
+                    if (resultSet.wasNull()) {
+                        lagSeconds = Double.NaN;
+                    }
+                }
+                replica.lagSeconds = lagSeconds;
+                healthy = lagSeconds <= maxLag.toMillis() / 1000.0;
+            }
+        } catch (SQLException | RuntimeException e) {
+            log.debug("Health check of the read replica {} failed", replica.name, e);
+            replica.lagSeconds = Double.NaN;
+            healthy = false;
+        }
+        if (healthy != replica.healthy) {
+            if (healthy) {
+                log.info("Read replica {} is healthy, with a lag of {} s", replica.name, replica.lagSeconds);
+            } else {
+                log.warn("Read replica {} is out of the rotation, with a lag of {} s", replica.name, replica.lagSeconds);
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        healthChecks = new ScheduledThreadPoolExecutor(1, threadFactory());
+        healthChecks.scheduleWithFixedDelay(this::checkReplicas, 0, healthCheckInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private static CustomizableThreadFactory threadFactory() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("replica-health-check-");
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (healthChecks != null) {
+            healthChecks.shutdownNow();
+            healthChecks = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return healthChecks != null;
+    }
+
+    @Override
+    public void close() throws Exception {
+        stop();
+        topic.removeListener(listenerId);
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    /**
+     * A transaction committed by a user on the node of the given id.
+     */
+    record RecentWrite(UUID origin, String login) implements Serializable {}
+
+    private static final class Replica {
+
+        private final String name;
+
+        private final DataSource dataSource;
+
+        private volatile boolean healthy;
+
+        private volatile double lagSeconds = Double.NaN;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+
+    /**
+     * Registers, on each connection taken by a read-write transaction, the login of the current user once it commits.
+     */
+    private final class WriteTrackingDataSource extends DelegatingDataSource {
+
+        private WriteTrackingDataSource(DataSource primary) {
+            super(primary);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            trackWrite();
+            return super.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            trackWrite();
+            return super.getConnection(username, password);
+        }
+
+        private void trackWrite() {
+            if (
+                !TransactionSynchronizationManager.isSynchronizationActive() || TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+            ) {
+                return;
+            }
+            Optional<String> login = SecurityUtils.getCurrentUserLogin();
+            if (login.isPresent()) {
+                TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            recentWriters.put(login.get(), Boolean.TRUE);
+                            try {
+                                topic.publish(new RecentWrite(nodeId, login.get()));
+                            } catch (RuntimeException e) {
+                                log.warn(
+                                    "Could not publish the write of {} to the other nodes: {}",
+                                    login.get(),
+                                    e.getMessage()
+                                );
+                            }
+                        }
+                    }
+                );
+            }
+        }
+    }
+}
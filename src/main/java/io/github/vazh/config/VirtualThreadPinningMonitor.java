@@ -0,0 +1,104 @@
+package io.github.vazh.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Reports the virtual threads pinned to their carrier thread, typically by blocking inside a {@code synchronized} block
+ * of the JDBC driver, the connection pool or the Redis client, which takes the carrier away from the other virtual
+ * threads.
+ * <p>
+ * It streams the {@code jdk.VirtualThreadPinned} JFR events: each one is logged with its stack trace, and timed as
+ * {@code jvm.threads.virtual.pinned} tagged by the first class outside the JDK, naming the library to blame.
+ */
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    static final String METRIC_PINNED = "jvm.threads.virtual.pinned";
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final int LOGGED_FRAMES = 12;
+
+    private static final List<String> JDK_PACKAGES = List.of("java.", "javax.", "jdk.", "sun.", "com.sun.");
+
+    private final Duration threshold;
+
+    private final MeterRegistry meterRegistry;
+
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(Duration threshold, MeterRegistry meterRegistry) {
+        this.threshold = threshold;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public synchronized void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+        log.debug("Reporting the virtual threads pinned for more than {}", threshold);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+            recordingStream = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return recordingStream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() != null ? event.getStackTrace().getFrames() : List.of();
+        String source = source(frames.stream().map(frame -> frame.getMethod().getType().getName()).toList());
+        Timer.builder(METRIC_PINNED)
+            .description("Durations of the virtual threads pinned to their carrier thread")
+            .tag("source", source)
+            .register(meterRegistry)
+            .record(event.getDuration());
+        log.warn(
+            "Virtual thread pinned for {} ms in {}{}",
+            event.getDuration().toMillis(),
+            source,
+            frames
+                .stream()
+                .limit(LOGGED_FRAMES)
+                .map(VirtualThreadPinningMonitor::format)
+                .collect(Collectors.joining())
+        );
+    }
+
+    private static String format(RecordedFrame frame) {
+        return "\n\tat " + frame.getMethod().getType().getName() + '.' + frame.getMethod().getName() + ':' + frame.getLineNumber();
+    }
+
+    /**
+     * Get the first class of a stack trace outside the JDK.
+     *
+     * @param classNames the classes of the frames, innermost first.
+     * @return the class name, {@code unknown} if all of them belong to the JDK.
+     */
+    static String source(List<String> classNames) {
+        return classNames
+            .stream()
+            .filter(className -> JDK_PACKAGES.stream().noneMatch(className::startsWith))
+            .findFirst()
+            .orElse("unknown");
+    }
+}
@@ -0,0 +1,41 @@
+package io.github.vazh.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+/**
+ * Virtual threads, enabled by {@code spring.threads.virtual.enabled} on a Java 21 runtime, see the
+ * {@code virtual-threads} profile. The {@code @Async} tasks are handled by {@link AsyncConfiguration}.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfiguration {
+
+    /**
+     * Dispatch the servlet requests to virtual threads instead of the Undertow worker pool, Spring Boot only doing it
+     * for Tomcat and Jetty. The IO threads still accept the connections and parse the requests.
+     */
+    @Bean
+    public WebServerFactoryCustomizer<UndertowServletWebServerFactory> undertowVirtualThreadsCustomizer() {
+        return factory ->
+            factory.addDeploymentInfoCustomizers(deploymentInfo -> {
+                VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor("undertow-");
+                deploymentInfo.setExecutor(executor);
+                deploymentInfo.setAsyncExecutor(executor);
+            });
+    }
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        return new VirtualThreadPinningMonitor(applicationProperties.getVirtualThreads().getPinnedThreshold(), meterRegistry);
+    }
+}
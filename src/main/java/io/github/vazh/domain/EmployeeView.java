@@ -0,0 +1,320 @@
+package io.github.vazh.domain;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.Instant;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Synchronize;
+
+/**
+ * A row of the employee list, with the summaries of the manager, the department and the latest job of the employee.
+ * <p>
+ * The {@code employee_view} table is a read model of {@link Employee}, {@link Department} and {@link Job}, kept up to
+ * date on each flush of their changes by {@link io.github.vazh.repository.EmployeeViewRefresher}. Its queries
+ * flush these changes first, so they read the rows of the current transaction.
+ */
+@Entity
+@Immutable
+@Table(name = "employee_view")
+@Synchronize({ "employee", "department", "job" })
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class EmployeeView implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "version")
+    private Long version;
+
+    @Column(name = "first_name")
+    private String firstName;
+
+    @Column(name = "last_name")
+    private String lastName;
+
+    @Column(name = "email")
+    private String email;
+
+    @Column(name = "phone_number")
+    private String phoneNumber;
+
+    @Column(name = "hire_date")
+    private Instant hireDate;
+
+    @Column(name = "salary")
+    private Long salary;
+
+    @Column(name = "commission_pct")
+    private Long commissionPct;
+
+    @Column(name = "manager_id")
+    private Long managerId;
+
+    @Column(name = "manager_first_name")
+    private String managerFirstName;
+
+    @Column(name = "manager_last_name")
+    private String managerLastName;
+
+    @Column(name = "department_id")
+    private Long departmentId;
+
+    @Column(name = "department_name")
+    private String departmentName;
+
+    @Column(name = "job_id")
+    private Long jobId;
+
+    @Column(name = "job_title")
+    private String jobTitle;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public EmployeeView id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public EmployeeView version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public String getFirstName() {
+        return this.firstName;
+    }
+
+    public EmployeeView firstName(String firstName) {
+        this.setFirstName(firstName);
+        return this;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return this.lastName;
+    }
+
+    public EmployeeView lastName(String lastName) {
+        this.setLastName(lastName);
+        return this;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    public String getEmail() {
+        return this.email;
+    }
+
+    public EmployeeView email(String email) {
+        this.setEmail(email);
+        return this;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getPhoneNumber() {
+        return this.phoneNumber;
+    }
+
+    public EmployeeView phoneNumber(String phoneNumber) {
+        this.setPhoneNumber(phoneNumber);
+        return this;
+    }
+
+    public void setPhoneNumber(String phoneNumber) {
+        this.phoneNumber = phoneNumber;
+    }
+
+    public Instant getHireDate() {
+        return this.hireDate;
+    }
+
+    public EmployeeView hireDate(Instant hireDate) {
+        this.setHireDate(hireDate);
+        return this;
+    }
+
+    public void setHireDate(Instant hireDate) {
+        this.hireDate = hireDate;
+    }
+
+    public Long getSalary() {
+        return this.salary;
+    }
+
+    public EmployeeView salary(Long salary) {
+        this.setSalary(salary);
+        return this;
+    }
+
+    public void setSalary(Long salary) {
+        this.salary = salary;
+    }
+
+    public Long getCommissionPct() {
+        return this.commissionPct;
+    }
+
+    public EmployeeView commissionPct(Long commissionPct) {
+        this.setCommissionPct(commissionPct);
+        return this;
+    }
+
+    public void setCommissionPct(Long commissionPct) {
+        this.commissionPct = commissionPct;
+    }
+
+    public Long getManagerId() {
+        return this.managerId;
+    }
+
+    public EmployeeView managerId(Long managerId) {
+        this.setManagerId(managerId);
+        return this;
+    }
+
+    public void setManagerId(Long managerId) {
+        this.managerId = managerId;
+    }
+
+    public String getManagerFirstName() {
+        return this.managerFirstName;
+    }
+
+    public EmployeeView managerFirstName(String managerFirstName) {
+        this.setManagerFirstName(managerFirstName);
+        return this;
+    }
+
+    public void setManagerFirstName(String managerFirstName) {
+        this.managerFirstName = managerFirstName;
+    }
+
+    public String getManagerLastName() {
+        return this.managerLastName;
+    }
+
+    public EmployeeView managerLastName(String managerLastName) {
+        this.setManagerLastName(managerLastName);
+        return this;
+    }
+
+    public void setManagerLastName(String managerLastName) {
+        this.managerLastName = managerLastName;
+    }
+
+    public Long getDepartmentId() {
+        return this.departmentId;
+    }
+
+    public EmployeeView departmentId(Long departmentId) {
+        this.setDepartmentId(departmentId);
+        return this;
+    }
+
+    public void setDepartmentId(Long departmentId) {
+        this.departmentId = departmentId;
+    }
+
+    public String getDepartmentName() {
+        return this.departmentName;
+    }
+
+    public EmployeeView departmentName(String departmentName) {
+        this.setDepartmentName(departmentName);
+        return this;
+    }
+
+    public void setDepartmentName(String departmentName) {
+        this.departmentName = departmentName;
+    }
+
+    public Long getJobId() {
+        return this.jobId;
+    }
+
+    public EmployeeView jobId(Long jobId) {
+        this.setJobId(jobId);
+        return this;
+    }
+
+    public void setJobId(Long jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getJobTitle() {
+        return this.jobTitle;
+    }
+
+    public EmployeeView jobTitle(String jobTitle) {
+        this.setJobTitle(jobTitle);
+        return this;
+    }
+
+    public void setJobTitle(String jobTitle) {
+        this.jobTitle = jobTitle;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof EmployeeView)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((EmployeeView) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EmployeeView{" +
+            "id=" + getId() +
+            ", firstName='" + getFirstName() + "'" +
+            ", lastName='" + getLastName() + "'" +
+            ", email='" + getEmail() + "'" +
+            ", phoneNumber='" + getPhoneNumber() + "'" +
+            ", hireDate='" + getHireDate() + "'" +
+            ", salary=" + getSalary() +
+            ", commissionPct=" + getCommissionPct() +
+            ", managerId=" + getManagerId() +
+            ", managerFirstName='" + getManagerFirstName() + "'" +
+            ", managerLastName='" + getManagerLastName() + "'" +
+            ", departmentId=" + getDepartmentId() +
+            ", departmentName='" + getDepartmentName() + "'" +
+            ", jobId=" + getJobId() +
+            ", jobTitle='" + getJobTitle() + "'" +
+            "}";
+    }
+}
@@ -20,11 +20,15 @@ public class Job implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "jobSequenceGenerator")
+    @SequenceGenerator(name = "jobSequenceGenerator", sequenceName = "job_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Column(name = "job_title")
     private String jobTitle;
 
@@ -63,6 +67,14 @@ public class Job implements Serializable {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getJobTitle() {
         return this.jobTitle;
     }
@@ -20,11 +20,15 @@ public class JobHistory implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "jobHistorySequenceGenerator")
+    @SequenceGenerator(name = "jobHistorySequenceGenerator", sequenceName = "job_history_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Column(name = "start_date")
     private Instant startDate;
 
@@ -65,6 +69,14 @@ public class JobHistory implements Serializable {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Instant getStartDate() {
         return this.startDate;
     }
@@ -18,11 +18,15 @@ public class Location implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "locationSequenceGenerator")
+    @SequenceGenerator(name = "locationSequenceGenerator", sequenceName = "location_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Column(name = "street_address")
     private String streetAddress;
 
@@ -59,6 +63,14 @@ public class Location implements Serializable {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getStreetAddress() {
         return this.streetAddress;
     }
@@ -13,16 +13,24 @@ public class SecurityMetersService {
     public static final String INVALID_TOKENS_METER_BASE_UNIT = "errors";
     public static final String INVALID_TOKENS_METER_CAUSE_DIMENSION = "cause";
 
+    public static final String REJECTED_AUTHENTICATIONS_METER_NAME = "security.authentication.rejected";
+    public static final String REJECTED_AUTHENTICATIONS_METER_DESCRIPTION =
+        "Indicates the count of the authentications rejected because the authentication executor was full.";
+
     private final Counter tokenInvalidSignatureCounter;
     private final Counter tokenExpiredCounter;
     private final Counter tokenUnsupportedCounter;
     private final Counter tokenMalformedCounter;
+    private final Counter authenticationRejectedCounter;
 
     public SecurityMetersService(MeterRegistry registry) {
         this.tokenInvalidSignatureCounter = invalidTokensCounterForCauseBuilder("invalid-signature").register(registry);
         this.tokenExpiredCounter = invalidTokensCounterForCauseBuilder("expired").register(registry);
         this.tokenUnsupportedCounter = invalidTokensCounterForCauseBuilder("unsupported").register(registry);
         this.tokenMalformedCounter = invalidTokensCounterForCauseBuilder("malformed").register(registry);
+        this.authenticationRejectedCounter = Counter.builder(REJECTED_AUTHENTICATIONS_METER_NAME)
+            .description(REJECTED_AUTHENTICATIONS_METER_DESCRIPTION)
+            .register(registry);
     }
 
     private Counter.Builder invalidTokensCounterForCauseBuilder(String cause) {
@@ -47,4 +55,8 @@ public class SecurityMetersService {
     public void trackTokenMalformed() {
         this.tokenMalformedCounter.increment();
     }
+
+    public void trackAuthenticationRejected() {
+        this.authenticationRejectedCounter.increment();
+    }
 }
@@ -0,0 +1,79 @@
+package io.github.vazh.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.metamodel.PluralAttribute;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.engine.spi.BatchFetchQueue;
+import org.hibernate.engine.spi.CollectionEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository initializing the lazy collections of a list of already loaded entities.
+ * <p>
+ * Only the collection side is read: the uninitialized collections are queued for batch fetching, then Hibernate loads
+ * them by chunks of parent ids with one query on the collection table each, filling the collections of the already
+ * managed parents. The parent rows are not selected again, and the given list keeps its order.
+ */
+@Repository
+public class BagRelationshipFetcher {
+
+    static final int CHUNK_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Initialize a collection of the given entities. Entities whose collection is already loaded, or which are not
+     * managed by the current persistence context, are skipped.
+     *
+     * @param parents the entities owning the collection.
+     * @param attribute the collection attribute, from the static metamodel.
+     * @param <T> the type of the entities.
+     * @return the given entities.
+     */
+    public <T> List<T> fetch(List<T> parents, PluralAttribute<? super T, ?, ?> attribute) {
+        if (parents.isEmpty()) {
+            return parents;
+        }
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        BatchFetchQueue batchFetchQueue = session.getPersistenceContextInternal().getBatchFetchQueue();
+        List<PersistentCollection<?>> collections = new ArrayList<>(parents.size());
+        for (T parent : parents) {
+            PersistentCollection<?> collection = uninitializedCollection(session, parent, attribute.getName());
+            if (collection != null) {
+                CollectionEntry collectionEntry = session.getPersistenceContextInternal().getCollectionEntry(collection);
+                batchFetchQueue.addBatchLoadableCollection(collection, collectionEntry);
+                collections.add(collection);
+            }
+        }
+
+        int fetchBatchSize = session.getFetchBatchSize();
+        session.setFetchBatchSize(CHUNK_SIZE);
+        try {
+            // each initialization also loads the next queued collections, up to a chunk
+            for (PersistentCollection<?> collection : collections) {
+                if (!collection.wasInitialized()) {
+                    collection.forceInitialization();
+                }
+            }
+        } finally {
+            session.setFetchBatchSize(fetchBatchSize);
+        }
+        return parents;
+    }
+
+    /**
+     * The collection of a managed entity, or {@code null} if the entity is not managed or its collection is loaded.
+     */
+    private static PersistentCollection<?> uninitializedCollection(SessionImplementor session, Object parent, String attributeName) {
+        if (!session.contains(parent)) {
+            return null;
+        }
+        Object value = session.getEntityPersister(null, parent).getPropertyValue(parent, attributeName);
+        return value instanceof PersistentCollection<?> collection && !collection.wasInitialized() ? collection : null;
+    }
+}
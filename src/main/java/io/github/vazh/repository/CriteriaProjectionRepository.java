@@ -0,0 +1,243 @@
+package io.github.vazh.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.hibernate.Session;
+import org.hibernate.query.NullPrecedence;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository reading only the columns selected by a projection from the entities matching a {@link Specification}.
+ * <p>
+ * The rows are returned as {@link Tuple}s and no entity is loaded, so the persistence context stays empty and the
+ * second level cache is left untouched. The id of a to-one association is read from the foreign key, without a join.
+ */
+@Repository
+public class CriteriaProjectionRepository {
+
+    private static final String ID_PROPERTY = "id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Read a page of the projection of the entities matching the specification.
+     *
+     * @param domainClass the entity class.
+     * @param specification the specification the entities must match.
+     * @param projection the selections of the projection, from the root of the query.
+     * @param page the page to read.
+     * @param <T> the type of the entities.
+     * @return the page of rows, the total being counted only when it cannot be deduced from the page.
+     */
+    public <T> Page<Tuple> findAll(
+        Class<T> domainClass,
+        Specification<T> specification,
+        Function<Root<T>, List<Selection<?>>> projection,
+        Pageable page
+    ) {
+        List<Tuple> content = findTuples(domainClass, specification, projection, page, 0);
+        return PageableExecutionUtils.getPage(content, page, () -> count(domainClass, specification));
+    }
+
+    /**
+     * Read a slice of the projection of the entities matching the specification.
+     * One extra row is read to know if there is a next slice, no count query is issued.
+     *
+     * @param domainClass the entity class.
+     * @param specification the specification the entities must match.
+     * @param projection the selections of the projection, from the root of the query.
+     * @param page the page to read.
+     * @param <T> the type of the entities.
+     * @return the slice of rows.
+     */
+    public <T> Slice<Tuple> findSlice(
+        Class<T> domainClass,
+        Specification<T> specification,
+        Function<Root<T>, List<Selection<?>>> projection,
+        Pageable page
+    ) {
+        List<Tuple> content = findTuples(domainClass, specification, projection, page, 1);
+        boolean hasNext = page.isPaged() && content.size() > page.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, page.getPageSize()) : content, page, hasNext);
+    }
+
+    /**
+     * Read a window of the projection of the entities matching the specification, right after the given keyset
+     * position. One extra row is read to know if there is a next window, no count query is issued.
+     * <p>
+     * The rows are ordered by the sort of the page then by id, the nulls being the greatest values, last in ascending
+     * order and first in descending order. The position of each row is built from the sorted properties and the id,
+     * read under the alias the projection selects them with, or else selected too under their name as alias.
+     *
+     * @param domainClass the entity class.
+     * @param specification the specification the entities must match.
+     * @param projection the selections of the projection, from the root of the query.
+     * @param position the forward keyset position to read from.
+     * @param page the size and the sort of the window, the page number is ignored.
+     * @param <T> the type of the entities.
+     * @return the window of rows.
+     */
+    public <T> Window<Tuple> findWindow(
+        Class<T> domainClass,
+        Specification<T> specification,
+        Function<Root<T>, List<Selection<?>>> projection,
+        KeysetScrollPosition position,
+        Pageable page
+    ) {
+        Sort sort = page.getSort().getOrderFor(ID_PROPERTY) == null ? page.getSort().and(Sort.by(ID_PROPERTY)) : page.getSort();
+        HibernateCriteriaBuilder builder = entityManager.unwrap(Session.class).getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<T> root = query.from(domainClass);
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            predicates.add(predicate);
+        }
+        if (!position.isInitial()) {
+            predicates.add(after(builder, root, sort, position.getKeys()));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        List<Selection<?>> selections = new ArrayList<>(projection.apply(root));
+        Map<String, String> keyAliases = new LinkedHashMap<>();
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            Expression<Comparable<Object>> path = path(root, order.getProperty());
+            keyAliases.put(order.getProperty(), keyAlias(selections, path, order.getProperty()));
+            orders.add(
+                order.isAscending() ? builder.asc(path).nullPrecedence(NullPrecedence.LAST) : builder.desc(path).nullPrecedence(NullPrecedence.FIRST)
+            );
+        }
+        query.multiselect(selections);
+        query.orderBy(orders);
+
+        List<Tuple> content = entityManager.createQuery(query).setMaxResults(page.getPageSize() + 1).getResultList();
+        boolean hasNext = content.size() > page.getPageSize();
+        List<Tuple> rows = hasNext ? content.subList(0, page.getPageSize()) : content;
+        return Window.from(
+            rows,
+            index -> {
+                Map<String, Object> keys = new LinkedHashMap<>();
+                keyAliases.forEach((property, alias) -> keys.put(property, rows.get(index).get(alias)));
+                return ScrollPosition.forward(keys);
+            },
+            hasNext
+        );
+    }
+
+    /**
+     * The rows after the given keys in the sort order: the first sorted property is past its key, or equal to it and
+     * the second one is past its key, and so on. A null key is past all the values in ascending order, and before all
+     * of them in descending order.
+     */
+    private static <T> Predicate after(CriteriaBuilder builder, Root<T> root, Sort sort, Map<String, Object> keys) {
+        List<Predicate> alternatives = new ArrayList<>();
+        List<Predicate> equalities = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            Expression<Comparable<Object>> path = path(root, order.getProperty());
+            @SuppressWarnings("unchecked")
+            Comparable<Object> key = (Comparable<Object>) keys.get(order.getProperty());
+            Predicate past;
+            if (key == null) {
+                past = order.isAscending() ? builder.disjunction() : builder.isNotNull(path);
+            } else {
+                past = order.isAscending() ? builder.or(builder.greaterThan(path, key), builder.isNull(path)) : builder.lessThan(path, key);
+            }
+            List<Predicate> alternative = new ArrayList<>(equalities);
+            alternative.add(past);
+            alternatives.add(builder.and(alternative.toArray(new Predicate[0])));
+            equalities.add(key == null ? builder.isNull(path) : builder.equal(path, key));
+        }
+        return builder.or(alternatives.toArray(new Predicate[0]));
+    }
+
+    /**
+     * The alias of the selection reading a sorted property: the one of the projection selecting its path, which is the
+     * same instance for the same attributes, or else the property itself, selecting the path under this alias if needed.
+     */
+    private static String keyAlias(List<Selection<?>> selections, Expression<?> path, String property) {
+        for (Selection<?> selection : selections) {
+            if (selection == path || property.equals(selection.getAlias())) {
+                return selection.getAlias();
+            }
+        }
+        selections.add(path.alias(property));
+        return property;
+    }
+
+    private static <T> Expression<Comparable<Object>> path(Root<T> root, String property) {
+        Path<?> path = root;
+        for (String attribute : property.split("\\.")) {
+            path = path.get(attribute);
+        }
+        @SuppressWarnings("unchecked")
+        Expression<Comparable<Object>> expression = (Expression<Comparable<Object>>) path;
+        return expression;
+    }
+
+    private <T> List<Tuple> findTuples(
+        Class<T> domainClass,
+        Specification<T> specification,
+        Function<Root<T>, List<Selection<?>>> projection,
+        Pageable page,
+        int extraRows
+    ) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<T> root = query.from(domainClass);
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.multiselect(projection.apply(root));
+        if (page.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(page.getSort(), root, builder));
+        }
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (page.isPaged()) {
+            typedQuery.setFirstResult(Math.toIntExact(page.getOffset())).setMaxResults(page.getPageSize() + extraRows);
+        }
+        return typedQuery.getResultList();
+    }
+
+    private <T> long count(Class<T> domainClass, Specification<T> specification) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        Root<T> root = query.from(domainClass);
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        // Must be read after the specification, which sets it
+        query.select(query.isDistinct() ? builder.countDistinct(root) : builder.count(root));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
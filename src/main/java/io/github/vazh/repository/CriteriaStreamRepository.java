@@ -0,0 +1,82 @@
+package io.github.vazh.repository;
+
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository reading all the entities matching a {@link Specification} through a forward-only database cursor.
+ * <p>
+ * The entities are handed out by chunks, and the persistence context is cleared after each chunk, so the memory used
+ * does not depend on the number of rows. It must be called within a transaction, which keeps the cursor open.
+ */
+@Repository
+public class CriteriaStreamRepository {
+
+    static final int FETCH_SIZE = 500;
+
+    private static final Sort DEFAULT_SORT = Sort.by("id");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Read all the entities matching the specification, chunk by chunk.
+     *
+     * @param domainClass the entity class.
+     * @param specification the specification the entities must match.
+     * @param sort the sort of the entities, by id when unsorted.
+     * @param consumer the consumer of each chunk, the entities are detached once it returns.
+     * @param <T> the type of the entities.
+     */
+    public <T> void forEachChunk(Class<T> domainClass, Specification<T> specification, Sort sort, Consumer<List<T>> consumer) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = builder.createQuery(domainClass);
+        Root<T> root = query.from(domainClass);
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(root).orderBy(QueryUtils.toOrders(sort.isSorted() ? sort : DEFAULT_SORT, root, builder));
+
+        try (
+            Stream<T> stream = entityManager
+                .createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setHint(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.BYPASS)
+                .getResultStream()
+        ) {
+            List<T> chunk = new ArrayList<>(FETCH_SIZE);
+            Iterator<T> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == FETCH_SIZE) {
+                    consumer.accept(chunk);
+                    // Must happen before moving the cursor, or the next entity would be detached too
+                    entityManager.clear();
+                    chunk = new ArrayList<>(FETCH_SIZE);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                consumer.accept(chunk);
+                entityManager.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package io.github.vazh.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import java.util.List;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository walking the hierarchy of {@link io.github.vazh.domain.Employee} along {@code manager_id}.
+ * <p>
+ * Each walk is a single recursive common table expression, whatever the size of the hierarchy. The {@code cycle}
+ * clause stops the walk at the first employee seen twice on a path, so that a cycle in the managers cannot run forever
+ * nor return an employee twice.
+ */
+@Repository
+public class EmployeeHierarchyRepository {
+
+    private static final String NODE_COLUMNS =
+        """
+        e.id as id, e.first_name as first_name, e.last_name as last_name, e.email as email, e.salary as salary,
+            e.manager_id as manager_id, e.department_id as department_id, h.depth as depth
+        """;
+
+    /**
+     * Each report deeper than the requested depth is attached to its manager at that depth, which gets the number of
+     * its direct reports, and the number and the total salary of all these reports.
+     */
+    private static final String REPORTS_QUERY =
+        """
+        with recursive hierarchy (id, depth, anchor_id) as (
+            select e.id, 0, e.id from employee e where e.id = :id
+            union all
+            select e.id, h.depth + 1, case when h.depth < :depth then e.id else h.anchor_id end
+            from hierarchy h join employee e on e.manager_id = h.id
+        ) cycle id set is_cycle using path,
+        deeper (anchor_id, direct_reports, reports, salary) as (
+            select h.anchor_id, count(*) filter (where h.depth - 1 = :depth), count(*), coalesce(sum(e.salary), 0)
+            from hierarchy h join employee e on e.id = h.id
+            where h.depth > :depth and not h.is_cycle
+            group by h.anchor_id
+        )
+        select
+        """ +
+        NODE_COLUMNS +
+        """
+            , coalesce(d.direct_reports, 0) as deeper_direct_reports, coalesce(d.reports, 0) as deeper_reports,
+            coalesce(d.salary, 0) as deeper_salary
+        from hierarchy h join employee e on e.id = h.id left join deeper d on d.anchor_id = h.id
+        where h.depth <= :depth and not h.is_cycle
+        order by h.depth, e.id
+        """;
+
+    private static final String CHAIN_QUERY =
+        """
+        with recursive hierarchy (id, manager_id, depth) as (
+            select e.id, e.manager_id, 0 from employee e where e.id = :id
+            union all
+            select e.id, e.manager_id, h.depth + 1 from hierarchy h join employee e on e.id = h.manager_id
+        ) cycle id set is_cycle using path
+        select
+        """ +
+        NODE_COLUMNS +
+        """
+            , 0 as deeper_direct_reports, 0 as deeper_reports, 0 as deeper_salary
+        from hierarchy h join employee e on e.id = h.id
+        where not h.is_cycle
+        order by h.depth, e.id
+        """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Get the employee and its direct and indirect reports down to the given depth, ordered by depth.
+     *
+     * @param id the id of the employee.
+     * @param depth the number of levels of reports to return, all of them when {@code null}.
+     * @return the employee at depth 0 and its reports, or an empty list if the employee does not exist.
+     */
+    public List<EmployeeNode> findReports(Long id, Integer depth) {
+        return findNodes(
+            entityManager
+                .createNativeQuery(REPORTS_QUERY, Tuple.class)
+                .setParameter("id", id)
+                .setParameter("depth", depth == null ? Integer.MAX_VALUE : depth)
+        );
+    }
+
+    /**
+     * Get the employee and its chain of managers up to the top of the hierarchy, ordered by depth.
+     *
+     * @param id the id of the employee.
+     * @return the employee at depth 0 and its managers, or an empty list if the employee does not exist.
+     */
+    public List<EmployeeNode> findChain(Long id) {
+        return findNodes(entityManager.createNativeQuery(CHAIN_QUERY, Tuple.class).setParameter("id", id));
+    }
+
+    private static List<EmployeeNode> findNodes(Query query) {
+        @SuppressWarnings("unchecked")
+        List<Tuple> tuples = query.getResultList();
+        return tuples
+            .stream()
+            .map(tuple ->
+                new EmployeeNode(
+                    toLong(tuple.get("id")),
+                    (String) tuple.get("first_name"),
+                    (String) tuple.get("last_name"),
+                    (String) tuple.get("email"),
+                    toLong(tuple.get("salary")),
+                    toLong(tuple.get("manager_id")),
+                    toLong(tuple.get("department_id")),
+                    ((Number) tuple.get("depth")).intValue(),
+                    ((Number) tuple.get("deeper_direct_reports")).intValue(),
+                    ((Number) tuple.get("deeper_reports")).intValue(),
+                    ((Number) tuple.get("deeper_salary")).longValue()
+                )
+            )
+            .toList();
+    }
+
+    private static Long toLong(Object value) {
+        return value == null ? null : ((Number) value).longValue();
+    }
+
+    /**
+     * An employee of the hierarchy, at the given number of levels from the employee the walk started from, with the
+     * number of its direct reports, and the number and the total salary of all its reports, deeper than the requested
+     * depth.
+     */
+    public record EmployeeNode(
+        Long id,
+        String firstName,
+        String lastName,
+        String email,
+        Long salary,
+        Long managerId,
+        Long departmentId,
+        int depth,
+        int deeperDirectReports,
+        int deeperReports,
+        long deeperSalary
+    ) {}
+}
@@ -0,0 +1,463 @@
+package io.github.vazh.repository;
+
+import io.github.vazh.domain.Department;
+import io.github.vazh.domain.Employee;
+import io.github.vazh.domain.EmployeeView;
+import io.github.vazh.domain.Employee_;
+import io.github.vazh.domain.Job;
+import io.github.vazh.domain.Job_;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AutoFlushEvent;
+import org.hibernate.event.spi.AutoFlushEventListener;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.FlushEvent;
+import org.hibernate.event.spi.FlushEventListener;
+import org.hibernate.event.spi.PreDeleteEvent;
+import org.hibernate.event.spi.PreDeleteEventListener;
+import org.hibernate.event.spi.PreInsertEvent;
+import org.hibernate.event.spi.PreInsertEventListener;
+import org.hibernate.event.spi.PreUpdateEvent;
+import org.hibernate.event.spi.PreUpdateEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the {@link EmployeeView} read model up to date from the Hibernate events of {@link Employee}, {@link Department}
+ * and {@link Job}.
+ * <p>
+ * Registered as a Hibernate {@link Integrator} through {@code META-INF/services}, it collects the rows affected by the
+ * inserts, updates and deletes of a flush, then rewrites only these rows of {@code employee_view} from the source tables
+ * once the flush executed them, in the same transaction. Every write of the source entities goes through it, whether
+ * from the services or the bulk operations.
+ * <p>
+ * Before each write, transaction-scoped advisory locks are taken on the rows of {@code employee_view} it affects, and
+ * in shared mode on the department and the manager it references, which their own changes take in exclusive mode. Two
+ * transactions changing the same rows are serialized up to the commit, so the last refresh of a row reads the source
+ * rows committed by the other one, while the changes of unrelated rows run concurrently. The locks of each write are
+ * taken in order, but two transactions writing several rows in different orders can still deadlock: PostgreSQL then
+ * aborts one of them, which is answered with a {@code 409 (Conflict)} and a {@code Retry-After} header.
+ * <p>
+ * The SQL is specific to PostgreSQL, so the listeners are only registered on the session factories of this dialect.
+ */
+public class EmployeeViewRefresher
+    implements
+        Integrator,
+        PreInsertEventListener,
+        PreUpdateEventListener,
+        PreDeleteEventListener,
+        FlushEventListener,
+        AutoFlushEventListener {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeViewRefresher.class);
+
+    private static final String VIEW_LOCKS = "employee_view";
+
+    private static final String DEPARTMENT_LOCKS = "employee_view.department";
+
+    private static final String MANAGER_LOCKS = "employee_view.manager";
+
+    /**
+     * Takes the advisory locks of a kind on the given ids, in the order of their keys so that two transactions cannot
+     * wait for each other.
+     */
+    private static final String LOCK_SQL =
+        "select pg_advisory_xact_lock(hashtext(?), k) from (select distinct hashint8(id) k from unnest(?) id) keys order by k";
+
+    private static final String LOCK_SHARED_SQL =
+        "select pg_advisory_xact_lock_shared(hashtext(?), k) from (select distinct hashint8(id) k from unnest(?) id) keys order by k";
+
+    /**
+     * Takes the advisory locks of the rows of the employees managed by the given ones or working in the given departments.
+     */
+    private static final String LOCK_MEMBERS_SQL =
+        """
+        select pg_advisory_xact_lock(hashtext(?), k)
+        from (select distinct hashint8(id) k from employee where manager_id = any(?) or department_id = any(?)) keys
+        order by k
+        """;
+
+    private static final String DELETE_SQL = "delete from employee_view where id = any(?)";
+
+    /**
+     * Rewrites the rows of the given employees, of the employees they manage, and of the employees of the given
+     * departments, the job of an employee being its latest one.
+     */
+    static final String UPSERT_SQL =
+        """
+        insert into employee_view (
+            id, version, first_name, last_name, email, phone_number, hire_date, salary, commission_pct,
+            manager_id, manager_first_name, manager_last_name, department_id, department_name, job_id, job_title
+        )
+        select e.id, e.version, e.first_name, e.last_name, e.email, e.phone_number, e.hire_date, e.salary, e.commission_pct,
+            m.id, m.first_name, m.last_name, d.id, d.department_name, j.id, j.job_title
+        from employee e
+        left join employee m on m.id = e.manager_id
+        left join department d on d.id = e.department_id
+        left join lateral (select lj.id, lj.job_title from job lj where lj.employee_id = e.id order by lj.id desc limit 1) j on true
+        where e.id = any(?) or e.manager_id = any(?) or e.department_id = any(?)
+        on conflict (id) do update set
+            version = excluded.version,
+            first_name = excluded.first_name,
+            last_name = excluded.last_name,
+            email = excluded.email,
+            phone_number = excluded.phone_number,
+            hire_date = excluded.hire_date,
+            salary = excluded.salary,
+            commission_pct = excluded.commission_pct,
+            manager_id = excluded.manager_id,
+            manager_first_name = excluded.manager_first_name,
+            manager_last_name = excluded.manager_last_name,
+            department_id = excluded.department_id,
+            department_name = excluded.department_name,
+            job_id = excluded.job_id,
+            job_title = excluded.job_title
+        """;
+
+    private final Map<EventSource, PendingRefresh> pendingRefreshes = new ConcurrentHashMap<>();
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        Dialect dialect = sessionFactory.getJdbcServices().getDialect();
+        if (!(dialect instanceof PostgreSQLDialect)) {
+            log.debug("The employee views are not refreshed with the {}", dialect.getClass().getSimpleName());
+            return;
+        }
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.PRE_INSERT, this);
+        registry.appendListeners(EventType.PRE_UPDATE, this);
+        registry.appendListeners(EventType.PRE_DELETE, this);
+        registry.appendListeners(EventType.FLUSH, this);
+        registry.appendListeners(EventType.AUTO_FLUSH, this);
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        pendingRefreshes.clear();
+    }
+
+    @Override
+    public boolean onPreInsert(PreInsertEvent event) {
+        if (event.getEntity() instanceof Employee employee) {
+            PendingRefresh refresh = pendingRefresh(event.getSession());
+            refresh.employees.add((Long) event.getId());
+            // no other transaction sees the new row, only the changes of its department and manager are serialized
+            Locks locks = new Locks();
+            locks.addReferences(employee.getDepartment(), employee.getManager());
+            lock(event.getSession(), refresh, locks);
+        } else if (event.getEntity() instanceof Job job) {
+            PendingRefresh refresh = pendingRefresh(event.getSession());
+            refresh.addEmployee(job.getEmployee());
+            Locks locks = new Locks();
+            locks.addEmployee(job.getEmployee());
+            lock(event.getSession(), refresh, locks);
+        }
+        return false;
+    }
+
+    @Override
+    public boolean onPreUpdate(PreUpdateEvent event) {
+        if (event.getEntity() instanceof Employee employee) {
+            PendingRefresh refresh = pendingRefresh(event.getSession());
+            refresh.employees.add((Long) event.getId());
+            refresh.managers.add((Long) event.getId());
+            Locks locks = new Locks();
+            locks.addReferences(employee.getDepartment(), employee.getManager());
+            locks.addReferences(event.getOldState(), event.getPersister().getPropertyNames());
+            locks.changedEmployee((Long) event.getId());
+            lock(event.getSession(), refresh, locks);
+        } else if (event.getEntity() instanceof Department) {
+            PendingRefresh refresh = pendingRefresh(event.getSession());
+            refresh.departments.add((Long) event.getId());
+            Locks locks = new Locks();
+            locks.changedDepartment((Long) event.getId());
+            lock(event.getSession(), refresh, locks);
+        } else if (event.getEntity() instanceof Job job) {
+            PendingRefresh refresh = pendingRefresh(event.getSession());
+            Locks locks = new Locks();
+            refresh.addEmployee(job.getEmployee());
+            locks.addEmployee(job.getEmployee());
+            if (event.getOldState() != null) {
+                int index = Arrays.asList(event.getPersister().getPropertyNames()).indexOf(Job_.EMPLOYEE);
+                refresh.addEmployee((Employee) event.getOldState()[index]);
+                locks.addEmployee((Employee) event.getOldState()[index]);
+            }
+            lock(event.getSession(), refresh, locks);
+        }
+        return false;
+    }
+
+    @Override
+    public boolean onPreDelete(PreDeleteEvent event) {
+        if (event.getEntity() instanceof Employee) {
+            PendingRefresh refresh = pendingRefresh(event.getSession());
+            refresh.deletedEmployees.add((Long) event.getId());
+            refresh.managers.add((Long) event.getId());
+            Locks locks = new Locks();
+            locks.addReferences(event.getDeletedState(), event.getPersister().getPropertyNames());
+            locks.changedEmployee((Long) event.getId());
+            lock(event.getSession(), refresh, locks);
+        } else if (event.getEntity() instanceof Department) {
+            PendingRefresh refresh = pendingRefresh(event.getSession());
+            refresh.departments.add((Long) event.getId());
+            Locks locks = new Locks();
+            locks.changedDepartment((Long) event.getId());
+            lock(event.getSession(), refresh, locks);
+        } else if (event.getEntity() instanceof Job job) {
+            PendingRefresh refresh = pendingRefresh(event.getSession());
+            refresh.addEmployee(job.getEmployee());
+            Locks locks = new Locks();
+            locks.addEmployee(job.getEmployee());
+            lock(event.getSession(), refresh, locks);
+        }
+        return false;
+    }
+
+    @Override
+    public void onFlush(FlushEvent event) {
+        refresh(event.getSession());
+    }
+
+    @Override
+    public void onAutoFlush(AutoFlushEvent event) {
+        refresh(event.getSession());
+    }
+
+    /**
+     * The rows to refresh of the transaction of the session.
+     */
+    private PendingRefresh pendingRefresh(EventSource session) {
+        return pendingRefreshes.computeIfAbsent(session, key -> {
+            session
+                .getActionQueue()
+                .registerProcess((AfterTransactionCompletionProcess) (success, completed) -> pendingRefreshes.remove(session));
+            return new PendingRefresh();
+        });
+    }
+
+    /**
+     * Takes the locks of a write not held yet by its transaction, those of the departments and the managers first, then
+     * those of the rows of {@code employee_view}.
+     */
+    private void lock(EventSource session, PendingRefresh refresh, Locks locks) {
+        locks.exclusiveDepartments.removeAll(refresh.exclusiveDepartments);
+        locks.sharedDepartments.removeAll(refresh.exclusiveDepartments);
+        locks.sharedDepartments.removeAll(refresh.sharedDepartments);
+        locks.exclusiveManagers.removeAll(refresh.exclusiveManagers);
+        locks.sharedManagers.removeAll(refresh.exclusiveManagers);
+        locks.sharedManagers.removeAll(refresh.sharedManagers);
+        locks.employees.removeAll(refresh.lockedEmployees);
+        if (locks.isEmpty()) {
+            return;
+        }
+        session.doWork(connection -> {
+            lock(connection, LOCK_SQL, DEPARTMENT_LOCKS, locks.exclusiveDepartments);
+            lock(connection, LOCK_SHARED_SQL, DEPARTMENT_LOCKS, locks.sharedDepartments);
+            lock(connection, LOCK_SQL, MANAGER_LOCKS, locks.exclusiveManagers);
+            lock(connection, LOCK_SHARED_SQL, MANAGER_LOCKS, locks.sharedManagers);
+            // the members are read once the locks of their department or manager are held, so none can join meanwhile
+            if (!locks.exclusiveManagers.isEmpty() || !locks.exclusiveDepartments.isEmpty()) {
+                try (PreparedStatement statement = connection.prepareStatement(LOCK_MEMBERS_SQL)) {
+                    statement.setString(1, VIEW_LOCKS);
+                    statement.setArray(2, PendingRefresh.toArray(connection, locks.exclusiveManagers));
+                    statement.setArray(3, PendingRefresh.toArray(connection, locks.exclusiveDepartments));
+                    statement.execute();
+                }
+            }
+            lock(connection, LOCK_SQL, VIEW_LOCKS, locks.employees);
+        });
+        refresh.exclusiveDepartments.addAll(locks.exclusiveDepartments);
+        refresh.sharedDepartments.addAll(locks.sharedDepartments);
+        refresh.exclusiveManagers.addAll(locks.exclusiveManagers);
+        refresh.sharedManagers.addAll(locks.sharedManagers);
+        refresh.lockedEmployees.addAll(locks.employees);
+    }
+
+    private static void lock(Connection connection, String sql, String kind, Set<Long> ids) throws SQLException {
+        if (ids.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, kind);
+            statement.setArray(2, PendingRefresh.toArray(connection, ids));
+            statement.execute();
+        }
+    }
+
+    private void refresh(EventSource session) {
+        PendingRefresh refresh = pendingRefreshes.get(session);
+        if (refresh == null || refresh.isEmpty()) {
+            return;
+        }
+        log.debug("Refresh the employee views of {}", refresh);
+        session.doWork(refresh::execute);
+        refresh.clear();
+        // the rows already loaded by the session are stale
+        for (Map.Entry<Object, EntityEntry> entry : session.getPersistenceContextInternal().reentrantSafeEntityEntries()) {
+            if (entry.getKey() instanceof EmployeeView) {
+                session.evict(entry.getKey());
+            }
+        }
+    }
+
+    /**
+     * The rows of {@code employee_view} changed by the writes of a transaction not refreshed yet, and the locks it holds.
+     */
+    private static final class PendingRefresh {
+
+        private final Set<Long> employees = new HashSet<>();
+
+        private final Set<Long> managers = new HashSet<>();
+
+        private final Set<Long> departments = new HashSet<>();
+
+        private final Set<Long> deletedEmployees = new HashSet<>();
+
+        private final Set<Long> exclusiveDepartments = new HashSet<>();
+
+        private final Set<Long> sharedDepartments = new HashSet<>();
+
+        private final Set<Long> exclusiveManagers = new HashSet<>();
+
+        private final Set<Long> sharedManagers = new HashSet<>();
+
+        private final Set<Long> lockedEmployees = new HashSet<>();
+
+        void addEmployee(Employee employee) {
+            if (employee != null && employee.getId() != null) {
+                employees.add(employee.getId());
+            }
+        }
+
+        boolean isEmpty() {
+            return employees.isEmpty() && managers.isEmpty() && departments.isEmpty() && deletedEmployees.isEmpty();
+        }
+
+        void clear() {
+            employees.clear();
+            managers.clear();
+            departments.clear();
+            deletedEmployees.clear();
+        }
+
+        void execute(Connection connection) throws SQLException {
+            if (!deletedEmployees.isEmpty()) {
+                try (PreparedStatement delete = connection.prepareStatement(DELETE_SQL)) {
+                    delete.setArray(1, toArray(connection, deletedEmployees));
+                    delete.executeUpdate();
+                }
+            }
+            try (PreparedStatement upsert = connection.prepareStatement(UPSERT_SQL)) {
+                upsert.setArray(1, toArray(connection, employees));
+                upsert.setArray(2, toArray(connection, managers));
+                upsert.setArray(3, toArray(connection, departments));
+                upsert.executeUpdate();
+            }
+        }
+
+        private static Array toArray(Connection connection, Set<Long> ids) throws SQLException {
+            return connection.createArrayOf("bigint", ids.toArray(new Long[0]));
+        }
+
+        @Override
+        public String toString() {
+            return (
+                "PendingRefresh{employees=" +
+                employees +
+                ", managers=" +
+                managers +
+                ", departments=" +
+                departments +
+                ", deletedEmployees=" +
+                deletedEmployees +
+                "}"
+            );
+        }
+    }
+
+    /**
+     * The locks needed by a write: exclusive on the rows of {@code employee_view} it affects and on the department or
+     * the manager it changes, shared on the department and the manager it references.
+     */
+    private static final class Locks {
+
+        private final Set<Long> exclusiveDepartments = new HashSet<>();
+
+        private final Set<Long> sharedDepartments = new HashSet<>();
+
+        private final Set<Long> exclusiveManagers = new HashSet<>();
+
+        private final Set<Long> sharedManagers = new HashSet<>();
+
+        private final Set<Long> employees = new HashSet<>();
+
+        void addEmployee(Employee employee) {
+            if (employee != null && employee.getId() != null) {
+                employees.add(employee.getId());
+            }
+        }
+
+        void addReferences(Department department, Employee manager) {
+            if (department != null && department.getId() != null) {
+                sharedDepartments.add(department.getId());
+            }
+            if (manager != null && manager.getId() != null) {
+                sharedManagers.add(manager.getId());
+            }
+        }
+
+        /**
+         * Adds the department and the manager of the state of an employee, as loaded or deleted.
+         */
+        void addReferences(Object[] state, String[] propertyNames) {
+            if (state != null) {
+                List<String> names = Arrays.asList(propertyNames);
+                addReferences((Department) state[names.indexOf(Employee_.DEPARTMENT)], (Employee) state[names.indexOf(Employee_.MANAGER)]);
+            }
+        }
+
+        /**
+         * An employee changed: its row and the rows of the employees it manages.
+         */
+        void changedEmployee(Long id) {
+            employees.add(id);
+            exclusiveManagers.add(id);
+        }
+
+        /**
+         * A department changed: the rows of its employees.
+         */
+        void changedDepartment(Long id) {
+            exclusiveDepartments.add(id);
+        }
+
+        boolean isEmpty() {
+            return (
+                exclusiveDepartments.isEmpty() &&
+                sharedDepartments.isEmpty() &&
+                exclusiveManagers.isEmpty() &&
+                sharedManagers.isEmpty() &&
+                employees.isEmpty()
+            );
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package io.github.vazh.repository;
+
+import io.github.vazh.domain.EmployeeView;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the EmployeeView read model.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface EmployeeViewRepository extends JpaRepository<EmployeeView, Long>, JpaSpecificationExecutor<EmployeeView> {}
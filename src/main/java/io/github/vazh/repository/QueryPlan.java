@@ -0,0 +1,12 @@
+package io.github.vazh.repository;
+
+/**
+ * Queries compiled from the shape of a criteria, as HQL with named parameters.
+ * <p>
+ * Hibernate caches the interpretation of an HQL string, so executing a plan again skips both the building of a criteria
+ * tree and its translation to SQL.
+ *
+ * @param selectQuery the query reading the rows, sorted.
+ * @param countQuery the query counting the rows.
+ */
+public record QueryPlan(String selectQuery, String countQuery) {}
@@ -0,0 +1,260 @@
+package io.github.vazh.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.hibernate.Session;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repository executing {@link QueryPlan}s, binding the values of a criteria to their named parameters.
+ * <p>
+ * Like {@link CriteriaProjectionRepository}, the rows of a plan selecting columns are returned as {@link Tuple}s and no
+ * entity is loaded, while a plan selecting the entity returns the entities. The SQL of each query is kept by
+ * {@link QueryPlanStatements}, to {@link #explain(String) explain} which indexes it uses.
+ */
+@Repository
+public class QueryPlanRepository {
+
+    private static final String EXPLAIN = "EXPLAIN (GENERIC_PLAN, FORMAT JSON) ";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final QueryPlanStatements queryPlanStatements;
+
+    public QueryPlanRepository(QueryPlanStatements queryPlanStatements) {
+        this.queryPlanStatements = queryPlanStatements;
+    }
+
+    /**
+     * Read a page of the rows of the plan.
+     *
+     * @param plan the plan, sorted like the page.
+     * @param parameters the values of the named parameters of the plan.
+     * @param page the page to read.
+     * @return the page of rows, the total being counted only when it cannot be deduced from the page.
+     */
+    public Page<Tuple> findAll(QueryPlan plan, Map<String, Object> parameters, Pageable page) {
+        return findAll(plan, parameters, page, Tuple.class);
+    }
+
+    /**
+     * Read a page of the rows of the plan, of the given type.
+     *
+     * @param plan the plan, sorted like the page.
+     * @param parameters the values of the named parameters of the plan.
+     * @param page the page to read.
+     * @param resultClass the type of the rows, {@link Tuple} or the entity class.
+     * @param <T> the type of the rows.
+     * @return the page of rows, the total being counted only when it cannot be deduced from the page.
+     */
+    public <T> Page<T> findAll(QueryPlan plan, Map<String, Object> parameters, Pageable page, Class<T> resultClass) {
+        List<T> content = findRows(plan, parameters, page, 0, resultClass);
+        return PageableExecutionUtils.getPage(content, page, () -> count(plan, parameters));
+    }
+
+    /**
+     * Read a slice of the rows of the plan.
+     * One extra row is read to know if there is a next slice, no count query is issued.
+     *
+     * @param plan the plan, sorted like the page.
+     * @param parameters the values of the named parameters of the plan.
+     * @param page the page to read.
+     * @return the slice of rows.
+     */
+    public Slice<Tuple> findSlice(QueryPlan plan, Map<String, Object> parameters, Pageable page) {
+        return findSlice(plan, parameters, page, Tuple.class);
+    }
+
+    /**
+     * Read a slice of the rows of the plan, of the given type.
+     * One extra row is read to know if there is a next slice, no count query is issued.
+     *
+     * @param plan the plan, sorted like the page.
+     * @param parameters the values of the named parameters of the plan.
+     * @param page the page to read.
+     * @param resultClass the type of the rows, {@link Tuple} or the entity class.
+     * @param <T> the type of the rows.
+     * @return the slice of rows.
+     */
+    public <T> Slice<T> findSlice(QueryPlan plan, Map<String, Object> parameters, Pageable page, Class<T> resultClass) {
+        List<T> content = findRows(plan, parameters, page, 1, resultClass);
+        boolean hasNext = page.isPaged() && content.size() > page.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, page.getPageSize()) : content, page, hasNext);
+    }
+
+    /**
+     * Count the rows of the plan.
+     *
+     * @param plan the plan.
+     * @param parameters the values of the named parameters of the plan.
+     * @return the number of rows.
+     */
+    public long count(QueryPlan plan, Map<String, Object> parameters) {
+        TypedQuery<Long> query = entityManager.createQuery(plan.countQuery(), Long.class);
+        parameters.forEach(query::setParameter);
+        return queryPlanStatements.capture(plan.countQuery(), query::getSingleResult);
+    }
+
+    /**
+     * Explain the generic plan the database chose for a query of a plan, whatever the values of its parameters.
+     *
+     * @param query the select or the count query of a plan.
+     * @return the plan as returned by PostgreSQL in JSON, or empty if the query was not executed since it was compiled.
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> explain(String query) {
+        return queryPlanStatements
+            .getSql(query)
+            .map(sql ->
+                entityManager
+                    .unwrap(Session.class)
+                    .doReturningWork(connection -> {
+                        try (Statement statement = connection.createStatement()) {
+                            try (ResultSet resultSet = statement.executeQuery(EXPLAIN + toNumberedParameters(sql))) {
+                                resultSet.next();
+                                return resultSet.getString(1);
+                            }
+                        }
+                    })
+            );
+    }
+
+    /**
+     * Number the JDBC parameters of a statement like PostgreSQL does, as {@code EXPLAIN (GENERIC_PLAN)} expects them.
+     * <p>
+     * The string literals, quoted identifiers, dollar-quoted strings and comments are copied as is, and the {@code ??}
+     * escape of the JDBC driver is written back as the {@code ?} operator.
+     */
+    static String toNumberedParameters(String sql) {
+        StringBuilder numbered = new StringBuilder(sql.length() + 16);
+        int parameter = 0;
+        int i = 0;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            int end;
+            if (c == '\'' || c == '"') {
+                end = quotedEnd(sql, i, c, isEscapeString(sql, i));
+            } else if (c == '-' && sql.startsWith("--", i)) {
+                end = sql.indexOf('\n', i);
+                end = end < 0 ? sql.length() : end;
+            } else if (c == '/' && sql.startsWith("/*", i)) {
+                end = blockCommentEnd(sql, i);
+            } else if (c == '$' && dollarTag(sql, i) != null) {
+                String tag = dollarTag(sql, i);
+                end = sql.indexOf(tag, i + tag.length());
+                end = end < 0 ? sql.length() : end + tag.length();
+            } else if (c == '?' && sql.startsWith("??", i)) {
+                numbered.append('?');
+                i += 2;
+                continue;
+            } else if (c == '?') {
+                numbered.append('$').append(++parameter);
+                i++;
+                continue;
+            } else {
+                end = i + 1;
+            }
+            numbered.append(sql, i, end);
+            i = end;
+        }
+        return numbered.toString();
+    }
+
+    /**
+     * Whether the quote at the index opens an {@code E'...'} string, whose backslashes escape the next character.
+     */
+    private static boolean isEscapeString(String sql, int quote) {
+        return (
+            sql.charAt(quote) == '\'' &&
+            quote > 0 &&
+            Character.toUpperCase(sql.charAt(quote - 1)) == 'E' &&
+            (quote == 1 || !isIdentifierPart(sql.charAt(quote - 2)))
+        );
+    }
+
+    /**
+     * The index following the quote closing the literal or identifier opened at the index, a doubled quote being part of it.
+     */
+    private static int quotedEnd(String sql, int start, char quote, boolean backslashEscapes) {
+        int i = start + 1;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (backslashEscapes && c == '\\') {
+                i += 2;
+            } else if (c == quote && i + 1 < sql.length() && sql.charAt(i + 1) == quote) {
+                i += 2;
+            } else if (c == quote) {
+                return i + 1;
+            } else {
+                i++;
+            }
+        }
+        return sql.length();
+    }
+
+    /**
+     * The index following the comment opened at the index, block comments nesting in PostgreSQL.
+     */
+    private static int blockCommentEnd(String sql, int start) {
+        int depth = 0;
+        int i = start;
+        while (i < sql.length()) {
+            if (sql.startsWith("/*", i)) {
+                depth++;
+                i += 2;
+            } else if (sql.startsWith("*/", i)) {
+                i += 2;
+                if (--depth == 0) {
+                    return i;
+                }
+            } else {
+                i++;
+            }
+        }
+        return sql.length();
+    }
+
+    /**
+     * The tag, like {@code $$} or {@code $body$}, of the dollar-quoted string opened at the index, or {@code null} if the
+     * dollar sign is part of an identifier or a positional parameter.
+     */
+    private static String dollarTag(String sql, int start) {
+        if (start > 0 && isIdentifierPart(sql.charAt(start - 1))) {
+            return null;
+        }
+        int i = start + 1;
+        if (i < sql.length() && (Character.isLetter(sql.charAt(i)) || sql.charAt(i) == '_')) {
+            while (i < sql.length() && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '_')) {
+                i++;
+            }
+        }
+        return i < sql.length() && sql.charAt(i) == '$' ? sql.substring(start, i + 1) : null;
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+
+    private <T> List<T> findRows(QueryPlan plan, Map<String, Object> parameters, Pageable page, int extraRows, Class<T> resultClass) {
+        TypedQuery<T> query = entityManager.createQuery(plan.selectQuery(), resultClass);
+        parameters.forEach(query::setParameter);
+        if (page.isPaged()) {
+            query.setFirstResult(Math.toIntExact(page.getOffset())).setMaxResults(page.getPageSize() + extraRows);
+        }
+        return queryPlanStatements.capture(plan.selectQuery(), query::getResultList);
+    }
+}
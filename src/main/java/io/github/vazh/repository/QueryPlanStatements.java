@@ -0,0 +1,70 @@
+package io.github.vazh.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.vazh.config.ApplicationProperties;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Supplier;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+/**
+ * The SQL Hibernate generated for each {@link QueryPlan} query, so that its plan can be explained by the database.
+ * <p>
+ * Registered as the Hibernate {@link StatementInspector}, it records the first select statement prepared while a query
+ * of a plan is {@link #capture(String, Supplier) captured}. A query is only captured on its first execution, later ones
+ * costing a single lookup.
+ */
+@Component
+public class QueryPlanStatements implements StatementInspector {
+
+    private final Cache<String, String> statements;
+
+    private final ThreadLocal<String> captured = new ThreadLocal<>();
+
+    public QueryPlanStatements(ApplicationProperties applicationProperties) {
+        // a select and a count query per plan
+        this.statements = Caffeine.newBuilder().maximumSize(2 * applicationProperties.getQueryPlanCache().getMaxEntries()).build();
+    }
+
+    /**
+     * Execute a query of a plan, recording its SQL if it was not yet.
+     *
+     * @param query the HQL query.
+     * @param execution the execution of the query.
+     * @param <T> the type of the result.
+     * @return the result of the execution.
+     */
+    public <T> T capture(String query, Supplier<T> execution) {
+        if (statements.getIfPresent(query) != null) {
+            return execution.get();
+        }
+        captured.set(query);
+        try {
+            return execution.get();
+        } finally {
+            captured.remove();
+        }
+    }
+
+    /**
+     * Get the SQL of a query of a plan.
+     *
+     * @param query the HQL query.
+     * @return the SQL, or empty if the query was not executed since it was cached.
+     */
+    public Optional<String> getSql(String query) {
+        return Optional.ofNullable(statements.getIfPresent(query));
+    }
+
+    @Override
+    public String inspect(String sql) {
+        String query = captured.get();
+        if (query != null && sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select")) {
+            statements.put(query, sql);
+            captured.remove();
+        }
+        return sql;
+    }
+}
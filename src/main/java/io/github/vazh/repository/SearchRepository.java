@@ -0,0 +1,57 @@
+package io.github.vazh.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository searching the entity tables through their {@code search_vector} full-text column and its GIN index, so
+ * the cost of a search depends on the number of matching rows rather than on the size of the table.
+ * <p>
+ * The rows are ranked by {@code ts_rank}, the weights of the vector ranking a match on a name above a match on the
+ * other columns.
+ */
+@Repository
+public class SearchRepository {
+
+    private static final String SEARCH_QUERY =
+        """
+        select t.id from %s t, to_tsquery('simple', :query) q
+        where t.search_vector @@ q
+        order by ts_rank(t.search_vector, q) desc, t.id
+        """;
+
+    private static final String COUNT_QUERY = "select count(*) from %s t where t.search_vector @@ to_tsquery('simple', :query)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Search the ids of the rows of a table, best match first.
+     *
+     * @param table the table, which must have a {@code search_vector} column. It is not escaped, so it must not come
+     * from the request.
+     * @param query the full-text query, in the {@code to_tsquery} syntax.
+     * @param page the page to read.
+     * @return the page of ids.
+     */
+    public Page<Long> search(String table, String query, Pageable page) {
+        Query search = entityManager.createNativeQuery(SEARCH_QUERY.formatted(table), Long.class).setParameter("query", query);
+        if (page.isPaged()) {
+            search.setFirstResult(Math.toIntExact(page.getOffset())).setMaxResults(page.getPageSize());
+        }
+        @SuppressWarnings("unchecked")
+        List<Long> ids = search.getResultList();
+        return PageableExecutionUtils.getPage(ids, page, () -> count(table, query));
+    }
+
+    private long count(String table, String query) {
+        Object count = entityManager.createNativeQuery(COUNT_QUERY.formatted(table)).setParameter("query", query).getSingleResult();
+        return ((Number) count).longValue();
+    }
+}
@@ -0,0 +1,41 @@
+package io.github.vazh.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Table;
+import java.util.List;
+import java.util.OptionalLong;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository reading the PostgreSQL planner statistics of the entity tables.
+ * <p>
+ * The estimates are maintained by {@code ANALYZE}/autovacuum, so reading them is constant time whatever the table size,
+ * but they can lag behind the real row count.
+ */
+@Repository
+public class TableStatisticsRepository {
+
+    private static final String ESTIMATE_QUERY = "select c.reltuples from pg_class c where c.oid = to_regclass(cast(:table as text))";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Get the planner estimate of the number of rows of the table mapped by the given entity.
+     *
+     * @param entityClass the entity class, annotated with {@link Table}.
+     * @return the estimated row count, or empty if the table has never been analyzed.
+     */
+    public OptionalLong estimateRowCount(Class<?> entityClass) {
+        Table table = entityClass.getAnnotation(Table.class);
+        if (table == null) {
+            return OptionalLong.empty();
+        }
+        List<?> result = entityManager.createNativeQuery(ESTIMATE_QUERY).setParameter("table", table.name()).getResultList();
+        if (result.isEmpty() || !(result.get(0) instanceof Number estimate) || estimate.doubleValue() < 0) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(Math.round(estimate.doubleValue()));
+    }
+}
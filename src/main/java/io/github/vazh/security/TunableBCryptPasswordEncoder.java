@@ -0,0 +1,62 @@
+package io.github.vazh.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * {@link BCryptPasswordEncoder} whose cost can be tuned in both directions without locking anyone out.
+ * <p>
+ * The hashes of another cost than the configured one still match, and are upgraded on login through the
+ * {@link org.springframework.security.core.userdetails.UserDetailsPasswordService}, while
+ * {@link BCryptPasswordEncoder} only upgrades the lower costs. The durations of the verifications are recorded by cost,
+ * to tune it against the measured latency.
+ */
+public class TunableBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    static final String METRIC_VERIFICATIONS = "security.authentication.password-verifications";
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$");
+
+    private final int strength;
+
+    private final MeterRegistry meterRegistry;
+
+    public TunableBCryptPasswordEncoder(int strength, MeterRegistry meterRegistry) {
+        super(strength);
+        this.strength = strength;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        long start = System.nanoTime();
+        try {
+            return super.matches(rawPassword, encodedPassword);
+        } finally {
+            Timer.builder(METRIC_VERIFICATIONS)
+                .description("Durations of the password verifications, by BCrypt cost")
+                .tag("cost", String.valueOf(cost(encodedPassword)))
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        int cost = cost(encodedPassword);
+        return cost != -1 && cost != strength;
+    }
+
+    private static int cost(String encodedPassword) {
+        if (encodedPassword == null) {
+            return -1;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : -1;
+    }
+}
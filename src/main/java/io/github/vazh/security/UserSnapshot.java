@@ -0,0 +1,68 @@
+package io.github.vazh.security;
+
+import io.github.vazh.domain.Authority;
+import io.github.vazh.domain.User;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * Immutable copy of a {@link User} and its authorities, already flattened to {@link GrantedAuthority}s, kept by the
+ * {@link UserSnapshotCache}.
+ */
+public record UserSnapshot(
+    Long id,
+    String login,
+    String password,
+    String firstName,
+    String lastName,
+    String email,
+    String imageUrl,
+    boolean activated,
+    String langKey,
+    String createdBy,
+    Instant createdDate,
+    String lastModifiedBy,
+    Instant lastModifiedDate,
+    Set<String> authorities,
+    List<GrantedAuthority> grantedAuthorities
+) {
+    public static UserSnapshot of(User user) {
+        Set<String> authorities = user.getAuthorities().stream().map(Authority::getName).collect(Collectors.toUnmodifiableSet());
+        return new UserSnapshot(
+            user.getId(),
+            user.getLogin(),
+            user.getPassword(),
+            user.getFirstName(),
+            user.getLastName(),
+            user.getEmail(),
+            user.getImageUrl(),
+            user.isActivated(),
+            user.getLangKey(),
+            user.getCreatedBy(),
+            user.getCreatedDate(),
+            user.getLastModifiedBy(),
+            user.getLastModifiedDate(),
+            authorities,
+            authorities.stream().<GrantedAuthority>map(SimpleGrantedAuthority::new).toList()
+        );
+    }
+
+    /**
+     * Get a new {@link UserDetails} of the snapshot, each authentication erasing the password of its own copy.
+     *
+     * @return the user details.
+     */
+    public UserDetails toUserDetails() {
+        return new org.springframework.security.core.userdetails.User(login, password, grantedAuthorities);
+    }
+
+    @Override
+    public String toString() {
+        return "UserSnapshot{login='" + login + "', activated=" + activated + ", authorities=" + authorities + "}";
+    }
+}
@@ -0,0 +1,157 @@
+package io.github.vazh.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.vazh.config.ApplicationProperties;
+import io.github.vazh.repository.UserRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.io.Serializable;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.codec.SerializationCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-process cache of the {@link UserSnapshot}s of the users, by login and by email, so that the logins and the account
+ * reads do not deserialize a {@link io.github.vazh.domain.User} from the Redis caches.
+ * <p>
+ * The snapshots of a user are evicted on every change, see {@code UserService#clearUserCaches}: immediately, then again
+ * once the transaction is completed, the eviction being published to the other nodes through a Redis topic if it was
+ * committed. They expire after a time to live as well, should a message be lost.
+ */
+@Component
+public class UserSnapshotCache {
+
+    static final String INVALIDATION_TOPIC = "user-snapshot-invalidation";
+    static final String METRIC_GETS = "security.user-snapshot-cache.gets";
+    static final String METRIC_SIZE = "security.user-snapshot-cache.size";
+    static final String METRIC_EVICTIONS = "security.user-snapshot-cache.evictions";
+
+    private static final Logger log = LoggerFactory.getLogger(UserSnapshotCache.class);
+
+    private static final String LOGIN_PREFIX = "login:";
+    private static final String EMAIL_PREFIX = "email:";
+
+    private final UUID nodeId = UUID.randomUUID();
+
+    private final UserRepository userRepository;
+
+    private final Cache<String, UserSnapshot> snapshots;
+
+    private final RTopic topic;
+
+    private final int listenerId;
+
+    public UserSnapshotCache(
+        UserRepository userRepository,
+        RedissonClient redissonClient,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.userRepository = userRepository;
+        ApplicationProperties.UserSnapshotCache properties = applicationProperties.getUserSnapshotCache();
+        this.snapshots = Caffeine.newBuilder()
+            .maximumSize(properties.getMaxEntries())
+            .expireAfterWrite(properties.getTimeToLive())
+            .recordStats()
+            .build();
+        this.topic = redissonClient.getTopic(INVALIDATION_TOPIC, new SerializationCodec());
+        this.listenerId = topic.addListener(Invalidation.class, (channel, invalidation) -> onInvalidation(invalidation));
+
+        FunctionCounter.builder(METRIC_GETS, snapshots, cache -> cache.stats().hitCount()).tags("result", "hit").register(meterRegistry);
+        FunctionCounter.builder(METRIC_GETS, snapshots, cache -> cache.stats().missCount()).tags("result", "miss").register(meterRegistry);
+        Gauge.builder(METRIC_SIZE, snapshots, Cache::estimatedSize).register(meterRegistry);
+        FunctionCounter.builder(METRIC_EVICTIONS, snapshots, cache -> cache.stats().evictionCount()).register(meterRegistry);
+    }
+
+    /**
+     * Get the snapshot of a user by login.
+     *
+     * @param login the login, in lower case.
+     * @return the snapshot, empty if there is no such user.
+     */
+    public Optional<UserSnapshot> findByLogin(String login) {
+        return Optional.ofNullable(
+            snapshots.get(LOGIN_PREFIX + login, key -> userRepository.findOneWithAuthoritiesByLogin(login).map(UserSnapshot::of).orElse(null))
+        );
+    }
+
+    /**
+     * Get the snapshot of a user by email, ignoring the case.
+     *
+     * @param email the email.
+     * @return the snapshot, empty if there is no such user.
+     */
+    public Optional<UserSnapshot> findByEmail(String email) {
+        return Optional.ofNullable(
+            snapshots.get(EMAIL_PREFIX + email.toLowerCase(Locale.ENGLISH), key ->
+                userRepository.findOneWithAuthoritiesByEmailIgnoreCase(email).map(UserSnapshot::of).orElse(null)
+            )
+        );
+    }
+
+    /**
+     * Evict the snapshots of a user on this node, and on all the nodes once the current transaction is committed.
+     *
+     * @param login the login of the user.
+     * @param email the email of the user, may be {@code null}.
+     */
+    public void evict(String login, String email) {
+        Invalidation invalidation = new Invalidation(nodeId, login, email);
+        evictLocal(invalidation);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        // a snapshot may have been loaded from the transaction before it ended
+                        evictLocal(invalidation);
+                        if (status == STATUS_COMMITTED) {
+                            topic.publish(invalidation);
+                        }
+                    }
+                }
+            );
+        } else {
+            topic.publish(invalidation);
+        }
+    }
+
+    void onInvalidation(Invalidation invalidation) {
+        if (!nodeId.equals(invalidation.origin())) {
+            log.trace("User snapshot invalidation of {}", invalidation.login());
+            evictLocal(invalidation);
+        }
+    }
+
+    private void evictLocal(Invalidation invalidation) {
+        snapshots.invalidate(LOGIN_PREFIX + invalidation.login());
+        if (invalidation.email() != null) {
+            snapshots.invalidate(EMAIL_PREFIX + invalidation.email().toLowerCase(Locale.ENGLISH));
+        }
+    }
+
+    @PreDestroy
+    public void removeListener() {
+        topic.removeListener(listenerId);
+    }
+
+    /**
+     * Message published on each change of a user.
+     *
+     * @param origin the node which made the change.
+     * @param login the login of the user.
+     * @param email the email of the user, may be {@code null}.
+     */
+    record Invalidation(UUID origin, String login, String email) implements Serializable {}
+}
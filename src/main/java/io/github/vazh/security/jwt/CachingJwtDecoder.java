@@ -0,0 +1,102 @@
+package io.github.vazh.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * {@link JwtDecoder} reusing the {@link Jwt}s already decoded and verified by its delegate until they expire, so that a
+ * token presented again skips the parsing and the signature verification.
+ * <p>
+ * The tokens are keyed by their SHA-256 hash. Only successfully decoded tokens with an expiry are cached: invalid ones
+ * always reach the delegate, which tracks them. The hits, misses, evictions and size are published as metrics.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    static final String METRIC_GETS = "security.authentication.jwt-cache.gets";
+    static final String METRIC_SIZE = "security.authentication.jwt-cache.size";
+    static final String METRIC_EVICTIONS = "security.authentication.jwt-cache.evictions";
+
+    private final JwtDecoder delegate;
+
+    private final Clock clock;
+
+    private final Cache<String, Jwt> jwts;
+
+    public CachingJwtDecoder(JwtDecoder delegate, long maxEntries, MeterRegistry meterRegistry) {
+        this(delegate, maxEntries, meterRegistry, Clock.systemUTC());
+    }
+
+    CachingJwtDecoder(JwtDecoder delegate, long maxEntries, MeterRegistry meterRegistry, Clock clock) {
+        this.delegate = delegate;
+        this.clock = clock;
+        this.jwts = Caffeine.newBuilder()
+            .maximumSize(maxEntries)
+            .expireAfter(new ExpiresAt())
+            .recordStats()
+            .build();
+
+        FunctionCounter.builder(METRIC_GETS, jwts, cache -> cache.stats().hitCount()).tags("result", "hit").register(meterRegistry);
+        FunctionCounter.builder(METRIC_GETS, jwts, cache -> cache.stats().missCount()).tags("result", "miss").register(meterRegistry);
+        Gauge.builder(METRIC_SIZE, jwts, Cache::estimatedSize).register(meterRegistry);
+        FunctionCounter.builder(METRIC_EVICTIONS, jwts, cache -> cache.stats().evictionCount()).register(meterRegistry);
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String key = hash(token);
+        Jwt jwt = jwts.getIfPresent(key);
+        if (jwt != null) {
+            return jwt;
+        }
+        jwt = delegate.decode(token);
+        if (jwt.getExpiresAt() != null && jwt.getExpiresAt().isAfter(clock.instant())) {
+            jwts.put(key, jwt);
+        }
+        return jwt;
+    }
+
+    /**
+     * Expires the tokens at their {@code exp} claim.
+     */
+    private class ExpiresAt implements Expiry<String, Jwt> {
+
+        @Override
+        public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+            Instant now = clock.instant();
+            return jwt.getExpiresAt().isAfter(now) ? Duration.between(now, jwt.getExpiresAt()).toNanos() : 0;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, jwt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+}
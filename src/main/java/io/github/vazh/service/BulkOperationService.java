@@ -0,0 +1,270 @@
+package io.github.vazh.service;
+
+import io.github.vazh.config.ApplicationProperties;
+import io.github.vazh.service.dto.BulkItemResultDTO;
+import io.github.vazh.service.mapper.EntityMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service running the bulk create, update and delete operations of the entities.
+ * <p>
+ * The items are read as they are written, by chunks of one transaction each, so that Hibernate batches the statements
+ * and the persistence context stays small. When a chunk fails, its items are retried in one transaction each, to
+ * report which of them failed. It must not be called within a transaction.
+ */
+@Service
+public class BulkOperationService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkOperationService.class);
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Validator validator;
+
+    private final int chunkSize;
+
+    public BulkOperationService(
+        PlatformTransactionManager transactionManager,
+        Validator validator,
+        ApplicationProperties applicationProperties
+    ) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.chunkSize = applicationProperties.getBulk().getChunkSize();
+    }
+
+    /**
+     * Create the entities, the DTOs must not have an id.
+     *
+     * @param dtos the DTOs of the entities to create.
+     * @param repository the repository of the entities.
+     * @param mapper the mapper of the entities.
+     * @param dtoId the id of a DTO.
+     * @param entityId the id of an entity.
+     * @param <E> the type of the entities.
+     * @param <D> the type of the DTOs.
+     * @return the result of each DTO, in the order of the DTOs.
+     */
+    public <E, D> List<BulkItemResultDTO> create(
+        Iterator<D> dtos,
+        JpaRepository<E, Long> repository,
+        EntityMapper<D, E> mapper,
+        Function<D, Long> dtoId,
+        Function<E, Long> entityId
+    ) {
+        return execute(dtos, items -> {
+            List<Item<D>> accepted = new ArrayList<>(items.size());
+            for (Item<D> item : items) {
+                if (dtoId.apply(item.value) != null) {
+                    item.reject(HttpStatus.BAD_REQUEST, null, "idexists", "A new entity cannot already have an ID");
+                } else if (isValid(item)) {
+                    accepted.add(item);
+                }
+            }
+            List<E> entities = repository.saveAll(mapper.toEntity(accepted.stream().map(item -> item.value).toList()));
+            for (int i = 0; i < accepted.size(); i++) {
+                accepted.get(i).succeed(HttpStatus.CREATED, entityId.apply(entities.get(i)));
+            }
+        });
+    }
+
+    /**
+     * Update the given fields of the entities, the fields which are {@code null} are left unchanged.
+     * <p>
+     * Like a single partial update, a DTO holding a version is only applied to the entity of this version, otherwise the
+     * item is rejected with {@code 409 (Conflict)}.
+     *
+     * @param dtos the DTOs of the entities to update.
+     * @param repository the repository of the entities.
+     * @param mapper the mapper of the entities.
+     * @param dtoId the id of a DTO.
+     * @param entityId the id of an entity.
+     * @param dtoVersion the version of the entity a DTO was read from, if any.
+     * @param entityVersion the version of an entity.
+     * @param <E> the type of the entities.
+     * @param <D> the type of the DTOs.
+     * @return the result of each DTO, in the order of the DTOs.
+     */
+    public <E, D> List<BulkItemResultDTO> partialUpdate(
+        Iterator<D> dtos,
+        JpaRepository<E, Long> repository,
+        EntityMapper<D, E> mapper,
+        Function<D, Long> dtoId,
+        Function<E, Long> entityId,
+        Function<D, Long> dtoVersion,
+        Function<E, Long> entityVersion
+    ) {
+        return execute(dtos, items -> {
+            Map<Long, E> existing = findAllById(items.stream().map(item -> dtoId.apply(item.value)).toList(), repository, entityId);
+            for (Item<D> item : items) {
+                Long id = dtoId.apply(item.value);
+                Long version = dtoVersion.apply(item.value);
+                if (id == null) {
+                    item.reject(HttpStatus.BAD_REQUEST, null, "idnull", "Invalid id");
+                } else if (!existing.containsKey(id)) {
+                    item.reject(HttpStatus.NOT_FOUND, id, "idnotfound", "Entity not found");
+                } else if (version != null && !version.equals(entityVersion.apply(existing.get(id)))) {
+                    item.reject(HttpStatus.CONFLICT, id, "concurrencyFailure", "The item was modified since its version was read");
+                } else {
+                    // Written on commit by dirty checking
+                    mapper.partialUpdate(existing.get(id), item.value);
+                    item.succeed(HttpStatus.OK, id);
+                }
+            }
+        });
+    }
+
+    /**
+     * Delete the entities.
+     *
+     * @param ids the ids of the entities to delete.
+     * @param repository the repository of the entities.
+     * @param entityId the id of an entity.
+     * @param <E> the type of the entities.
+     * @return the result of each id, in the order of the ids.
+     */
+    public <E> List<BulkItemResultDTO> delete(Iterator<Long> ids, JpaRepository<E, Long> repository, Function<E, Long> entityId) {
+        return execute(ids, items -> {
+            Map<Long, E> existing = findAllById(items.stream().map(item -> item.value).toList(), repository, entityId);
+            for (Item<Long> item : items) {
+                if (item.value == null) {
+                    item.reject(HttpStatus.BAD_REQUEST, null, "idnull", "Invalid id");
+                } else if (!existing.containsKey(item.value)) {
+                    item.reject(HttpStatus.NOT_FOUND, item.value, "idnotfound", "Entity not found");
+                } else {
+                    repository.delete(existing.get(item.value));
+                    item.succeed(HttpStatus.NO_CONTENT, item.value);
+                }
+            }
+        });
+    }
+
+    private <T> List<BulkItemResultDTO> execute(Iterator<T> values, Consumer<List<Item<T>>> operation) {
+        List<BulkItemResultDTO> results = new ArrayList<>();
+        List<Item<T>> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+        while (true) {
+            T value;
+            try {
+                if (!values.hasNext()) {
+                    break;
+                }
+                value = values.next();
+            } catch (RuntimeException e) {
+                // The position in the body is lost, the following items cannot be read either
+                log.debug("Unreadable bulk item {}: {}", index, e.getMessage());
+                write(chunk, operation, results);
+                Item<T> unreadable = new Item<>(index, null);
+                unreadable.reject(HttpStatus.BAD_REQUEST, null, "unreadable", "Unreadable item, it and the following ones were ignored");
+                results.add(unreadable.result);
+                return results;
+            }
+            chunk.add(new Item<>(index++, value));
+            if (chunk.size() == chunkSize) {
+                write(chunk, operation, results);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        write(chunk, operation, results);
+        return results;
+    }
+
+    private <T> void write(List<Item<T>> chunk, Consumer<List<Item<T>>> operation, List<BulkItemResultDTO> results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> operation.accept(chunk));
+        } catch (RuntimeException e) {
+            log.debug("Bulk chunk of {} items failed, retrying them one by one: {}", chunk.size(), e.getMessage());
+            for (Item<T> item : chunk) {
+                item.reset();
+                try {
+                    transactionTemplate.executeWithoutResult(status -> operation.accept(List.of(item)));
+                } catch (RuntimeException itemException) {
+                    fail(item, itemException);
+                }
+            }
+        }
+        chunk.forEach(item -> results.add(item.result));
+    }
+
+    private <D> boolean isValid(Item<D> item) {
+        Set<ConstraintViolation<D>> violations = validator.validate(item.value);
+        if (violations.isEmpty()) {
+            return true;
+        }
+        String message = violations
+            .stream()
+            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+            .sorted()
+            .collect(Collectors.joining(", "));
+        item.reject(HttpStatus.BAD_REQUEST, null, "validation", message);
+        return false;
+    }
+
+    private void fail(Item<?> item, RuntimeException e) {
+        item.reset();
+        if (e instanceof DataIntegrityViolationException) {
+            item.reject(HttpStatus.CONFLICT, null, "integrityviolation", "The item violates a database constraint");
+        } else if (e instanceof ConcurrencyFailureException) {
+            item.reject(HttpStatus.CONFLICT, null, "concurrencyFailure", "The item was modified concurrently");
+        } else {
+            log.warn("Bulk item {} failed", item.result.getIndex(), e);
+            item.reject(HttpStatus.INTERNAL_SERVER_ERROR, null, "internalServerError", "Internal server error");
+        }
+    }
+
+    private static <E> Map<Long, E> findAllById(Collection<Long> ids, JpaRepository<E, Long> repository, Function<E, Long> entityId) {
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        return repository.findAllById(distinctIds).stream().collect(Collectors.toMap(entityId, Function.identity()));
+    }
+
+    private static final class Item<T> {
+
+        private final T value;
+
+        private BulkItemResultDTO result;
+
+        private Item(int index, T value) {
+            this.value = value;
+            this.result = new BulkItemResultDTO(index);
+        }
+
+        private void succeed(HttpStatus status, Long id) {
+            result.setStatus(status.value());
+            result.setId(id);
+        }
+
+        private void reject(HttpStatus status, Long id, String errorKey, String message) {
+            result.setStatus(status.value());
+            result.setId(id);
+            result.setErrorKey(errorKey);
+            result.setMessage(message);
+        }
+
+        private void reset() {
+            result = new BulkItemResultDTO(result.getIndex());
+        }
+    }
+}
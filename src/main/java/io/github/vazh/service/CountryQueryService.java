@@ -3,14 +3,25 @@ package io.github.vazh.service;
 import io.github.vazh.domain.*; // for static metamodels
 import io.github.vazh.domain.Country;
 import io.github.vazh.repository.CountryRepository;
+import io.github.vazh.repository.CriteriaStreamRepository;
+import io.github.vazh.repository.QueryPlan;
+import io.github.vazh.repository.QueryPlanRepository;
+import io.github.vazh.repository.TableStatisticsRepository;
 import io.github.vazh.service.criteria.CountryCriteria;
 import io.github.vazh.service.dto.CountryDTO;
 import io.github.vazh.service.mapper.CountryMapper;
 import jakarta.persistence.criteria.JoinType;
+import java.util.Set;
+import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,6 +32,8 @@ import tech.jhipster.service.QueryService;
  * The main input is a {@link CountryCriteria} which gets converted to {@link Specification},
  * in a way that all the filters must apply.
  * It returns a {@link Page} of {@link CountryDTO} which fulfills the criteria.
+ * The pages, slices and counts are read through {@link QueryPlan}s compiled from the {@link CriteriaShape} of the criteria
+ * and cached, unless sorted by an association.
  */
 @Service
 @Transactional(readOnly = true)
@@ -28,13 +41,41 @@ public class CountryQueryService extends QueryService<Country> {
 
     private static final Logger log = LoggerFactory.getLogger(CountryQueryService.class);
 
+    /**
+     * Attributes the query plans may sort by, other sorts being read through the specification.
+     */
+    private static final Set<String> SORTABLE_ATTRIBUTES = Set.of(
+        Country_.ID,
+        Country_.VERSION,
+        Country_.COUNTRY_NAME
+    );
+
     private final CountryRepository countryRepository;
 
     private final CountryMapper countryMapper;
 
-    public CountryQueryService(CountryRepository countryRepository, CountryMapper countryMapper) {
+    private final TableStatisticsRepository tableStatisticsRepository;
+
+    private final CriteriaStreamRepository criteriaStreamRepository;
+
+    private final QueryPlanRepository queryPlanRepository;
+
+    private final QueryPlanCache queryPlanCache;
+
+    public CountryQueryService(
+        CountryRepository countryRepository,
+        CountryMapper countryMapper,
+        TableStatisticsRepository tableStatisticsRepository,
+        CriteriaStreamRepository criteriaStreamRepository,
+        QueryPlanRepository queryPlanRepository,
+        QueryPlanCache queryPlanCache
+    ) {
         this.countryRepository = countryRepository;
         this.countryMapper = countryMapper;
+        this.tableStatisticsRepository = tableStatisticsRepository;
+        this.criteriaStreamRepository = criteriaStreamRepository;
+        this.queryPlanRepository = queryPlanRepository;
+        this.queryPlanCache = queryPlanCache;
     }
 
     /**
@@ -46,10 +87,89 @@ public class CountryQueryService extends QueryService<Country> {
     @Transactional(readOnly = true)
     public Page<CountryDTO> findByCriteria(CountryCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
+        if (QueryServiceUtil.isPlanned(page.getSort(), SORTABLE_ATTRIBUTES)) {
+            final CriteriaShape shape = createShape(criteria);
+            final QueryPlan plan = shape.plan(queryPlanCache, page.getSort());
+            return queryPlanRepository.findAll(plan, shape.getParameters(), page, Country.class).map(countryMapper::toDto);
+        }
         final Specification<Country> specification = createSpecification(criteria);
         return countryRepository.findAll(specification, page).map(countryMapper::toDto);
     }
 
+    /**
+     * Return a {@link Slice} of {@link CountryDTO} which matches the criteria from the database.
+     * One extra row is fetched to know if there is a next slice, no count query is issued.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<CountryDTO> findSliceByCriteria(CountryCriteria criteria, Pageable page) {
+        log.debug("find slice by criteria : {}, page: {}", criteria, page);
+        if (QueryServiceUtil.isPlanned(page.getSort(), SORTABLE_ATTRIBUTES)) {
+            final CriteriaShape shape = createShape(criteria);
+            final QueryPlan plan = shape.plan(queryPlanCache, page.getSort());
+            return queryPlanRepository.findSlice(plan, shape.getParameters(), page, Country.class).map(countryMapper::toDto);
+        }
+        final Specification<Country> specification = createSpecification(criteria);
+        Window<Country> window = countryRepository.findBy(specification, q ->
+            q.sortBy(page.getSort()).limit(page.getPageSize()).scroll(QueryServiceUtil.offsetPosition(page))
+        );
+        return new SliceImpl<>(window.getContent(), page, window.hasNext()).map(countryMapper::toDto);
+    }
+
+    /**
+     * Return a {@link Page} of {@link CountryDTO} which matches the criteria from the database, with an estimated total.
+     * Without any filter, the total is read from the database statistics instead of being counted,
+     * otherwise it falls back to {@link #findByCriteria(CountryCriteria, Pageable)}.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<CountryDTO> findByCriteriaWithEstimatedCount(CountryCriteria criteria, Pageable page) {
+        log.debug("find by criteria with estimated count : {}, page: {}", criteria, page);
+        if (criteria != null && !criteria.equals(new CountryCriteria())) {
+            return findByCriteria(criteria, page);
+        }
+        Slice<CountryDTO> slice = findSliceByCriteria(criteria, page);
+        long estimatedTotal = tableStatisticsRepository.estimateRowCount(Country.class).orElseGet(countryRepository::count);
+        return QueryServiceUtil.toEstimatedPage(slice, estimatedTotal);
+    }
+
+    /**
+     * Return a {@link Window} of {@link CountryDTO} which matches the criteria from the database,
+     * starting right after the given keyset position. No count query is issued.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param position The keyset position, holding the sort key values and the id of the last entity already returned.
+     * @param page The size and the sort of the window, the page number is ignored.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Window<CountryDTO> findByCriteria(CountryCriteria criteria, KeysetScrollPosition position, Pageable page) {
+        log.debug("find by criteria : {}, position: {}, page: {}", criteria, position, page);
+        final Specification<Country> specification = createSpecification(criteria);
+        return countryRepository
+            .findBy(specification, q -> q.sortBy(page.getSort()).limit(page.getPageSize()).scroll(position))
+            .map(countryMapper::toDto);
+    }
+
+    /**
+     * Hand all the {@link CountryDTO} which match the criteria from the database to the consumer, one by one.
+     * The entities are read through a database cursor, and detached by chunks, so the memory used does not depend on their number.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param sort The sort of the entities, by id when unsorted.
+     * @param consumer The consumer of the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public void exportByCriteria(CountryCriteria criteria, Sort sort, Consumer<CountryDTO> consumer) {
+        log.debug("export by criteria : {}, sort: {}", criteria, sort);
+        final Specification<Country> specification = createSpecification(criteria);
+        criteriaStreamRepository.forEachChunk(Country.class, specification, sort, chunk ->
+            chunk.stream().map(countryMapper::toDto).forEach(consumer)
+        );
+    }
+
     /**
      * Return the number of matching entities in the database.
      * @param criteria The object which holds all the filters, which the entities should match.
@@ -58,8 +178,9 @@ public class CountryQueryService extends QueryService<Country> {
     @Transactional(readOnly = true)
     public long countByCriteria(CountryCriteria criteria) {
         log.debug("count by criteria : {}", criteria);
-        final Specification<Country> specification = createSpecification(criteria);
-        return countryRepository.count(specification);
+        final CriteriaShape shape = createShape(criteria);
+        final QueryPlan plan = shape.plan(queryPlanCache, Sort.unsorted());
+        return queryPlanRepository.count(plan, shape.getParameters());
     }
 
     /**
@@ -93,4 +214,23 @@ public class CountryQueryService extends QueryService<Country> {
         }
         return specification;
     }
+
+    /**
+     * Function to convert {@link CountryCriteria} to a {@link CriteriaShape}, applying the same filters as
+     * {@link #createSpecification(CountryCriteria)}.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching {@link CriteriaShape}, holding the values of the filters.
+     */
+    protected CriteriaShape createShape(CountryCriteria criteria) {
+        CriteriaShape shape = new CriteriaShape(Country.class);
+        if (criteria != null) {
+            shape
+                .distinct(criteria.getDistinct())
+                .filter(criteria.getId(), Country_.ID)
+                .filter(criteria.getCountryName(), Country_.COUNTRY_NAME)
+                .filter(criteria.getRegionId(), Country_.REGION, Region_.ID)
+                .filter(criteria.getLocationId(), Country_.LOCATION, Location_.ID);
+        }
+        return shape;
+    }
 }
@@ -1,6 +1,8 @@
 package io.github.vazh.service;
 
+import io.github.vazh.service.dto.BulkItemResultDTO;
 import io.github.vazh.service.dto.CountryDTO;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,15 +22,17 @@ public interface CountryService {
      * Updates a country.
      *
      * @param countryDTO the entity to update.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if its version is not the one of the entity.
      */
-    CountryDTO update(CountryDTO countryDTO);
+    Optional<CountryDTO> update(CountryDTO countryDTO);
 
     /**
      * Partially updates a country.
      *
      * @param countryDTO the entity to update partially.
      * @return the persisted entity.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if its version is set and is not the one of the entity.
      */
     Optional<CountryDTO> partialUpdate(CountryDTO countryDTO);
 
@@ -53,4 +57,28 @@ public interface CountryService {
      * @param id the id of the entity.
      */
     void delete(Long id);
+
+    /**
+     * Save new countries in bulk, by chunks of one transaction each.
+     *
+     * @param countryDTOs the entities to save, read as they are saved.
+     * @return the result of each entity.
+     */
+    List<BulkItemResultDTO> saveAll(Iterator<CountryDTO> countryDTOs);
+
+    /**
+     * Partially updates countries in bulk, by chunks of one transaction each.
+     *
+     * @param countryDTOs the entities to update partially, read as they are updated.
+     * @return the result of each entity.
+     */
+    List<BulkItemResultDTO> partialUpdateAll(Iterator<CountryDTO> countryDTOs);
+
+    /**
+     * Delete countries in bulk, by chunks of one transaction each.
+     *
+     * @param ids the ids of the entities, read as they are deleted.
+     * @return the result of each id.
+     */
+    List<BulkItemResultDTO> deleteAll(Iterator<Long> ids);
 }
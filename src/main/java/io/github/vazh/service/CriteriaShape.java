@@ -0,0 +1,335 @@
+package io.github.vazh.service;
+
+import io.github.vazh.repository.QueryPlan;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import org.springframework.data.domain.Sort;
+import tech.jhipster.service.QueryService;
+import tech.jhipster.service.filter.Filter;
+import tech.jhipster.service.filter.RangeFilter;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * The shape of a criteria, meaning the filters and the operators it uses, along with the values bound to them.
+ * <p>
+ * The predicates are the ones built by {@link QueryService}, filters on associations being applied to a left join.
+ * Criteria using the same filters and operators share a {@link #getKey() key} whatever their values, so the
+ * {@link QueryPlan} compiled from a shape is cached by {@link QueryPlanCache} and executed with the
+ * {@link #getParameters() parameters} of each criteria.
+ */
+public final class CriteriaShape {
+
+    private static final String ROOT_ALIAS = "e";
+
+    private final String entityName;
+
+    private final StringBuilder key;
+
+    private final List<String> joins = new ArrayList<>();
+
+    private final List<Clause> clauses = new ArrayList<>();
+
+    private final Map<String, Object> parameters = new LinkedHashMap<>();
+
+    private boolean distinct;
+
+    /**
+     * @param entityClass the entity class, its name being the entity name.
+     */
+    public CriteriaShape(Class<?> entityClass) {
+        this.entityName = entityClass.getSimpleName();
+        this.key = new StringBuilder(entityName);
+    }
+
+    /**
+     * Read only distinct rows, like {@link QueryService#distinct(boolean)}.
+     *
+     * @param distinct whether the rows are distinct, {@code null} meaning they are not.
+     * @return this shape.
+     */
+    public CriteriaShape distinct(Boolean distinct) {
+        this.distinct = Boolean.TRUE.equals(distinct);
+        return this;
+    }
+
+    /**
+     * Add the predicate of a filter on an attribute of the entity.
+     *
+     * @param filter the filter, ignored when {@code null}.
+     * @param attribute the attribute of the entity.
+     * @return this shape.
+     */
+    public CriteriaShape filter(Filter<?> filter, String attribute) {
+        return filter(filter, null, attribute);
+    }
+
+    /**
+     * Add the predicate of a filter on an attribute of an association of the entity, which is left joined.
+     *
+     * @param filter the filter, ignored when {@code null}.
+     * @param association the association of the entity, {@code null} for the entity itself.
+     * @param attribute the attribute of the associated entity.
+     * @return this shape.
+     */
+    public CriteriaShape filter(Filter<?> filter, String association, String attribute) {
+        if (filter == null) {
+            return this;
+        }
+        if (filter.getEquals() != null) {
+            add(path(association, attribute), Operator.EQUALS, filter.getEquals());
+        } else if (filter.getIn() != null) {
+            addIn(path(association, attribute), filter.getIn());
+        } else if (filter.getNotIn() != null) {
+            addNotIn(path(association, attribute), filter.getNotIn());
+        } else if (filter.getNotEquals() != null) {
+            add(path(association, attribute), Operator.NOT_EQUALS, filter.getNotEquals());
+        } else if (filter.getSpecified() != null) {
+            addSpecified(path(association, attribute), filter.getSpecified());
+        }
+        return this;
+    }
+
+    /**
+     * Add the predicate of a filter on a string attribute of the entity, matched ignoring case by {@code contains}
+     * and {@code doesNotContain}.
+     *
+     * @param filter the filter, ignored when {@code null}.
+     * @param attribute the attribute of the entity.
+     * @return this shape.
+     */
+    public CriteriaShape filter(StringFilter filter, String attribute) {
+        if (filter == null) {
+            return this;
+        }
+        String path = path(null, attribute);
+        if (filter.getEquals() != null) {
+            add(path, Operator.EQUALS, filter.getEquals());
+        } else if (filter.getIn() != null) {
+            addIn(path, filter.getIn());
+        } else if (filter.getNotIn() != null) {
+            addNotIn(path, filter.getNotIn());
+        } else if (filter.getContains() != null) {
+            add(path, Operator.CONTAINS, wrapLikeQuery(filter.getContains()));
+        } else if (filter.getDoesNotContain() != null) {
+            add(path, Operator.DOES_NOT_CONTAIN, wrapLikeQuery(filter.getDoesNotContain()));
+        } else if (filter.getNotEquals() != null) {
+            add(path, Operator.NOT_EQUALS, filter.getNotEquals());
+        } else if (filter.getSpecified() != null) {
+            addSpecified(path, filter.getSpecified());
+        }
+        return this;
+    }
+
+    /**
+     * Add the predicates of a filter on a comparable attribute of the entity, all the range operators applying.
+     *
+     * @param filter the filter, ignored when {@code null}.
+     * @param attribute the attribute of the entity.
+     * @return this shape.
+     */
+    public CriteriaShape filter(RangeFilter<?> filter, String attribute) {
+        return filter(filter, null, attribute);
+    }
+
+    /**
+     * Add the predicates of a filter on a comparable attribute of an association of the entity, which is left joined,
+     * all the range operators applying.
+     *
+     * @param filter the filter, ignored when {@code null}.
+     * @param association the association of the entity, {@code null} for the entity itself.
+     * @param attribute the attribute of the associated entity.
+     * @return this shape.
+     */
+    public CriteriaShape filter(RangeFilter<?> filter, String association, String attribute) {
+        if (filter == null) {
+            return this;
+        }
+        // Like QueryService, each predicate on an association applies to a join of its own
+        if (filter.getEquals() != null) {
+            add(path(association, attribute), Operator.EQUALS, filter.getEquals());
+        } else if (filter.getIn() != null) {
+            addIn(path(association, attribute), filter.getIn());
+        } else {
+            if (filter.getSpecified() != null) {
+                addSpecified(path(association, attribute), filter.getSpecified());
+            }
+            if (filter.getNotEquals() != null) {
+                add(path(association, attribute), Operator.NOT_EQUALS, filter.getNotEquals());
+            }
+            if (filter.getNotIn() != null) {
+                addNotIn(path(association, attribute), filter.getNotIn());
+            }
+            if (filter.getGreaterThan() != null) {
+                add(path(association, attribute), Operator.GREATER_THAN, filter.getGreaterThan());
+            }
+            if (filter.getGreaterThanOrEqual() != null) {
+                add(path(association, attribute), Operator.GREATER_THAN_OR_EQUAL, filter.getGreaterThanOrEqual());
+            }
+            if (filter.getLessThan() != null) {
+                add(path(association, attribute), Operator.LESS_THAN, filter.getLessThan());
+            }
+            if (filter.getLessThanOrEqual() != null) {
+                add(path(association, attribute), Operator.LESS_THAN_OR_EQUAL, filter.getLessThanOrEqual());
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Get the key of the shape, the same for all the criteria using the same filters and operators.
+     *
+     * @return the key.
+     */
+    public String getKey() {
+        return key + (distinct ? ";distinct" : "");
+    }
+
+    /**
+     * Get the values bound to the named parameters of the plan.
+     *
+     * @return the values, by parameter name.
+     */
+    public Map<String, Object> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Get the plan of the shape from the cache, compiling it on a miss.
+     *
+     * @param cache the cache of the plans.
+     * @param selections the paths selected from the entity, by alias, in order.
+     * @param sort the sort of the rows, whose properties must be attributes of the entity checked by the caller.
+     * @return the plan.
+     */
+    public QueryPlan plan(QueryPlanCache cache, Map<String, String> selections, Sort sort) {
+        return cache.get(getKey() + '|' + selections + '|' + sort, planKey -> compile(selections, sort));
+    }
+
+    /**
+     * Get the plan of the shape reading the entities themselves from the cache, compiling it on a miss.
+     *
+     * @param cache the cache of the plans.
+     * @param sort the sort of the rows, whose properties must be attributes of the entity checked by the caller.
+     * @return the plan.
+     */
+    public QueryPlan plan(QueryPlanCache cache, Sort sort) {
+        return cache.get(getKey() + '|' + ROOT_ALIAS + '|' + sort, planKey -> compile(null, sort));
+    }
+
+    /**
+     * Compile the plan of the shape, without caching it.
+     *
+     * @param selections the paths selected from the entity, by alias, in order, {@code null} to select the entity itself.
+     * @param sort the sort of the rows, whose properties must be attributes of the entity checked by the caller.
+     * @return the plan.
+     */
+    QueryPlan compile(Map<String, String> selections, Sort sort) {
+        StringBuilder from = new StringBuilder(" from ").append(entityName).append(' ').append(ROOT_ALIAS);
+        joins.forEach(join -> from.append(" left join ").append(join));
+        StringJoiner where = new StringJoiner(" and ", " where ", "").setEmptyValue("");
+        clauses.forEach(clause -> where.add(clause.toHql()));
+        from.append(where);
+
+        StringJoiner select = new StringJoiner(", ", distinct ? "select distinct " : "select ", "");
+        if (selections == null) {
+            select.add(ROOT_ALIAS);
+        } else {
+            selections.forEach((alias, path) -> select.add(ROOT_ALIAS + '.' + path + " as " + alias));
+        }
+        StringJoiner orderBy = new StringJoiner(", ", " order by ", "").setEmptyValue("");
+        sort.forEach(order -> orderBy.add(toHql(order)));
+
+        String count = (distinct ? "select count(distinct " : "select count(") + ROOT_ALIAS + ')' + from;
+        return new QueryPlan(select.toString() + from + orderBy, count);
+    }
+
+    private String path(String association, String attribute) {
+        if (association == null) {
+            return ROOT_ALIAS + '.' + attribute;
+        }
+        String alias = "j" + joins.size();
+        joins.add(ROOT_ALIAS + '.' + association + ' ' + alias);
+        key.append(";join ").append(association);
+        return alias + '.' + attribute;
+    }
+
+    private void add(String path, Operator operator, Object value) {
+        String parameter = null;
+        if (value != null) {
+            parameter = "p" + parameters.size();
+            parameters.put(parameter, value);
+        }
+        clauses.add(new Clause(path, operator, parameter));
+        key.append(';').append(path).append(' ').append(operator);
+    }
+
+    private void addIn(String path, Collection<?> values) {
+        if (values.isEmpty()) {
+            add(path, Operator.NONE, null);
+        } else {
+            add(path, Operator.IN, values);
+        }
+    }
+
+    private void addNotIn(String path, Collection<?> values) {
+        if (values.isEmpty()) {
+            // Hibernate negates an empty in list into a not null check
+            add(path, Operator.SPECIFIED, null);
+        } else {
+            add(path, Operator.NOT_IN, values);
+        }
+    }
+
+    private void addSpecified(String path, boolean specified) {
+        add(path, specified ? Operator.SPECIFIED : Operator.UNSPECIFIED, null);
+    }
+
+    private static String wrapLikeQuery(String text) {
+        return "%" + text.toUpperCase() + "%";
+    }
+
+    private static String toHql(Sort.Order order) {
+        String path = ROOT_ALIAS + '.' + order.getProperty();
+        StringBuilder hql = new StringBuilder(order.isIgnoreCase() ? "upper(" + path + ')' : path);
+        hql.append(order.isAscending() ? " asc" : " desc");
+        switch (order.getNullHandling()) {
+            case NULLS_FIRST -> hql.append(" nulls first");
+            case NULLS_LAST -> hql.append(" nulls last");
+            case NATIVE -> {}
+        }
+        return hql.toString();
+    }
+
+    private enum Operator {
+        EQUALS("%s = :%s"),
+        NOT_EQUALS("%s <> :%s"),
+        IN("%s in :%s"),
+        NOT_IN("%s not in :%s"),
+        CONTAINS("upper(%s) like :%s"),
+        DOES_NOT_CONTAIN("upper(%s) not like :%s"),
+        GREATER_THAN("%s > :%s"),
+        GREATER_THAN_OR_EQUAL("%s >= :%s"),
+        LESS_THAN("%s < :%s"),
+        LESS_THAN_OR_EQUAL("%s <= :%s"),
+        SPECIFIED("%s is not null"),
+        UNSPECIFIED("%s is null"),
+        // An empty in list matches no row
+        NONE("1 = 0");
+
+        private final String template;
+
+        Operator(String template) {
+            this.template = template;
+        }
+    }
+
+    private record Clause(String path, Operator operator, String parameter) {
+        String toHql() {
+            return operator.template.formatted(path, parameter);
+        }
+    }
+}
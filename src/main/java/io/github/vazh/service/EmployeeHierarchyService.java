@@ -0,0 +1,105 @@
+package io.github.vazh.service;
+
+import io.github.vazh.repository.EmployeeHierarchyRepository;
+import io.github.vazh.repository.EmployeeHierarchyRepository.EmployeeNode;
+import io.github.vazh.service.dto.EmployeeNodeDTO;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service walking the hierarchy of {@link io.github.vazh.domain.Employee} entities along their manager.
+ * <p>
+ * Each walk is one query, the roll-ups are then computed in memory in a single bottom-up pass.
+ */
+@Service
+@Transactional(readOnly = true)
+public class EmployeeHierarchyService {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeHierarchyService.class);
+
+    private final EmployeeHierarchyRepository employeeHierarchyRepository;
+
+    public EmployeeHierarchyService(EmployeeHierarchyRepository employeeHierarchyRepository) {
+        this.employeeHierarchyRepository = employeeHierarchyRepository;
+    }
+
+    /**
+     * Get the employee and its reports down to the given depth, with the headcount and salary roll-ups of each of them.
+     * <p>
+     * The roll-ups cover all the reports of an employee, including the ones deeper than the requested depth, which the
+     * query sums up on their manager at that depth.
+     *
+     * @param id the id of the employee.
+     * @param depth the number of levels of reports to return, all of them when {@code null}.
+     * @return the employee then its reports, ordered by depth, or empty if the employee does not exist.
+     */
+    public Optional<List<EmployeeNodeDTO>> findReports(Long id, Integer depth) {
+        log.debug("Request to get the reports of Employee : {}, depth: {}", id, depth);
+        List<EmployeeNode> walk = employeeHierarchyRepository.findReports(id, depth);
+        Map<Long, EmployeeNodeDTO> nodes = toDtos(walk);
+        if (nodes.isEmpty()) {
+            return Optional.empty();
+        }
+        walk.forEach(node -> {
+            EmployeeNodeDTO dto = nodes.get(node.id());
+            dto.setDirectReports(node.deeperDirectReports());
+            dto.setTotalReports(node.deeperReports());
+            dto.setTotalSalary((node.salary() == null ? 0L : node.salary()) + node.deeperSalary());
+        });
+        List<EmployeeNodeDTO> ordered = new ArrayList<>(nodes.values());
+        // Deepest first, so that the roll-ups of a report are complete before being added to its manager
+        for (int i = ordered.size() - 1; i > 0; i--) {
+            EmployeeNodeDTO report = ordered.get(i);
+            EmployeeNodeDTO manager = nodes.get(report.getManagerId());
+            manager.setDirectReports(manager.getDirectReports() + 1);
+            manager.setTotalReports(manager.getTotalReports() + 1 + report.getTotalReports());
+            manager.setTotalSalary(manager.getTotalSalary() + report.getTotalSalary());
+        }
+        return Optional.of(ordered);
+    }
+
+    /**
+     * Get the employee and its chain of managers up to the top of the hierarchy.
+     *
+     * @param id the id of the employee.
+     * @return the employee then its managers, ordered by depth, or empty if the employee does not exist.
+     */
+    public Optional<List<EmployeeNodeDTO>> findChain(Long id) {
+        log.debug("Request to get the chain of managers of Employee : {}", id);
+        Map<Long, EmployeeNodeDTO> nodes = toDtos(employeeHierarchyRepository.findChain(id));
+        return nodes.isEmpty() ? Optional.empty() : Optional.of(List.copyOf(nodes.values()));
+    }
+
+    /**
+     * Map the nodes by id, in the order of the walk. Only the first visit of an employee is kept.
+     */
+    private static Map<Long, EmployeeNodeDTO> toDtos(List<EmployeeNode> nodes) {
+        Map<Long, EmployeeNodeDTO> dtos = new LinkedHashMap<>();
+        for (EmployeeNode node : nodes) {
+            if (!dtos.containsKey(node.id())) {
+                dtos.put(node.id(), toDto(node));
+            }
+        }
+        return dtos;
+    }
+
+    private static EmployeeNodeDTO toDto(EmployeeNode node) {
+        EmployeeNodeDTO dto = new EmployeeNodeDTO();
+        dto.setId(node.id());
+        dto.setFirstName(node.firstName());
+        dto.setLastName(node.lastName());
+        dto.setEmail(node.email());
+        dto.setSalary(node.salary());
+        dto.setManagerId(node.managerId());
+        dto.setDepartmentId(node.departmentId());
+        dto.setDepth(node.depth());
+        return dto;
+    }
+}
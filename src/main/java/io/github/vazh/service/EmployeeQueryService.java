@@ -2,15 +2,37 @@ package io.github.vazh.service;
 
 import io.github.vazh.domain.*; // for static metamodels
 import io.github.vazh.domain.Employee;
+import io.github.vazh.repository.CriteriaProjectionRepository;
+import io.github.vazh.repository.CriteriaStreamRepository;
 import io.github.vazh.repository.EmployeeRepository;
+import io.github.vazh.repository.QueryPlan;
+import io.github.vazh.repository.QueryPlanRepository;
+import io.github.vazh.repository.TableStatisticsRepository;
 import io.github.vazh.service.criteria.EmployeeCriteria;
+import io.github.vazh.service.dto.DepartmentDTO;
 import io.github.vazh.service.dto.EmployeeDTO;
 import io.github.vazh.service.mapper.EmployeeMapper;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
 import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,6 +43,8 @@ import tech.jhipster.service.QueryService;
  * The main input is a {@link EmployeeCriteria} which gets converted to {@link Specification},
  * in a way that all the filters must apply.
  * It returns a {@link Page} of {@link EmployeeDTO} which fulfills the criteria.
+ * The pages, slices and counts are read through {@link QueryPlan}s compiled from the {@link CriteriaShape} of the criteria
+ * and cached, so repeated filter shapes skip building a criteria tree and translating it to SQL.
  */
 @Service
 @Transactional(readOnly = true)
@@ -28,26 +52,156 @@ public class EmployeeQueryService extends QueryService<Employee> {
 
     private static final Logger log = LoggerFactory.getLogger(EmployeeQueryService.class);
 
+    /**
+     * Paths of the properties of {@link EmployeeDTO} read by the projections, besides the id and the version.
+     */
+    private static final Map<String, String> PROJECTED_PROPERTIES = projectedProperties();
+
+    /**
+     * Attributes the query plans may sort by, other sorts being read through the specification.
+     */
+    private static final Set<String> SORTABLE_ATTRIBUTES = Set.of(
+        Employee_.ID,
+        Employee_.VERSION,
+        Employee_.FIRST_NAME,
+        Employee_.LAST_NAME,
+        Employee_.EMAIL,
+        Employee_.PHONE_NUMBER,
+        Employee_.HIRE_DATE,
+        Employee_.SALARY,
+        Employee_.COMMISSION_PCT
+    );
+
     private final EmployeeRepository employeeRepository;
 
     private final EmployeeMapper employeeMapper;
 
-    public EmployeeQueryService(EmployeeRepository employeeRepository, EmployeeMapper employeeMapper) {
+    private final TableStatisticsRepository tableStatisticsRepository;
+
+    private final CriteriaStreamRepository criteriaStreamRepository;
+
+    private final CriteriaProjectionRepository criteriaProjectionRepository;
+
+    private final QueryPlanRepository queryPlanRepository;
+
+    private final QueryPlanCache queryPlanCache;
+
+    public EmployeeQueryService(
+        EmployeeRepository employeeRepository,
+        EmployeeMapper employeeMapper,
+        TableStatisticsRepository tableStatisticsRepository,
+        CriteriaStreamRepository criteriaStreamRepository,
+        CriteriaProjectionRepository criteriaProjectionRepository,
+        QueryPlanRepository queryPlanRepository,
+        QueryPlanCache queryPlanCache
+    ) {
         this.employeeRepository = employeeRepository;
         this.employeeMapper = employeeMapper;
+        this.tableStatisticsRepository = tableStatisticsRepository;
+        this.criteriaStreamRepository = criteriaStreamRepository;
+        this.criteriaProjectionRepository = criteriaProjectionRepository;
+        this.queryPlanRepository = queryPlanRepository;
+        this.queryPlanCache = queryPlanCache;
     }
 
     /**
      * Return a {@link Page} of {@link EmployeeDTO} which matches the criteria from the database.
+     * Only the columns of the requested properties are read, no entity is loaded.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @param page The page, which should be returned.
+     * @param fields The properties of the DTO to read, besides its id and version, all of them when {@code null}.
      * @return the matching entities.
      */
     @Transactional(readOnly = true)
-    public Page<EmployeeDTO> findByCriteria(EmployeeCriteria criteria, Pageable page) {
-        log.debug("find by criteria : {}, page: {}", criteria, page);
+    public Page<EmployeeDTO> findByCriteria(EmployeeCriteria criteria, Pageable page, Set<String> fields) {
+        log.debug("find by criteria : {}, page: {}, fields: {}", criteria, page, fields);
+        if (QueryServiceUtil.isPlanned(page.getSort(), SORTABLE_ATTRIBUTES)) {
+            final CriteriaShape shape = createShape(criteria);
+            final QueryPlan plan = shape.plan(queryPlanCache, projectedPaths(fields), page.getSort());
+            return queryPlanRepository.findAll(plan, shape.getParameters(), page).map(EmployeeQueryService::toDto);
+        }
         final Specification<Employee> specification = createSpecification(criteria);
-        return employeeRepository.findAll(specification, page).map(employeeMapper::toDto);
+        return criteriaProjectionRepository
+            .findAll(Employee.class, specification, root -> projection(root, fields), page)
+            .map(EmployeeQueryService::toDto);
+    }
+
+    /**
+     * Return a {@link Slice} of {@link EmployeeDTO} which matches the criteria from the database.
+     * One extra row is fetched to know if there is a next slice, no count query is issued.
+     * Only the columns of the requested properties are read, no entity is loaded.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @param fields The properties of the DTO to read, besides its id and version, all of them when {@code null}.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<EmployeeDTO> findSliceByCriteria(EmployeeCriteria criteria, Pageable page, Set<String> fields) {
+        log.debug("find slice by criteria : {}, page: {}, fields: {}", criteria, page, fields);
+        if (QueryServiceUtil.isPlanned(page.getSort(), SORTABLE_ATTRIBUTES)) {
+            final CriteriaShape shape = createShape(criteria);
+            final QueryPlan plan = shape.plan(queryPlanCache, projectedPaths(fields), page.getSort());
+            return queryPlanRepository.findSlice(plan, shape.getParameters(), page).map(EmployeeQueryService::toDto);
+        }
+        final Specification<Employee> specification = createSpecification(criteria);
+        return criteriaProjectionRepository
+            .findSlice(Employee.class, specification, root -> projection(root, fields), page)
+            .map(EmployeeQueryService::toDto);
+    }
+
+    /**
+     * Return a {@link Page} of {@link EmployeeDTO} which matches the criteria from the database, with an estimated total.
+     * Without any filter, the total is read from the database statistics instead of being counted,
+     * otherwise it falls back to {@link #findByCriteria(EmployeeCriteria, Pageable, Set)}.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @param fields The properties of the DTO to read, besides its id and version, all of them when {@code null}.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<EmployeeDTO> findByCriteriaWithEstimatedCount(EmployeeCriteria criteria, Pageable page, Set<String> fields) {
+        log.debug("find by criteria with estimated count : {}, page: {}, fields: {}", criteria, page, fields);
+        if (criteria != null && !criteria.equals(new EmployeeCriteria())) {
+            return findByCriteria(criteria, page, fields);
+        }
+        Slice<EmployeeDTO> slice = findSliceByCriteria(criteria, page, fields);
+        long estimatedTotal = tableStatisticsRepository.estimateRowCount(Employee.class).orElseGet(employeeRepository::count);
+        return QueryServiceUtil.toEstimatedPage(slice, estimatedTotal);
+    }
+
+    /**
+     * Return a {@link Window} of {@link EmployeeDTO} which matches the criteria from the database,
+     * starting right after the given keyset position. No count query is issued.
+     * Only the columns of the requested properties and of the sorted ones are read, no entity is loaded.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param position The keyset position, holding the sort key values and the id of the last entity already returned.
+     * @param page The size and the sort of the window, the page number is ignored.
+     * @param fields The properties of the DTO to read, besides its id and version, all of them when {@code null}.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Window<EmployeeDTO> findByCriteria(EmployeeCriteria criteria, KeysetScrollPosition position, Pageable page, Set<String> fields) {
+        log.debug("find by criteria : {}, position: {}, page: {}, fields: {}", criteria, position, page, fields);
+        final Specification<Employee> specification = createSpecification(criteria);
+        return criteriaProjectionRepository
+            .findWindow(Employee.class, specification, root -> projection(root, fields), position, page)
+            .map(EmployeeQueryService::toDto);
+    }
+
+    /**
+     * Hand all the {@link EmployeeDTO} which match the criteria from the database to the consumer, one by one.
+     * The entities are read through a database cursor, and detached by chunks, so the memory used does not depend on their number.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param sort The sort of the entities, by id when unsorted.
+     * @param consumer The consumer of the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public void exportByCriteria(EmployeeCriteria criteria, Sort sort, Consumer<EmployeeDTO> consumer) {
+        log.debug("export by criteria : {}, sort: {}", criteria, sort);
+        final Specification<Employee> specification = createSpecification(criteria);
+        criteriaStreamRepository.forEachChunk(Employee.class, specification, sort, chunk ->
+            chunk.stream().map(employeeMapper::toDto).forEach(consumer)
+        );
     }
 
     /**
@@ -58,8 +212,96 @@ public class EmployeeQueryService extends QueryService<Employee> {
     @Transactional(readOnly = true)
     public long countByCriteria(EmployeeCriteria criteria) {
         log.debug("count by criteria : {}", criteria);
-        final Specification<Employee> specification = createSpecification(criteria);
-        return employeeRepository.count(specification);
+        final CriteriaShape shape = createShape(criteria);
+        final QueryPlan plan = shape.plan(queryPlanCache, projectedPaths(null), Sort.unsorted());
+        return queryPlanRepository.count(plan, shape.getParameters());
+    }
+
+    /**
+     * Paths of the requested properties of {@link EmployeeDTO} from the entity, by property, the manager and department ids
+     * being read from the foreign keys. The id and the version, which tags the lists, are always read.
+     */
+    static Map<String, String> projectedPaths(Set<String> fields) {
+        Map<String, String> paths = new LinkedHashMap<>();
+        paths.put(Employee_.ID, Employee_.ID);
+        paths.put(Employee_.VERSION, Employee_.VERSION);
+        PROJECTED_PROPERTIES.forEach((property, path) -> {
+            if (fields == null || fields.contains(property)) {
+                paths.put(property, path);
+            }
+        });
+        return paths;
+    }
+
+    /**
+     * Selections of the columns of the {@link #projectedPaths(Set) projected paths}.
+     */
+    static List<Selection<?>> projection(Root<Employee> root, Set<String> fields) {
+        List<Selection<?>> selections = new ArrayList<>();
+        projectedPaths(fields).forEach((property, attributePath) -> {
+            Path<?> path = root;
+            for (String attribute : attributePath.split("\\.")) {
+                path = path.get(attribute);
+            }
+            selections.add(path.alias(property));
+        });
+        return selections;
+    }
+
+    /**
+     * Build the {@link EmployeeDTO} of a row of {@link #projection(Root, Set)}, like {@link EmployeeMapper#toDto(Employee)}
+     * for the properties which were read.
+     */
+    static EmployeeDTO toDto(Tuple tuple) {
+        EmployeeDTO employeeDTO = new EmployeeDTO();
+        for (TupleElement<?> element : tuple.getElements()) {
+            if (element.getAlias().indexOf('.') >= 0) {
+                // A nested sort key of a window, only read for the position of the row
+                continue;
+            }
+            Object value = tuple.get(element);
+            switch (element.getAlias()) {
+                case "id" -> employeeDTO.setId((Long) value);
+                case "version" -> employeeDTO.setVersion((Long) value);
+                case "firstName" -> employeeDTO.setFirstName((String) value);
+                case "lastName" -> employeeDTO.setLastName((String) value);
+                case "email" -> employeeDTO.setEmail((String) value);
+                case "phoneNumber" -> employeeDTO.setPhoneNumber((String) value);
+                case "hireDate" -> employeeDTO.setHireDate((Instant) value);
+                case "salary" -> employeeDTO.setSalary((Long) value);
+                case "commissionPct" -> employeeDTO.setCommissionPct((Long) value);
+                case "manager" -> {
+                    if (value != null) {
+                        EmployeeDTO manager = new EmployeeDTO();
+                        manager.setId((Long) value);
+                        employeeDTO.setManager(manager);
+                    }
+                }
+                case "department" -> {
+                    if (value != null) {
+                        DepartmentDTO department = new DepartmentDTO();
+                        department.setId((Long) value);
+                        employeeDTO.setDepartment(department);
+                    }
+                }
+                default -> throw new IllegalArgumentException("Unknown property " + element.getAlias());
+            }
+        }
+        return employeeDTO;
+    }
+
+    private static Map<String, String> projectedProperties() {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("firstName", Employee_.FIRST_NAME);
+        properties.put("lastName", Employee_.LAST_NAME);
+        properties.put("email", Employee_.EMAIL);
+        properties.put("phoneNumber", Employee_.PHONE_NUMBER);
+        properties.put("hireDate", Employee_.HIRE_DATE);
+        properties.put("salary", Employee_.SALARY);
+        properties.put("commissionPct", Employee_.COMMISSION_PCT);
+        properties.put("manager", Employee_.MANAGER + '.' + Employee_.ID);
+        properties.put("department", Employee_.DEPARTMENT + '.' + Department_.ID);
+        return properties;
     }
 
     /**
@@ -127,4 +369,31 @@ public class EmployeeQueryService extends QueryService<Employee> {
         }
         return specification;
     }
+
+    /**
+     * Function to convert {@link EmployeeCriteria} to a {@link CriteriaShape}, applying the same filters as
+     * {@link #createSpecification(EmployeeCriteria)}.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching {@link CriteriaShape}, holding the values of the filters.
+     */
+    protected CriteriaShape createShape(EmployeeCriteria criteria) {
+        CriteriaShape shape = new CriteriaShape(Employee.class);
+        if (criteria != null) {
+            shape
+                .distinct(criteria.getDistinct())
+                .filter(criteria.getId(), Employee_.ID)
+                .filter(criteria.getFirstName(), Employee_.FIRST_NAME)
+                .filter(criteria.getLastName(), Employee_.LAST_NAME)
+                .filter(criteria.getEmail(), Employee_.EMAIL)
+                .filter(criteria.getPhoneNumber(), Employee_.PHONE_NUMBER)
+                .filter(criteria.getHireDate(), Employee_.HIRE_DATE)
+                .filter(criteria.getSalary(), Employee_.SALARY)
+                .filter(criteria.getCommissionPct(), Employee_.COMMISSION_PCT)
+                .filter(criteria.getJobId(), Employee_.JOBS, Job_.ID)
+                .filter(criteria.getManagerId(), Employee_.MANAGER, Employee_.ID)
+                .filter(criteria.getDepartmentId(), Employee_.DEPARTMENT, Department_.ID)
+                .filter(criteria.getJobHistoryId(), Employee_.JOB_HISTORY, JobHistory_.ID);
+        }
+        return shape;
+    }
 }
@@ -1,6 +1,8 @@
 package io.github.vazh.service;
 
+import io.github.vazh.service.dto.BulkItemResultDTO;
 import io.github.vazh.service.dto.EmployeeDTO;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,15 +22,17 @@ public interface EmployeeService {
      * Updates a employee.
      *
      * @param employeeDTO the entity to update.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if its version is not the one of the entity.
      */
-    EmployeeDTO update(EmployeeDTO employeeDTO);
+    Optional<EmployeeDTO> update(EmployeeDTO employeeDTO);
 
     /**
      * Partially updates a employee.
      *
      * @param employeeDTO the entity to update partially.
      * @return the persisted entity.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if its version is set and is not the one of the entity.
      */
     Optional<EmployeeDTO> partialUpdate(EmployeeDTO employeeDTO);
 
@@ -53,4 +57,28 @@ public interface EmployeeService {
      * @param id the id of the entity.
      */
     void delete(Long id);
+
+    /**
+     * Save new employees in bulk, by chunks of one transaction each.
+     *
+     * @param employeeDTOs the entities to save, read as they are saved.
+     * @return the result of each entity.
+     */
+    List<BulkItemResultDTO> saveAll(Iterator<EmployeeDTO> employeeDTOs);
+
+    /**
+     * Partially updates employees in bulk, by chunks of one transaction each.
+     *
+     * @param employeeDTOs the entities to update partially, read as they are updated.
+     * @return the result of each entity.
+     */
+    List<BulkItemResultDTO> partialUpdateAll(Iterator<EmployeeDTO> employeeDTOs);
+
+    /**
+     * Delete employees in bulk, by chunks of one transaction each.
+     *
+     * @param ids the ids of the entities, read as they are deleted.
+     * @return the result of each id.
+     */
+    List<BulkItemResultDTO> deleteAll(Iterator<Long> ids);
 }
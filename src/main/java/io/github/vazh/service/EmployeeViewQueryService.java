@@ -0,0 +1,139 @@
+package io.github.vazh.service;
+
+import io.github.vazh.domain.*; // for static metamodels
+import io.github.vazh.domain.EmployeeView;
+import io.github.vazh.repository.EmployeeViewRepository;
+import io.github.vazh.service.criteria.EmployeeViewCriteria;
+import io.github.vazh.service.dto.EmployeeViewDTO;
+import io.github.vazh.service.mapper.EmployeeViewMapper;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.jhipster.service.QueryService;
+
+/**
+ * Service for executing complex queries for {@link EmployeeView} rows in the database.
+ * The main input is a {@link EmployeeViewCriteria} which gets converted to {@link Specification},
+ * in a way that all the filters must apply.
+ * It returns a {@link Page} of {@link EmployeeViewDTO} which fulfills the criteria.
+ * The names of the manager, the department and the job being columns of the read model, a page is read by a single
+ * query without any join.
+ */
+@Service
+@Transactional(readOnly = true)
+public class EmployeeViewQueryService extends QueryService<EmployeeView> {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeViewQueryService.class);
+
+    private final EmployeeViewRepository employeeViewRepository;
+
+    private final EmployeeViewMapper employeeViewMapper;
+
+    public EmployeeViewQueryService(EmployeeViewRepository employeeViewRepository, EmployeeViewMapper employeeViewMapper) {
+        this.employeeViewRepository = employeeViewRepository;
+        this.employeeViewMapper = employeeViewMapper;
+    }
+
+    /**
+     * Return a {@link Page} of {@link EmployeeViewDTO} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<EmployeeViewDTO> findByCriteria(EmployeeViewCriteria criteria, Pageable page) {
+        log.debug("find by criteria : {}, page: {}", criteria, page);
+        final Specification<EmployeeView> specification = createSpecification(criteria);
+        return employeeViewRepository.findAll(specification, page).map(employeeViewMapper::toDto);
+    }
+
+    /**
+     * Return the number of matching entities in the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the number of matching entities.
+     */
+    @Transactional(readOnly = true)
+    public long countByCriteria(EmployeeViewCriteria criteria) {
+        log.debug("count by criteria : {}", criteria);
+        final Specification<EmployeeView> specification = createSpecification(criteria);
+        return employeeViewRepository.count(specification);
+    }
+
+    /**
+     * Get one employee view by id.
+     *
+     * @param id the id of the employee.
+     * @return the entity.
+     */
+    @Transactional(readOnly = true)
+    public Optional<EmployeeViewDTO> findOne(Long id) {
+        log.debug("Request to get EmployeeView : {}", id);
+        return employeeViewRepository.findById(id).map(employeeViewMapper::toDto);
+    }
+
+    /**
+     * Function to convert {@link EmployeeViewCriteria} to a {@link Specification}
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<EmployeeView> createSpecification(EmployeeViewCriteria criteria) {
+        Specification<EmployeeView> specification = Specification.where(null);
+        if (criteria != null) {
+            // This has to be called first, because the distinct method returns null
+            if (criteria.getDistinct() != null) {
+                specification = specification.and(distinct(criteria.getDistinct()));
+            }
+            if (criteria.getId() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getId(), EmployeeView_.id));
+            }
+            if (criteria.getFirstName() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getFirstName(), EmployeeView_.firstName));
+            }
+            if (criteria.getLastName() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getLastName(), EmployeeView_.lastName));
+            }
+            if (criteria.getEmail() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getEmail(), EmployeeView_.email));
+            }
+            if (criteria.getPhoneNumber() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getPhoneNumber(), EmployeeView_.phoneNumber));
+            }
+            if (criteria.getHireDate() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getHireDate(), EmployeeView_.hireDate));
+            }
+            if (criteria.getSalary() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getSalary(), EmployeeView_.salary));
+            }
+            if (criteria.getCommissionPct() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getCommissionPct(), EmployeeView_.commissionPct));
+            }
+            if (criteria.getManagerId() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getManagerId(), EmployeeView_.managerId));
+            }
+            if (criteria.getManagerFirstName() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getManagerFirstName(), EmployeeView_.managerFirstName));
+            }
+            if (criteria.getManagerLastName() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getManagerLastName(), EmployeeView_.managerLastName));
+            }
+            if (criteria.getDepartmentId() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getDepartmentId(), EmployeeView_.departmentId));
+            }
+            if (criteria.getDepartmentName() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getDepartmentName(), EmployeeView_.departmentName));
+            }
+            if (criteria.getJobId() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getJobId(), EmployeeView_.jobId));
+            }
+            if (criteria.getJobTitle() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getJobTitle(), EmployeeView_.jobTitle));
+            }
+        }
+        return specification;
+    }
+}
@@ -2,15 +2,26 @@ package io.github.vazh.service;
 
 import io.github.vazh.domain.*; // for static metamodels
 import io.github.vazh.domain.JobHistory;
+import io.github.vazh.repository.CriteriaStreamRepository;
 import io.github.vazh.repository.JobHistoryRepository;
+import io.github.vazh.repository.QueryPlan;
+import io.github.vazh.repository.QueryPlanRepository;
+import io.github.vazh.repository.TableStatisticsRepository;
 import io.github.vazh.service.criteria.JobHistoryCriteria;
 import io.github.vazh.service.dto.JobHistoryDTO;
 import io.github.vazh.service.mapper.JobHistoryMapper;
 import jakarta.persistence.criteria.JoinType;
+import java.util.Set;
+import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,6 +32,8 @@ import tech.jhipster.service.QueryService;
  * The main input is a {@link JobHistoryCriteria} which gets converted to {@link Specification},
  * in a way that all the filters must apply.
  * It returns a {@link Page} of {@link JobHistoryDTO} which fulfills the criteria.
+ * The pages, slices and counts are read through {@link QueryPlan}s compiled from the {@link CriteriaShape} of the criteria
+ * and cached, unless sorted by an association.
  */
 @Service
 @Transactional(readOnly = true)
@@ -28,13 +41,43 @@ public class JobHistoryQueryService extends QueryService<JobHistory> {
 
     private static final Logger log = LoggerFactory.getLogger(JobHistoryQueryService.class);
 
+    /**
+     * Attributes the query plans may sort by, other sorts being read through the specification.
+     */
+    private static final Set<String> SORTABLE_ATTRIBUTES = Set.of(
+        JobHistory_.ID,
+        JobHistory_.VERSION,
+        JobHistory_.START_DATE,
+        JobHistory_.END_DATE,
+        JobHistory_.LANGUAGE
+    );
+
     private final JobHistoryRepository jobHistoryRepository;
 
     private final JobHistoryMapper jobHistoryMapper;
 
-    public JobHistoryQueryService(JobHistoryRepository jobHistoryRepository, JobHistoryMapper jobHistoryMapper) {
+    private final TableStatisticsRepository tableStatisticsRepository;
+
+    private final CriteriaStreamRepository criteriaStreamRepository;
+
+    private final QueryPlanRepository queryPlanRepository;
+
+    private final QueryPlanCache queryPlanCache;
+
+    public JobHistoryQueryService(
+        JobHistoryRepository jobHistoryRepository,
+        JobHistoryMapper jobHistoryMapper,
+        TableStatisticsRepository tableStatisticsRepository,
+        CriteriaStreamRepository criteriaStreamRepository,
+        QueryPlanRepository queryPlanRepository,
+        QueryPlanCache queryPlanCache
+    ) {
         this.jobHistoryRepository = jobHistoryRepository;
         this.jobHistoryMapper = jobHistoryMapper;
+        this.tableStatisticsRepository = tableStatisticsRepository;
+        this.criteriaStreamRepository = criteriaStreamRepository;
+        this.queryPlanRepository = queryPlanRepository;
+        this.queryPlanCache = queryPlanCache;
     }
 
     /**
@@ -46,10 +89,89 @@ public class JobHistoryQueryService extends QueryService<JobHistory> {
     @Transactional(readOnly = true)
     public Page<JobHistoryDTO> findByCriteria(JobHistoryCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
+        if (QueryServiceUtil.isPlanned(page.getSort(), SORTABLE_ATTRIBUTES)) {
+            final CriteriaShape shape = createShape(criteria);
+            final QueryPlan plan = shape.plan(queryPlanCache, page.getSort());
+            return queryPlanRepository.findAll(plan, shape.getParameters(), page, JobHistory.class).map(jobHistoryMapper::toDto);
+        }
         final Specification<JobHistory> specification = createSpecification(criteria);
         return jobHistoryRepository.findAll(specification, page).map(jobHistoryMapper::toDto);
     }
 
+    /**
+     * Return a {@link Slice} of {@link JobHistoryDTO} which matches the criteria from the database.
+     * One extra row is fetched to know if there is a next slice, no count query is issued.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<JobHistoryDTO> findSliceByCriteria(JobHistoryCriteria criteria, Pageable page) {
+        log.debug("find slice by criteria : {}, page: {}", criteria, page);
+        if (QueryServiceUtil.isPlanned(page.getSort(), SORTABLE_ATTRIBUTES)) {
+            final CriteriaShape shape = createShape(criteria);
+            final QueryPlan plan = shape.plan(queryPlanCache, page.getSort());
+            return queryPlanRepository.findSlice(plan, shape.getParameters(), page, JobHistory.class).map(jobHistoryMapper::toDto);
+        }
+        final Specification<JobHistory> specification = createSpecification(criteria);
+        Window<JobHistory> window = jobHistoryRepository.findBy(specification, q ->
+            q.sortBy(page.getSort()).limit(page.getPageSize()).scroll(QueryServiceUtil.offsetPosition(page))
+        );
+        return new SliceImpl<>(window.getContent(), page, window.hasNext()).map(jobHistoryMapper::toDto);
+    }
+
+    /**
+     * Return a {@link Page} of {@link JobHistoryDTO} which matches the criteria from the database, with an estimated total.
+     * Without any filter, the total is read from the database statistics instead of being counted,
+     * otherwise it falls back to {@link #findByCriteria(JobHistoryCriteria, Pageable)}.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<JobHistoryDTO> findByCriteriaWithEstimatedCount(JobHistoryCriteria criteria, Pageable page) {
+        log.debug("find by criteria with estimated count : {}, page: {}", criteria, page);
+        if (criteria != null && !criteria.equals(new JobHistoryCriteria())) {
+            return findByCriteria(criteria, page);
+        }
+        Slice<JobHistoryDTO> slice = findSliceByCriteria(criteria, page);
+        long estimatedTotal = tableStatisticsRepository.estimateRowCount(JobHistory.class).orElseGet(jobHistoryRepository::count);
+        return QueryServiceUtil.toEstimatedPage(slice, estimatedTotal);
+    }
+
+    /**
+     * Return a {@link Window} of {@link JobHistoryDTO} which matches the criteria from the database,
+     * starting right after the given keyset position. No count query is issued.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param position The keyset position, holding the sort key values and the id of the last entity already returned.
+     * @param page The size and the sort of the window, the page number is ignored.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Window<JobHistoryDTO> findByCriteria(JobHistoryCriteria criteria, KeysetScrollPosition position, Pageable page) {
+        log.debug("find by criteria : {}, position: {}, page: {}", criteria, position, page);
+        final Specification<JobHistory> specification = createSpecification(criteria);
+        return jobHistoryRepository
+            .findBy(specification, q -> q.sortBy(page.getSort()).limit(page.getPageSize()).scroll(position))
+            .map(jobHistoryMapper::toDto);
+    }
+
+    /**
+     * Hand all the {@link JobHistoryDTO} which match the criteria from the database to the consumer, one by one.
+     * The entities are read through a database cursor, and detached by chunks, so the memory used does not depend on their number.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param sort The sort of the entities, by id when unsorted.
+     * @param consumer The consumer of the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public void exportByCriteria(JobHistoryCriteria criteria, Sort sort, Consumer<JobHistoryDTO> consumer) {
+        log.debug("export by criteria : {}, sort: {}", criteria, sort);
+        final Specification<JobHistory> specification = createSpecification(criteria);
+        criteriaStreamRepository.forEachChunk(JobHistory.class, specification, sort, chunk ->
+            chunk.stream().map(jobHistoryMapper::toDto).forEach(consumer)
+        );
+    }
+
     /**
      * Return the number of matching entities in the database.
      * @param criteria The object which holds all the filters, which the entities should match.
@@ -58,8 +180,9 @@ public class JobHistoryQueryService extends QueryService<JobHistory> {
     @Transactional(readOnly = true)
     public long countByCriteria(JobHistoryCriteria criteria) {
         log.debug("count by criteria : {}", criteria);
-        final Specification<JobHistory> specification = createSpecification(criteria);
-        return jobHistoryRepository.count(specification);
+        final CriteriaShape shape = createShape(criteria);
+        final QueryPlan plan = shape.plan(queryPlanCache, Sort.unsorted());
+        return queryPlanRepository.count(plan, shape.getParameters());
     }
 
     /**
@@ -107,4 +230,26 @@ public class JobHistoryQueryService extends QueryService<JobHistory> {
         }
         return specification;
     }
+
+    /**
+     * Function to convert {@link JobHistoryCriteria} to a {@link CriteriaShape}, applying the same filters as
+     * {@link #createSpecification(JobHistoryCriteria)}.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching {@link CriteriaShape}, holding the values of the filters.
+     */
+    protected CriteriaShape createShape(JobHistoryCriteria criteria) {
+        CriteriaShape shape = new CriteriaShape(JobHistory.class);
+        if (criteria != null) {
+            shape
+                .distinct(criteria.getDistinct())
+                .filter(criteria.getId(), JobHistory_.ID)
+                .filter(criteria.getStartDate(), JobHistory_.START_DATE)
+                .filter(criteria.getEndDate(), JobHistory_.END_DATE)
+                .filter(criteria.getLanguage(), JobHistory_.LANGUAGE)
+                .filter(criteria.getJobId(), JobHistory_.JOB, Job_.ID)
+                .filter(criteria.getDepartmentId(), JobHistory_.DEPARTMENT, Department_.ID)
+                .filter(criteria.getEmployeeId(), JobHistory_.EMPLOYEE, Employee_.ID);
+        }
+        return shape;
+    }
 }
@@ -1,6 +1,9 @@
 package io.github.vazh.service;
 
+import io.github.vazh.service.dto.BulkItemResultDTO;
 import io.github.vazh.service.dto.JobHistoryDTO;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -19,15 +22,17 @@ public interface JobHistoryService {
      * Updates a jobHistory.
      *
      * @param jobHistoryDTO the entity to update.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if its version is not the one of the entity.
      */
-    JobHistoryDTO update(JobHistoryDTO jobHistoryDTO);
+    Optional<JobHistoryDTO> update(JobHistoryDTO jobHistoryDTO);
 
     /**
      * Partially updates a jobHistory.
      *
      * @param jobHistoryDTO the entity to update partially.
      * @return the persisted entity.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if its version is set and is not the one of the entity.
      */
     Optional<JobHistoryDTO> partialUpdate(JobHistoryDTO jobHistoryDTO);
 
@@ -45,4 +50,28 @@ public interface JobHistoryService {
      * @param id the id of the entity.
      */
     void delete(Long id);
+
+    /**
+     * Save new job histories in bulk, by chunks of one transaction each.
+     *
+     * @param jobHistoryDTOs the entities to save, read as they are saved.
+     * @return the result of each entity.
+     */
+    List<BulkItemResultDTO> saveAll(Iterator<JobHistoryDTO> jobHistoryDTOs);
+
+    /**
+     * Partially updates job histories in bulk, by chunks of one transaction each.
+     *
+     * @param jobHistoryDTOs the entities to update partially, read as they are updated.
+     * @return the result of each entity.
+     */
+    List<BulkItemResultDTO> partialUpdateAll(Iterator<JobHistoryDTO> jobHistoryDTOs);
+
+    /**
+     * Delete job histories in bulk, by chunks of one transaction each.
+     *
+     * @param ids the ids of the entities, read as they are deleted.
+     * @return the result of each id.
+     */
+    List<BulkItemResultDTO> deleteAll(Iterator<Long> ids);
 }
@@ -2,15 +2,26 @@ package io.github.vazh.service;
 
 import io.github.vazh.domain.*; // for static metamodels
 import io.github.vazh.domain.Job;
+import io.github.vazh.repository.CriteriaStreamRepository;
 import io.github.vazh.repository.JobRepository;
+import io.github.vazh.repository.QueryPlan;
+import io.github.vazh.repository.QueryPlanRepository;
+import io.github.vazh.repository.TableStatisticsRepository;
 import io.github.vazh.service.criteria.JobCriteria;
 import io.github.vazh.service.dto.JobDTO;
 import io.github.vazh.service.mapper.JobMapper;
 import jakarta.persistence.criteria.JoinType;
+import java.util.Set;
+import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,6 +32,8 @@ import tech.jhipster.service.QueryService;
  * The main input is a {@link JobCriteria} which gets converted to {@link Specification},
  * in a way that all the filters must apply.
  * It returns a {@link Page} of {@link JobDTO} which fulfills the criteria.
+ * The pages, slices and counts are read through {@link QueryPlan}s compiled from the {@link CriteriaShape} of the criteria
+ * and cached, unless sorted by an association.
  */
 @Service
 @Transactional(readOnly = true)
@@ -28,26 +41,155 @@ public class JobQueryService extends QueryService<Job> {
 
     private static final Logger log = LoggerFactory.getLogger(JobQueryService.class);
 
+    /**
+     * Attributes the query plans may sort by, other sorts being read through the specification.
+     */
+    private static final Set<String> SORTABLE_ATTRIBUTES = Set.of(
+        Job_.ID,
+        Job_.VERSION,
+        Job_.JOB_TITLE,
+        Job_.MIN_SALARY,
+        Job_.MAX_SALARY
+    );
+
     private final JobRepository jobRepository;
 
     private final JobMapper jobMapper;
 
-    public JobQueryService(JobRepository jobRepository, JobMapper jobMapper) {
+    private final TableStatisticsRepository tableStatisticsRepository;
+
+    private final CriteriaStreamRepository criteriaStreamRepository;
+
+    private final QueryPlanRepository queryPlanRepository;
+
+    private final QueryPlanCache queryPlanCache;
+
+    public JobQueryService(
+        JobRepository jobRepository,
+        JobMapper jobMapper,
+        TableStatisticsRepository tableStatisticsRepository,
+        CriteriaStreamRepository criteriaStreamRepository,
+        QueryPlanRepository queryPlanRepository,
+        QueryPlanCache queryPlanCache
+    ) {
         this.jobRepository = jobRepository;
         this.jobMapper = jobMapper;
+        this.tableStatisticsRepository = tableStatisticsRepository;
+        this.criteriaStreamRepository = criteriaStreamRepository;
+        this.queryPlanRepository = queryPlanRepository;
+        this.queryPlanCache = queryPlanCache;
     }
 
     /**
      * Return a {@link Page} of {@link JobDTO} which matches the criteria from the database.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @param page The page, which should be returned.
+     * @param fields The properties of the DTO to read, all of them when {@code null}, the tasks being fetched only when requested.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<JobDTO> findByCriteria(JobCriteria criteria, Pageable page, Set<String> fields) {
+        log.debug("find by criteria : {}, page: {}, fields: {}", criteria, page, fields);
+        final Page<Job> jobs;
+        if (QueryServiceUtil.isPlanned(page.getSort(), SORTABLE_ATTRIBUTES)) {
+            final CriteriaShape shape = createShape(criteria);
+            final QueryPlan plan = shape.plan(queryPlanCache, page.getSort());
+            jobs = queryPlanRepository.findAll(plan, shape.getParameters(), page, Job.class);
+        } else {
+            jobs = jobRepository.findAll(createSpecification(criteria), page);
+        }
+        if (!withTasks(fields)) {
+            return jobs.map(jobMapper::toDtoWithoutTasks);
+        }
+        return jobRepository.fetchBagRelationships(jobs).map(jobMapper::toDto);
+    }
+
+    /**
+     * Return a {@link Slice} of {@link JobDTO} which matches the criteria from the database.
+     * One extra row is fetched to know if there is a next slice, no count query is issued.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @param fields The properties of the DTO to read, all of them when {@code null}, the tasks being fetched only when requested.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<JobDTO> findSliceByCriteria(JobCriteria criteria, Pageable page, Set<String> fields) {
+        log.debug("find slice by criteria : {}, page: {}, fields: {}", criteria, page, fields);
+        final Slice<Job> jobs;
+        if (QueryServiceUtil.isPlanned(page.getSort(), SORTABLE_ATTRIBUTES)) {
+            final CriteriaShape shape = createShape(criteria);
+            final QueryPlan plan = shape.plan(queryPlanCache, page.getSort());
+            jobs = queryPlanRepository.findSlice(plan, shape.getParameters(), page, Job.class);
+        } else {
+            final Specification<Job> specification = createSpecification(criteria);
+            Window<Job> window = jobRepository.findBy(specification, q ->
+                q.sortBy(page.getSort()).limit(page.getPageSize()).scroll(QueryServiceUtil.offsetPosition(page))
+            );
+            jobs = new SliceImpl<>(window.getContent(), page, window.hasNext());
+        }
+        if (!withTasks(fields)) {
+            return jobs.map(jobMapper::toDtoWithoutTasks);
+        }
+        jobRepository.fetchBagRelationships(jobs.getContent());
+        return jobs.map(jobMapper::toDto);
+    }
+
+    /**
+     * Return a {@link Page} of {@link JobDTO} which matches the criteria from the database, with an estimated total.
+     * Without any filter, the total is read from the database statistics instead of being counted,
+     * otherwise it falls back to {@link #findByCriteria(JobCriteria, Pageable, Set)}.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @param fields The properties of the DTO to read, all of them when {@code null}, the tasks being fetched only when requested.
      * @return the matching entities.
      */
     @Transactional(readOnly = true)
-    public Page<JobDTO> findByCriteria(JobCriteria criteria, Pageable page) {
-        log.debug("find by criteria : {}, page: {}", criteria, page);
+    public Page<JobDTO> findByCriteriaWithEstimatedCount(JobCriteria criteria, Pageable page, Set<String> fields) {
+        log.debug("find by criteria with estimated count : {}, page: {}, fields: {}", criteria, page, fields);
+        if (criteria != null && !criteria.equals(new JobCriteria())) {
+            return findByCriteria(criteria, page, fields);
+        }
+        Slice<JobDTO> slice = findSliceByCriteria(criteria, page, fields);
+        long estimatedTotal = tableStatisticsRepository.estimateRowCount(Job.class).orElseGet(jobRepository::count);
+        return QueryServiceUtil.toEstimatedPage(slice, estimatedTotal);
+    }
+
+    /**
+     * Return a {@link Window} of {@link JobDTO} which matches the criteria from the database,
+     * starting right after the given keyset position. No count query is issued.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param position The keyset position, holding the sort key values and the id of the last entity already returned.
+     * @param page The size and the sort of the window, the page number is ignored.
+     * @param fields The properties of the DTO to read, all of them when {@code null}, the tasks being fetched only when requested.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Window<JobDTO> findByCriteria(JobCriteria criteria, KeysetScrollPosition position, Pageable page, Set<String> fields) {
+        log.debug("find by criteria : {}, position: {}, page: {}, fields: {}", criteria, position, page, fields);
+        final Specification<Job> specification = createSpecification(criteria);
+        Window<Job> window = jobRepository.findBy(specification, q -> q.sortBy(page.getSort()).limit(page.getPageSize()).scroll(position));
+        if (!withTasks(fields)) {
+            return window.map(jobMapper::toDtoWithoutTasks);
+        }
+        jobRepository.fetchBagRelationships(window.getContent());
+        return window.map(jobMapper::toDto);
+    }
+
+    /**
+     * Hand all the {@link JobDTO} which match the criteria from the database to the consumer, one by one.
+     * The entities are read through a database cursor, and detached by chunks, so the memory used does not depend on their number.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param sort The sort of the entities, by id when unsorted.
+     * @param consumer The consumer of the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public void exportByCriteria(JobCriteria criteria, Sort sort, Consumer<JobDTO> consumer) {
+        log.debug("export by criteria : {}, sort: {}", criteria, sort);
         final Specification<Job> specification = createSpecification(criteria);
-        return jobRepository.fetchBagRelationships(jobRepository.findAll(specification, page)).map(jobMapper::toDto);
+        criteriaStreamRepository.forEachChunk(Job.class, specification, sort, chunk -> {
+            jobRepository.fetchBagRelationships(chunk);
+            chunk.stream().map(jobMapper::toDto).forEach(consumer);
+        });
     }
 
     /**
@@ -58,8 +200,13 @@ public class JobQueryService extends QueryService<Job> {
     @Transactional(readOnly = true)
     public long countByCriteria(JobCriteria criteria) {
         log.debug("count by criteria : {}", criteria);
-        final Specification<Job> specification = createSpecification(criteria);
-        return jobRepository.count(specification);
+        final CriteriaShape shape = createShape(criteria);
+        final QueryPlan plan = shape.plan(queryPlanCache, Sort.unsorted());
+        return queryPlanRepository.count(plan, shape.getParameters());
+    }
+
+    private static boolean withTasks(Set<String> fields) {
+        return fields == null || fields.contains("tasks");
     }
 
     /**
@@ -104,4 +251,26 @@ public class JobQueryService extends QueryService<Job> {
         }
         return specification;
     }
+
+    /**
+     * Function to convert {@link JobCriteria} to a {@link CriteriaShape}, applying the same filters as
+     * {@link #createSpecification(JobCriteria)}.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching {@link CriteriaShape}, holding the values of the filters.
+     */
+    protected CriteriaShape createShape(JobCriteria criteria) {
+        CriteriaShape shape = new CriteriaShape(Job.class);
+        if (criteria != null) {
+            shape
+                .distinct(criteria.getDistinct())
+                .filter(criteria.getId(), Job_.ID)
+                .filter(criteria.getJobTitle(), Job_.JOB_TITLE)
+                .filter(criteria.getMinSalary(), Job_.MIN_SALARY)
+                .filter(criteria.getMaxSalary(), Job_.MAX_SALARY)
+                .filter(criteria.getTaskId(), Job_.TASKS, Task_.ID)
+                .filter(criteria.getEmployeeId(), Job_.EMPLOYEE, Employee_.ID)
+                .filter(criteria.getJobHistoryId(), Job_.JOB_HISTORY, JobHistory_.ID);
+        }
+        return shape;
+    }
 }
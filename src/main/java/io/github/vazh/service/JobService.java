@@ -1,6 +1,8 @@
 package io.github.vazh.service;
 
+import io.github.vazh.service.dto.BulkItemResultDTO;
 import io.github.vazh.service.dto.JobDTO;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
@@ -22,15 +24,17 @@ public interface JobService {
      * Updates a job.
      *
      * @param jobDTO the entity to update.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if its version is not the one of the entity.
      */
-    JobDTO update(JobDTO jobDTO);
+    Optional<JobDTO> update(JobDTO jobDTO);
 
     /**
      * Partially updates a job.
      *
      * @param jobDTO the entity to update partially.
      * @return the persisted entity.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if its version is set and is not the one of the entity.
      */
     Optional<JobDTO> partialUpdate(JobDTO jobDTO);
 
@@ -57,10 +61,42 @@ public interface JobService {
      */
     Optional<JobDTO> findOne(Long id);
 
+    /**
+     * Get the "id" job, without fetching its many-to-many relationships.
+     *
+     * @param id the id of the entity.
+     * @return the entity, with no tasks.
+     */
+    Optional<JobDTO> findOneWithoutEagerRelationships(Long id);
+
     /**
      * Delete the "id" job.
      *
      * @param id the id of the entity.
      */
     void delete(Long id);
+
+    /**
+     * Save new jobs in bulk, by chunks of one transaction each.
+     *
+     * @param jobDTOs the entities to save, read as they are saved.
+     * @return the result of each entity.
+     */
+    List<BulkItemResultDTO> saveAll(Iterator<JobDTO> jobDTOs);
+
+    /**
+     * Partially updates jobs in bulk, by chunks of one transaction each.
+     *
+     * @param jobDTOs the entities to update partially, read as they are updated.
+     * @return the result of each entity.
+     */
+    List<BulkItemResultDTO> partialUpdateAll(Iterator<JobDTO> jobDTOs);
+
+    /**
+     * Delete jobs in bulk, by chunks of one transaction each.
+     *
+     * @param ids the ids of the entities, read as they are deleted.
+     * @return the result of each id.
+     */
+    List<BulkItemResultDTO> deleteAll(Iterator<Long> ids);
 }
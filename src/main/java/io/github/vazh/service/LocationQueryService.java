@@ -2,15 +2,26 @@ package io.github.vazh.service;
 
 import io.github.vazh.domain.*; // for static metamodels
 import io.github.vazh.domain.Location;
+import io.github.vazh.repository.CriteriaStreamRepository;
 import io.github.vazh.repository.LocationRepository;
+import io.github.vazh.repository.QueryPlan;
+import io.github.vazh.repository.QueryPlanRepository;
+import io.github.vazh.repository.TableStatisticsRepository;
 import io.github.vazh.service.criteria.LocationCriteria;
 import io.github.vazh.service.dto.LocationDTO;
 import io.github.vazh.service.mapper.LocationMapper;
 import jakarta.persistence.criteria.JoinType;
+import java.util.Set;
+import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,6 +32,8 @@ import tech.jhipster.service.QueryService;
  * The main input is a {@link LocationCriteria} which gets converted to {@link Specification},
  * in a way that all the filters must apply.
  * It returns a {@link Page} of {@link LocationDTO} which fulfills the criteria.
+ * The pages, slices and counts are read through {@link QueryPlan}s compiled from the {@link CriteriaShape} of the criteria
+ * and cached, unless sorted by an association.
  */
 @Service
 @Transactional(readOnly = true)
@@ -28,13 +41,44 @@ public class LocationQueryService extends QueryService<Location> {
 
     private static final Logger log = LoggerFactory.getLogger(LocationQueryService.class);
 
+    /**
+     * Attributes the query plans may sort by, other sorts being read through the specification.
+     */
+    private static final Set<String> SORTABLE_ATTRIBUTES = Set.of(
+        Location_.ID,
+        Location_.VERSION,
+        Location_.STREET_ADDRESS,
+        Location_.POSTAL_CODE,
+        Location_.CITY,
+        Location_.STATE_PROVINCE
+    );
+
     private final LocationRepository locationRepository;
 
     private final LocationMapper locationMapper;
 
-    public LocationQueryService(LocationRepository locationRepository, LocationMapper locationMapper) {
+    private final TableStatisticsRepository tableStatisticsRepository;
+
+    private final CriteriaStreamRepository criteriaStreamRepository;
+
+    private final QueryPlanRepository queryPlanRepository;
+
+    private final QueryPlanCache queryPlanCache;
+
+    public LocationQueryService(
+        LocationRepository locationRepository,
+        LocationMapper locationMapper,
+        TableStatisticsRepository tableStatisticsRepository,
+        CriteriaStreamRepository criteriaStreamRepository,
+        QueryPlanRepository queryPlanRepository,
+        QueryPlanCache queryPlanCache
+    ) {
         this.locationRepository = locationRepository;
         this.locationMapper = locationMapper;
+        this.tableStatisticsRepository = tableStatisticsRepository;
+        this.criteriaStreamRepository = criteriaStreamRepository;
+        this.queryPlanRepository = queryPlanRepository;
+        this.queryPlanCache = queryPlanCache;
     }
 
     /**
@@ -46,10 +90,89 @@ public class LocationQueryService extends QueryService<Location> {
     @Transactional(readOnly = true)
     public Page<LocationDTO> findByCriteria(LocationCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
+        if (QueryServiceUtil.isPlanned(page.getSort(), SORTABLE_ATTRIBUTES)) {
+            final CriteriaShape shape = createShape(criteria);
+            final QueryPlan plan = shape.plan(queryPlanCache, page.getSort());
+            return queryPlanRepository.findAll(plan, shape.getParameters(), page, Location.class).map(locationMapper::toDto);
+        }
         final Specification<Location> specification = createSpecification(criteria);
         return locationRepository.findAll(specification, page).map(locationMapper::toDto);
     }
 
+    /**
+     * Return a {@link Slice} of {@link LocationDTO} which matches the criteria from the database.
+     * One extra row is fetched to know if there is a next slice, no count query is issued.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<LocationDTO> findSliceByCriteria(LocationCriteria criteria, Pageable page) {
+        log.debug("find slice by criteria : {}, page: {}", criteria, page);
+        if (QueryServiceUtil.isPlanned(page.getSort(), SORTABLE_ATTRIBUTES)) {
+            final CriteriaShape shape = createShape(criteria);
+            final QueryPlan plan = shape.plan(queryPlanCache, page.getSort());
+            return queryPlanRepository.findSlice(plan, shape.getParameters(), page, Location.class).map(locationMapper::toDto);
+        }
+        final Specification<Location> specification = createSpecification(criteria);
+        Window<Location> window = locationRepository.findBy(specification, q ->
+            q.sortBy(page.getSort()).limit(page.getPageSize()).scroll(QueryServiceUtil.offsetPosition(page))
+        );
+        return new SliceImpl<>(window.getContent(), page, window.hasNext()).map(locationMapper::toDto);
+    }
+
+    /**
+     * Return a {@link Page} of {@link LocationDTO} which matches the criteria from the database, with an estimated total.
+     * Without any filter, the total is read from the database statistics instead of being counted,
+     * otherwise it falls back to {@link #findByCriteria(LocationCriteria, Pageable)}.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<LocationDTO> findByCriteriaWithEstimatedCount(LocationCriteria criteria, Pageable page) {
+        log.debug("find by criteria with estimated count : {}, page: {}", criteria, page);
+        if (criteria != null && !criteria.equals(new LocationCriteria())) {
+            return findByCriteria(criteria, page);
+        }
+        Slice<LocationDTO> slice = findSliceByCriteria(criteria, page);
+        long estimatedTotal = tableStatisticsRepository.estimateRowCount(Location.class).orElseGet(locationRepository::count);
+        return QueryServiceUtil.toEstimatedPage(slice, estimatedTotal);
+    }
+
+    /**
+     * Return a {@link Window} of {@link LocationDTO} which matches the criteria from the database,
+     * starting right after the given keyset position. No count query is issued.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param position The keyset position, holding the sort key values and the id of the last entity already returned.
+     * @param page The size and the sort of the window, the page number is ignored.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Window<LocationDTO> findByCriteria(LocationCriteria criteria, KeysetScrollPosition position, Pageable page) {
+        log.debug("find by criteria : {}, position: {}, page: {}", criteria, position, page);
+        final Specification<Location> specification = createSpecification(criteria);
+        return locationRepository
+            .findBy(specification, q -> q.sortBy(page.getSort()).limit(page.getPageSize()).scroll(position))
+            .map(locationMapper::toDto);
+    }
+
+    /**
+     * Hand all the {@link LocationDTO} which match the criteria from the database to the consumer, one by one.
+     * The entities are read through a database cursor, and detached by chunks, so the memory used does not depend on their number.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param sort The sort of the entities, by id when unsorted.
+     * @param consumer The consumer of the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public void exportByCriteria(LocationCriteria criteria, Sort sort, Consumer<LocationDTO> consumer) {
+        log.debug("export by criteria : {}, sort: {}", criteria, sort);
+        final Specification<Location> specification = createSpecification(criteria);
+        criteriaStreamRepository.forEachChunk(Location.class, specification, sort, chunk ->
+            chunk.stream().map(locationMapper::toDto).forEach(consumer)
+        );
+    }
+
     /**
      * Return the number of matching entities in the database.
      * @param criteria The object which holds all the filters, which the entities should match.
@@ -58,8 +181,9 @@ public class LocationQueryService extends QueryService<Location> {
     @Transactional(readOnly = true)
     public long countByCriteria(LocationCriteria criteria) {
         log.debug("count by criteria : {}", criteria);
-        final Specification<Location> specification = createSpecification(criteria);
-        return locationRepository.count(specification);
+        final CriteriaShape shape = createShape(criteria);
+        final QueryPlan plan = shape.plan(queryPlanCache, Sort.unsorted());
+        return queryPlanRepository.count(plan, shape.getParameters());
     }
 
     /**
@@ -105,4 +229,26 @@ public class LocationQueryService extends QueryService<Location> {
         }
         return specification;
     }
+
+    /**
+     * Function to convert {@link LocationCriteria} to a {@link CriteriaShape}, applying the same filters as
+     * {@link #createSpecification(LocationCriteria)}.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching {@link CriteriaShape}, holding the values of the filters.
+     */
+    protected CriteriaShape createShape(LocationCriteria criteria) {
+        CriteriaShape shape = new CriteriaShape(Location.class);
+        if (criteria != null) {
+            shape
+                .distinct(criteria.getDistinct())
+                .filter(criteria.getId(), Location_.ID)
+                .filter(criteria.getStreetAddress(), Location_.STREET_ADDRESS)
+                .filter(criteria.getPostalCode(), Location_.POSTAL_CODE)
+                .filter(criteria.getCity(), Location_.CITY)
+                .filter(criteria.getStateProvince(), Location_.STATE_PROVINCE)
+                .filter(criteria.getCountryId(), Location_.COUNTRY, Country_.ID)
+                .filter(criteria.getDepartmentId(), Location_.DEPARTMENT, Department_.ID);
+        }
+        return shape;
+    }
 }
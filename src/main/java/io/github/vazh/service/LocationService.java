@@ -1,6 +1,8 @@
 package io.github.vazh.service;
 
+import io.github.vazh.service.dto.BulkItemResultDTO;
 import io.github.vazh.service.dto.LocationDTO;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,15 +22,17 @@ public interface LocationService {
      * Updates a location.
      *
      * @param locationDTO the entity to update.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if its version is not the one of the entity.
      */
-    LocationDTO update(LocationDTO locationDTO);
+    Optional<LocationDTO> update(LocationDTO locationDTO);
 
     /**
      * Partially updates a location.
      *
      * @param locationDTO the entity to update partially.
      * @return the persisted entity.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if its version is set and is not the one of the entity.
      */
     Optional<LocationDTO> partialUpdate(LocationDTO locationDTO);
 
@@ -53,4 +57,28 @@ public interface LocationService {
      * @param id the id of the entity.
      */
     void delete(Long id);
+
+    /**
+     * Save new locations in bulk, by chunks of one transaction each.
+     *
+     * @param locationDTOs the entities to save, read as they are saved.
+     * @return the result of each entity.
+     */
+    List<BulkItemResultDTO> saveAll(Iterator<LocationDTO> locationDTOs);
+
+    /**
+     * Partially updates locations in bulk, by chunks of one transaction each.
+     *
+     * @param locationDTOs the entities to update partially, read as they are updated.
+     * @return the result of each entity.
+     */
+    List<BulkItemResultDTO> partialUpdateAll(Iterator<LocationDTO> locationDTOs);
+
+    /**
+     * Delete locations in bulk, by chunks of one transaction each.
+     *
+     * @param ids the ids of the entities, read as they are deleted.
+     * @return the result of each id.
+     */
+    List<BulkItemResultDTO> deleteAll(Iterator<Long> ids);
 }
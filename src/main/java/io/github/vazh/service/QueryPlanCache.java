@@ -0,0 +1,57 @@
+package io.github.vazh.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.vazh.config.ApplicationProperties;
+import io.github.vazh.repository.QueryPlan;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.function.Function;
+import org.springframework.stereotype.Service;
+
+/**
+ * Bounded cache of the {@link QueryPlan}s compiled from the shapes of the criteria, see {@link CriteriaShape}.
+ * <p>
+ * Its hits, misses, evictions and size are published as metrics, the hit rate telling how often the list endpoints
+ * are called with filter shapes already seen.
+ */
+@Service
+public class QueryPlanCache {
+
+    static final String METRIC_GETS = "query.plan.cache.gets";
+    static final String METRIC_SIZE = "query.plan.cache.size";
+    static final String METRIC_EVICTIONS = "query.plan.cache.evictions";
+
+    private final Cache<String, QueryPlan> plans;
+
+    public QueryPlanCache(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.plans = Caffeine.newBuilder().maximumSize(applicationProperties.getQueryPlanCache().getMaxEntries()).recordStats().build();
+
+        FunctionCounter.builder(METRIC_GETS, plans, cache -> cache.stats().hitCount()).tags("result", "hit").register(meterRegistry);
+        FunctionCounter.builder(METRIC_GETS, plans, cache -> cache.stats().missCount()).tags("result", "miss").register(meterRegistry);
+        Gauge.builder(METRIC_SIZE, plans, Cache::estimatedSize).register(meterRegistry);
+        FunctionCounter.builder(METRIC_EVICTIONS, plans, cache -> cache.stats().evictionCount()).register(meterRegistry);
+    }
+
+    /**
+     * Get the plan of a shape, compiling it on a miss.
+     *
+     * @param key the key of the shape.
+     * @param compiler the compiler of the plan, called at most once per key while it is cached.
+     * @return the plan.
+     */
+    public QueryPlan get(String key, Function<String, QueryPlan> compiler) {
+        return plans.get(key, compiler);
+    }
+
+    /**
+     * Get the plans currently cached.
+     *
+     * @return a copy of the plans, by key.
+     */
+    public Map<String, QueryPlan> getPlans() {
+        return Map.copyOf(plans.asMap());
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.vazh.service;
+
+import java.util.Set;
+import org.springframework.data.domain.OffsetScrollPosition;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Helpers shared by the criteria query services.
+ */
+final class QueryServiceUtil {
+
+    private QueryServiceUtil() {}
+
+    /**
+     * Convert a {@link Pageable} into the offset scroll position of its first element.
+     * Scrolling fetches one extra row to know if there is a next window, so no count query is needed.
+     *
+     * @param page the requested page.
+     * @return the offset scroll position, which is the offset of the element before the first one of the page.
+     */
+    static OffsetScrollPosition offsetPosition(Pageable page) {
+        return page.getOffset() == 0 ? ScrollPosition.offset() : ScrollPosition.offset(page.getOffset() - 1);
+    }
+
+    /**
+     * Whether the rows can be read through a query plan, sorting them by attributes of the entity only.
+     *
+     * @param sort the requested sort.
+     * @param sortableAttributes the attributes of the entity the query plans may sort by.
+     * @return {@code true} if every sorted property is one of the attributes.
+     */
+    static boolean isPlanned(Sort sort, Set<String> sortableAttributes) {
+        return sort.stream().allMatch(order -> sortableAttributes.contains(order.getProperty()));
+    }
+
+    /**
+     * Build a {@link Page} from a {@link Slice} and an estimated total.
+     * The total is never lower than what the slice itself proves to exist.
+     *
+     * @param slice the slice holding the content.
+     * @param estimatedTotal the estimated number of elements.
+     * @param <T> the type of the elements.
+     * @return the page.
+     */
+    static <T> Page<T> toEstimatedPage(Slice<T> slice, long estimatedTotal) {
+        long knownTotal = slice.getPageable().getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0);
+        return new PageImpl<>(slice.getContent(), slice.getPageable(), Math.max(estimatedTotal, knownTotal));
+    }
+}
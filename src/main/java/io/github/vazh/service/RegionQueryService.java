@@ -2,15 +2,26 @@ package io.github.vazh.service;
 
 import io.github.vazh.domain.*; // for static metamodels
 import io.github.vazh.domain.Region;
+import io.github.vazh.repository.CriteriaStreamRepository;
+import io.github.vazh.repository.QueryPlan;
+import io.github.vazh.repository.QueryPlanRepository;
 import io.github.vazh.repository.RegionRepository;
+import io.github.vazh.repository.TableStatisticsRepository;
 import io.github.vazh.service.criteria.RegionCriteria;
 import io.github.vazh.service.dto.RegionDTO;
 import io.github.vazh.service.mapper.RegionMapper;
 import jakarta.persistence.criteria.JoinType;
+import java.util.Set;
+import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,6 +32,8 @@ import tech.jhipster.service.QueryService;
  * The main input is a {@link RegionCriteria} which gets converted to {@link Specification},
  * in a way that all the filters must apply.
  * It returns a {@link Page} of {@link RegionDTO} which fulfills the criteria.
+ * The pages, slices and counts are read through {@link QueryPlan}s compiled from the {@link CriteriaShape} of the criteria
+ * and cached, unless sorted by an association.
  */
 @Service
 @Transactional(readOnly = true)
@@ -28,13 +41,41 @@ public class RegionQueryService extends QueryService<Region> {
 
     private static final Logger log = LoggerFactory.getLogger(RegionQueryService.class);
 
+    /**
+     * Attributes the query plans may sort by, other sorts being read through the specification.
+     */
+    private static final Set<String> SORTABLE_ATTRIBUTES = Set.of(
+        Region_.ID,
+        Region_.VERSION,
+        Region_.REGION_NAME
+    );
+
     private final RegionRepository regionRepository;
 
     private final RegionMapper regionMapper;
 
-    public RegionQueryService(RegionRepository regionRepository, RegionMapper regionMapper) {
+    private final TableStatisticsRepository tableStatisticsRepository;
+
+    private final CriteriaStreamRepository criteriaStreamRepository;
+
+    private final QueryPlanRepository queryPlanRepository;
+
+    private final QueryPlanCache queryPlanCache;
+
+    public RegionQueryService(
+        RegionRepository regionRepository,
+        RegionMapper regionMapper,
+        TableStatisticsRepository tableStatisticsRepository,
+        CriteriaStreamRepository criteriaStreamRepository,
+        QueryPlanRepository queryPlanRepository,
+        QueryPlanCache queryPlanCache
+    ) {
         this.regionRepository = regionRepository;
         this.regionMapper = regionMapper;
+        this.tableStatisticsRepository = tableStatisticsRepository;
+        this.criteriaStreamRepository = criteriaStreamRepository;
+        this.queryPlanRepository = queryPlanRepository;
+        this.queryPlanCache = queryPlanCache;
     }
 
     /**
@@ -46,10 +87,89 @@ public class RegionQueryService extends QueryService<Region> {
     @Transactional(readOnly = true)
     public Page<RegionDTO> findByCriteria(RegionCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
+        if (QueryServiceUtil.isPlanned(page.getSort(), SORTABLE_ATTRIBUTES)) {
+            final CriteriaShape shape = createShape(criteria);
+            final QueryPlan plan = shape.plan(queryPlanCache, page.getSort());
+            return queryPlanRepository.findAll(plan, shape.getParameters(), page, Region.class).map(regionMapper::toDto);
+        }
         final Specification<Region> specification = createSpecification(criteria);
         return regionRepository.findAll(specification, page).map(regionMapper::toDto);
     }
 
+    /**
+     * Return a {@link Slice} of {@link RegionDTO} which matches the criteria from the database.
+     * One extra row is fetched to know if there is a next slice, no count query is issued.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<RegionDTO> findSliceByCriteria(RegionCriteria criteria, Pageable page) {
+        log.debug("find slice by criteria : {}, page: {}", criteria, page);
+        if (QueryServiceUtil.isPlanned(page.getSort(), SORTABLE_ATTRIBUTES)) {
+            final CriteriaShape shape = createShape(criteria);
+            final QueryPlan plan = shape.plan(queryPlanCache, page.getSort());
+            return queryPlanRepository.findSlice(plan, shape.getParameters(), page, Region.class).map(regionMapper::toDto);
+        }
+        final Specification<Region> specification = createSpecification(criteria);
+        Window<Region> window = regionRepository.findBy(specification, q ->
+            q.sortBy(page.getSort()).limit(page.getPageSize()).scroll(QueryServiceUtil.offsetPosition(page))
+        );
+        return new SliceImpl<>(window.getContent(), page, window.hasNext()).map(regionMapper::toDto);
+    }
+
+    /**
+     * Return a {@link Page} of {@link RegionDTO} which matches the criteria from the database, with an estimated total.
+     * Without any filter, the total is read from the database statistics instead of being counted,
+     * otherwise it falls back to {@link #findByCriteria(RegionCriteria, Pageable)}.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<RegionDTO> findByCriteriaWithEstimatedCount(RegionCriteria criteria, Pageable page) {
+        log.debug("find by criteria with estimated count : {}, page: {}", criteria, page);
+        if (criteria != null && !criteria.equals(new RegionCriteria())) {
+            return findByCriteria(criteria, page);
+        }
+        Slice<RegionDTO> slice = findSliceByCriteria(criteria, page);
+        long estimatedTotal = tableStatisticsRepository.estimateRowCount(Region.class).orElseGet(regionRepository::count);
+        return QueryServiceUtil.toEstimatedPage(slice, estimatedTotal);
+    }
+
+    /**
+     * Return a {@link Window} of {@link RegionDTO} which matches the criteria from the database,
+     * starting right after the given keyset position. No count query is issued.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param position The keyset position, holding the sort key values and the id of the last entity already returned.
+     * @param page The size and the sort of the window, the page number is ignored.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Window<RegionDTO> findByCriteria(RegionCriteria criteria, KeysetScrollPosition position, Pageable page) {
+        log.debug("find by criteria : {}, position: {}, page: {}", criteria, position, page);
+        final Specification<Region> specification = createSpecification(criteria);
+        return regionRepository
+            .findBy(specification, q -> q.sortBy(page.getSort()).limit(page.getPageSize()).scroll(position))
+            .map(regionMapper::toDto);
+    }
+
+    /**
+     * Hand all the {@link RegionDTO} which match the criteria from the database to the consumer, one by one.
+     * The entities are read through a database cursor, and detached by chunks, so the memory used does not depend on their number.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param sort The sort of the entities, by id when unsorted.
+     * @param consumer The consumer of the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public void exportByCriteria(RegionCriteria criteria, Sort sort, Consumer<RegionDTO> consumer) {
+        log.debug("export by criteria : {}, sort: {}", criteria, sort);
+        final Specification<Region> specification = createSpecification(criteria);
+        criteriaStreamRepository.forEachChunk(Region.class, specification, sort, chunk ->
+            chunk.stream().map(regionMapper::toDto).forEach(consumer)
+        );
+    }
+
     /**
      * Return the number of matching entities in the database.
      * @param criteria The object which holds all the filters, which the entities should match.
@@ -58,8 +178,9 @@ public class RegionQueryService extends QueryService<Region> {
     @Transactional(readOnly = true)
     public long countByCriteria(RegionCriteria criteria) {
         log.debug("count by criteria : {}", criteria);
-        final Specification<Region> specification = createSpecification(criteria);
-        return regionRepository.count(specification);
+        final CriteriaShape shape = createShape(criteria);
+        final QueryPlan plan = shape.plan(queryPlanCache, Sort.unsorted());
+        return queryPlanRepository.count(plan, shape.getParameters());
     }
 
     /**
@@ -88,4 +209,22 @@ public class RegionQueryService extends QueryService<Region> {
         }
         return specification;
     }
+
+    /**
+     * Function to convert {@link RegionCriteria} to a {@link CriteriaShape}, applying the same filters as
+     * {@link #createSpecification(RegionCriteria)}.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching {@link CriteriaShape}, holding the values of the filters.
+     */
+    protected CriteriaShape createShape(RegionCriteria criteria) {
+        CriteriaShape shape = new CriteriaShape(Region.class);
+        if (criteria != null) {
+            shape
+                .distinct(criteria.getDistinct())
+                .filter(criteria.getId(), Region_.ID)
+                .filter(criteria.getRegionName(), Region_.REGION_NAME)
+                .filter(criteria.getCountryId(), Region_.COUNTRY, Country_.ID);
+        }
+        return shape;
+    }
 }
@@ -1,6 +1,8 @@
 package io.github.vazh.service;
 
+import io.github.vazh.service.dto.BulkItemResultDTO;
 import io.github.vazh.service.dto.RegionDTO;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,15 +22,17 @@ public interface RegionService {
      * Updates a region.
      *
      * @param regionDTO the entity to update.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if its version is not the one of the entity.
      */
-    RegionDTO update(RegionDTO regionDTO);
+    Optional<RegionDTO> update(RegionDTO regionDTO);
 
     /**
      * Partially updates a region.
      *
      * @param regionDTO the entity to update partially.
      * @return the persisted entity.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if its version is set and is not the one of the entity.
      */
     Optional<RegionDTO> partialUpdate(RegionDTO regionDTO);
 
@@ -53,4 +57,28 @@ public interface RegionService {
      * @param id the id of the entity.
      */
     void delete(Long id);
+
+    /**
+     * Save new regions in bulk, by chunks of one transaction each.
+     *
+     * @param regionDTOs the entities to save, read as they are saved.
+     * @return the result of each entity.
+     */
+    List<BulkItemResultDTO> saveAll(Iterator<RegionDTO> regionDTOs);
+
+    /**
+     * Partially updates regions in bulk, by chunks of one transaction each.
+     *
+     * @param regionDTOs the entities to update partially, read as they are updated.
+     * @return the result of each entity.
+     */
+    List<BulkItemResultDTO> partialUpdateAll(Iterator<RegionDTO> regionDTOs);
+
+    /**
+     * Delete regions in bulk, by chunks of one transaction each.
+     *
+     * @param ids the ids of the entities, read as they are deleted.
+     * @return the result of each id.
+     */
+    List<BulkItemResultDTO> deleteAll(Iterator<Long> ids);
 }
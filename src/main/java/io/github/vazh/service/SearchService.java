@@ -0,0 +1,163 @@
+package io.github.vazh.service;
+
+import io.github.vazh.domain.Country;
+import io.github.vazh.domain.Department;
+import io.github.vazh.domain.Employee;
+import io.github.vazh.domain.Job;
+import io.github.vazh.domain.Location;
+import io.github.vazh.domain.Region;
+import io.github.vazh.domain.Task;
+import io.github.vazh.repository.CountryRepository;
+import io.github.vazh.repository.DepartmentRepository;
+import io.github.vazh.repository.EmployeeRepository;
+import io.github.vazh.repository.JobRepository;
+import io.github.vazh.repository.LocationRepository;
+import io.github.vazh.repository.RegionRepository;
+import io.github.vazh.repository.SearchRepository;
+import io.github.vazh.repository.TaskRepository;
+import io.github.vazh.service.mapper.CountryMapper;
+import io.github.vazh.service.mapper.DepartmentMapper;
+import io.github.vazh.service.mapper.EmployeeMapper;
+import io.github.vazh.service.mapper.EntityMapper;
+import io.github.vazh.service.mapper.JobMapper;
+import io.github.vazh.service.mapper.LocationMapper;
+import io.github.vazh.service.mapper.RegionMapper;
+import io.github.vazh.service.mapper.TaskMapper;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service for the full-text search of the entities, by the words of their text columns, best match first.
+ * <p>
+ * Each word searched matches the words of an entity starting with it, and an entity must match all of them. The
+ * matching ids are read from the {@code search_vector} index of the table by {@link SearchRepository}, then only the
+ * entities of the page are loaded.
+ */
+@Service
+@Transactional(readOnly = true)
+public class SearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchService.class);
+
+    /**
+     * Words searched at most, the others being ignored.
+     */
+    static final int MAX_TERMS = 8;
+
+    private final SearchRepository searchRepository;
+
+    private final Map<String, SearchableEntity> entities;
+
+    public SearchService(
+        SearchRepository searchRepository,
+        EmployeeRepository employeeRepository,
+        EmployeeMapper employeeMapper,
+        JobRepository jobRepository,
+        JobMapper jobMapper,
+        DepartmentRepository departmentRepository,
+        DepartmentMapper departmentMapper,
+        LocationRepository locationRepository,
+        LocationMapper locationMapper,
+        CountryRepository countryRepository,
+        CountryMapper countryMapper,
+        RegionRepository regionRepository,
+        RegionMapper regionMapper,
+        TaskRepository taskRepository,
+        TaskMapper taskMapper
+    ) {
+        this.searchRepository = searchRepository;
+        this.entities = Map.of(
+            "employees",
+            new SearchableEntity("employee", loader(employeeRepository::findAllById, Employee::getId, employeeMapper)),
+            "jobs",
+            new SearchableEntity(
+                "job",
+                loader(ids -> jobRepository.fetchBagRelationships(jobRepository.findAllById(ids)), Job::getId, jobMapper)
+            ),
+            "departments",
+            new SearchableEntity("department", loader(departmentRepository::findAllById, Department::getId, departmentMapper)),
+            "locations",
+            new SearchableEntity("location", loader(locationRepository::findAllById, Location::getId, locationMapper)),
+            "countries",
+            new SearchableEntity("country", loader(countryRepository::findAllById, Country::getId, countryMapper)),
+            "regions",
+            new SearchableEntity("region", loader(regionRepository::findAllById, Region::getId, regionMapper)),
+            "tasks",
+            new SearchableEntity("task", loader(taskRepository::findAllById, Task::getId, taskMapper))
+        );
+    }
+
+    /**
+     * Search the entities of a kind by the words of their text columns.
+     *
+     * @param entity the kind of entities, named like their REST resource, for example {@code employees}.
+     * @param text the words searched.
+     * @param pageable the pagination information.
+     * @return the page of the DTOs of the matching entities, best match first, or empty if the entities cannot be
+     * searched.
+     */
+    public Optional<Page<?>> search(String entity, String text, Pageable pageable) {
+        log.debug("Request to search {} for : {}", entity, text);
+        SearchableEntity searchable = entities.get(entity);
+        if (searchable == null) {
+            return Optional.empty();
+        }
+        Optional<String> query = toQuery(text);
+        if (query.isEmpty()) {
+            return Optional.of(Page.empty(pageable));
+        }
+        Page<Long> ids = searchRepository.search(searchable.table(), query.orElseThrow(), pageable);
+        List<?> content = searchable.loader().apply(ids.getContent());
+        return Optional.of(new PageImpl<>(content, pageable, ids.getTotalElements()));
+    }
+
+    /**
+     * Build the full-text query of the words searched, each one matching the words starting with it. The words are
+     * split on any character other than a letter or a digit, like the columns of the {@code search_vector}, so the
+     * query cannot hold any operator of the {@code to_tsquery} syntax.
+     *
+     * @param text the words searched.
+     * @return the query, or empty if there is no word to search.
+     */
+    static Optional<String> toQuery(String text) {
+        if (text == null) {
+            return Optional.empty();
+        }
+        String query = Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+            .filter(term -> !term.isEmpty())
+            .distinct()
+            .limit(MAX_TERMS)
+            .map(term -> term + ":*")
+            .collect(Collectors.joining(" & "));
+        return query.isEmpty() ? Optional.empty() : Optional.of(query);
+    }
+
+    /**
+     * Load the DTOs of the entities of the given ids, in the order of the ids.
+     */
+    private static <D, E> Function<List<Long>, List<?>> loader(
+        Function<List<Long>, List<E>> finder,
+        Function<E, Long> id,
+        EntityMapper<D, E> mapper
+    ) {
+        return ids -> {
+            Map<Long, E> entitiesById = finder.apply(ids).stream().collect(Collectors.toMap(id, Function.identity()));
+            return ids.stream().map(entitiesById::get).filter(Objects::nonNull).map(mapper::toDto).toList();
+        };
+    }
+
+    private record SearchableEntity(String table, Function<List<Long>, List<?>> loader) {}
+}
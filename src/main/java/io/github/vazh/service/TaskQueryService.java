@@ -2,15 +2,26 @@ package io.github.vazh.service;
 
 import io.github.vazh.domain.*; // for static metamodels
 import io.github.vazh.domain.Task;
+import io.github.vazh.repository.CriteriaStreamRepository;
+import io.github.vazh.repository.QueryPlan;
+import io.github.vazh.repository.QueryPlanRepository;
+import io.github.vazh.repository.TableStatisticsRepository;
 import io.github.vazh.repository.TaskRepository;
 import io.github.vazh.service.criteria.TaskCriteria;
 import io.github.vazh.service.dto.TaskDTO;
 import io.github.vazh.service.mapper.TaskMapper;
 import jakarta.persistence.criteria.JoinType;
+import java.util.Set;
+import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,6 +32,8 @@ import tech.jhipster.service.QueryService;
  * The main input is a {@link TaskCriteria} which gets converted to {@link Specification},
  * in a way that all the filters must apply.
  * It returns a {@link Page} of {@link TaskDTO} which fulfills the criteria.
+ * The pages, slices and counts are read through {@link QueryPlan}s compiled from the {@link CriteriaShape} of the criteria
+ * and cached, unless sorted by an association.
  */
 @Service
 @Transactional(readOnly = true)
@@ -28,13 +41,42 @@ public class TaskQueryService extends QueryService<Task> {
 
     private static final Logger log = LoggerFactory.getLogger(TaskQueryService.class);
 
+    /**
+     * Attributes the query plans may sort by, other sorts being read through the specification.
+     */
+    private static final Set<String> SORTABLE_ATTRIBUTES = Set.of(
+        Task_.ID,
+        Task_.VERSION,
+        Task_.TITLE,
+        Task_.DESCRIPTION
+    );
+
     private final TaskRepository taskRepository;
 
     private final TaskMapper taskMapper;
 
-    public TaskQueryService(TaskRepository taskRepository, TaskMapper taskMapper) {
+    private final TableStatisticsRepository tableStatisticsRepository;
+
+    private final CriteriaStreamRepository criteriaStreamRepository;
+
+    private final QueryPlanRepository queryPlanRepository;
+
+    private final QueryPlanCache queryPlanCache;
+
+    public TaskQueryService(
+        TaskRepository taskRepository,
+        TaskMapper taskMapper,
+        TableStatisticsRepository tableStatisticsRepository,
+        CriteriaStreamRepository criteriaStreamRepository,
+        QueryPlanRepository queryPlanRepository,
+        QueryPlanCache queryPlanCache
+    ) {
         this.taskRepository = taskRepository;
         this.taskMapper = taskMapper;
+        this.tableStatisticsRepository = tableStatisticsRepository;
+        this.criteriaStreamRepository = criteriaStreamRepository;
+        this.queryPlanRepository = queryPlanRepository;
+        this.queryPlanCache = queryPlanCache;
     }
 
     /**
@@ -46,10 +88,89 @@ public class TaskQueryService extends QueryService<Task> {
     @Transactional(readOnly = true)
     public Page<TaskDTO> findByCriteria(TaskCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
+        if (QueryServiceUtil.isPlanned(page.getSort(), SORTABLE_ATTRIBUTES)) {
+            final CriteriaShape shape = createShape(criteria);
+            final QueryPlan plan = shape.plan(queryPlanCache, page.getSort());
+            return queryPlanRepository.findAll(plan, shape.getParameters(), page, Task.class).map(taskMapper::toDto);
+        }
         final Specification<Task> specification = createSpecification(criteria);
         return taskRepository.findAll(specification, page).map(taskMapper::toDto);
     }
 
+    /**
+     * Return a {@link Slice} of {@link TaskDTO} which matches the criteria from the database.
+     * One extra row is fetched to know if there is a next slice, no count query is issued.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<TaskDTO> findSliceByCriteria(TaskCriteria criteria, Pageable page) {
+        log.debug("find slice by criteria : {}, page: {}", criteria, page);
+        if (QueryServiceUtil.isPlanned(page.getSort(), SORTABLE_ATTRIBUTES)) {
+            final CriteriaShape shape = createShape(criteria);
+            final QueryPlan plan = shape.plan(queryPlanCache, page.getSort());
+            return queryPlanRepository.findSlice(plan, shape.getParameters(), page, Task.class).map(taskMapper::toDto);
+        }
+        final Specification<Task> specification = createSpecification(criteria);
+        Window<Task> window = taskRepository.findBy(specification, q ->
+            q.sortBy(page.getSort()).limit(page.getPageSize()).scroll(QueryServiceUtil.offsetPosition(page))
+        );
+        return new SliceImpl<>(window.getContent(), page, window.hasNext()).map(taskMapper::toDto);
+    }
+
+    /**
+     * Return a {@link Page} of {@link TaskDTO} which matches the criteria from the database, with an estimated total.
+     * Without any filter, the total is read from the database statistics instead of being counted,
+     * otherwise it falls back to {@link #findByCriteria(TaskCriteria, Pageable)}.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<TaskDTO> findByCriteriaWithEstimatedCount(TaskCriteria criteria, Pageable page) {
+        log.debug("find by criteria with estimated count : {}, page: {}", criteria, page);
+        if (criteria != null && !criteria.equals(new TaskCriteria())) {
+            return findByCriteria(criteria, page);
+        }
+        Slice<TaskDTO> slice = findSliceByCriteria(criteria, page);
+        long estimatedTotal = tableStatisticsRepository.estimateRowCount(Task.class).orElseGet(taskRepository::count);
+        return QueryServiceUtil.toEstimatedPage(slice, estimatedTotal);
+    }
+
+    /**
+     * Return a {@link Window} of {@link TaskDTO} which matches the criteria from the database,
+     * starting right after the given keyset position. No count query is issued.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param position The keyset position, holding the sort key values and the id of the last entity already returned.
+     * @param page The size and the sort of the window, the page number is ignored.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Window<TaskDTO> findByCriteria(TaskCriteria criteria, KeysetScrollPosition position, Pageable page) {
+        log.debug("find by criteria : {}, position: {}, page: {}", criteria, position, page);
+        final Specification<Task> specification = createSpecification(criteria);
+        return taskRepository
+            .findBy(specification, q -> q.sortBy(page.getSort()).limit(page.getPageSize()).scroll(position))
+            .map(taskMapper::toDto);
+    }
+
+    /**
+     * Hand all the {@link TaskDTO} which match the criteria from the database to the consumer, one by one.
+     * The entities are read through a database cursor, and detached by chunks, so the memory used does not depend on their number.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param sort The sort of the entities, by id when unsorted.
+     * @param consumer The consumer of the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public void exportByCriteria(TaskCriteria criteria, Sort sort, Consumer<TaskDTO> consumer) {
+        log.debug("export by criteria : {}, sort: {}", criteria, sort);
+        final Specification<Task> specification = createSpecification(criteria);
+        criteriaStreamRepository.forEachChunk(Task.class, specification, sort, chunk ->
+            chunk.stream().map(taskMapper::toDto).forEach(consumer)
+        );
+    }
+
     /**
      * Return the number of matching entities in the database.
      * @param criteria The object which holds all the filters, which the entities should match.
@@ -58,8 +179,9 @@ public class TaskQueryService extends QueryService<Task> {
     @Transactional(readOnly = true)
     public long countByCriteria(TaskCriteria criteria) {
         log.debug("count by criteria : {}", criteria);
-        final Specification<Task> specification = createSpecification(criteria);
-        return taskRepository.count(specification);
+        final CriteriaShape shape = createShape(criteria);
+        final QueryPlan plan = shape.plan(queryPlanCache, Sort.unsorted());
+        return queryPlanRepository.count(plan, shape.getParameters());
     }
 
     /**
@@ -91,4 +213,23 @@ public class TaskQueryService extends QueryService<Task> {
         }
         return specification;
     }
+
+    /**
+     * Function to convert {@link TaskCriteria} to a {@link CriteriaShape}, applying the same filters as
+     * {@link #createSpecification(TaskCriteria)}.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching {@link CriteriaShape}, holding the values of the filters.
+     */
+    protected CriteriaShape createShape(TaskCriteria criteria) {
+        CriteriaShape shape = new CriteriaShape(Task.class);
+        if (criteria != null) {
+            shape
+                .distinct(criteria.getDistinct())
+                .filter(criteria.getId(), Task_.ID)
+                .filter(criteria.getTitle(), Task_.TITLE)
+                .filter(criteria.getDescription(), Task_.DESCRIPTION)
+                .filter(criteria.getJobId(), Task_.JOBS, Job_.ID);
+        }
+        return shape;
+    }
 }
@@ -1,6 +1,9 @@
 package io.github.vazh.service;
 
+import io.github.vazh.service.dto.BulkItemResultDTO;
 import io.github.vazh.service.dto.TaskDTO;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -19,15 +22,17 @@ public interface TaskService {
      * Updates a task.
      *
      * @param taskDTO the entity to update.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if its version is not the one of the entity.
      */
-    TaskDTO update(TaskDTO taskDTO);
+    Optional<TaskDTO> update(TaskDTO taskDTO);
 
     /**
      * Partially updates a task.
      *
      * @param taskDTO the entity to update partially.
      * @return the persisted entity.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if its version is set and is not the one of the entity.
      */
     Optional<TaskDTO> partialUpdate(TaskDTO taskDTO);
 
@@ -45,4 +50,28 @@ public interface TaskService {
      * @param id the id of the entity.
      */
     void delete(Long id);
+
+    /**
+     * Save new tasks in bulk, by chunks of one transaction each.
+     *
+     * @param taskDTOs the entities to save, read as they are saved.
+     * @return the result of each entity.
+     */
+    List<BulkItemResultDTO> saveAll(Iterator<TaskDTO> taskDTOs);
+
+    /**
+     * Partially updates tasks in bulk, by chunks of one transaction each.
+     *
+     * @param taskDTOs the entities to update partially, read as they are updated.
+     * @return the result of each entity.
+     */
+    List<BulkItemResultDTO> partialUpdateAll(Iterator<TaskDTO> taskDTOs);
+
+    /**
+     * Delete tasks in bulk, by chunks of one transaction each.
+     *
+     * @param ids the ids of the entities, read as they are deleted.
+     * @return the result of each id.
+     */
+    List<BulkItemResultDTO> deleteAll(Iterator<Long> ids);
 }
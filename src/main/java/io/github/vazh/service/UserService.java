@@ -7,6 +7,7 @@ import io.github.vazh.repository.AuthorityRepository;
 import io.github.vazh.repository.UserRepository;
 import io.github.vazh.security.AuthoritiesConstants;
 import io.github.vazh.security.SecurityUtils;
+import io.github.vazh.security.UserSnapshotCache;
 import io.github.vazh.service.dto.AdminUserDTO;
 import io.github.vazh.service.dto.UserDTO;
 import java.time.Instant;
@@ -41,16 +42,20 @@ public class UserService {
 
     private final CacheManager cacheManager;
 
+    private final UserSnapshotCache userSnapshotCache;
+
     public UserService(
         UserRepository userRepository,
         PasswordEncoder passwordEncoder,
         AuthorityRepository authorityRepository,
-        CacheManager cacheManager
+        CacheManager cacheManager,
+        UserSnapshotCache userSnapshotCache
     ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
         this.cacheManager = cacheManager;
+        this.userSnapshotCache = userSnapshotCache;
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -320,5 +325,6 @@ public class UserService {
         if (user.getEmail() != null) {
             Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE)).evict(user.getEmail());
         }
+        userSnapshotCache.evict(user.getLogin(), user.getEmail());
     }
 }
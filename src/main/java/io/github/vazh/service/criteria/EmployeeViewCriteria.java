@@ -0,0 +1,460 @@
+package io.github.vazh.service.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import org.springdoc.core.annotations.ParameterObject;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.*;
+
+/**
+ * Criteria class for the {@link io.github.vazh.domain.EmployeeView} entity. This class is used
+ * in {@link io.github.vazh.web.rest.EmployeeViewResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /employee-views?id.greaterThan=5&attr1.contains=something&attr2.specified=false}
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ */
+@ParameterObject
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class EmployeeViewCriteria implements Serializable, Criteria {
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private StringFilter firstName;
+
+    private StringFilter lastName;
+
+    private StringFilter email;
+
+    private StringFilter phoneNumber;
+
+    private InstantFilter hireDate;
+
+    private LongFilter salary;
+
+    private LongFilter commissionPct;
+
+    private LongFilter managerId;
+
+    private StringFilter managerFirstName;
+
+    private StringFilter managerLastName;
+
+    private LongFilter departmentId;
+
+    private StringFilter departmentName;
+
+    private LongFilter jobId;
+
+    private StringFilter jobTitle;
+
+    private Boolean distinct;
+
+    public EmployeeViewCriteria() {}
+
+    public EmployeeViewCriteria(EmployeeViewCriteria other) {
+        this.id = other.optionalId().map(LongFilter::copy).orElse(null);
+        this.firstName = other.optionalFirstName().map(StringFilter::copy).orElse(null);
+        this.lastName = other.optionalLastName().map(StringFilter::copy).orElse(null);
+        this.email = other.optionalEmail().map(StringFilter::copy).orElse(null);
+        this.phoneNumber = other.optionalPhoneNumber().map(StringFilter::copy).orElse(null);
+        this.hireDate = other.optionalHireDate().map(InstantFilter::copy).orElse(null);
+        this.salary = other.optionalSalary().map(LongFilter::copy).orElse(null);
+        this.commissionPct = other.optionalCommissionPct().map(LongFilter::copy).orElse(null);
+        this.managerId = other.optionalManagerId().map(LongFilter::copy).orElse(null);
+        this.managerFirstName = other.optionalManagerFirstName().map(StringFilter::copy).orElse(null);
+        this.managerLastName = other.optionalManagerLastName().map(StringFilter::copy).orElse(null);
+        this.departmentId = other.optionalDepartmentId().map(LongFilter::copy).orElse(null);
+        this.departmentName = other.optionalDepartmentName().map(StringFilter::copy).orElse(null);
+        this.jobId = other.optionalJobId().map(LongFilter::copy).orElse(null);
+        this.jobTitle = other.optionalJobTitle().map(StringFilter::copy).orElse(null);
+        this.distinct = other.distinct;
+    }
+
+    @Override
+    public EmployeeViewCriteria copy() {
+        return new EmployeeViewCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public Optional<LongFilter> optionalId() {
+        return Optional.ofNullable(id);
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            setId(new LongFilter());
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public StringFilter getFirstName() {
+        return firstName;
+    }
+
+    public Optional<StringFilter> optionalFirstName() {
+        return Optional.ofNullable(firstName);
+    }
+
+    public StringFilter firstName() {
+        if (firstName == null) {
+            setFirstName(new StringFilter());
+        }
+        return firstName;
+    }
+
+    public void setFirstName(StringFilter firstName) {
+        this.firstName = firstName;
+    }
+
+    public StringFilter getLastName() {
+        return lastName;
+    }
+
+    public Optional<StringFilter> optionalLastName() {
+        return Optional.ofNullable(lastName);
+    }
+
+    public StringFilter lastName() {
+        if (lastName == null) {
+            setLastName(new StringFilter());
+        }
+        return lastName;
+    }
+
+    public void setLastName(StringFilter lastName) {
+        this.lastName = lastName;
+    }
+
+    public StringFilter getEmail() {
+        return email;
+    }
+
+    public Optional<StringFilter> optionalEmail() {
+        return Optional.ofNullable(email);
+    }
+
+    public StringFilter email() {
+        if (email == null) {
+            setEmail(new StringFilter());
+        }
+        return email;
+    }
+
+    public void setEmail(StringFilter email) {
+        this.email = email;
+    }
+
+    public StringFilter getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public Optional<StringFilter> optionalPhoneNumber() {
+        return Optional.ofNullable(phoneNumber);
+    }
+
+    public StringFilter phoneNumber() {
+        if (phoneNumber == null) {
+            setPhoneNumber(new StringFilter());
+        }
+        return phoneNumber;
+    }
+
+    public void setPhoneNumber(StringFilter phoneNumber) {
+        this.phoneNumber = phoneNumber;
+    }
+
+    public InstantFilter getHireDate() {
+        return hireDate;
+    }
+
+    public Optional<InstantFilter> optionalHireDate() {
+        return Optional.ofNullable(hireDate);
+    }
+
+    public InstantFilter hireDate() {
+        if (hireDate == null) {
+            setHireDate(new InstantFilter());
+        }
+        return hireDate;
+    }
+
+    public void setHireDate(InstantFilter hireDate) {
+        this.hireDate = hireDate;
+    }
+
+    public LongFilter getSalary() {
+        return salary;
+    }
+
+    public Optional<LongFilter> optionalSalary() {
+        return Optional.ofNullable(salary);
+    }
+
+    public LongFilter salary() {
+        if (salary == null) {
+            setSalary(new LongFilter());
+        }
+        return salary;
+    }
+
+    public void setSalary(LongFilter salary) {
+        this.salary = salary;
+    }
+
+    public LongFilter getCommissionPct() {
+        return commissionPct;
+    }
+
+    public Optional<LongFilter> optionalCommissionPct() {
+        return Optional.ofNullable(commissionPct);
+    }
+
+    public LongFilter commissionPct() {
+        if (commissionPct == null) {
+            setCommissionPct(new LongFilter());
+        }
+        return commissionPct;
+    }
+
+    public void setCommissionPct(LongFilter commissionPct) {
+        this.commissionPct = commissionPct;
+    }
+
+    public LongFilter getManagerId() {
+        return managerId;
+    }
+
+    public Optional<LongFilter> optionalManagerId() {
+        return Optional.ofNullable(managerId);
+    }
+
+    public LongFilter managerId() {
+        if (managerId == null) {
+            setManagerId(new LongFilter());
+        }
+        return managerId;
+    }
+
+    public void setManagerId(LongFilter managerId) {
+        this.managerId = managerId;
+    }
+
+    public StringFilter getManagerFirstName() {
+        return managerFirstName;
+    }
+
+    public Optional<StringFilter> optionalManagerFirstName() {
+        return Optional.ofNullable(managerFirstName);
+    }
+
+    public StringFilter managerFirstName() {
+        if (managerFirstName == null) {
+            setManagerFirstName(new StringFilter());
+        }
+        return managerFirstName;
+    }
+
+    public void setManagerFirstName(StringFilter managerFirstName) {
+        this.managerFirstName = managerFirstName;
+    }
+
+    public StringFilter getManagerLastName() {
+        return managerLastName;
+    }
+
+    public Optional<StringFilter> optionalManagerLastName() {
+        return Optional.ofNullable(managerLastName);
+    }
+
+    public StringFilter managerLastName() {
+        if (managerLastName == null) {
+            setManagerLastName(new StringFilter());
+        }
+        return managerLastName;
+    }
+
+    public void setManagerLastName(StringFilter managerLastName) {
+        this.managerLastName = managerLastName;
+    }
+
+    public LongFilter getDepartmentId() {
+        return departmentId;
+    }
+
+    public Optional<LongFilter> optionalDepartmentId() {
+        return Optional.ofNullable(departmentId);
+    }
+
+    public LongFilter departmentId() {
+        if (departmentId == null) {
+            setDepartmentId(new LongFilter());
+        }
+        return departmentId;
+    }
+
+    public void setDepartmentId(LongFilter departmentId) {
+        this.departmentId = departmentId;
+    }
+
+    public StringFilter getDepartmentName() {
+        return departmentName;
+    }
+
+    public Optional<StringFilter> optionalDepartmentName() {
+        return Optional.ofNullable(departmentName);
+    }
+
+    public StringFilter departmentName() {
+        if (departmentName == null) {
+            setDepartmentName(new StringFilter());
+        }
+        return departmentName;
+    }
+
+    public void setDepartmentName(StringFilter departmentName) {
+        this.departmentName = departmentName;
+    }
+
+    public LongFilter getJobId() {
+        return jobId;
+    }
+
+    public Optional<LongFilter> optionalJobId() {
+        return Optional.ofNullable(jobId);
+    }
+
+    public LongFilter jobId() {
+        if (jobId == null) {
+            setJobId(new LongFilter());
+        }
+        return jobId;
+    }
+
+    public void setJobId(LongFilter jobId) {
+        this.jobId = jobId;
+    }
+
+    public StringFilter getJobTitle() {
+        return jobTitle;
+    }
+
+    public Optional<StringFilter> optionalJobTitle() {
+        return Optional.ofNullable(jobTitle);
+    }
+
+    public StringFilter jobTitle() {
+        if (jobTitle == null) {
+            setJobTitle(new StringFilter());
+        }
+        return jobTitle;
+    }
+
+    public void setJobTitle(StringFilter jobTitle) {
+        this.jobTitle = jobTitle;
+    }
+
+    public Boolean getDistinct() {
+        return distinct;
+    }
+
+    public Optional<Boolean> optionalDistinct() {
+        return Optional.ofNullable(distinct);
+    }
+
+    public Boolean distinct() {
+        if (distinct == null) {
+            setDistinct(true);
+        }
+        return distinct;
+    }
+
+    public void setDistinct(Boolean distinct) {
+        this.distinct = distinct;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final EmployeeViewCriteria that = (EmployeeViewCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(firstName, that.firstName) &&
+            Objects.equals(lastName, that.lastName) &&
+            Objects.equals(email, that.email) &&
+            Objects.equals(phoneNumber, that.phoneNumber) &&
+            Objects.equals(hireDate, that.hireDate) &&
+            Objects.equals(salary, that.salary) &&
+            Objects.equals(commissionPct, that.commissionPct) &&
+            Objects.equals(managerId, that.managerId) &&
+            Objects.equals(managerFirstName, that.managerFirstName) &&
+            Objects.equals(managerLastName, that.managerLastName) &&
+            Objects.equals(departmentId, that.departmentId) &&
+            Objects.equals(departmentName, that.departmentName) &&
+            Objects.equals(jobId, that.jobId) &&
+            Objects.equals(jobTitle, that.jobTitle) &&
+            Objects.equals(distinct, that.distinct)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+            id,
+            firstName,
+            lastName,
+            email,
+            phoneNumber,
+            hireDate,
+            salary,
+            commissionPct,
+            managerId,
+            managerFirstName,
+            managerLastName,
+            departmentId,
+            departmentName,
+            jobId,
+            jobTitle,
+            distinct
+        );
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EmployeeViewCriteria{" +
+            optionalId().map(f -> "id=" + f + ", ").orElse("") +
+            optionalFirstName().map(f -> "firstName=" + f + ", ").orElse("") +
+            optionalLastName().map(f -> "lastName=" + f + ", ").orElse("") +
+            optionalEmail().map(f -> "email=" + f + ", ").orElse("") +
+            optionalPhoneNumber().map(f -> "phoneNumber=" + f + ", ").orElse("") +
+            optionalHireDate().map(f -> "hireDate=" + f + ", ").orElse("") +
+            optionalSalary().map(f -> "salary=" + f + ", ").orElse("") +
+            optionalCommissionPct().map(f -> "commissionPct=" + f + ", ").orElse("") +
+            optionalManagerId().map(f -> "managerId=" + f + ", ").orElse("") +
+            optionalManagerFirstName().map(f -> "managerFirstName=" + f + ", ").orElse("") +
+            optionalManagerLastName().map(f -> "managerLastName=" + f + ", ").orElse("") +
+            optionalDepartmentId().map(f -> "departmentId=" + f + ", ").orElse("") +
+            optionalDepartmentName().map(f -> "departmentName=" + f + ", ").orElse("") +
+            optionalJobId().map(f -> "jobId=" + f + ", ").orElse("") +
+            optionalJobTitle().map(f -> "jobTitle=" + f + ", ").orElse("") +
+            optionalDistinct().map(f -> "distinct=" + f + ", ").orElse("") +
+        "}";
+    }
+}
@@ -3,9 +3,11 @@ package io.github.vazh.service.dto;
 import io.github.vazh.config.Constants;
 import io.github.vazh.domain.Authority;
 import io.github.vazh.domain.User;
+import io.github.vazh.security.UserSnapshot;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
 import java.time.Instant;
+import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -71,6 +73,22 @@ public class AdminUserDTO implements Serializable {
         this.authorities = user.getAuthorities().stream().map(Authority::getName).collect(Collectors.toSet());
     }
 
+    public AdminUserDTO(UserSnapshot user) {
+        this.id = user.id();
+        this.login = user.login();
+        this.firstName = user.firstName();
+        this.lastName = user.lastName();
+        this.email = user.email();
+        this.activated = user.activated();
+        this.imageUrl = user.imageUrl();
+        this.langKey = user.langKey();
+        this.createdBy = user.createdBy();
+        this.createdDate = user.createdDate();
+        this.lastModifiedBy = user.lastModifiedBy();
+        this.lastModifiedDate = user.lastModifiedDate();
+        this.authorities = new HashSet<>(user.authorities());
+    }
+
     public Long getId() {
         return id;
     }
@@ -11,6 +11,8 @@ public class CountryDTO implements Serializable {
 
     private Long id;
 
+    private Long version;
+
     private String countryName;
 
     private RegionDTO region;
@@ -23,6 +25,14 @@ public class CountryDTO implements Serializable {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getCountryName() {
         return countryName;
     }
@@ -65,6 +75,7 @@ public class CountryDTO implements Serializable {
     public String toString() {
         return "CountryDTO{" +
             "id=" + getId() +
+            ", version=" + getVersion() +
             ", countryName='" + getCountryName() + "'" +
             ", region=" + getRegion() +
             "}";
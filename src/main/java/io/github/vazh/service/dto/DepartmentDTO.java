@@ -12,6 +12,8 @@ public class DepartmentDTO implements Serializable {
 
     private Long id;
 
+    private Long version;
+
     @NotNull
     private String departmentName;
 
@@ -25,6 +27,14 @@ public class DepartmentDTO implements Serializable {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getDepartmentName() {
         return departmentName;
     }
@@ -67,6 +77,7 @@ public class DepartmentDTO implements Serializable {
     public String toString() {
         return "DepartmentDTO{" +
             "id=" + getId() +
+            ", version=" + getVersion() +
             ", departmentName='" + getDepartmentName() + "'" +
             ", location=" + getLocation() +
             "}";
@@ -14,6 +14,8 @@ public class EmployeeDTO implements Serializable {
 
     private Long id;
 
+    private Long version;
+
     @Schema(description = "The firstname attribute.")
     private String firstName;
 
@@ -42,6 +44,14 @@ public class EmployeeDTO implements Serializable {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getFirstName() {
         return firstName;
     }
@@ -140,6 +150,7 @@ public class EmployeeDTO implements Serializable {
     public String toString() {
         return "EmployeeDTO{" +
             "id=" + getId() +
+            ", version=" + getVersion() +
             ", firstName='" + getFirstName() + "'" +
             ", lastName='" + getLastName() + "'" +
             ", email='" + getEmail() + "'" +
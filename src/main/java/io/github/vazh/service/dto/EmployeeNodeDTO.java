@@ -0,0 +1,153 @@
+package io.github.vazh.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.io.Serializable;
+
+/**
+ * A DTO representing an employee within the hierarchy of the {@link io.github.vazh.domain.Employee} entity.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EmployeeNodeDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private String firstName;
+
+    private String lastName;
+
+    private String email;
+
+    private Long salary;
+
+    private Long managerId;
+
+    private Long departmentId;
+
+    private int depth;
+
+    private Integer directReports;
+
+    private Integer totalReports;
+
+    private Long totalSalary;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public Long getSalary() {
+        return salary;
+    }
+
+    public void setSalary(Long salary) {
+        this.salary = salary;
+    }
+
+    public Long getManagerId() {
+        return managerId;
+    }
+
+    public void setManagerId(Long managerId) {
+        this.managerId = managerId;
+    }
+
+    public Long getDepartmentId() {
+        return departmentId;
+    }
+
+    public void setDepartmentId(Long departmentId) {
+        this.departmentId = departmentId;
+    }
+
+    /**
+     * @return the number of levels between the employee and the one the request is about.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+
+    /**
+     * @return the number of employees reporting directly to the employee, only for the reports.
+     */
+    public Integer getDirectReports() {
+        return directReports;
+    }
+
+    public void setDirectReports(Integer directReports) {
+        this.directReports = directReports;
+    }
+
+    /**
+     * @return the number of employees reporting directly or indirectly to the employee, only for the reports.
+     */
+    public Integer getTotalReports() {
+        return totalReports;
+    }
+
+    public void setTotalReports(Integer totalReports) {
+        this.totalReports = totalReports;
+    }
+
+    /**
+     * @return the sum of the salaries of the employee and of all its reports, only for the reports.
+     */
+    public Long getTotalSalary() {
+        return totalSalary;
+    }
+
+    public void setTotalSalary(Long totalSalary) {
+        this.totalSalary = totalSalary;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EmployeeNodeDTO{" +
+            "id=" + id +
+            ", firstName='" + firstName + "'" +
+            ", lastName='" + lastName + "'" +
+            ", email='" + email + "'" +
+            ", salary=" + salary +
+            ", managerId=" + managerId +
+            ", departmentId=" + departmentId +
+            ", depth=" + depth +
+            ", directReports=" + directReports +
+            ", totalReports=" + totalReports +
+            ", totalSalary=" + totalSalary +
+            "}";
+    }
+}
@@ -0,0 +1,217 @@
+package io.github.vazh.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * A DTO for the {@link io.github.vazh.domain.EmployeeView} read model, an employee with the summaries of its manager,
+ * department and latest job.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class EmployeeViewDTO implements Serializable {
+
+    private Long id;
+
+    private Long version;
+
+    private String firstName;
+
+    private String lastName;
+
+    private String email;
+
+    private String phoneNumber;
+
+    private Instant hireDate;
+
+    private Long salary;
+
+    private Long commissionPct;
+
+    private Long managerId;
+
+    private String managerFirstName;
+
+    private String managerLastName;
+
+    private Long departmentId;
+
+    private String departmentName;
+
+    private Long jobId;
+
+    private String jobTitle;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public void setPhoneNumber(String phoneNumber) {
+        this.phoneNumber = phoneNumber;
+    }
+
+    public Instant getHireDate() {
+        return hireDate;
+    }
+
+    public void setHireDate(Instant hireDate) {
+        this.hireDate = hireDate;
+    }
+
+    public Long getSalary() {
+        return salary;
+    }
+
+    public void setSalary(Long salary) {
+        this.salary = salary;
+    }
+
+    public Long getCommissionPct() {
+        return commissionPct;
+    }
+
+    public void setCommissionPct(Long commissionPct) {
+        this.commissionPct = commissionPct;
+    }
+
+    public Long getManagerId() {
+        return managerId;
+    }
+
+    public void setManagerId(Long managerId) {
+        this.managerId = managerId;
+    }
+
+    public String getManagerFirstName() {
+        return managerFirstName;
+    }
+
+    public void setManagerFirstName(String managerFirstName) {
+        this.managerFirstName = managerFirstName;
+    }
+
+    public String getManagerLastName() {
+        return managerLastName;
+    }
+
+    public void setManagerLastName(String managerLastName) {
+        this.managerLastName = managerLastName;
+    }
+
+    public Long getDepartmentId() {
+        return departmentId;
+    }
+
+    public void setDepartmentId(Long departmentId) {
+        this.departmentId = departmentId;
+    }
+
+    public String getDepartmentName() {
+        return departmentName;
+    }
+
+    public void setDepartmentName(String departmentName) {
+        this.departmentName = departmentName;
+    }
+
+    public Long getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(Long jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getJobTitle() {
+        return jobTitle;
+    }
+
+    public void setJobTitle(String jobTitle) {
+        this.jobTitle = jobTitle;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof EmployeeViewDTO)) {
+            return false;
+        }
+
+        EmployeeViewDTO employeeViewDTO = (EmployeeViewDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, employeeViewDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EmployeeViewDTO{" +
+            "id=" + getId() +
+            ", version=" + getVersion() +
+            ", firstName='" + getFirstName() + "'" +
+            ", lastName='" + getLastName() + "'" +
+            ", email='" + getEmail() + "'" +
+            ", phoneNumber='" + getPhoneNumber() + "'" +
+            ", hireDate='" + getHireDate() + "'" +
+            ", salary=" + getSalary() +
+            ", commissionPct=" + getCommissionPct() +
+            ", managerId=" + getManagerId() +
+            ", managerFirstName='" + getManagerFirstName() + "'" +
+            ", managerLastName='" + getManagerLastName() + "'" +
+            ", departmentId=" + getDepartmentId() +
+            ", departmentName='" + getDepartmentName() + "'" +
+            ", jobId=" + getJobId() +
+            ", jobTitle='" + getJobTitle() + "'" +
+            "}";
+    }
+}
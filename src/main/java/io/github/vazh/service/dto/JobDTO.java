@@ -13,6 +13,8 @@ public class JobDTO implements Serializable {
 
     private Long id;
 
+    private Long version;
+
     private String jobTitle;
 
     private Long minSalary;
@@ -31,6 +33,14 @@ public class JobDTO implements Serializable {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getJobTitle() {
         return jobTitle;
     }
@@ -97,6 +107,7 @@ public class JobDTO implements Serializable {
     public String toString() {
         return "JobDTO{" +
             "id=" + getId() +
+            ", version=" + getVersion() +
             ", jobTitle='" + getJobTitle() + "'" +
             ", minSalary=" + getMinSalary() +
             ", maxSalary=" + getMaxSalary() +
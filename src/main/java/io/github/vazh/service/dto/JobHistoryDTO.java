@@ -13,6 +13,8 @@ public class JobHistoryDTO implements Serializable {
 
     private Long id;
 
+    private Long version;
+
     private Instant startDate;
 
     private Instant endDate;
@@ -33,6 +35,14 @@ public class JobHistoryDTO implements Serializable {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Instant getStartDate() {
         return startDate;
     }
@@ -107,6 +117,7 @@ public class JobHistoryDTO implements Serializable {
     public String toString() {
         return "JobHistoryDTO{" +
             "id=" + getId() +
+            ", version=" + getVersion() +
             ", startDate='" + getStartDate() + "'" +
             ", endDate='" + getEndDate() + "'" +
             ", language='" + getLanguage() + "'" +
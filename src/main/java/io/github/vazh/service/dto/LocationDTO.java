@@ -13,6 +13,8 @@ public class LocationDTO implements Serializable {
 
     private Long id;
 
+    private Long version;
+
     private String streetAddress;
 
     private String postalCode;
@@ -31,6 +33,14 @@ public class LocationDTO implements Serializable {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getStreetAddress() {
         return streetAddress;
     }
@@ -97,6 +107,7 @@ public class LocationDTO implements Serializable {
     public String toString() {
         return "LocationDTO{" +
             "id=" + getId() +
+            ", version=" + getVersion() +
             ", streetAddress='" + getStreetAddress() + "'" +
             ", postalCode='" + getPostalCode() + "'" +
             ", city='" + getCity() + "'" +
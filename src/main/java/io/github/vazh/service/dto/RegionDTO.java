@@ -11,6 +11,8 @@ public class RegionDTO implements Serializable {
 
     private Long id;
 
+    private Long version;
+
     private String regionName;
 
     public Long getId() {
@@ -21,6 +23,14 @@ public class RegionDTO implements Serializable {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getRegionName() {
         return regionName;
     }
@@ -55,6 +65,7 @@ public class RegionDTO implements Serializable {
     public String toString() {
         return "RegionDTO{" +
             "id=" + getId() +
+            ", version=" + getVersion() +
             ", regionName='" + getRegionName() + "'" +
             "}";
     }
@@ -15,6 +15,8 @@ public class TaskDTO implements Serializable {
 
     private Long id;
 
+    private Long version;
+
     private String title;
 
     private String description;
@@ -29,6 +31,14 @@ public class TaskDTO implements Serializable {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getTitle() {
         return title;
     }
@@ -79,6 +89,7 @@ public class TaskDTO implements Serializable {
     public String toString() {
         return "TaskDTO{" +
             "id=" + getId() +
+            ", version=" + getVersion() +
             ", title='" + getTitle() + "'" +
             ", description='" + getDescription() + "'" +
             ", jobs=" + getJobs() +
@@ -2,9 +2,12 @@ package io.github.vazh.service.impl;
 
 import io.github.vazh.domain.Country;
 import io.github.vazh.repository.CountryRepository;
+import io.github.vazh.service.BulkOperationService;
 import io.github.vazh.service.CountryService;
+import io.github.vazh.service.dto.BulkItemResultDTO;
 import io.github.vazh.service.dto.CountryDTO;
 import io.github.vazh.service.mapper.CountryMapper;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
@@ -12,7 +15,9 @@ import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -28,9 +33,16 @@ public class CountryServiceImpl implements CountryService {
 
     private final CountryMapper countryMapper;
 
-    public CountryServiceImpl(CountryRepository countryRepository, CountryMapper countryMapper) {
+    private final BulkOperationService bulkOperationService;
+
+    public CountryServiceImpl(
+        CountryRepository countryRepository,
+        CountryMapper countryMapper,
+        BulkOperationService bulkOperationService
+    ) {
         this.countryRepository = countryRepository;
         this.countryMapper = countryMapper;
+        this.bulkOperationService = bulkOperationService;
     }
 
     @Override
@@ -42,11 +54,13 @@ public class CountryServiceImpl implements CountryService {
     }
 
     @Override
-    public CountryDTO update(CountryDTO countryDTO) {
+    public Optional<CountryDTO> update(CountryDTO countryDTO) {
         log.debug("Request to update Country : {}", countryDTO);
-        Country country = countryMapper.toEntity(countryDTO);
-        country = countryRepository.save(country);
-        return countryMapper.toDto(country);
+        // The merge checks the version against the loaded entity, the flush updates the row only if the version did not change
+        return countryRepository
+            .findById(countryDTO.getId())
+            .map(existingCountry -> countryRepository.saveAndFlush(countryMapper.toEntity(countryDTO)))
+            .map(countryMapper::toDto);
     }
 
     @Override
@@ -56,11 +70,14 @@ public class CountryServiceImpl implements CountryService {
         return countryRepository
             .findById(countryDTO.getId())
             .map(existingCountry -> {
+                if (countryDTO.getVersion() != null && !countryDTO.getVersion().equals(existingCountry.getVersion())) {
+                    throw new ObjectOptimisticLockingFailureException(Country.class, existingCountry.getId());
+                }
                 countryMapper.partialUpdate(existingCountry, countryDTO);
 
                 return existingCountry;
             })
-            .map(countryRepository::save)
+            .map(countryRepository::saveAndFlush)
             .map(countryMapper::toDto);
     }
 
@@ -89,4 +106,33 @@ public class CountryServiceImpl implements CountryService {
         log.debug("Request to delete Country : {}", id);
         countryRepository.deleteById(id);
     }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BulkItemResultDTO> saveAll(Iterator<CountryDTO> countryDTOs) {
+        log.debug("Request to save Countries in bulk");
+        return bulkOperationService.create(countryDTOs, countryRepository, countryMapper, CountryDTO::getId, Country::getId);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BulkItemResultDTO> partialUpdateAll(Iterator<CountryDTO> countryDTOs) {
+        log.debug("Request to partially update Countries in bulk");
+        return bulkOperationService.partialUpdate(
+            countryDTOs,
+            countryRepository,
+            countryMapper,
+            CountryDTO::getId,
+            Country::getId,
+            CountryDTO::getVersion,
+            Country::getVersion
+        );
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BulkItemResultDTO> deleteAll(Iterator<Long> ids) {
+        log.debug("Request to delete Countries in bulk");
+        return bulkOperationService.delete(ids, countryRepository, Country::getId);
+    }
 }
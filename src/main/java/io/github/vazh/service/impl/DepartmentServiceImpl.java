@@ -2,9 +2,12 @@ package io.github.vazh.service.impl;
 
 import io.github.vazh.domain.Department;
 import io.github.vazh.repository.DepartmentRepository;
+import io.github.vazh.service.BulkOperationService;
 import io.github.vazh.service.DepartmentService;
+import io.github.vazh.service.dto.BulkItemResultDTO;
 import io.github.vazh.service.dto.DepartmentDTO;
 import io.github.vazh.service.mapper.DepartmentMapper;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
@@ -12,7 +15,9 @@ import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -28,9 +33,16 @@ public class DepartmentServiceImpl implements DepartmentService {
 
     private final DepartmentMapper departmentMapper;
 
-    public DepartmentServiceImpl(DepartmentRepository departmentRepository, DepartmentMapper departmentMapper) {
+    private final BulkOperationService bulkOperationService;
+
+    public DepartmentServiceImpl(
+        DepartmentRepository departmentRepository,
+        DepartmentMapper departmentMapper,
+        BulkOperationService bulkOperationService
+    ) {
         this.departmentRepository = departmentRepository;
         this.departmentMapper = departmentMapper;
+        this.bulkOperationService = bulkOperationService;
     }
 
     @Override
@@ -42,11 +54,13 @@ public class DepartmentServiceImpl implements DepartmentService {
     }
 
     @Override
-    public DepartmentDTO update(DepartmentDTO departmentDTO) {
+    public Optional<DepartmentDTO> update(DepartmentDTO departmentDTO) {
         log.debug("Request to update Department : {}", departmentDTO);
-        Department department = departmentMapper.toEntity(departmentDTO);
-        department = departmentRepository.save(department);
-        return departmentMapper.toDto(department);
+        // The merge checks the version against the loaded entity, the flush updates the row only if the version did not change
+        return departmentRepository
+            .findById(departmentDTO.getId())
+            .map(existingDepartment -> departmentRepository.saveAndFlush(departmentMapper.toEntity(departmentDTO)))
+            .map(departmentMapper::toDto);
     }
 
     @Override
@@ -56,11 +70,14 @@ public class DepartmentServiceImpl implements DepartmentService {
         return departmentRepository
             .findById(departmentDTO.getId())
             .map(existingDepartment -> {
+                if (departmentDTO.getVersion() != null && !departmentDTO.getVersion().equals(existingDepartment.getVersion())) {
+                    throw new ObjectOptimisticLockingFailureException(Department.class, existingDepartment.getId());
+                }
                 departmentMapper.partialUpdate(existingDepartment, departmentDTO);
 
                 return existingDepartment;
             })
-            .map(departmentRepository::save)
+            .map(departmentRepository::saveAndFlush)
             .map(departmentMapper::toDto);
     }
 
@@ -89,4 +106,33 @@ public class DepartmentServiceImpl implements DepartmentService {
         log.debug("Request to delete Department : {}", id);
         departmentRepository.deleteById(id);
     }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BulkItemResultDTO> saveAll(Iterator<DepartmentDTO> departmentDTOs) {
+        log.debug("Request to save Departments in bulk");
+        return bulkOperationService.create(departmentDTOs, departmentRepository, departmentMapper, DepartmentDTO::getId, Department::getId);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BulkItemResultDTO> partialUpdateAll(Iterator<DepartmentDTO> departmentDTOs) {
+        log.debug("Request to partially update Departments in bulk");
+        return bulkOperationService.partialUpdate(
+            departmentDTOs,
+            departmentRepository,
+            departmentMapper,
+            DepartmentDTO::getId,
+            Department::getId,
+            DepartmentDTO::getVersion,
+            Department::getVersion
+        );
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BulkItemResultDTO> deleteAll(Iterator<Long> ids) {
+        log.debug("Request to delete Departments in bulk");
+        return bulkOperationService.delete(ids, departmentRepository, Department::getId);
+    }
 }
@@ -2,9 +2,12 @@ package io.github.vazh.service.impl;
 
 import io.github.vazh.domain.Employee;
 import io.github.vazh.repository.EmployeeRepository;
+import io.github.vazh.service.BulkOperationService;
 import io.github.vazh.service.EmployeeService;
+import io.github.vazh.service.dto.BulkItemResultDTO;
 import io.github.vazh.service.dto.EmployeeDTO;
 import io.github.vazh.service.mapper.EmployeeMapper;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
@@ -12,7 +15,9 @@ import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -28,9 +33,16 @@ public class EmployeeServiceImpl implements EmployeeService {
 
     private final EmployeeMapper employeeMapper;
 
-    public EmployeeServiceImpl(EmployeeRepository employeeRepository, EmployeeMapper employeeMapper) {
+    private final BulkOperationService bulkOperationService;
+
+    public EmployeeServiceImpl(
+        EmployeeRepository employeeRepository,
+        EmployeeMapper employeeMapper,
+        BulkOperationService bulkOperationService
+    ) {
         this.employeeRepository = employeeRepository;
         this.employeeMapper = employeeMapper;
+        this.bulkOperationService = bulkOperationService;
     }
 
     @Override
@@ -42,11 +54,13 @@ public class EmployeeServiceImpl implements EmployeeService {
     }
 
     @Override
-    public EmployeeDTO update(EmployeeDTO employeeDTO) {
+    public Optional<EmployeeDTO> update(EmployeeDTO employeeDTO) {
         log.debug("Request to update Employee : {}", employeeDTO);
-        Employee employee = employeeMapper.toEntity(employeeDTO);
-        employee = employeeRepository.save(employee);
-        return employeeMapper.toDto(employee);
+        // The merge checks the version against the loaded entity, the flush updates the row only if the version did not change
+        return employeeRepository
+            .findById(employeeDTO.getId())
+            .map(existingEmployee -> employeeRepository.saveAndFlush(employeeMapper.toEntity(employeeDTO)))
+            .map(employeeMapper::toDto);
     }
 
     @Override
@@ -56,11 +70,14 @@ public class EmployeeServiceImpl implements EmployeeService {
         return employeeRepository
             .findById(employeeDTO.getId())
             .map(existingEmployee -> {
+                if (employeeDTO.getVersion() != null && !employeeDTO.getVersion().equals(existingEmployee.getVersion())) {
+                    throw new ObjectOptimisticLockingFailureException(Employee.class, existingEmployee.getId());
+                }
                 employeeMapper.partialUpdate(existingEmployee, employeeDTO);
 
                 return existingEmployee;
             })
-            .map(employeeRepository::save)
+            .map(employeeRepository::saveAndFlush)
             .map(employeeMapper::toDto);
     }
 
@@ -89,4 +106,33 @@ public class EmployeeServiceImpl implements EmployeeService {
         log.debug("Request to delete Employee : {}", id);
         employeeRepository.deleteById(id);
     }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BulkItemResultDTO> saveAll(Iterator<EmployeeDTO> employeeDTOs) {
+        log.debug("Request to save Employees in bulk");
+        return bulkOperationService.create(employeeDTOs, employeeRepository, employeeMapper, EmployeeDTO::getId, Employee::getId);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BulkItemResultDTO> partialUpdateAll(Iterator<EmployeeDTO> employeeDTOs) {
+        log.debug("Request to partially update Employees in bulk");
+        return bulkOperationService.partialUpdate(
+            employeeDTOs,
+            employeeRepository,
+            employeeMapper,
+            EmployeeDTO::getId,
+            Employee::getId,
+            EmployeeDTO::getVersion,
+            Employee::getVersion
+        );
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BulkItemResultDTO> deleteAll(Iterator<Long> ids) {
+        log.debug("Request to delete Employees in bulk");
+        return bulkOperationService.delete(ids, employeeRepository, Employee::getId);
+    }
 }
@@ -2,13 +2,19 @@ package io.github.vazh.service.impl;
 
 import io.github.vazh.domain.JobHistory;
 import io.github.vazh.repository.JobHistoryRepository;
+import io.github.vazh.service.BulkOperationService;
 import io.github.vazh.service.JobHistoryService;
+import io.github.vazh.service.dto.BulkItemResultDTO;
 import io.github.vazh.service.dto.JobHistoryDTO;
 import io.github.vazh.service.mapper.JobHistoryMapper;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -24,9 +30,16 @@ public class JobHistoryServiceImpl implements JobHistoryService {
 
     private final JobHistoryMapper jobHistoryMapper;
 
-    public JobHistoryServiceImpl(JobHistoryRepository jobHistoryRepository, JobHistoryMapper jobHistoryMapper) {
+    private final BulkOperationService bulkOperationService;
+
+    public JobHistoryServiceImpl(
+        JobHistoryRepository jobHistoryRepository,
+        JobHistoryMapper jobHistoryMapper,
+        BulkOperationService bulkOperationService
+    ) {
         this.jobHistoryRepository = jobHistoryRepository;
         this.jobHistoryMapper = jobHistoryMapper;
+        this.bulkOperationService = bulkOperationService;
     }
 
     @Override
@@ -38,11 +51,13 @@ public class JobHistoryServiceImpl implements JobHistoryService {
     }
 
     @Override
-    public JobHistoryDTO update(JobHistoryDTO jobHistoryDTO) {
+    public Optional<JobHistoryDTO> update(JobHistoryDTO jobHistoryDTO) {
         log.debug("Request to update JobHistory : {}", jobHistoryDTO);
-        JobHistory jobHistory = jobHistoryMapper.toEntity(jobHistoryDTO);
-        jobHistory = jobHistoryRepository.save(jobHistory);
-        return jobHistoryMapper.toDto(jobHistory);
+        // The merge checks the version against the loaded entity, the flush updates the row only if the version did not change
+        return jobHistoryRepository
+            .findById(jobHistoryDTO.getId())
+            .map(existingJobHistory -> jobHistoryRepository.saveAndFlush(jobHistoryMapper.toEntity(jobHistoryDTO)))
+            .map(jobHistoryMapper::toDto);
     }
 
     @Override
@@ -52,11 +67,14 @@ public class JobHistoryServiceImpl implements JobHistoryService {
         return jobHistoryRepository
             .findById(jobHistoryDTO.getId())
             .map(existingJobHistory -> {
+                if (jobHistoryDTO.getVersion() != null && !jobHistoryDTO.getVersion().equals(existingJobHistory.getVersion())) {
+                    throw new ObjectOptimisticLockingFailureException(JobHistory.class, existingJobHistory.getId());
+                }
                 jobHistoryMapper.partialUpdate(existingJobHistory, jobHistoryDTO);
 
                 return existingJobHistory;
             })
-            .map(jobHistoryRepository::save)
+            .map(jobHistoryRepository::saveAndFlush)
             .map(jobHistoryMapper::toDto);
     }
 
@@ -72,4 +90,33 @@ public class JobHistoryServiceImpl implements JobHistoryService {
         log.debug("Request to delete JobHistory : {}", id);
         jobHistoryRepository.deleteById(id);
     }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BulkItemResultDTO> saveAll(Iterator<JobHistoryDTO> jobHistoryDTOs) {
+        log.debug("Request to save JobHistories in bulk");
+        return bulkOperationService.create(jobHistoryDTOs, jobHistoryRepository, jobHistoryMapper, JobHistoryDTO::getId, JobHistory::getId);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BulkItemResultDTO> partialUpdateAll(Iterator<JobHistoryDTO> jobHistoryDTOs) {
+        log.debug("Request to partially update JobHistories in bulk");
+        return bulkOperationService.partialUpdate(
+            jobHistoryDTOs,
+            jobHistoryRepository,
+            jobHistoryMapper,
+            JobHistoryDTO::getId,
+            JobHistory::getId,
+            JobHistoryDTO::getVersion,
+            JobHistory::getVersion
+        );
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BulkItemResultDTO> deleteAll(Iterator<Long> ids) {
+        log.debug("Request to delete JobHistories in bulk");
+        return bulkOperationService.delete(ids, jobHistoryRepository, JobHistory::getId);
+    }
 }
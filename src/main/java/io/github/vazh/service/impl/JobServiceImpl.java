@@ -2,9 +2,12 @@ package io.github.vazh.service.impl;
 
 import io.github.vazh.domain.Job;
 import io.github.vazh.repository.JobRepository;
+import io.github.vazh.service.BulkOperationService;
 import io.github.vazh.service.JobService;
+import io.github.vazh.service.dto.BulkItemResultDTO;
 import io.github.vazh.service.dto.JobDTO;
 import io.github.vazh.service.mapper.JobMapper;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
@@ -14,7 +17,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -30,9 +35,16 @@ public class JobServiceImpl implements JobService {
 
     private final JobMapper jobMapper;
 
-    public JobServiceImpl(JobRepository jobRepository, JobMapper jobMapper) {
+    private final BulkOperationService bulkOperationService;
+
+    public JobServiceImpl(
+        JobRepository jobRepository,
+        JobMapper jobMapper,
+        BulkOperationService bulkOperationService
+    ) {
         this.jobRepository = jobRepository;
         this.jobMapper = jobMapper;
+        this.bulkOperationService = bulkOperationService;
     }
 
     @Override
@@ -44,11 +56,13 @@ public class JobServiceImpl implements JobService {
     }
 
     @Override
-    public JobDTO update(JobDTO jobDTO) {
+    public Optional<JobDTO> update(JobDTO jobDTO) {
         log.debug("Request to update Job : {}", jobDTO);
-        Job job = jobMapper.toEntity(jobDTO);
-        job = jobRepository.save(job);
-        return jobMapper.toDto(job);
+        // The merge checks the version against the loaded entity, the flush updates the row only if the version did not change
+        return jobRepository
+            .findById(jobDTO.getId())
+            .map(existingJob -> jobRepository.saveAndFlush(jobMapper.toEntity(jobDTO)))
+            .map(jobMapper::toDto);
     }
 
     @Override
@@ -58,11 +72,14 @@ public class JobServiceImpl implements JobService {
         return jobRepository
             .findById(jobDTO.getId())
             .map(existingJob -> {
+                if (jobDTO.getVersion() != null && !jobDTO.getVersion().equals(existingJob.getVersion())) {
+                    throw new ObjectOptimisticLockingFailureException(Job.class, existingJob.getId());
+                }
                 jobMapper.partialUpdate(existingJob, jobDTO);
 
                 return existingJob;
             })
-            .map(jobRepository::save)
+            .map(jobRepository::saveAndFlush)
             .map(jobMapper::toDto);
     }
 
@@ -90,9 +107,45 @@ public class JobServiceImpl implements JobService {
         return jobRepository.findOneWithEagerRelationships(id).map(jobMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<JobDTO> findOneWithoutEagerRelationships(Long id) {
+        log.debug("Request to get Job without its relationships : {}", id);
+        return jobRepository.findById(id).map(jobMapper::toDtoWithoutTasks);
+    }
+
     @Override
     public void delete(Long id) {
         log.debug("Request to delete Job : {}", id);
         jobRepository.deleteById(id);
     }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BulkItemResultDTO> saveAll(Iterator<JobDTO> jobDTOs) {
+        log.debug("Request to save Jobs in bulk");
+        return bulkOperationService.create(jobDTOs, jobRepository, jobMapper, JobDTO::getId, Job::getId);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BulkItemResultDTO> partialUpdateAll(Iterator<JobDTO> jobDTOs) {
+        log.debug("Request to partially update Jobs in bulk");
+        return bulkOperationService.partialUpdate(
+            jobDTOs,
+            jobRepository,
+            jobMapper,
+            JobDTO::getId,
+            Job::getId,
+            JobDTO::getVersion,
+            Job::getVersion
+        );
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BulkItemResultDTO> deleteAll(Iterator<Long> ids) {
+        log.debug("Request to delete Jobs in bulk");
+        return bulkOperationService.delete(ids, jobRepository, Job::getId);
+    }
 }
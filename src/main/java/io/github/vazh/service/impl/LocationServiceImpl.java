@@ -2,9 +2,12 @@ package io.github.vazh.service.impl;
 
 import io.github.vazh.domain.Location;
 import io.github.vazh.repository.LocationRepository;
+import io.github.vazh.service.BulkOperationService;
 import io.github.vazh.service.LocationService;
+import io.github.vazh.service.dto.BulkItemResultDTO;
 import io.github.vazh.service.dto.LocationDTO;
 import io.github.vazh.service.mapper.LocationMapper;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
@@ -12,7 +15,9 @@ import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -28,9 +33,16 @@ public class LocationServiceImpl implements LocationService {
 
     private final LocationMapper locationMapper;
 
-    public LocationServiceImpl(LocationRepository locationRepository, LocationMapper locationMapper) {
+    private final BulkOperationService bulkOperationService;
+
+    public LocationServiceImpl(
+        LocationRepository locationRepository,
+        LocationMapper locationMapper,
+        BulkOperationService bulkOperationService
+    ) {
         this.locationRepository = locationRepository;
         this.locationMapper = locationMapper;
+        this.bulkOperationService = bulkOperationService;
     }
 
     @Override
@@ -42,11 +54,13 @@ public class LocationServiceImpl implements LocationService {
     }
 
     @Override
-    public LocationDTO update(LocationDTO locationDTO) {
+    public Optional<LocationDTO> update(LocationDTO locationDTO) {
         log.debug("Request to update Location : {}", locationDTO);
-        Location location = locationMapper.toEntity(locationDTO);
-        location = locationRepository.save(location);
-        return locationMapper.toDto(location);
+        // The merge checks the version against the loaded entity, the flush updates the row only if the version did not change
+        return locationRepository
+            .findById(locationDTO.getId())
+            .map(existingLocation -> locationRepository.saveAndFlush(locationMapper.toEntity(locationDTO)))
+            .map(locationMapper::toDto);
     }
 
     @Override
@@ -56,11 +70,14 @@ public class LocationServiceImpl implements LocationService {
         return locationRepository
             .findById(locationDTO.getId())
             .map(existingLocation -> {
+                if (locationDTO.getVersion() != null && !locationDTO.getVersion().equals(existingLocation.getVersion())) {
+                    throw new ObjectOptimisticLockingFailureException(Location.class, existingLocation.getId());
+                }
                 locationMapper.partialUpdate(existingLocation, locationDTO);
 
                 return existingLocation;
             })
-            .map(locationRepository::save)
+            .map(locationRepository::saveAndFlush)
             .map(locationMapper::toDto);
     }
 
@@ -89,4 +106,33 @@ public class LocationServiceImpl implements LocationService {
         log.debug("Request to delete Location : {}", id);
         locationRepository.deleteById(id);
     }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BulkItemResultDTO> saveAll(Iterator<LocationDTO> locationDTOs) {
+        log.debug("Request to save Locations in bulk");
+        return bulkOperationService.create(locationDTOs, locationRepository, locationMapper, LocationDTO::getId, Location::getId);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BulkItemResultDTO> partialUpdateAll(Iterator<LocationDTO> locationDTOs) {
+        log.debug("Request to partially update Locations in bulk");
+        return bulkOperationService.partialUpdate(
+            locationDTOs,
+            locationRepository,
+            locationMapper,
+            LocationDTO::getId,
+            Location::getId,
+            LocationDTO::getVersion,
+            Location::getVersion
+        );
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BulkItemResultDTO> deleteAll(Iterator<Long> ids) {
+        log.debug("Request to delete Locations in bulk");
+        return bulkOperationService.delete(ids, locationRepository, Location::getId);
+    }
 }
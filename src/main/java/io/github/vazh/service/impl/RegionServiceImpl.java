@@ -2,9 +2,12 @@ package io.github.vazh.service.impl;
 
 import io.github.vazh.domain.Region;
 import io.github.vazh.repository.RegionRepository;
+import io.github.vazh.service.BulkOperationService;
 import io.github.vazh.service.RegionService;
+import io.github.vazh.service.dto.BulkItemResultDTO;
 import io.github.vazh.service.dto.RegionDTO;
 import io.github.vazh.service.mapper.RegionMapper;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
@@ -12,7 +15,9 @@ import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -28,9 +33,16 @@ public class RegionServiceImpl implements RegionService {
 
     private final RegionMapper regionMapper;
 
-    public RegionServiceImpl(RegionRepository regionRepository, RegionMapper regionMapper) {
+    private final BulkOperationService bulkOperationService;
+
+    public RegionServiceImpl(
+        RegionRepository regionRepository,
+        RegionMapper regionMapper,
+        BulkOperationService bulkOperationService
+    ) {
         this.regionRepository = regionRepository;
         this.regionMapper = regionMapper;
+        this.bulkOperationService = bulkOperationService;
     }
 
     @Override
@@ -42,11 +54,13 @@ public class RegionServiceImpl implements RegionService {
     }
 
     @Override
-    public RegionDTO update(RegionDTO regionDTO) {
+    public Optional<RegionDTO> update(RegionDTO regionDTO) {
         log.debug("Request to update Region : {}", regionDTO);
-        Region region = regionMapper.toEntity(regionDTO);
-        region = regionRepository.save(region);
-        return regionMapper.toDto(region);
+        // The merge checks the version against the loaded entity, the flush updates the row only if the version did not change
+        return regionRepository
+            .findById(regionDTO.getId())
+            .map(existingRegion -> regionRepository.saveAndFlush(regionMapper.toEntity(regionDTO)))
+            .map(regionMapper::toDto);
     }
 
     @Override
@@ -56,11 +70,14 @@ public class RegionServiceImpl implements RegionService {
         return regionRepository
             .findById(regionDTO.getId())
             .map(existingRegion -> {
+                if (regionDTO.getVersion() != null && !regionDTO.getVersion().equals(existingRegion.getVersion())) {
+                    throw new ObjectOptimisticLockingFailureException(Region.class, existingRegion.getId());
+                }
                 regionMapper.partialUpdate(existingRegion, regionDTO);
 
                 return existingRegion;
             })
-            .map(regionRepository::save)
+            .map(regionRepository::saveAndFlush)
             .map(regionMapper::toDto);
     }
 
@@ -89,4 +106,33 @@ public class RegionServiceImpl implements RegionService {
         log.debug("Request to delete Region : {}", id);
         regionRepository.deleteById(id);
     }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BulkItemResultDTO> saveAll(Iterator<RegionDTO> regionDTOs) {
+        log.debug("Request to save Regions in bulk");
+        return bulkOperationService.create(regionDTOs, regionRepository, regionMapper, RegionDTO::getId, Region::getId);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BulkItemResultDTO> partialUpdateAll(Iterator<RegionDTO> regionDTOs) {
+        log.debug("Request to partially update Regions in bulk");
+        return bulkOperationService.partialUpdate(
+            regionDTOs,
+            regionRepository,
+            regionMapper,
+            RegionDTO::getId,
+            Region::getId,
+            RegionDTO::getVersion,
+            Region::getVersion
+        );
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BulkItemResultDTO> deleteAll(Iterator<Long> ids) {
+        log.debug("Request to delete Regions in bulk");
+        return bulkOperationService.delete(ids, regionRepository, Region::getId);
+    }
 }
@@ -2,13 +2,19 @@ package io.github.vazh.service.impl;
 
 import io.github.vazh.domain.Task;
 import io.github.vazh.repository.TaskRepository;
+import io.github.vazh.service.BulkOperationService;
 import io.github.vazh.service.TaskService;
+import io.github.vazh.service.dto.BulkItemResultDTO;
 import io.github.vazh.service.dto.TaskDTO;
 import io.github.vazh.service.mapper.TaskMapper;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -24,9 +30,16 @@ public class TaskServiceImpl implements TaskService {
 
     private final TaskMapper taskMapper;
 
-    public TaskServiceImpl(TaskRepository taskRepository, TaskMapper taskMapper) {
+    private final BulkOperationService bulkOperationService;
+
+    public TaskServiceImpl(
+        TaskRepository taskRepository,
+        TaskMapper taskMapper,
+        BulkOperationService bulkOperationService
+    ) {
         this.taskRepository = taskRepository;
         this.taskMapper = taskMapper;
+        this.bulkOperationService = bulkOperationService;
     }
 
     @Override
@@ -38,11 +51,13 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
-    public TaskDTO update(TaskDTO taskDTO) {
+    public Optional<TaskDTO> update(TaskDTO taskDTO) {
         log.debug("Request to update Task : {}", taskDTO);
-        Task task = taskMapper.toEntity(taskDTO);
-        task = taskRepository.save(task);
-        return taskMapper.toDto(task);
+        // The merge checks the version against the loaded entity, the flush updates the row only if the version did not change
+        return taskRepository
+            .findById(taskDTO.getId())
+            .map(existingTask -> taskRepository.saveAndFlush(taskMapper.toEntity(taskDTO)))
+            .map(taskMapper::toDto);
     }
 
     @Override
@@ -52,11 +67,14 @@ public class TaskServiceImpl implements TaskService {
         return taskRepository
             .findById(taskDTO.getId())
             .map(existingTask -> {
+                if (taskDTO.getVersion() != null && !taskDTO.getVersion().equals(existingTask.getVersion())) {
+                    throw new ObjectOptimisticLockingFailureException(Task.class, existingTask.getId());
+                }
                 taskMapper.partialUpdate(existingTask, taskDTO);
 
                 return existingTask;
             })
-            .map(taskRepository::save)
+            .map(taskRepository::saveAndFlush)
             .map(taskMapper::toDto);
     }
 
@@ -72,4 +90,33 @@ public class TaskServiceImpl implements TaskService {
         log.debug("Request to delete Task : {}", id);
         taskRepository.deleteById(id);
     }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BulkItemResultDTO> saveAll(Iterator<TaskDTO> taskDTOs) {
+        log.debug("Request to save Tasks in bulk");
+        return bulkOperationService.create(taskDTOs, taskRepository, taskMapper, TaskDTO::getId, Task::getId);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BulkItemResultDTO> partialUpdateAll(Iterator<TaskDTO> taskDTOs) {
+        log.debug("Request to partially update Tasks in bulk");
+        return bulkOperationService.partialUpdate(
+            taskDTOs,
+            taskRepository,
+            taskMapper,
+            TaskDTO::getId,
+            Task::getId,
+            TaskDTO::getVersion,
+            Task::getVersion
+        );
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BulkItemResultDTO> deleteAll(Iterator<Long> ids) {
+        log.debug("Request to delete Tasks in bulk");
+        return bulkOperationService.delete(ids, taskRepository, Task::getId);
+    }
 }
@@ -9,11 +9,30 @@ import org.mapstruct.*;
 /**
  * Mapper for the entity {@link Country} and its DTO {@link CountryDTO}.
  */
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", uses = EntityReferenceMapper.class)
 public interface CountryMapper extends EntityMapper<CountryDTO, Country> {
     @Mapping(target = "region", source = "region", qualifiedByName = "regionId")
     CountryDTO toDto(Country s);
 
+    @Mapping(
+        target = "region",
+        source = "region",
+        qualifiedByName = "regionReference",
+        nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS
+    )
+    Country toEntity(CountryDTO countryDTO);
+
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(
+        target = "region",
+        source = "region",
+        qualifiedByName = "regionReference",
+        nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS
+    )
+    void partialUpdate(@MappingTarget Country entity, CountryDTO dto);
+
     @Named("regionId")
     @BeanMapping(ignoreByDefault = true)
     @Mapping(target = "id", source = "id")
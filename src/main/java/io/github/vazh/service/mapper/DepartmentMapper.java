@@ -9,11 +9,30 @@ import org.mapstruct.*;
 /**
  * Mapper for the entity {@link Department} and its DTO {@link DepartmentDTO}.
  */
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", uses = EntityReferenceMapper.class)
 public interface DepartmentMapper extends EntityMapper<DepartmentDTO, Department> {
     @Mapping(target = "location", source = "location", qualifiedByName = "locationId")
     DepartmentDTO toDto(Department s);
 
+    @Mapping(
+        target = "location",
+        source = "location",
+        qualifiedByName = "locationReference",
+        nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS
+    )
+    Department toEntity(DepartmentDTO departmentDTO);
+
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(
+        target = "location",
+        source = "location",
+        qualifiedByName = "locationReference",
+        nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS
+    )
+    void partialUpdate(@MappingTarget Department entity, DepartmentDTO dto);
+
     @Named("locationId")
     @BeanMapping(ignoreByDefault = true)
     @Mapping(target = "id", source = "id")
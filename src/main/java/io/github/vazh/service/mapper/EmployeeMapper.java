@@ -9,12 +9,43 @@ import org.mapstruct.*;
 /**
  * Mapper for the entity {@link Employee} and its DTO {@link EmployeeDTO}.
  */
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", uses = EntityReferenceMapper.class)
 public interface EmployeeMapper extends EntityMapper<EmployeeDTO, Employee> {
     @Mapping(target = "manager", source = "manager", qualifiedByName = "employeeId")
     @Mapping(target = "department", source = "department", qualifiedByName = "departmentId")
     EmployeeDTO toDto(Employee s);
 
+    @Mapping(
+        target = "manager",
+        source = "manager",
+        qualifiedByName = "employeeReference",
+        nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS
+    )
+    @Mapping(
+        target = "department",
+        source = "department",
+        qualifiedByName = "departmentReference",
+        nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS
+    )
+    Employee toEntity(EmployeeDTO employeeDTO);
+
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(
+        target = "manager",
+        source = "manager",
+        qualifiedByName = "employeeReference",
+        nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS
+    )
+    @Mapping(
+        target = "department",
+        source = "department",
+        qualifiedByName = "departmentReference",
+        nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS
+    )
+    void partialUpdate(@MappingTarget Employee entity, EmployeeDTO dto);
+
     @Named("employeeId")
     @BeanMapping(ignoreByDefault = true)
     @Mapping(target = "id", source = "id")
@@ -0,0 +1,11 @@
+package io.github.vazh.service.mapper;
+
+import io.github.vazh.domain.EmployeeView;
+import io.github.vazh.service.dto.EmployeeViewDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the read model {@link EmployeeView} and its DTO {@link EmployeeViewDTO}.
+ */
+@Mapper(componentModel = "spring")
+public interface EmployeeViewMapper extends EntityMapper<EmployeeViewDTO, EmployeeView> {}
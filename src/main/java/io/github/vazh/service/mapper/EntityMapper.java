@@ -2,6 +2,7 @@ package io.github.vazh.service.mapper;
 
 import java.util.List;
 import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.Named;
 import org.mapstruct.NullValuePropertyMappingStrategy;
@@ -24,5 +25,6 @@ public interface EntityMapper<D, E> {
 
     @Named("partialUpdate")
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "version", ignore = true)
     void partialUpdate(@MappingTarget E entity, D dto);
 }
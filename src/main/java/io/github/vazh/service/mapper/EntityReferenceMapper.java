@@ -0,0 +1,79 @@
+package io.github.vazh.service.mapper;
+
+import io.github.vazh.domain.Country;
+import io.github.vazh.domain.Department;
+import io.github.vazh.domain.Employee;
+import io.github.vazh.domain.Job;
+import io.github.vazh.domain.Location;
+import io.github.vazh.domain.Region;
+import io.github.vazh.domain.Task;
+import io.github.vazh.service.dto.CountryDTO;
+import io.github.vazh.service.dto.DepartmentDTO;
+import io.github.vazh.service.dto.EmployeeDTO;
+import io.github.vazh.service.dto.JobDTO;
+import io.github.vazh.service.dto.LocationDTO;
+import io.github.vazh.service.dto.RegionDTO;
+import io.github.vazh.service.dto.TaskDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.mapstruct.Named;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps the DTOs referenced by another DTO, which usually only hold an id, to references of the persistence context.
+ * <p>
+ * A reference is written as a foreign key only, so its version, which the DTO does not hold, is neither needed nor
+ * checked, and the referenced entity is not loaded.
+ */
+@Component
+public class EntityReferenceMapper {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Named("regionReference")
+    public Region toRegionReference(RegionDTO regionDTO) {
+        return regionDTO.getId() == null ? null : entityManager.getReference(Region.class, regionDTO.getId());
+    }
+
+    @Named("countryReference")
+    public Country toCountryReference(CountryDTO countryDTO) {
+        return countryDTO.getId() == null ? null : entityManager.getReference(Country.class, countryDTO.getId());
+    }
+
+    @Named("locationReference")
+    public Location toLocationReference(LocationDTO locationDTO) {
+        return locationDTO.getId() == null ? null : entityManager.getReference(Location.class, locationDTO.getId());
+    }
+
+    @Named("departmentReference")
+    public Department toDepartmentReference(DepartmentDTO departmentDTO) {
+        return departmentDTO.getId() == null ? null : entityManager.getReference(Department.class, departmentDTO.getId());
+    }
+
+    @Named("employeeReference")
+    public Employee toEmployeeReference(EmployeeDTO employeeDTO) {
+        return employeeDTO.getId() == null ? null : entityManager.getReference(Employee.class, employeeDTO.getId());
+    }
+
+    @Named("jobReference")
+    public Job toJobReference(JobDTO jobDTO) {
+        return jobDTO.getId() == null ? null : entityManager.getReference(Job.class, jobDTO.getId());
+    }
+
+    @Named("taskReferenceSet")
+    public Set<Task> toTaskReferenceSet(Set<TaskDTO> taskDTOs) {
+        if (taskDTOs == null) {
+            return null;
+        }
+        return taskDTOs
+            .stream()
+            .map(TaskDTO::getId)
+            .filter(Objects::nonNull)
+            .map(id -> entityManager.getReference(Task.class, id))
+            .collect(Collectors.toSet());
+    }
+}
@@ -13,13 +13,46 @@ import org.mapstruct.*;
 /**
  * Mapper for the entity {@link JobHistory} and its DTO {@link JobHistoryDTO}.
  */
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", uses = EntityReferenceMapper.class)
 public interface JobHistoryMapper extends EntityMapper<JobHistoryDTO, JobHistory> {
     @Mapping(target = "job", source = "job", qualifiedByName = "jobId")
     @Mapping(target = "department", source = "department", qualifiedByName = "departmentId")
     @Mapping(target = "employee", source = "employee", qualifiedByName = "employeeId")
     JobHistoryDTO toDto(JobHistory s);
 
+    @Mapping(target = "job", source = "job", qualifiedByName = "jobReference", nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS)
+    @Mapping(
+        target = "department",
+        source = "department",
+        qualifiedByName = "departmentReference",
+        nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS
+    )
+    @Mapping(
+        target = "employee",
+        source = "employee",
+        qualifiedByName = "employeeReference",
+        nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS
+    )
+    JobHistory toEntity(JobHistoryDTO jobHistoryDTO);
+
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "job", source = "job", qualifiedByName = "jobReference", nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS)
+    @Mapping(
+        target = "department",
+        source = "department",
+        qualifiedByName = "departmentReference",
+        nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS
+    )
+    @Mapping(
+        target = "employee",
+        source = "employee",
+        qualifiedByName = "employeeReference",
+        nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS
+    )
+    void partialUpdate(@MappingTarget JobHistory entity, JobHistoryDTO dto);
+
     @Named("jobId")
     @BeanMapping(ignoreByDefault = true)
     @Mapping(target = "id", source = "id")
@@ -13,15 +13,50 @@ import org.mapstruct.*;
 /**
  * Mapper for the entity {@link Job} and its DTO {@link JobDTO}.
  */
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", uses = EntityReferenceMapper.class)
 public interface JobMapper extends EntityMapper<JobDTO, Job> {
     @Mapping(target = "tasks", source = "tasks", qualifiedByName = "taskTitleSet")
     @Mapping(target = "employee", source = "employee", qualifiedByName = "employeeId")
     JobDTO toDto(Job s);
 
+    @Named("withoutTasks")
+    @Mapping(target = "tasks", ignore = true)
+    @Mapping(target = "employee", source = "employee", qualifiedByName = "employeeId")
+    JobDTO toDtoWithoutTasks(Job s);
+
+    @Mapping(
+        target = "tasks",
+        source = "tasks",
+        qualifiedByName = "taskReferenceSet",
+        nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS
+    )
+    @Mapping(
+        target = "employee",
+        source = "employee",
+        qualifiedByName = "employeeReference",
+        nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS
+    )
     @Mapping(target = "removeTask", ignore = true)
     Job toEntity(JobDTO jobDTO);
 
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(
+        target = "tasks",
+        source = "tasks",
+        qualifiedByName = "taskReferenceSet",
+        nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS
+    )
+    @Mapping(
+        target = "employee",
+        source = "employee",
+        qualifiedByName = "employeeReference",
+        nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS
+    )
+    @Mapping(target = "removeTask", ignore = true)
+    void partialUpdate(@MappingTarget Job entity, JobDTO dto);
+
     @Named("taskTitle")
     @BeanMapping(ignoreByDefault = true)
     @Mapping(target = "id", source = "id")
@@ -9,11 +9,30 @@ import org.mapstruct.*;
 /**
  * Mapper for the entity {@link Location} and its DTO {@link LocationDTO}.
  */
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", uses = EntityReferenceMapper.class)
 public interface LocationMapper extends EntityMapper<LocationDTO, Location> {
     @Mapping(target = "country", source = "country", qualifiedByName = "countryId")
     LocationDTO toDto(Location s);
 
+    @Mapping(
+        target = "country",
+        source = "country",
+        qualifiedByName = "countryReference",
+        nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS
+    )
+    Location toEntity(LocationDTO locationDTO);
+
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(
+        target = "country",
+        source = "country",
+        qualifiedByName = "countryReference",
+        nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS
+    )
+    void partialUpdate(@MappingTarget Location entity, LocationDTO dto);
+
     @Named("countryId")
     @BeanMapping(ignoreByDefault = true)
     @Mapping(target = "id", source = "id")
@@ -20,6 +20,13 @@ public interface TaskMapper extends EntityMapper<TaskDTO, Task> {
     @Mapping(target = "removeJob", ignore = true)
     Task toEntity(TaskDTO taskDTO);
 
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "jobs", ignore = true)
+    @Mapping(target = "removeJob", ignore = true)
+    void partialUpdate(@MappingTarget Task entity, TaskDTO dto);
+
     @Named("jobId")
     @BeanMapping(ignoreByDefault = true)
     @Mapping(target = "id", source = "id")
@@ -3,6 +3,7 @@ package io.github.vazh.web.rest;
 import io.github.vazh.domain.User;
 import io.github.vazh.repository.UserRepository;
 import io.github.vazh.security.SecurityUtils;
+import io.github.vazh.security.UserSnapshotCache;
 import io.github.vazh.service.MailService;
 import io.github.vazh.service.UserService;
 import io.github.vazh.service.dto.AdminUserDTO;
@@ -40,10 +41,18 @@ public class AccountResource {
 
     private final MailService mailService;
 
-    public AccountResource(UserRepository userRepository, UserService userService, MailService mailService) {
+    private final UserSnapshotCache userSnapshotCache;
+
+    public AccountResource(
+        UserRepository userRepository,
+        UserService userService,
+        MailService mailService,
+        UserSnapshotCache userSnapshotCache
+    ) {
         this.userRepository = userRepository;
         this.userService = userService;
         this.mailService = mailService;
+        this.userSnapshotCache = userSnapshotCache;
     }
 
     /**
@@ -86,8 +95,8 @@ public class AccountResource {
      */
     @GetMapping("/account")
     public AdminUserDTO getAccount() {
-        return userService
-            .getUserWithAuthorities()
+        return SecurityUtils.getCurrentUserLogin()
+            .flatMap(userSnapshotCache::findByLogin)
             .map(AdminUserDTO::new)
             .orElseThrow(() -> new AccountResourceException("User could not be found"));
     }
@@ -4,15 +4,21 @@ import static io.github.vazh.security.SecurityUtils.AUTHORITIES_KEY;
 import static io.github.vazh.security.SecurityUtils.JWT_ALGORITHM;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import io.github.vazh.config.ApplicationProperties;
+import io.github.vazh.management.SecurityMetersService;
 import io.github.vazh.web.rest.vm.LoginVM;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -20,7 +26,6 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.JwsHeader;
 import org.springframework.security.oauth2.jwt.JwtClaimsSet;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
@@ -46,24 +51,58 @@ public class AuthenticateController {
 
     private final AuthenticationManagerBuilder authenticationManagerBuilder;
 
-    public AuthenticateController(JwtEncoder jwtEncoder, AuthenticationManagerBuilder authenticationManagerBuilder) {
+    private final AsyncTaskExecutor authenticationExecutor;
+
+    private final SecurityMetersService securityMetersService;
+
+    private final ApplicationProperties applicationProperties;
+
+    public AuthenticateController(
+        JwtEncoder jwtEncoder,
+        AuthenticationManagerBuilder authenticationManagerBuilder,
+        @Qualifier("authenticationExecutor") AsyncTaskExecutor authenticationExecutor,
+        SecurityMetersService securityMetersService,
+        ApplicationProperties applicationProperties
+    ) {
         this.jwtEncoder = jwtEncoder;
         this.authenticationManagerBuilder = authenticationManagerBuilder;
+        this.authenticationExecutor = authenticationExecutor;
+        this.securityMetersService = securityMetersService;
+        this.applicationProperties = applicationProperties;
     }
 
+    /**
+     * {@code POST /authenticate} : authenticate a user on the authentication executor, releasing the request thread
+     * while the password is verified.
+     *
+     * @param loginVM the credentials.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the JWT in body and header, or with status
+     * {@code 503 (Service Unavailable)} and a {@code Retry-After} header if the authentication executor is full.
+     */
     @PostMapping("/authenticate")
-    public ResponseEntity<JWTToken> authorize(@Valid @RequestBody LoginVM loginVM) {
+    public CompletableFuture<ResponseEntity<JWTToken>> authorize(@Valid @RequestBody LoginVM loginVM) {
         UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
             loginVM.getUsername(),
             loginVM.getPassword()
         );
 
-        Authentication authentication = authenticationManagerBuilder.getObject().authenticate(authenticationToken);
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-        String jwt = this.createToken(authentication, loginVM.isRememberMe());
-        HttpHeaders httpHeaders = new HttpHeaders();
-        httpHeaders.setBearerAuth(jwt);
-        return new ResponseEntity<>(new JWTToken(jwt), httpHeaders, HttpStatus.OK);
+        try {
+            return authenticationExecutor.submitCompletable(() -> {
+                Authentication authentication = authenticationManagerBuilder.getObject().authenticate(authenticationToken);
+                String jwt = this.createToken(authentication, loginVM.isRememberMe());
+                HttpHeaders httpHeaders = new HttpHeaders();
+                httpHeaders.setBearerAuth(jwt);
+                return new ResponseEntity<>(new JWTToken(jwt), httpHeaders, HttpStatus.OK);
+            });
+        } catch (TaskRejectedException e) {
+            log.warn("Authentication of {} rejected, the authentication executor is full", loginVM.getUsername());
+            securityMetersService.trackAuthenticationRejected();
+            return CompletableFuture.completedFuture(
+                ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(applicationProperties.getAuthentication().getRetryAfter().toSeconds()))
+                    .build()
+            );
+        }
     }
 
     /**
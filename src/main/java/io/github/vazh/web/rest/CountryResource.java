@@ -1,28 +1,45 @@
 package io.github.vazh.web.rest;
 
-import io.github.vazh.repository.CountryRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.vazh.domain.Country;
 import io.github.vazh.service.CountryQueryService;
 import io.github.vazh.service.CountryService;
 import io.github.vazh.service.criteria.CountryCriteria;
+import io.github.vazh.service.dto.BulkItemResultDTO;
 import io.github.vazh.service.dto.CountryDTO;
 import io.github.vazh.web.rest.errors.BadRequestAlertException;
+import io.github.vazh.web.util.BulkRequestUtil;
+import io.github.vazh.web.util.ConditionalRequestUtil;
+import io.github.vazh.web.util.CountMode;
+import io.github.vazh.web.util.CursorPaginationUtil;
+import io.github.vazh.web.util.ExportFormat;
+import io.github.vazh.web.util.ExportUtil;
+import io.github.vazh.web.util.SlicePaginationUtil;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
-import tech.jhipster.web.util.ResponseUtil;
 
 /**
  * REST controller for managing {@link io.github.vazh.domain.Country}.
@@ -40,14 +57,14 @@ public class CountryResource {
 
     private final CountryService countryService;
 
-    private final CountryRepository countryRepository;
-
     private final CountryQueryService countryQueryService;
 
-    public CountryResource(CountryService countryService, CountryRepository countryRepository, CountryQueryService countryQueryService) {
+    private final ObjectMapper objectMapper;
+
+    public CountryResource(CountryService countryService, CountryQueryService countryQueryService, ObjectMapper objectMapper) {
         this.countryService = countryService;
-        this.countryRepository = countryRepository;
         this.countryQueryService = countryQueryService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -73,15 +90,19 @@ public class CountryResource {
      * {@code PUT  /countries/:id} : Updates an existing country.
      *
      * @param id the id of the countryDTO to save.
+     * @param ifMatch the entity tags the current countryDTO must match, if any.
      * @param countryDTO the countryDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated countryDTO,
      * or with status {@code 400 (Bad Request)} if the countryDTO is not valid,
+     * or with status {@code 409 (Conflict)} if the countryDTO was updated since its version was read,
+     * or with status {@code 412 (Precondition Failed)} if the countryDTO does not match {@code ifMatch},
      * or with status {@code 500 (Internal Server Error)} if the countryDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
     public ResponseEntity<CountryDTO> updateCountry(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @RequestBody CountryDTO countryDTO
     ) throws URISyntaxException {
         log.debug("REST request to update Country : {}, {}", id, countryDTO);
@@ -92,30 +113,40 @@ public class CountryResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!countryRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        countryDTO.setVersion(ConditionalRequestUtil.expectedVersion(ifMatch, countryDTO.getVersion(), ENTITY_NAME));
+        if (countryDTO.getVersion() == null) {
+            throw new BadRequestAlertException("Invalid version", ENTITY_NAME, "versionnull");
         }
 
-        countryDTO = countryService.update(countryDTO);
+        CountryDTO result = ConditionalRequestUtil.conditionalUpdate(
+            ifMatch,
+            () -> countryService.update(countryDTO),
+            ENTITY_NAME
+        ).orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
         return ResponseEntity.ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, countryDTO.getId().toString()))
-            .body(countryDTO);
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
+            .eTag(ConditionalRequestUtil.eTag(result.getVersion()))
+            .body(result);
     }
 
     /**
      * {@code PATCH  /countries/:id} : Partial updates given fields of an existing country, field will ignore if it is null
      *
      * @param id the id of the countryDTO to save.
+     * @param ifMatch the entity tags the current countryDTO must match, if any.
      * @param countryDTO the countryDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated countryDTO,
      * or with status {@code 400 (Bad Request)} if the countryDTO is not valid,
      * or with status {@code 404 (Not Found)} if the countryDTO is not found,
+     * or with status {@code 409 (Conflict)} if the countryDTO was updated since its version was read,
+     * or with status {@code 412 (Precondition Failed)} if the countryDTO does not match {@code ifMatch},
      * or with status {@code 500 (Internal Server Error)} if the countryDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<CountryDTO> partialUpdateCountry(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @RequestBody CountryDTO countryDTO
     ) throws URISyntaxException {
         log.debug("REST request to partial update Country partially : {}, {}", id, countryDTO);
@@ -126,35 +157,64 @@ public class CountryResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!countryRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Optional<CountryDTO> result = countryService.partialUpdate(countryDTO);
+        countryDTO.setVersion(ConditionalRequestUtil.expectedVersion(ifMatch, countryDTO.getVersion(), ENTITY_NAME));
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, countryDTO.getId().toString())
-        );
+        CountryDTO result = ConditionalRequestUtil.conditionalUpdate(
+            ifMatch,
+            () -> countryService.partialUpdate(countryDTO),
+            ENTITY_NAME
+        ).orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        return ResponseEntity.ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
+            .eTag(ConditionalRequestUtil.eTag(result.getVersion()))
+            .body(result);
     }
 
     /**
      * {@code GET  /countries} : get all the countries.
      *
      * @param pageable the pagination information.
+     * @param after the cursor returned by a previous call, switches to keyset pagination when present (empty for the first window).
+     * @param count how the total number of entities is computed.
      * @param criteria the criteria which the requested entities should match.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of countries in body.
      */
     @GetMapping("")
     public ResponseEntity<List<CountryDTO>> getAllCountries(
         CountryCriteria criteria,
+        @RequestParam(name = CursorPaginationUtil.CURSOR_PARAMETER, required = false) String after,
+        @RequestParam(name = "count", required = false, defaultValue = "EXACT") CountMode count,
         @org.springdoc.core.annotations.ParameterObject Pageable pageable
     ) {
         log.debug("REST request to get Countries by criteria: {}", criteria);
 
-        Page<CountryDTO> page = countryQueryService.findByCriteria(criteria, pageable);
+        if (after != null) {
+            KeysetScrollPosition position = CursorPaginationUtil.decodeCursor(after, Country.class, pageable.getSort(), ENTITY_NAME);
+            Window<CountryDTO> window = countryQueryService.findByCriteria(criteria, position, pageable);
+            HttpHeaders headers = CursorPaginationUtil.generateCursorHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), window);
+            return ResponseEntity.ok()
+                .headers(headers)
+                .eTag(ConditionalRequestUtil.eTag(window.getContent(), CountryDTO::getId, CountryDTO::getVersion))
+                .body(window.getContent());
+        }
+
+        if (count == CountMode.NONE) {
+            Slice<CountryDTO> slice = countryQueryService.findSliceByCriteria(criteria, pageable);
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok()
+                .headers(headers)
+                .eTag(ConditionalRequestUtil.eTag(slice.getContent(), CountryDTO::getId, CountryDTO::getVersion))
+                .body(slice.getContent());
+        }
+
+        Page<CountryDTO> page = count == CountMode.ESTIMATED
+            ? countryQueryService.findByCriteriaWithEstimatedCount(criteria, pageable)
+            : countryQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        return ResponseEntity.ok()
+            .headers(headers)
+            .eTag(ConditionalRequestUtil.eTag(page.getContent(), CountryDTO::getId, CountryDTO::getVersion))
+            .body(page.getContent());
     }
 
     /**
@@ -169,17 +229,40 @@ public class CountryResource {
         return ResponseEntity.ok().body(countryQueryService.countByCriteria(criteria));
     }
 
+    /**
+     * {@code GET  /countries/export} : export all the countries.
+     * <p>
+     * The countries are streamed from the database as they are written, so there is no limit on their number.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @param format the format of the export.
+     * @param sort the sort of the countries, by id when unsorted.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the countries in body.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCountries(
+        CountryCriteria criteria,
+        @RequestParam(name = "format", required = false, defaultValue = "NDJSON") ExportFormat format,
+        Sort sort
+    ) {
+        log.debug("REST request to export Countries by criteria: {}", criteria);
+        return ExportUtil.exportResponse("countries", format, objectMapper, CountryDTO.class, consumer ->
+            countryQueryService.exportByCriteria(criteria, sort, consumer)
+        );
+    }
+
     /**
      * {@code GET  /countries/:id} : get the "id" country.
      *
      * @param id the id of the countryDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the countryDTO, or with status {@code 404 (Not Found)}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the countryDTO, or with status {@code 404 (Not Found)},
+     * or with status {@code 304 (Not Modified)} if it matches the {@code If-None-Match} header.
      */
     @GetMapping("/{id}")
     public ResponseEntity<CountryDTO> getCountry(@PathVariable("id") Long id) {
         log.debug("REST request to get Country : {}", id);
         Optional<CountryDTO> countryDTO = countryService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(countryDTO);
+        return ConditionalRequestUtil.wrapOrNotFound(countryDTO, CountryDTO::getVersion);
     }
 
     /**
@@ -196,4 +279,52 @@ public class CountryResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * {@code POST  /countries/bulk} : Create new countries in bulk.
+     *
+     * @param body the countryDTOs to create, as a JSON array or as newline delimited JSON.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each countryDTO,
+     * or with status {@code 400 (Bad Request)} if the body is not JSON.
+     * @throws IOException if the body cannot be read.
+     */
+    @PostMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<List<BulkItemResultDTO>> createCountries(InputStream body) throws IOException {
+        log.debug("REST request to save Countries in bulk");
+        Iterator<CountryDTO> countryDTOs = BulkRequestUtil.readValues(body, CountryDTO.class, objectMapper, ENTITY_NAME);
+        return ResponseEntity.ok().body(countryService.saveAll(countryDTOs));
+    }
+
+    /**
+     * {@code PATCH  /countries/bulk} : Partial updates given fields of existing countries in bulk, field will ignore if it is null
+     *
+     * @param body the countryDTOs to update, as a JSON array or as newline delimited JSON.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each countryDTO,
+     * or with status {@code 400 (Bad Request)} if the body is not JSON.
+     * @throws IOException if the body cannot be read.
+     */
+    @PatchMapping(
+        value = "/bulk",
+        consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE, "application/merge-patch+json" }
+    )
+    public ResponseEntity<List<BulkItemResultDTO>> partialUpdateCountries(InputStream body) throws IOException {
+        log.debug("REST request to partial update Countries in bulk");
+        Iterator<CountryDTO> countryDTOs = BulkRequestUtil.readValues(body, CountryDTO.class, objectMapper, ENTITY_NAME);
+        return ResponseEntity.ok().body(countryService.partialUpdateAll(countryDTOs));
+    }
+
+    /**
+     * {@code DELETE  /countries/bulk} : delete countries in bulk.
+     *
+     * @param body the ids of the countryDTOs to delete, as a JSON array or as newline delimited JSON.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each id,
+     * or with status {@code 400 (Bad Request)} if the body is not JSON.
+     * @throws IOException if the body cannot be read.
+     */
+    @DeleteMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<List<BulkItemResultDTO>> deleteCountries(InputStream body) throws IOException {
+        log.debug("REST request to delete Countries in bulk");
+        Iterator<Long> ids = BulkRequestUtil.readValues(body, Long.class, objectMapper, ENTITY_NAME);
+        return ResponseEntity.ok().body(countryService.deleteAll(ids));
+    }
 }
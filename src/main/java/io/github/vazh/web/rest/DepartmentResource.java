@@ -1,30 +1,47 @@
 package io.github.vazh.web.rest;
 
-import io.github.vazh.repository.DepartmentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.vazh.domain.Department;
 import io.github.vazh.service.DepartmentQueryService;
 import io.github.vazh.service.DepartmentService;
 import io.github.vazh.service.criteria.DepartmentCriteria;
+import io.github.vazh.service.dto.BulkItemResultDTO;
 import io.github.vazh.service.dto.DepartmentDTO;
 import io.github.vazh.web.rest.errors.BadRequestAlertException;
+import io.github.vazh.web.util.BulkRequestUtil;
+import io.github.vazh.web.util.ConditionalRequestUtil;
+import io.github.vazh.web.util.CountMode;
+import io.github.vazh.web.util.CursorPaginationUtil;
+import io.github.vazh.web.util.ExportFormat;
+import io.github.vazh.web.util.ExportUtil;
+import io.github.vazh.web.util.SlicePaginationUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
-import tech.jhipster.web.util.ResponseUtil;
 
 /**
  * REST controller for managing {@link io.github.vazh.domain.Department}.
@@ -42,18 +59,18 @@ public class DepartmentResource {
 
     private final DepartmentService departmentService;
 
-    private final DepartmentRepository departmentRepository;
-
     private final DepartmentQueryService departmentQueryService;
 
+    private final ObjectMapper objectMapper;
+
     public DepartmentResource(
         DepartmentService departmentService,
-        DepartmentRepository departmentRepository,
-        DepartmentQueryService departmentQueryService
+        DepartmentQueryService departmentQueryService,
+        ObjectMapper objectMapper
     ) {
         this.departmentService = departmentService;
-        this.departmentRepository = departmentRepository;
         this.departmentQueryService = departmentQueryService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -79,15 +96,19 @@ public class DepartmentResource {
      * {@code PUT  /departments/:id} : Updates an existing department.
      *
      * @param id the id of the departmentDTO to save.
+     * @param ifMatch the entity tags the current departmentDTO must match, if any.
      * @param departmentDTO the departmentDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated departmentDTO,
      * or with status {@code 400 (Bad Request)} if the departmentDTO is not valid,
+     * or with status {@code 409 (Conflict)} if the departmentDTO was updated since its version was read,
+     * or with status {@code 412 (Precondition Failed)} if the departmentDTO does not match {@code ifMatch},
      * or with status {@code 500 (Internal Server Error)} if the departmentDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
     public ResponseEntity<DepartmentDTO> updateDepartment(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Valid @RequestBody DepartmentDTO departmentDTO
     ) throws URISyntaxException {
         log.debug("REST request to update Department : {}, {}", id, departmentDTO);
@@ -98,30 +119,40 @@ public class DepartmentResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!departmentRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        departmentDTO.setVersion(ConditionalRequestUtil.expectedVersion(ifMatch, departmentDTO.getVersion(), ENTITY_NAME));
+        if (departmentDTO.getVersion() == null) {
+            throw new BadRequestAlertException("Invalid version", ENTITY_NAME, "versionnull");
         }
 
-        departmentDTO = departmentService.update(departmentDTO);
+        DepartmentDTO result = ConditionalRequestUtil.conditionalUpdate(
+            ifMatch,
+            () -> departmentService.update(departmentDTO),
+            ENTITY_NAME
+        ).orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
         return ResponseEntity.ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, departmentDTO.getId().toString()))
-            .body(departmentDTO);
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
+            .eTag(ConditionalRequestUtil.eTag(result.getVersion()))
+            .body(result);
     }
 
     /**
      * {@code PATCH  /departments/:id} : Partial updates given fields of an existing department, field will ignore if it is null
      *
      * @param id the id of the departmentDTO to save.
+     * @param ifMatch the entity tags the current departmentDTO must match, if any.
      * @param departmentDTO the departmentDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated departmentDTO,
      * or with status {@code 400 (Bad Request)} if the departmentDTO is not valid,
      * or with status {@code 404 (Not Found)} if the departmentDTO is not found,
+     * or with status {@code 409 (Conflict)} if the departmentDTO was updated since its version was read,
+     * or with status {@code 412 (Precondition Failed)} if the departmentDTO does not match {@code ifMatch},
      * or with status {@code 500 (Internal Server Error)} if the departmentDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<DepartmentDTO> partialUpdateDepartment(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @NotNull @RequestBody DepartmentDTO departmentDTO
     ) throws URISyntaxException {
         log.debug("REST request to partial update Department partially : {}, {}", id, departmentDTO);
@@ -132,35 +163,64 @@ public class DepartmentResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!departmentRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Optional<DepartmentDTO> result = departmentService.partialUpdate(departmentDTO);
+        departmentDTO.setVersion(ConditionalRequestUtil.expectedVersion(ifMatch, departmentDTO.getVersion(), ENTITY_NAME));
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, departmentDTO.getId().toString())
-        );
+        DepartmentDTO result = ConditionalRequestUtil.conditionalUpdate(
+            ifMatch,
+            () -> departmentService.partialUpdate(departmentDTO),
+            ENTITY_NAME
+        ).orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        return ResponseEntity.ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
+            .eTag(ConditionalRequestUtil.eTag(result.getVersion()))
+            .body(result);
     }
 
     /**
      * {@code GET  /departments} : get all the departments.
      *
      * @param pageable the pagination information.
+     * @param after the cursor returned by a previous call, switches to keyset pagination when present (empty for the first window).
+     * @param count how the total number of entities is computed.
      * @param criteria the criteria which the requested entities should match.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of departments in body.
      */
     @GetMapping("")
     public ResponseEntity<List<DepartmentDTO>> getAllDepartments(
         DepartmentCriteria criteria,
+        @RequestParam(name = CursorPaginationUtil.CURSOR_PARAMETER, required = false) String after,
+        @RequestParam(name = "count", required = false, defaultValue = "EXACT") CountMode count,
         @org.springdoc.core.annotations.ParameterObject Pageable pageable
     ) {
         log.debug("REST request to get Departments by criteria: {}", criteria);
 
-        Page<DepartmentDTO> page = departmentQueryService.findByCriteria(criteria, pageable);
+        if (after != null) {
+            KeysetScrollPosition position = CursorPaginationUtil.decodeCursor(after, Department.class, pageable.getSort(), ENTITY_NAME);
+            Window<DepartmentDTO> window = departmentQueryService.findByCriteria(criteria, position, pageable);
+            HttpHeaders headers = CursorPaginationUtil.generateCursorHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), window);
+            return ResponseEntity.ok()
+                .headers(headers)
+                .eTag(ConditionalRequestUtil.eTag(window.getContent(), DepartmentDTO::getId, DepartmentDTO::getVersion))
+                .body(window.getContent());
+        }
+
+        if (count == CountMode.NONE) {
+            Slice<DepartmentDTO> slice = departmentQueryService.findSliceByCriteria(criteria, pageable);
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok()
+                .headers(headers)
+                .eTag(ConditionalRequestUtil.eTag(slice.getContent(), DepartmentDTO::getId, DepartmentDTO::getVersion))
+                .body(slice.getContent());
+        }
+
+        Page<DepartmentDTO> page = count == CountMode.ESTIMATED
+            ? departmentQueryService.findByCriteriaWithEstimatedCount(criteria, pageable)
+            : departmentQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        return ResponseEntity.ok()
+            .headers(headers)
+            .eTag(ConditionalRequestUtil.eTag(page.getContent(), DepartmentDTO::getId, DepartmentDTO::getVersion))
+            .body(page.getContent());
     }
 
     /**
@@ -175,17 +235,40 @@ public class DepartmentResource {
         return ResponseEntity.ok().body(departmentQueryService.countByCriteria(criteria));
     }
 
+    /**
+     * {@code GET  /departments/export} : export all the departments.
+     * <p>
+     * The departments are streamed from the database as they are written, so there is no limit on their number.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @param format the format of the export.
+     * @param sort the sort of the departments, by id when unsorted.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the departments in body.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportDepartments(
+        DepartmentCriteria criteria,
+        @RequestParam(name = "format", required = false, defaultValue = "NDJSON") ExportFormat format,
+        Sort sort
+    ) {
+        log.debug("REST request to export Departments by criteria: {}", criteria);
+        return ExportUtil.exportResponse("departments", format, objectMapper, DepartmentDTO.class, consumer ->
+            departmentQueryService.exportByCriteria(criteria, sort, consumer)
+        );
+    }
+
     /**
      * {@code GET  /departments/:id} : get the "id" department.
      *
      * @param id the id of the departmentDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the departmentDTO, or with status {@code 404 (Not Found)}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the departmentDTO, or with status {@code 404 (Not Found)},
+     * or with status {@code 304 (Not Modified)} if it matches the {@code If-None-Match} header.
      */
     @GetMapping("/{id}")
     public ResponseEntity<DepartmentDTO> getDepartment(@PathVariable("id") Long id) {
         log.debug("REST request to get Department : {}", id);
         Optional<DepartmentDTO> departmentDTO = departmentService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(departmentDTO);
+        return ConditionalRequestUtil.wrapOrNotFound(departmentDTO, DepartmentDTO::getVersion);
     }
 
     /**
@@ -202,4 +285,52 @@ public class DepartmentResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * {@code POST  /departments/bulk} : Create new departments in bulk.
+     *
+     * @param body the departmentDTOs to create, as a JSON array or as newline delimited JSON.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each departmentDTO,
+     * or with status {@code 400 (Bad Request)} if the body is not JSON.
+     * @throws IOException if the body cannot be read.
+     */
+    @PostMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<List<BulkItemResultDTO>> createDepartments(InputStream body) throws IOException {
+        log.debug("REST request to save Departments in bulk");
+        Iterator<DepartmentDTO> departmentDTOs = BulkRequestUtil.readValues(body, DepartmentDTO.class, objectMapper, ENTITY_NAME);
+        return ResponseEntity.ok().body(departmentService.saveAll(departmentDTOs));
+    }
+
+    /**
+     * {@code PATCH  /departments/bulk} : Partial updates given fields of existing departments in bulk, field will ignore if it is null
+     *
+     * @param body the departmentDTOs to update, as a JSON array or as newline delimited JSON.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each departmentDTO,
+     * or with status {@code 400 (Bad Request)} if the body is not JSON.
+     * @throws IOException if the body cannot be read.
+     */
+    @PatchMapping(
+        value = "/bulk",
+        consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE, "application/merge-patch+json" }
+    )
+    public ResponseEntity<List<BulkItemResultDTO>> partialUpdateDepartments(InputStream body) throws IOException {
+        log.debug("REST request to partial update Departments in bulk");
+        Iterator<DepartmentDTO> departmentDTOs = BulkRequestUtil.readValues(body, DepartmentDTO.class, objectMapper, ENTITY_NAME);
+        return ResponseEntity.ok().body(departmentService.partialUpdateAll(departmentDTOs));
+    }
+
+    /**
+     * {@code DELETE  /departments/bulk} : delete departments in bulk.
+     *
+     * @param body the ids of the departmentDTOs to delete, as a JSON array or as newline delimited JSON.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each id,
+     * or with status {@code 400 (Bad Request)} if the body is not JSON.
+     * @throws IOException if the body cannot be read.
+     */
+    @DeleteMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<List<BulkItemResultDTO>> deleteDepartments(InputStream body) throws IOException {
+        log.debug("REST request to delete Departments in bulk");
+        Iterator<Long> ids = BulkRequestUtil.readValues(body, Long.class, objectMapper, ENTITY_NAME);
+        return ResponseEntity.ok().body(departmentService.deleteAll(ids));
+    }
 }
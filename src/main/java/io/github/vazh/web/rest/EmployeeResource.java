@@ -1,24 +1,46 @@
 package io.github.vazh.web.rest;
 
-import io.github.vazh.repository.EmployeeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.vazh.domain.Employee;
+import io.github.vazh.service.EmployeeHierarchyService;
 import io.github.vazh.service.EmployeeQueryService;
 import io.github.vazh.service.EmployeeService;
 import io.github.vazh.service.criteria.EmployeeCriteria;
+import io.github.vazh.service.dto.BulkItemResultDTO;
 import io.github.vazh.service.dto.EmployeeDTO;
+import io.github.vazh.service.dto.EmployeeNodeDTO;
 import io.github.vazh.web.rest.errors.BadRequestAlertException;
+import io.github.vazh.web.util.BulkRequestUtil;
+import io.github.vazh.web.util.ConditionalRequestUtil;
+import io.github.vazh.web.util.CountMode;
+import io.github.vazh.web.util.CursorPaginationUtil;
+import io.github.vazh.web.util.ExportFormat;
+import io.github.vazh.web.util.ExportUtil;
+import io.github.vazh.web.util.SlicePaginationUtil;
+import io.github.vazh.web.util.SparseFieldsetUtil;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -40,18 +62,22 @@ public class EmployeeResource {
 
     private final EmployeeService employeeService;
 
-    private final EmployeeRepository employeeRepository;
-
     private final EmployeeQueryService employeeQueryService;
 
+    private final EmployeeHierarchyService employeeHierarchyService;
+
+    private final ObjectMapper objectMapper;
+
     public EmployeeResource(
         EmployeeService employeeService,
-        EmployeeRepository employeeRepository,
-        EmployeeQueryService employeeQueryService
+        EmployeeQueryService employeeQueryService,
+        EmployeeHierarchyService employeeHierarchyService,
+        ObjectMapper objectMapper
     ) {
         this.employeeService = employeeService;
-        this.employeeRepository = employeeRepository;
         this.employeeQueryService = employeeQueryService;
+        this.employeeHierarchyService = employeeHierarchyService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -77,15 +103,19 @@ public class EmployeeResource {
      * {@code PUT  /employees/:id} : Updates an existing employee.
      *
      * @param id the id of the employeeDTO to save.
+     * @param ifMatch the entity tags the current employeeDTO must match, if any.
      * @param employeeDTO the employeeDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated employeeDTO,
      * or with status {@code 400 (Bad Request)} if the employeeDTO is not valid,
+     * or with status {@code 409 (Conflict)} if the employeeDTO was updated since its version was read,
+     * or with status {@code 412 (Precondition Failed)} if the employeeDTO does not match {@code ifMatch},
      * or with status {@code 500 (Internal Server Error)} if the employeeDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
     public ResponseEntity<EmployeeDTO> updateEmployee(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @RequestBody EmployeeDTO employeeDTO
     ) throws URISyntaxException {
         log.debug("REST request to update Employee : {}, {}", id, employeeDTO);
@@ -96,30 +126,40 @@ public class EmployeeResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!employeeRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        employeeDTO.setVersion(ConditionalRequestUtil.expectedVersion(ifMatch, employeeDTO.getVersion(), ENTITY_NAME));
+        if (employeeDTO.getVersion() == null) {
+            throw new BadRequestAlertException("Invalid version", ENTITY_NAME, "versionnull");
         }
 
-        employeeDTO = employeeService.update(employeeDTO);
+        EmployeeDTO result = ConditionalRequestUtil.conditionalUpdate(
+            ifMatch,
+            () -> employeeService.update(employeeDTO),
+            ENTITY_NAME
+        ).orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
         return ResponseEntity.ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, employeeDTO.getId().toString()))
-            .body(employeeDTO);
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
+            .eTag(ConditionalRequestUtil.eTag(result.getVersion()))
+            .body(result);
     }
 
     /**
      * {@code PATCH  /employees/:id} : Partial updates given fields of an existing employee, field will ignore if it is null
      *
      * @param id the id of the employeeDTO to save.
+     * @param ifMatch the entity tags the current employeeDTO must match, if any.
      * @param employeeDTO the employeeDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated employeeDTO,
      * or with status {@code 400 (Bad Request)} if the employeeDTO is not valid,
      * or with status {@code 404 (Not Found)} if the employeeDTO is not found,
+     * or with status {@code 409 (Conflict)} if the employeeDTO was updated since its version was read,
+     * or with status {@code 412 (Precondition Failed)} if the employeeDTO does not match {@code ifMatch},
      * or with status {@code 500 (Internal Server Error)} if the employeeDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<EmployeeDTO> partialUpdateEmployee(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @RequestBody EmployeeDTO employeeDTO
     ) throws URISyntaxException {
         log.debug("REST request to partial update Employee partially : {}, {}", id, employeeDTO);
@@ -130,35 +170,67 @@ public class EmployeeResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!employeeRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Optional<EmployeeDTO> result = employeeService.partialUpdate(employeeDTO);
+        employeeDTO.setVersion(ConditionalRequestUtil.expectedVersion(ifMatch, employeeDTO.getVersion(), ENTITY_NAME));
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, employeeDTO.getId().toString())
-        );
+        EmployeeDTO result = ConditionalRequestUtil.conditionalUpdate(
+            ifMatch,
+            () -> employeeService.partialUpdate(employeeDTO),
+            ENTITY_NAME
+        ).orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        return ResponseEntity.ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
+            .eTag(ConditionalRequestUtil.eTag(result.getVersion()))
+            .body(result);
     }
 
     /**
      * {@code GET  /employees} : get all the employees.
      *
      * @param pageable the pagination information.
+     * @param after the cursor returned by a previous call, switches to keyset pagination when present (empty for the first window).
+     * @param count how the total number of entities is computed.
+     * @param fields the properties of the employees to return, separated by commas, all of them when absent.
      * @param criteria the criteria which the requested entities should match.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of employees in body.
      */
     @GetMapping("")
     public ResponseEntity<List<EmployeeDTO>> getAllEmployees(
         EmployeeCriteria criteria,
+        @RequestParam(name = CursorPaginationUtil.CURSOR_PARAMETER, required = false) String after,
+        @RequestParam(name = "count", required = false, defaultValue = "EXACT") CountMode count,
+        @RequestParam(name = SparseFieldsetUtil.FIELDS_PARAMETER, required = false) String fields,
         @org.springdoc.core.annotations.ParameterObject Pageable pageable
     ) {
         log.debug("REST request to get Employees by criteria: {}", criteria);
+        Set<String> properties = SparseFieldsetUtil.parseFields(fields, EmployeeDTO.class, ENTITY_NAME);
+
+        if (after != null) {
+            KeysetScrollPosition position = CursorPaginationUtil.decodeCursor(after, Employee.class, pageable.getSort(), ENTITY_NAME);
+            Window<EmployeeDTO> window = employeeQueryService.findByCriteria(criteria, position, pageable, properties);
+            HttpHeaders headers = CursorPaginationUtil.generateCursorHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), window);
+            return ResponseEntity.ok()
+                .headers(headers)
+                .eTag(ConditionalRequestUtil.eTag(window.getContent(), EmployeeDTO::getId, EmployeeDTO::getVersion))
+                .body(window.getContent());
+        }
 
-        Page<EmployeeDTO> page = employeeQueryService.findByCriteria(criteria, pageable);
+        if (count == CountMode.NONE) {
+            Slice<EmployeeDTO> slice = employeeQueryService.findSliceByCriteria(criteria, pageable, properties);
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok()
+                .headers(headers)
+                .eTag(ConditionalRequestUtil.eTag(slice.getContent(), EmployeeDTO::getId, EmployeeDTO::getVersion))
+                .body(slice.getContent());
+        }
+
+        Page<EmployeeDTO> page = count == CountMode.ESTIMATED
+            ? employeeQueryService.findByCriteriaWithEstimatedCount(criteria, pageable, properties)
+            : employeeQueryService.findByCriteria(criteria, pageable, properties);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        return ResponseEntity.ok()
+            .headers(headers)
+            .eTag(ConditionalRequestUtil.eTag(page.getContent(), EmployeeDTO::getId, EmployeeDTO::getVersion))
+            .body(page.getContent());
     }
 
     /**
@@ -173,17 +245,81 @@ public class EmployeeResource {
         return ResponseEntity.ok().body(employeeQueryService.countByCriteria(criteria));
     }
 
+    /**
+     * {@code GET  /employees/export} : export all the employees.
+     * <p>
+     * The employees are streamed from the database as they are written, so there is no limit on their number.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @param format the format of the export.
+     * @param sort the sort of the employees, by id when unsorted.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the employees in body.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportEmployees(
+        EmployeeCriteria criteria,
+        @RequestParam(name = "format", required = false, defaultValue = "NDJSON") ExportFormat format,
+        Sort sort
+    ) {
+        log.debug("REST request to export Employees by criteria: {}", criteria);
+        return ExportUtil.exportResponse("employees", format, objectMapper, EmployeeDTO.class, consumer ->
+            employeeQueryService.exportByCriteria(criteria, sort, consumer)
+        );
+    }
+
     /**
      * {@code GET  /employees/:id} : get the "id" employee.
      *
      * @param id the id of the employeeDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the employeeDTO, or with status {@code 404 (Not Found)}.
+     * @param fields the properties of the employeeDTO to return, separated by commas, all of them when absent.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the employeeDTO, or with status {@code 404 (Not Found)},
+     * or with status {@code 304 (Not Modified)} if it matches the {@code If-None-Match} header.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<EmployeeDTO> getEmployee(@PathVariable("id") Long id) {
+    public ResponseEntity<EmployeeDTO> getEmployee(
+        @PathVariable("id") Long id,
+        @RequestParam(name = SparseFieldsetUtil.FIELDS_PARAMETER, required = false) String fields
+    ) {
         log.debug("REST request to get Employee : {}", id);
+        SparseFieldsetUtil.parseFields(fields, EmployeeDTO.class, ENTITY_NAME);
         Optional<EmployeeDTO> employeeDTO = employeeService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(employeeDTO);
+        return ConditionalRequestUtil.wrapOrNotFound(employeeDTO, EmployeeDTO::getVersion);
+    }
+
+    /**
+     * {@code GET  /employees/:id/reports} : get the "id" employee and its direct and indirect reports.
+     * <p>
+     * Each employee comes with the number of its direct reports, of all its reports and with the total salary of its
+     * whole organization, itself included.
+     *
+     * @param id the id of the employeeDTO at the top of the organization.
+     * @param depth the number of levels of reports to return, all of them when absent.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the employeeDTO then its reports, ordered by depth,
+     * or with status {@code 400 (Bad Request)} if the depth is negative, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/{id}/reports")
+    public ResponseEntity<List<EmployeeNodeDTO>> getEmployeeReports(
+        @PathVariable("id") Long id,
+        @RequestParam(name = "depth", required = false) Integer depth
+    ) {
+        log.debug("REST request to get the reports of Employee : {}, depth: {}", id, depth);
+        if (depth != null && depth < 0) {
+            throw new BadRequestAlertException("Invalid depth", ENTITY_NAME, "depthinvalid");
+        }
+        return ResponseUtil.wrapOrNotFound(employeeHierarchyService.findReports(id, depth));
+    }
+
+    /**
+     * {@code GET  /employees/:id/chain} : get the "id" employee and its chain of managers.
+     *
+     * @param id the id of the employeeDTO at the bottom of the chain.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the employeeDTO then its managers, ordered by depth,
+     * or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/{id}/chain")
+    public ResponseEntity<List<EmployeeNodeDTO>> getEmployeeChain(@PathVariable("id") Long id) {
+        log.debug("REST request to get the chain of managers of Employee : {}", id);
+        return ResponseUtil.wrapOrNotFound(employeeHierarchyService.findChain(id));
     }
 
     /**
@@ -200,4 +336,52 @@ public class EmployeeResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * {@code POST  /employees/bulk} : Create new employees in bulk.
+     *
+     * @param body the employeeDTOs to create, as a JSON array or as newline delimited JSON.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each employeeDTO,
+     * or with status {@code 400 (Bad Request)} if the body is not JSON.
+     * @throws IOException if the body cannot be read.
+     */
+    @PostMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<List<BulkItemResultDTO>> createEmployees(InputStream body) throws IOException {
+        log.debug("REST request to save Employees in bulk");
+        Iterator<EmployeeDTO> employeeDTOs = BulkRequestUtil.readValues(body, EmployeeDTO.class, objectMapper, ENTITY_NAME);
+        return ResponseEntity.ok().body(employeeService.saveAll(employeeDTOs));
+    }
+
+    /**
+     * {@code PATCH  /employees/bulk} : Partial updates given fields of existing employees in bulk, field will ignore if it is null
+     *
+     * @param body the employeeDTOs to update, as a JSON array or as newline delimited JSON.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each employeeDTO,
+     * or with status {@code 400 (Bad Request)} if the body is not JSON.
+     * @throws IOException if the body cannot be read.
+     */
+    @PatchMapping(
+        value = "/bulk",
+        consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE, "application/merge-patch+json" }
+    )
+    public ResponseEntity<List<BulkItemResultDTO>> partialUpdateEmployees(InputStream body) throws IOException {
+        log.debug("REST request to partial update Employees in bulk");
+        Iterator<EmployeeDTO> employeeDTOs = BulkRequestUtil.readValues(body, EmployeeDTO.class, objectMapper, ENTITY_NAME);
+        return ResponseEntity.ok().body(employeeService.partialUpdateAll(employeeDTOs));
+    }
+
+    /**
+     * {@code DELETE  /employees/bulk} : delete employees in bulk.
+     *
+     * @param body the ids of the employeeDTOs to delete, as a JSON array or as newline delimited JSON.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each id,
+     * or with status {@code 400 (Bad Request)} if the body is not JSON.
+     * @throws IOException if the body cannot be read.
+     */
+    @DeleteMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<List<BulkItemResultDTO>> deleteEmployees(InputStream body) throws IOException {
+        log.debug("REST request to delete Employees in bulk");
+        Iterator<Long> ids = BulkRequestUtil.readValues(body, Long.class, objectMapper, ENTITY_NAME);
+        return ResponseEntity.ok().body(employeeService.deleteAll(ids));
+    }
 }
@@ -0,0 +1,78 @@
+package io.github.vazh.web.rest;
+
+import io.github.vazh.service.EmployeeViewQueryService;
+import io.github.vazh.service.criteria.EmployeeViewCriteria;
+import io.github.vazh.service.dto.EmployeeViewDTO;
+import java.util.List;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import tech.jhipster.web.util.PaginationUtil;
+import tech.jhipster.web.util.ResponseUtil;
+
+/**
+ * REST controller for reading the employee list from the {@link io.github.vazh.domain.EmployeeView} read model, each
+ * employee coming with the names of its manager and department and the title of its latest job.
+ */
+@RestController
+@RequestMapping("/api/employee-views")
+public class EmployeeViewResource {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeViewResource.class);
+
+    private final EmployeeViewQueryService employeeViewQueryService;
+
+    public EmployeeViewResource(EmployeeViewQueryService employeeViewQueryService) {
+        this.employeeViewQueryService = employeeViewQueryService;
+    }
+
+    /**
+     * {@code GET  /employee-views} : get all the employee views.
+     *
+     * @param pageable the pagination information.
+     * @param criteria the criteria which the requested entities should match.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of employee views in body.
+     */
+    @GetMapping("")
+    public ResponseEntity<List<EmployeeViewDTO>> getAllEmployeeViews(
+        EmployeeViewCriteria criteria,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        log.debug("REST request to get EmployeeViews by criteria: {}", criteria);
+
+        Page<EmployeeViewDTO> page = employeeViewQueryService.findByCriteria(criteria, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /employee-views/count} : count all the employee views.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the count in body.
+     */
+    @GetMapping("/count")
+    public ResponseEntity<Long> countEmployeeViews(EmployeeViewCriteria criteria) {
+        log.debug("REST request to count EmployeeViews by criteria: {}", criteria);
+        return ResponseEntity.ok().body(employeeViewQueryService.countByCriteria(criteria));
+    }
+
+    /**
+     * {@code GET  /employee-views/:id} : get the view of the "id" employee.
+     *
+     * @param id the id of the employee.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the employeeViewDTO, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<EmployeeViewDTO> getEmployeeView(@PathVariable("id") Long id) {
+        log.debug("REST request to get EmployeeView : {}", id);
+        Optional<EmployeeViewDTO> employeeViewDTO = employeeViewQueryService.findOne(id);
+        return ResponseUtil.wrapOrNotFound(employeeViewDTO);
+    }
+}
@@ -1,28 +1,45 @@
 package io.github.vazh.web.rest;
 
-import io.github.vazh.repository.JobHistoryRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.vazh.domain.JobHistory;
 import io.github.vazh.service.JobHistoryQueryService;
 import io.github.vazh.service.JobHistoryService;
 import io.github.vazh.service.criteria.JobHistoryCriteria;
+import io.github.vazh.service.dto.BulkItemResultDTO;
 import io.github.vazh.service.dto.JobHistoryDTO;
 import io.github.vazh.web.rest.errors.BadRequestAlertException;
+import io.github.vazh.web.util.BulkRequestUtil;
+import io.github.vazh.web.util.ConditionalRequestUtil;
+import io.github.vazh.web.util.CountMode;
+import io.github.vazh.web.util.CursorPaginationUtil;
+import io.github.vazh.web.util.ExportFormat;
+import io.github.vazh.web.util.ExportUtil;
+import io.github.vazh.web.util.SlicePaginationUtil;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
-import tech.jhipster.web.util.ResponseUtil;
 
 /**
  * REST controller for managing {@link io.github.vazh.domain.JobHistory}.
@@ -40,18 +57,18 @@ public class JobHistoryResource {
 
     private final JobHistoryService jobHistoryService;
 
-    private final JobHistoryRepository jobHistoryRepository;
-
     private final JobHistoryQueryService jobHistoryQueryService;
 
+    private final ObjectMapper objectMapper;
+
     public JobHistoryResource(
         JobHistoryService jobHistoryService,
-        JobHistoryRepository jobHistoryRepository,
-        JobHistoryQueryService jobHistoryQueryService
+        JobHistoryQueryService jobHistoryQueryService,
+        ObjectMapper objectMapper
     ) {
         this.jobHistoryService = jobHistoryService;
-        this.jobHistoryRepository = jobHistoryRepository;
         this.jobHistoryQueryService = jobHistoryQueryService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -77,15 +94,19 @@ public class JobHistoryResource {
      * {@code PUT  /job-histories/:id} : Updates an existing jobHistory.
      *
      * @param id the id of the jobHistoryDTO to save.
+     * @param ifMatch the entity tags the current jobHistoryDTO must match, if any.
      * @param jobHistoryDTO the jobHistoryDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated jobHistoryDTO,
      * or with status {@code 400 (Bad Request)} if the jobHistoryDTO is not valid,
+     * or with status {@code 409 (Conflict)} if the jobHistoryDTO was updated since its version was read,
+     * or with status {@code 412 (Precondition Failed)} if the jobHistoryDTO does not match {@code ifMatch},
      * or with status {@code 500 (Internal Server Error)} if the jobHistoryDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
     public ResponseEntity<JobHistoryDTO> updateJobHistory(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @RequestBody JobHistoryDTO jobHistoryDTO
     ) throws URISyntaxException {
         log.debug("REST request to update JobHistory : {}, {}", id, jobHistoryDTO);
@@ -96,30 +117,40 @@ public class JobHistoryResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!jobHistoryRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        jobHistoryDTO.setVersion(ConditionalRequestUtil.expectedVersion(ifMatch, jobHistoryDTO.getVersion(), ENTITY_NAME));
+        if (jobHistoryDTO.getVersion() == null) {
+            throw new BadRequestAlertException("Invalid version", ENTITY_NAME, "versionnull");
         }
 
-        jobHistoryDTO = jobHistoryService.update(jobHistoryDTO);
+        JobHistoryDTO result = ConditionalRequestUtil.conditionalUpdate(
+            ifMatch,
+            () -> jobHistoryService.update(jobHistoryDTO),
+            ENTITY_NAME
+        ).orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
         return ResponseEntity.ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, jobHistoryDTO.getId().toString()))
-            .body(jobHistoryDTO);
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
+            .eTag(ConditionalRequestUtil.eTag(result.getVersion()))
+            .body(result);
     }
 
     /**
      * {@code PATCH  /job-histories/:id} : Partial updates given fields of an existing jobHistory, field will ignore if it is null
      *
      * @param id the id of the jobHistoryDTO to save.
+     * @param ifMatch the entity tags the current jobHistoryDTO must match, if any.
      * @param jobHistoryDTO the jobHistoryDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated jobHistoryDTO,
      * or with status {@code 400 (Bad Request)} if the jobHistoryDTO is not valid,
      * or with status {@code 404 (Not Found)} if the jobHistoryDTO is not found,
+     * or with status {@code 409 (Conflict)} if the jobHistoryDTO was updated since its version was read,
+     * or with status {@code 412 (Precondition Failed)} if the jobHistoryDTO does not match {@code ifMatch},
      * or with status {@code 500 (Internal Server Error)} if the jobHistoryDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<JobHistoryDTO> partialUpdateJobHistory(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @RequestBody JobHistoryDTO jobHistoryDTO
     ) throws URISyntaxException {
         log.debug("REST request to partial update JobHistory partially : {}, {}", id, jobHistoryDTO);
@@ -130,35 +161,64 @@ public class JobHistoryResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!jobHistoryRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Optional<JobHistoryDTO> result = jobHistoryService.partialUpdate(jobHistoryDTO);
+        jobHistoryDTO.setVersion(ConditionalRequestUtil.expectedVersion(ifMatch, jobHistoryDTO.getVersion(), ENTITY_NAME));
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, jobHistoryDTO.getId().toString())
-        );
+        JobHistoryDTO result = ConditionalRequestUtil.conditionalUpdate(
+            ifMatch,
+            () -> jobHistoryService.partialUpdate(jobHistoryDTO),
+            ENTITY_NAME
+        ).orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        return ResponseEntity.ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
+            .eTag(ConditionalRequestUtil.eTag(result.getVersion()))
+            .body(result);
     }
 
     /**
      * {@code GET  /job-histories} : get all the jobHistories.
      *
      * @param pageable the pagination information.
+     * @param after the cursor returned by a previous call, switches to keyset pagination when present (empty for the first window).
+     * @param count how the total number of entities is computed.
      * @param criteria the criteria which the requested entities should match.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of jobHistories in body.
      */
     @GetMapping("")
     public ResponseEntity<List<JobHistoryDTO>> getAllJobHistories(
         JobHistoryCriteria criteria,
+        @RequestParam(name = CursorPaginationUtil.CURSOR_PARAMETER, required = false) String after,
+        @RequestParam(name = "count", required = false, defaultValue = "EXACT") CountMode count,
         @org.springdoc.core.annotations.ParameterObject Pageable pageable
     ) {
         log.debug("REST request to get JobHistories by criteria: {}", criteria);
 
-        Page<JobHistoryDTO> page = jobHistoryQueryService.findByCriteria(criteria, pageable);
+        if (after != null) {
+            KeysetScrollPosition position = CursorPaginationUtil.decodeCursor(after, JobHistory.class, pageable.getSort(), ENTITY_NAME);
+            Window<JobHistoryDTO> window = jobHistoryQueryService.findByCriteria(criteria, position, pageable);
+            HttpHeaders headers = CursorPaginationUtil.generateCursorHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), window);
+            return ResponseEntity.ok()
+                .headers(headers)
+                .eTag(ConditionalRequestUtil.eTag(window.getContent(), JobHistoryDTO::getId, JobHistoryDTO::getVersion))
+                .body(window.getContent());
+        }
+
+        if (count == CountMode.NONE) {
+            Slice<JobHistoryDTO> slice = jobHistoryQueryService.findSliceByCriteria(criteria, pageable);
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok()
+                .headers(headers)
+                .eTag(ConditionalRequestUtil.eTag(slice.getContent(), JobHistoryDTO::getId, JobHistoryDTO::getVersion))
+                .body(slice.getContent());
+        }
+
+        Page<JobHistoryDTO> page = count == CountMode.ESTIMATED
+            ? jobHistoryQueryService.findByCriteriaWithEstimatedCount(criteria, pageable)
+            : jobHistoryQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        return ResponseEntity.ok()
+            .headers(headers)
+            .eTag(ConditionalRequestUtil.eTag(page.getContent(), JobHistoryDTO::getId, JobHistoryDTO::getVersion))
+            .body(page.getContent());
     }
 
     /**
@@ -173,17 +233,40 @@ public class JobHistoryResource {
         return ResponseEntity.ok().body(jobHistoryQueryService.countByCriteria(criteria));
     }
 
+    /**
+     * {@code GET  /job-histories/export} : export all the job histories.
+     * <p>
+     * The job histories are streamed from the database as they are written, so there is no limit on their number.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @param format the format of the export.
+     * @param sort the sort of the job histories, by id when unsorted.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the job histories in body.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportJobHistories(
+        JobHistoryCriteria criteria,
+        @RequestParam(name = "format", required = false, defaultValue = "NDJSON") ExportFormat format,
+        Sort sort
+    ) {
+        log.debug("REST request to export JobHistories by criteria: {}", criteria);
+        return ExportUtil.exportResponse("job-histories", format, objectMapper, JobHistoryDTO.class, consumer ->
+            jobHistoryQueryService.exportByCriteria(criteria, sort, consumer)
+        );
+    }
+
     /**
      * {@code GET  /job-histories/:id} : get the "id" jobHistory.
      *
      * @param id the id of the jobHistoryDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the jobHistoryDTO, or with status {@code 404 (Not Found)}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the jobHistoryDTO, or with status {@code 404 (Not Found)},
+     * or with status {@code 304 (Not Modified)} if it matches the {@code If-None-Match} header.
      */
     @GetMapping("/{id}")
     public ResponseEntity<JobHistoryDTO> getJobHistory(@PathVariable("id") Long id) {
         log.debug("REST request to get JobHistory : {}", id);
         Optional<JobHistoryDTO> jobHistoryDTO = jobHistoryService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(jobHistoryDTO);
+        return ConditionalRequestUtil.wrapOrNotFound(jobHistoryDTO, JobHistoryDTO::getVersion);
     }
 
     /**
@@ -200,4 +283,52 @@ public class JobHistoryResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * {@code POST  /job-histories/bulk} : Create new job histories in bulk.
+     *
+     * @param body the jobHistoryDTOs to create, as a JSON array or as newline delimited JSON.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each jobHistoryDTO,
+     * or with status {@code 400 (Bad Request)} if the body is not JSON.
+     * @throws IOException if the body cannot be read.
+     */
+    @PostMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<List<BulkItemResultDTO>> createJobHistories(InputStream body) throws IOException {
+        log.debug("REST request to save JobHistories in bulk");
+        Iterator<JobHistoryDTO> jobHistoryDTOs = BulkRequestUtil.readValues(body, JobHistoryDTO.class, objectMapper, ENTITY_NAME);
+        return ResponseEntity.ok().body(jobHistoryService.saveAll(jobHistoryDTOs));
+    }
+
+    /**
+     * {@code PATCH  /job-histories/bulk} : Partial updates given fields of existing job histories in bulk, field will ignore if it is null
+     *
+     * @param body the jobHistoryDTOs to update, as a JSON array or as newline delimited JSON.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each jobHistoryDTO,
+     * or with status {@code 400 (Bad Request)} if the body is not JSON.
+     * @throws IOException if the body cannot be read.
+     */
+    @PatchMapping(
+        value = "/bulk",
+        consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE, "application/merge-patch+json" }
+    )
+    public ResponseEntity<List<BulkItemResultDTO>> partialUpdateJobHistories(InputStream body) throws IOException {
+        log.debug("REST request to partial update JobHistories in bulk");
+        Iterator<JobHistoryDTO> jobHistoryDTOs = BulkRequestUtil.readValues(body, JobHistoryDTO.class, objectMapper, ENTITY_NAME);
+        return ResponseEntity.ok().body(jobHistoryService.partialUpdateAll(jobHistoryDTOs));
+    }
+
+    /**
+     * {@code DELETE  /job-histories/bulk} : delete job histories in bulk.
+     *
+     * @param body the ids of the jobHistoryDTOs to delete, as a JSON array or as newline delimited JSON.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each id,
+     * or with status {@code 400 (Bad Request)} if the body is not JSON.
+     * @throws IOException if the body cannot be read.
+     */
+    @DeleteMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<List<BulkItemResultDTO>> deleteJobHistories(InputStream body) throws IOException {
+        log.debug("REST request to delete JobHistories in bulk");
+        Iterator<Long> ids = BulkRequestUtil.readValues(body, Long.class, objectMapper, ENTITY_NAME);
+        return ResponseEntity.ok().body(jobHistoryService.deleteAll(ids));
+    }
 }
@@ -1,28 +1,47 @@
 package io.github.vazh.web.rest;
 
-import io.github.vazh.repository.JobRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.vazh.domain.Job;
 import io.github.vazh.service.JobQueryService;
 import io.github.vazh.service.JobService;
 import io.github.vazh.service.criteria.JobCriteria;
+import io.github.vazh.service.dto.BulkItemResultDTO;
 import io.github.vazh.service.dto.JobDTO;
 import io.github.vazh.web.rest.errors.BadRequestAlertException;
+import io.github.vazh.web.util.BulkRequestUtil;
+import io.github.vazh.web.util.ConditionalRequestUtil;
+import io.github.vazh.web.util.CountMode;
+import io.github.vazh.web.util.CursorPaginationUtil;
+import io.github.vazh.web.util.ExportFormat;
+import io.github.vazh.web.util.ExportUtil;
+import io.github.vazh.web.util.SlicePaginationUtil;
+import io.github.vazh.web.util.SparseFieldsetUtil;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
-import tech.jhipster.web.util.ResponseUtil;
 
 /**
  * REST controller for managing {@link io.github.vazh.domain.Job}.
@@ -40,14 +59,14 @@ public class JobResource {
 
     private final JobService jobService;
 
-    private final JobRepository jobRepository;
-
     private final JobQueryService jobQueryService;
 
-    public JobResource(JobService jobService, JobRepository jobRepository, JobQueryService jobQueryService) {
+    private final ObjectMapper objectMapper;
+
+    public JobResource(JobService jobService, JobQueryService jobQueryService, ObjectMapper objectMapper) {
         this.jobService = jobService;
-        this.jobRepository = jobRepository;
         this.jobQueryService = jobQueryService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -73,15 +92,21 @@ public class JobResource {
      * {@code PUT  /jobs/:id} : Updates an existing job.
      *
      * @param id the id of the jobDTO to save.
+     * @param ifMatch the entity tags the current jobDTO must match, if any.
      * @param jobDTO the jobDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated jobDTO,
      * or with status {@code 400 (Bad Request)} if the jobDTO is not valid,
+     * or with status {@code 409 (Conflict)} if the jobDTO was updated since its version was read,
+     * or with status {@code 412 (Precondition Failed)} if the jobDTO does not match {@code ifMatch},
      * or with status {@code 500 (Internal Server Error)} if the jobDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<JobDTO> updateJob(@PathVariable(value = "id", required = false) final Long id, @RequestBody JobDTO jobDTO)
-        throws URISyntaxException {
+    public ResponseEntity<JobDTO> updateJob(
+        @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @RequestBody JobDTO jobDTO
+    ) throws URISyntaxException {
         log.debug("REST request to update Job : {}, {}", id, jobDTO);
         if (jobDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
@@ -90,30 +115,42 @@ public class JobResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!jobRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        if (jobDTO.getVersion() == null) {
+            throw new BadRequestAlertException("Invalid version", ENTITY_NAME, "versionnull");
         }
+        ConditionalRequestUtil.checkIfMatch(ifMatch, () -> jobService.findOne(id), objectMapper, ENTITY_NAME);
 
-        jobDTO = jobService.update(jobDTO);
+        JobDTO result = ConditionalRequestUtil.conditionalUpdate(
+            ifMatch,
+            () -> jobService.update(jobDTO),
+            ENTITY_NAME
+        ).orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
         return ResponseEntity.ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, jobDTO.getId().toString()))
-            .body(jobDTO);
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
+            .eTag(ConditionalRequestUtil.eTag(objectMapper, result))
+            .body(result);
     }
 
     /**
      * {@code PATCH  /jobs/:id} : Partial updates given fields of an existing job, field will ignore if it is null
      *
      * @param id the id of the jobDTO to save.
+     * @param ifMatch the entity tags the current jobDTO must match, if any.
      * @param jobDTO the jobDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated jobDTO,
      * or with status {@code 400 (Bad Request)} if the jobDTO is not valid,
      * or with status {@code 404 (Not Found)} if the jobDTO is not found,
+     * or with status {@code 409 (Conflict)} if the jobDTO was updated since its version was read,
+     * or with status {@code 412 (Precondition Failed)} if the jobDTO does not match {@code ifMatch},
      * or with status {@code 500 (Internal Server Error)} if the jobDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
-    public ResponseEntity<JobDTO> partialUpdateJob(@PathVariable(value = "id", required = false) final Long id, @RequestBody JobDTO jobDTO)
-        throws URISyntaxException {
+    public ResponseEntity<JobDTO> partialUpdateJob(
+        @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @RequestBody JobDTO jobDTO
+    ) throws URISyntaxException {
         log.debug("REST request to partial update Job partially : {}, {}", id, jobDTO);
         if (jobDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
@@ -122,35 +159,67 @@ public class JobResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!jobRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Optional<JobDTO> result = jobService.partialUpdate(jobDTO);
+        ConditionalRequestUtil.checkIfMatch(ifMatch, () -> jobService.findOne(id), objectMapper, ENTITY_NAME);
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, jobDTO.getId().toString())
-        );
+        JobDTO result = ConditionalRequestUtil.conditionalUpdate(
+            ifMatch,
+            () -> jobService.partialUpdate(jobDTO),
+            ENTITY_NAME
+        ).orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        return ResponseEntity.ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
+            .eTag(ConditionalRequestUtil.eTag(objectMapper, result))
+            .body(result);
     }
 
     /**
      * {@code GET  /jobs} : get all the jobs.
      *
      * @param pageable the pagination information.
+     * @param after the cursor returned by a previous call, switches to keyset pagination when present (empty for the first window).
+     * @param count how the total number of entities is computed.
+     * @param fields the properties of the jobs to return, separated by commas, all of them when absent.
      * @param criteria the criteria which the requested entities should match.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of jobs in body.
      */
     @GetMapping("")
     public ResponseEntity<List<JobDTO>> getAllJobs(
         JobCriteria criteria,
+        @RequestParam(name = CursorPaginationUtil.CURSOR_PARAMETER, required = false) String after,
+        @RequestParam(name = "count", required = false, defaultValue = "EXACT") CountMode count,
+        @RequestParam(name = SparseFieldsetUtil.FIELDS_PARAMETER, required = false) String fields,
         @org.springdoc.core.annotations.ParameterObject Pageable pageable
     ) {
         log.debug("REST request to get Jobs by criteria: {}", criteria);
+        Set<String> properties = SparseFieldsetUtil.parseFields(fields, JobDTO.class, ENTITY_NAME);
 
-        Page<JobDTO> page = jobQueryService.findByCriteria(criteria, pageable);
+        if (after != null) {
+            KeysetScrollPosition position = CursorPaginationUtil.decodeCursor(after, Job.class, pageable.getSort(), ENTITY_NAME);
+            Window<JobDTO> window = jobQueryService.findByCriteria(criteria, position, pageable, properties);
+            HttpHeaders headers = CursorPaginationUtil.generateCursorHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), window);
+            return ResponseEntity.ok()
+                .headers(headers)
+                .eTag(ConditionalRequestUtil.eTag(objectMapper, window.getContent()))
+                .body(window.getContent());
+        }
+
+        if (count == CountMode.NONE) {
+            Slice<JobDTO> slice = jobQueryService.findSliceByCriteria(criteria, pageable, properties);
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok()
+                .headers(headers)
+                .eTag(ConditionalRequestUtil.eTag(objectMapper, slice.getContent()))
+                .body(slice.getContent());
+        }
+
+        Page<JobDTO> page = count == CountMode.ESTIMATED
+            ? jobQueryService.findByCriteriaWithEstimatedCount(criteria, pageable, properties)
+            : jobQueryService.findByCriteria(criteria, pageable, properties);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        return ResponseEntity.ok()
+            .headers(headers)
+            .eTag(ConditionalRequestUtil.eTag(objectMapper, page.getContent()))
+            .body(page.getContent());
     }
 
     /**
@@ -165,17 +234,47 @@ public class JobResource {
         return ResponseEntity.ok().body(jobQueryService.countByCriteria(criteria));
     }
 
+    /**
+     * {@code GET  /jobs/export} : export all the jobs.
+     * <p>
+     * The jobs are streamed from the database as they are written, so there is no limit on their number.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @param format the format of the export.
+     * @param sort the sort of the jobs, by id when unsorted.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the jobs in body.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportJobs(
+        JobCriteria criteria,
+        @RequestParam(name = "format", required = false, defaultValue = "NDJSON") ExportFormat format,
+        Sort sort
+    ) {
+        log.debug("REST request to export Jobs by criteria: {}", criteria);
+        return ExportUtil.exportResponse("jobs", format, objectMapper, JobDTO.class, consumer ->
+            jobQueryService.exportByCriteria(criteria, sort, consumer)
+        );
+    }
+
     /**
      * {@code GET  /jobs/:id} : get the "id" job.
      *
      * @param id the id of the jobDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the jobDTO, or with status {@code 404 (Not Found)}.
+     * @param fields the properties of the jobDTO to return, separated by commas, all of them when absent.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the jobDTO, or with status {@code 404 (Not Found)},
+     * or with status {@code 304 (Not Modified)} if it matches the {@code If-None-Match} header.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<JobDTO> getJob(@PathVariable("id") Long id) {
+    public ResponseEntity<JobDTO> getJob(
+        @PathVariable("id") Long id,
+        @RequestParam(name = SparseFieldsetUtil.FIELDS_PARAMETER, required = false) String fields
+    ) {
         log.debug("REST request to get Job : {}", id);
-        Optional<JobDTO> jobDTO = jobService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(jobDTO);
+        Set<String> properties = SparseFieldsetUtil.parseFields(fields, JobDTO.class, ENTITY_NAME);
+        Optional<JobDTO> jobDTO = properties == null || properties.contains("tasks")
+            ? jobService.findOne(id)
+            : jobService.findOneWithoutEagerRelationships(id);
+        return ConditionalRequestUtil.wrapOrNotFound(jobDTO, objectMapper);
     }
 
     /**
@@ -192,4 +291,52 @@ public class JobResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * {@code POST  /jobs/bulk} : Create new jobs in bulk.
+     *
+     * @param body the jobDTOs to create, as a JSON array or as newline delimited JSON.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each jobDTO,
+     * or with status {@code 400 (Bad Request)} if the body is not JSON.
+     * @throws IOException if the body cannot be read.
+     */
+    @PostMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<List<BulkItemResultDTO>> createJobs(InputStream body) throws IOException {
+        log.debug("REST request to save Jobs in bulk");
+        Iterator<JobDTO> jobDTOs = BulkRequestUtil.readValues(body, JobDTO.class, objectMapper, ENTITY_NAME);
+        return ResponseEntity.ok().body(jobService.saveAll(jobDTOs));
+    }
+
+    /**
+     * {@code PATCH  /jobs/bulk} : Partial updates given fields of existing jobs in bulk, field will ignore if it is null
+     *
+     * @param body the jobDTOs to update, as a JSON array or as newline delimited JSON.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each jobDTO,
+     * or with status {@code 400 (Bad Request)} if the body is not JSON.
+     * @throws IOException if the body cannot be read.
+     */
+    @PatchMapping(
+        value = "/bulk",
+        consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE, "application/merge-patch+json" }
+    )
+    public ResponseEntity<List<BulkItemResultDTO>> partialUpdateJobs(InputStream body) throws IOException {
+        log.debug("REST request to partial update Jobs in bulk");
+        Iterator<JobDTO> jobDTOs = BulkRequestUtil.readValues(body, JobDTO.class, objectMapper, ENTITY_NAME);
+        return ResponseEntity.ok().body(jobService.partialUpdateAll(jobDTOs));
+    }
+
+    /**
+     * {@code DELETE  /jobs/bulk} : delete jobs in bulk.
+     *
+     * @param body the ids of the jobDTOs to delete, as a JSON array or as newline delimited JSON.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each id,
+     * or with status {@code 400 (Bad Request)} if the body is not JSON.
+     * @throws IOException if the body cannot be read.
+     */
+    @DeleteMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<List<BulkItemResultDTO>> deleteJobs(InputStream body) throws IOException {
+        log.debug("REST request to delete Jobs in bulk");
+        Iterator<Long> ids = BulkRequestUtil.readValues(body, Long.class, objectMapper, ENTITY_NAME);
+        return ResponseEntity.ok().body(jobService.deleteAll(ids));
+    }
 }
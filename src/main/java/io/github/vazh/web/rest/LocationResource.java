@@ -1,28 +1,45 @@
 package io.github.vazh.web.rest;
 
-import io.github.vazh.repository.LocationRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.vazh.domain.Location;
 import io.github.vazh.service.LocationQueryService;
 import io.github.vazh.service.LocationService;
 import io.github.vazh.service.criteria.LocationCriteria;
+import io.github.vazh.service.dto.BulkItemResultDTO;
 import io.github.vazh.service.dto.LocationDTO;
 import io.github.vazh.web.rest.errors.BadRequestAlertException;
+import io.github.vazh.web.util.BulkRequestUtil;
+import io.github.vazh.web.util.ConditionalRequestUtil;
+import io.github.vazh.web.util.CountMode;
+import io.github.vazh.web.util.CursorPaginationUtil;
+import io.github.vazh.web.util.ExportFormat;
+import io.github.vazh.web.util.ExportUtil;
+import io.github.vazh.web.util.SlicePaginationUtil;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
-import tech.jhipster.web.util.ResponseUtil;
 
 /**
  * REST controller for managing {@link io.github.vazh.domain.Location}.
@@ -40,18 +57,14 @@ public class LocationResource {
 
     private final LocationService locationService;
 
-    private final LocationRepository locationRepository;
-
     private final LocationQueryService locationQueryService;
 
-    public LocationResource(
-        LocationService locationService,
-        LocationRepository locationRepository,
-        LocationQueryService locationQueryService
-    ) {
+    private final ObjectMapper objectMapper;
+
+    public LocationResource(LocationService locationService, LocationQueryService locationQueryService, ObjectMapper objectMapper) {
         this.locationService = locationService;
-        this.locationRepository = locationRepository;
         this.locationQueryService = locationQueryService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -77,15 +90,19 @@ public class LocationResource {
      * {@code PUT  /locations/:id} : Updates an existing location.
      *
      * @param id the id of the locationDTO to save.
+     * @param ifMatch the entity tags the current locationDTO must match, if any.
      * @param locationDTO the locationDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated locationDTO,
      * or with status {@code 400 (Bad Request)} if the locationDTO is not valid,
+     * or with status {@code 409 (Conflict)} if the locationDTO was updated since its version was read,
+     * or with status {@code 412 (Precondition Failed)} if the locationDTO does not match {@code ifMatch},
      * or with status {@code 500 (Internal Server Error)} if the locationDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
     public ResponseEntity<LocationDTO> updateLocation(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @RequestBody LocationDTO locationDTO
     ) throws URISyntaxException {
         log.debug("REST request to update Location : {}, {}", id, locationDTO);
@@ -96,30 +113,40 @@ public class LocationResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!locationRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        locationDTO.setVersion(ConditionalRequestUtil.expectedVersion(ifMatch, locationDTO.getVersion(), ENTITY_NAME));
+        if (locationDTO.getVersion() == null) {
+            throw new BadRequestAlertException("Invalid version", ENTITY_NAME, "versionnull");
         }
 
-        locationDTO = locationService.update(locationDTO);
+        LocationDTO result = ConditionalRequestUtil.conditionalUpdate(
+            ifMatch,
+            () -> locationService.update(locationDTO),
+            ENTITY_NAME
+        ).orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
         return ResponseEntity.ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, locationDTO.getId().toString()))
-            .body(locationDTO);
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
+            .eTag(ConditionalRequestUtil.eTag(result.getVersion()))
+            .body(result);
     }
 
     /**
      * {@code PATCH  /locations/:id} : Partial updates given fields of an existing location, field will ignore if it is null
      *
      * @param id the id of the locationDTO to save.
+     * @param ifMatch the entity tags the current locationDTO must match, if any.
      * @param locationDTO the locationDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated locationDTO,
      * or with status {@code 400 (Bad Request)} if the locationDTO is not valid,
      * or with status {@code 404 (Not Found)} if the locationDTO is not found,
+     * or with status {@code 409 (Conflict)} if the locationDTO was updated since its version was read,
+     * or with status {@code 412 (Precondition Failed)} if the locationDTO does not match {@code ifMatch},
      * or with status {@code 500 (Internal Server Error)} if the locationDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<LocationDTO> partialUpdateLocation(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @RequestBody LocationDTO locationDTO
     ) throws URISyntaxException {
         log.debug("REST request to partial update Location partially : {}, {}", id, locationDTO);
@@ -130,35 +157,64 @@ public class LocationResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!locationRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Optional<LocationDTO> result = locationService.partialUpdate(locationDTO);
+        locationDTO.setVersion(ConditionalRequestUtil.expectedVersion(ifMatch, locationDTO.getVersion(), ENTITY_NAME));
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, locationDTO.getId().toString())
-        );
+        LocationDTO result = ConditionalRequestUtil.conditionalUpdate(
+            ifMatch,
+            () -> locationService.partialUpdate(locationDTO),
+            ENTITY_NAME
+        ).orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        return ResponseEntity.ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
+            .eTag(ConditionalRequestUtil.eTag(result.getVersion()))
+            .body(result);
     }
 
     /**
      * {@code GET  /locations} : get all the locations.
      *
      * @param pageable the pagination information.
+     * @param after the cursor returned by a previous call, switches to keyset pagination when present (empty for the first window).
+     * @param count how the total number of entities is computed.
      * @param criteria the criteria which the requested entities should match.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of locations in body.
      */
     @GetMapping("")
     public ResponseEntity<List<LocationDTO>> getAllLocations(
         LocationCriteria criteria,
+        @RequestParam(name = CursorPaginationUtil.CURSOR_PARAMETER, required = false) String after,
+        @RequestParam(name = "count", required = false, defaultValue = "EXACT") CountMode count,
         @org.springdoc.core.annotations.ParameterObject Pageable pageable
     ) {
         log.debug("REST request to get Locations by criteria: {}", criteria);
 
-        Page<LocationDTO> page = locationQueryService.findByCriteria(criteria, pageable);
+        if (after != null) {
+            KeysetScrollPosition position = CursorPaginationUtil.decodeCursor(after, Location.class, pageable.getSort(), ENTITY_NAME);
+            Window<LocationDTO> window = locationQueryService.findByCriteria(criteria, position, pageable);
+            HttpHeaders headers = CursorPaginationUtil.generateCursorHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), window);
+            return ResponseEntity.ok()
+                .headers(headers)
+                .eTag(ConditionalRequestUtil.eTag(window.getContent(), LocationDTO::getId, LocationDTO::getVersion))
+                .body(window.getContent());
+        }
+
+        if (count == CountMode.NONE) {
+            Slice<LocationDTO> slice = locationQueryService.findSliceByCriteria(criteria, pageable);
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok()
+                .headers(headers)
+                .eTag(ConditionalRequestUtil.eTag(slice.getContent(), LocationDTO::getId, LocationDTO::getVersion))
+                .body(slice.getContent());
+        }
+
+        Page<LocationDTO> page = count == CountMode.ESTIMATED
+            ? locationQueryService.findByCriteriaWithEstimatedCount(criteria, pageable)
+            : locationQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        return ResponseEntity.ok()
+            .headers(headers)
+            .eTag(ConditionalRequestUtil.eTag(page.getContent(), LocationDTO::getId, LocationDTO::getVersion))
+            .body(page.getContent());
     }
 
     /**
@@ -173,17 +229,40 @@ public class LocationResource {
         return ResponseEntity.ok().body(locationQueryService.countByCriteria(criteria));
     }
 
+    /**
+     * {@code GET  /locations/export} : export all the locations.
+     * <p>
+     * The locations are streamed from the database as they are written, so there is no limit on their number.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @param format the format of the export.
+     * @param sort the sort of the locations, by id when unsorted.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the locations in body.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportLocations(
+        LocationCriteria criteria,
+        @RequestParam(name = "format", required = false, defaultValue = "NDJSON") ExportFormat format,
+        Sort sort
+    ) {
+        log.debug("REST request to export Locations by criteria: {}", criteria);
+        return ExportUtil.exportResponse("locations", format, objectMapper, LocationDTO.class, consumer ->
+            locationQueryService.exportByCriteria(criteria, sort, consumer)
+        );
+    }
+
     /**
      * {@code GET  /locations/:id} : get the "id" location.
      *
      * @param id the id of the locationDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the locationDTO, or with status {@code 404 (Not Found)}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the locationDTO, or with status {@code 404 (Not Found)},
+     * or with status {@code 304 (Not Modified)} if it matches the {@code If-None-Match} header.
      */
     @GetMapping("/{id}")
     public ResponseEntity<LocationDTO> getLocation(@PathVariable("id") Long id) {
         log.debug("REST request to get Location : {}", id);
         Optional<LocationDTO> locationDTO = locationService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(locationDTO);
+        return ConditionalRequestUtil.wrapOrNotFound(locationDTO, LocationDTO::getVersion);
     }
 
     /**
@@ -200,4 +279,52 @@ public class LocationResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * {@code POST  /locations/bulk} : Create new locations in bulk.
+     *
+     * @param body the locationDTOs to create, as a JSON array or as newline delimited JSON.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each locationDTO,
+     * or with status {@code 400 (Bad Request)} if the body is not JSON.
+     * @throws IOException if the body cannot be read.
+     */
+    @PostMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<List<BulkItemResultDTO>> createLocations(InputStream body) throws IOException {
+        log.debug("REST request to save Locations in bulk");
+        Iterator<LocationDTO> locationDTOs = BulkRequestUtil.readValues(body, LocationDTO.class, objectMapper, ENTITY_NAME);
+        return ResponseEntity.ok().body(locationService.saveAll(locationDTOs));
+    }
+
+    /**
+     * {@code PATCH  /locations/bulk} : Partial updates given fields of existing locations in bulk, field will ignore if it is null
+     *
+     * @param body the locationDTOs to update, as a JSON array or as newline delimited JSON.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each locationDTO,
+     * or with status {@code 400 (Bad Request)} if the body is not JSON.
+     * @throws IOException if the body cannot be read.
+     */
+    @PatchMapping(
+        value = "/bulk",
+        consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE, "application/merge-patch+json" }
+    )
+    public ResponseEntity<List<BulkItemResultDTO>> partialUpdateLocations(InputStream body) throws IOException {
+        log.debug("REST request to partial update Locations in bulk");
+        Iterator<LocationDTO> locationDTOs = BulkRequestUtil.readValues(body, LocationDTO.class, objectMapper, ENTITY_NAME);
+        return ResponseEntity.ok().body(locationService.partialUpdateAll(locationDTOs));
+    }
+
+    /**
+     * {@code DELETE  /locations/bulk} : delete locations in bulk.
+     *
+     * @param body the ids of the locationDTOs to delete, as a JSON array or as newline delimited JSON.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each id,
+     * or with status {@code 400 (Bad Request)} if the body is not JSON.
+     * @throws IOException if the body cannot be read.
+     */
+    @DeleteMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<List<BulkItemResultDTO>> deleteLocations(InputStream body) throws IOException {
+        log.debug("REST request to delete Locations in bulk");
+        Iterator<Long> ids = BulkRequestUtil.readValues(body, Long.class, objectMapper, ENTITY_NAME);
+        return ResponseEntity.ok().body(locationService.deleteAll(ids));
+    }
 }
@@ -1,28 +1,45 @@
 package io.github.vazh.web.rest;
 
-import io.github.vazh.repository.RegionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.vazh.domain.Region;
 import io.github.vazh.service.RegionQueryService;
 import io.github.vazh.service.RegionService;
 import io.github.vazh.service.criteria.RegionCriteria;
+import io.github.vazh.service.dto.BulkItemResultDTO;
 import io.github.vazh.service.dto.RegionDTO;
 import io.github.vazh.web.rest.errors.BadRequestAlertException;
+import io.github.vazh.web.util.BulkRequestUtil;
+import io.github.vazh.web.util.ConditionalRequestUtil;
+import io.github.vazh.web.util.CountMode;
+import io.github.vazh.web.util.CursorPaginationUtil;
+import io.github.vazh.web.util.ExportFormat;
+import io.github.vazh.web.util.ExportUtil;
+import io.github.vazh.web.util.SlicePaginationUtil;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
-import tech.jhipster.web.util.ResponseUtil;
 
 /**
  * REST controller for managing {@link io.github.vazh.domain.Region}.
@@ -40,14 +57,14 @@ public class RegionResource {
 
     private final RegionService regionService;
 
-    private final RegionRepository regionRepository;
-
     private final RegionQueryService regionQueryService;
 
-    public RegionResource(RegionService regionService, RegionRepository regionRepository, RegionQueryService regionQueryService) {
+    private final ObjectMapper objectMapper;
+
+    public RegionResource(RegionService regionService, RegionQueryService regionQueryService, ObjectMapper objectMapper) {
         this.regionService = regionService;
-        this.regionRepository = regionRepository;
         this.regionQueryService = regionQueryService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -73,15 +90,19 @@ public class RegionResource {
      * {@code PUT  /regions/:id} : Updates an existing region.
      *
      * @param id the id of the regionDTO to save.
+     * @param ifMatch the entity tags the current regionDTO must match, if any.
      * @param regionDTO the regionDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated regionDTO,
      * or with status {@code 400 (Bad Request)} if the regionDTO is not valid,
+     * or with status {@code 409 (Conflict)} if the regionDTO was updated since its version was read,
+     * or with status {@code 412 (Precondition Failed)} if the regionDTO does not match {@code ifMatch},
      * or with status {@code 500 (Internal Server Error)} if the regionDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
     public ResponseEntity<RegionDTO> updateRegion(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @RequestBody RegionDTO regionDTO
     ) throws URISyntaxException {
         log.debug("REST request to update Region : {}, {}", id, regionDTO);
@@ -92,30 +113,40 @@ public class RegionResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!regionRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        regionDTO.setVersion(ConditionalRequestUtil.expectedVersion(ifMatch, regionDTO.getVersion(), ENTITY_NAME));
+        if (regionDTO.getVersion() == null) {
+            throw new BadRequestAlertException("Invalid version", ENTITY_NAME, "versionnull");
         }
 
-        regionDTO = regionService.update(regionDTO);
+        RegionDTO result = ConditionalRequestUtil.conditionalUpdate(
+            ifMatch,
+            () -> regionService.update(regionDTO),
+            ENTITY_NAME
+        ).orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
         return ResponseEntity.ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, regionDTO.getId().toString()))
-            .body(regionDTO);
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
+            .eTag(ConditionalRequestUtil.eTag(result.getVersion()))
+            .body(result);
     }
 
     /**
      * {@code PATCH  /regions/:id} : Partial updates given fields of an existing region, field will ignore if it is null
      *
      * @param id the id of the regionDTO to save.
+     * @param ifMatch the entity tags the current regionDTO must match, if any.
      * @param regionDTO the regionDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated regionDTO,
      * or with status {@code 400 (Bad Request)} if the regionDTO is not valid,
      * or with status {@code 404 (Not Found)} if the regionDTO is not found,
+     * or with status {@code 409 (Conflict)} if the regionDTO was updated since its version was read,
+     * or with status {@code 412 (Precondition Failed)} if the regionDTO does not match {@code ifMatch},
      * or with status {@code 500 (Internal Server Error)} if the regionDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<RegionDTO> partialUpdateRegion(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @RequestBody RegionDTO regionDTO
     ) throws URISyntaxException {
         log.debug("REST request to partial update Region partially : {}, {}", id, regionDTO);
@@ -126,35 +157,64 @@ public class RegionResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!regionRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Optional<RegionDTO> result = regionService.partialUpdate(regionDTO);
+        regionDTO.setVersion(ConditionalRequestUtil.expectedVersion(ifMatch, regionDTO.getVersion(), ENTITY_NAME));
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, regionDTO.getId().toString())
-        );
+        RegionDTO result = ConditionalRequestUtil.conditionalUpdate(
+            ifMatch,
+            () -> regionService.partialUpdate(regionDTO),
+            ENTITY_NAME
+        ).orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        return ResponseEntity.ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
+            .eTag(ConditionalRequestUtil.eTag(result.getVersion()))
+            .body(result);
     }
 
     /**
      * {@code GET  /regions} : get all the regions.
      *
      * @param pageable the pagination information.
+     * @param after the cursor returned by a previous call, switches to keyset pagination when present (empty for the first window).
+     * @param count how the total number of entities is computed.
      * @param criteria the criteria which the requested entities should match.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of regions in body.
      */
     @GetMapping("")
     public ResponseEntity<List<RegionDTO>> getAllRegions(
         RegionCriteria criteria,
+        @RequestParam(name = CursorPaginationUtil.CURSOR_PARAMETER, required = false) String after,
+        @RequestParam(name = "count", required = false, defaultValue = "EXACT") CountMode count,
         @org.springdoc.core.annotations.ParameterObject Pageable pageable
     ) {
         log.debug("REST request to get Regions by criteria: {}", criteria);
 
-        Page<RegionDTO> page = regionQueryService.findByCriteria(criteria, pageable);
+        if (after != null) {
+            KeysetScrollPosition position = CursorPaginationUtil.decodeCursor(after, Region.class, pageable.getSort(), ENTITY_NAME);
+            Window<RegionDTO> window = regionQueryService.findByCriteria(criteria, position, pageable);
+            HttpHeaders headers = CursorPaginationUtil.generateCursorHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), window);
+            return ResponseEntity.ok()
+                .headers(headers)
+                .eTag(ConditionalRequestUtil.eTag(window.getContent(), RegionDTO::getId, RegionDTO::getVersion))
+                .body(window.getContent());
+        }
+
+        if (count == CountMode.NONE) {
+            Slice<RegionDTO> slice = regionQueryService.findSliceByCriteria(criteria, pageable);
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok()
+                .headers(headers)
+                .eTag(ConditionalRequestUtil.eTag(slice.getContent(), RegionDTO::getId, RegionDTO::getVersion))
+                .body(slice.getContent());
+        }
+
+        Page<RegionDTO> page = count == CountMode.ESTIMATED
+            ? regionQueryService.findByCriteriaWithEstimatedCount(criteria, pageable)
+            : regionQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        return ResponseEntity.ok()
+            .headers(headers)
+            .eTag(ConditionalRequestUtil.eTag(page.getContent(), RegionDTO::getId, RegionDTO::getVersion))
+            .body(page.getContent());
     }
 
     /**
@@ -169,17 +229,40 @@ public class RegionResource {
         return ResponseEntity.ok().body(regionQueryService.countByCriteria(criteria));
     }
 
+    /**
+     * {@code GET  /regions/export} : export all the regions.
+     * <p>
+     * The regions are streamed from the database as they are written, so there is no limit on their number.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @param format the format of the export.
+     * @param sort the sort of the regions, by id when unsorted.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the regions in body.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportRegions(
+        RegionCriteria criteria,
+        @RequestParam(name = "format", required = false, defaultValue = "NDJSON") ExportFormat format,
+        Sort sort
+    ) {
+        log.debug("REST request to export Regions by criteria: {}", criteria);
+        return ExportUtil.exportResponse("regions", format, objectMapper, RegionDTO.class, consumer ->
+            regionQueryService.exportByCriteria(criteria, sort, consumer)
+        );
+    }
+
     /**
      * {@code GET  /regions/:id} : get the "id" region.
      *
      * @param id the id of the regionDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the regionDTO, or with status {@code 404 (Not Found)}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the regionDTO, or with status {@code 404 (Not Found)},
+     * or with status {@code 304 (Not Modified)} if it matches the {@code If-None-Match} header.
      */
     @GetMapping("/{id}")
     public ResponseEntity<RegionDTO> getRegion(@PathVariable("id") Long id) {
         log.debug("REST request to get Region : {}", id);
         Optional<RegionDTO> regionDTO = regionService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(regionDTO);
+        return ConditionalRequestUtil.wrapOrNotFound(regionDTO, RegionDTO::getVersion);
     }
 
     /**
@@ -196,4 +279,52 @@ public class RegionResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * {@code POST  /regions/bulk} : Create new regions in bulk.
+     *
+     * @param body the regionDTOs to create, as a JSON array or as newline delimited JSON.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each regionDTO,
+     * or with status {@code 400 (Bad Request)} if the body is not JSON.
+     * @throws IOException if the body cannot be read.
+     */
+    @PostMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<List<BulkItemResultDTO>> createRegions(InputStream body) throws IOException {
+        log.debug("REST request to save Regions in bulk");
+        Iterator<RegionDTO> regionDTOs = BulkRequestUtil.readValues(body, RegionDTO.class, objectMapper, ENTITY_NAME);
+        return ResponseEntity.ok().body(regionService.saveAll(regionDTOs));
+    }
+
+    /**
+     * {@code PATCH  /regions/bulk} : Partial updates given fields of existing regions in bulk, field will ignore if it is null
+     *
+     * @param body the regionDTOs to update, as a JSON array or as newline delimited JSON.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each regionDTO,
+     * or with status {@code 400 (Bad Request)} if the body is not JSON.
+     * @throws IOException if the body cannot be read.
+     */
+    @PatchMapping(
+        value = "/bulk",
+        consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE, "application/merge-patch+json" }
+    )
+    public ResponseEntity<List<BulkItemResultDTO>> partialUpdateRegions(InputStream body) throws IOException {
+        log.debug("REST request to partial update Regions in bulk");
+        Iterator<RegionDTO> regionDTOs = BulkRequestUtil.readValues(body, RegionDTO.class, objectMapper, ENTITY_NAME);
+        return ResponseEntity.ok().body(regionService.partialUpdateAll(regionDTOs));
+    }
+
+    /**
+     * {@code DELETE  /regions/bulk} : delete regions in bulk.
+     *
+     * @param body the ids of the regionDTOs to delete, as a JSON array or as newline delimited JSON.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each id,
+     * or with status {@code 400 (Bad Request)} if the body is not JSON.
+     * @throws IOException if the body cannot be read.
+     */
+    @DeleteMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<List<BulkItemResultDTO>> deleteRegions(InputStream body) throws IOException {
+        log.debug("REST request to delete Regions in bulk");
+        Iterator<Long> ids = BulkRequestUtil.readValues(body, Long.class, objectMapper, ENTITY_NAME);
+        return ResponseEntity.ok().body(regionService.deleteAll(ids));
+    }
 }
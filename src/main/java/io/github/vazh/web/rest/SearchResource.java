@@ -0,0 +1,61 @@
+package io.github.vazh.web.rest;
+
+import io.github.vazh.service.SearchService;
+import io.github.vazh.web.rest.errors.BadRequestAlertException;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import tech.jhipster.web.util.PaginationUtil;
+
+/**
+ * REST controller for the full-text search of the entities.
+ */
+@RestController
+@RequestMapping("/api/_search")
+public class SearchResource {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchResource.class);
+
+    private static final String ENTITY_NAME = "search";
+
+    private final SearchService searchService;
+
+    public SearchResource(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    /**
+     * {@code GET  /_search/:entity?q=} : search the entities by the words of their text columns, each word matching the
+     * words starting with it.
+     *
+     * @param entity the entities to search, named like their resource: {@code employees}, {@code jobs},
+     * {@code departments}, {@code locations}, {@code countries}, {@code regions} or {@code tasks}.
+     * @param q the words searched.
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the page of the matching entities in body, best
+     * match first, or with status {@code 404 (Not Found)} if the entities cannot be searched.
+     */
+    @GetMapping("/{entity}")
+    public ResponseEntity<List<?>> search(
+        @PathVariable("entity") String entity,
+        @RequestParam("q") String q,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        log.debug("REST request to search {} for : {}", entity, q);
+        if (q.isBlank()) {
+            throw new BadRequestAlertException("A search needs at least one word", ENTITY_NAME, "queryempty");
+        }
+        return searchService
+            .search(entity, q, pageable)
+            .<ResponseEntity<List<?>>>map(page -> {
+                HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+                return ResponseEntity.ok().headers(headers).body(page.getContent());
+            })
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.vazh.web.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.vazh.web.util.SparseFieldsetUtil;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+/**
+ * Advice writing only the properties requested by the {@value SparseFieldsetUtil#FIELDS_PARAMETER} parameter of a
+ * {@code GET} request, see {@link SparseFieldsetUtil}.
+ * <p>
+ * It applies to the endpoints returning a DTO supporting sparse fieldsets, or a list of them, and answers with status
+ * {@code 400 (Bad Request)} when a requested property does not belong to the DTO.
+ */
+@RestControllerAdvice
+public class SparseFieldsetResponseBodyAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    private static final String DTO_SUFFIX = "DTO";
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<Method, Optional<Class<?>>> dtoClasses = new ConcurrentHashMap<>();
+
+    public SparseFieldsetResponseBodyAdvice(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return (
+            super.supports(returnType, converterType) && returnType.hasMethodAnnotation(GetMapping.class) && dtoClass(returnType).isPresent()
+        );
+    }
+
+    @Override
+    protected void beforeBodyWriteInternal(
+        MappingJacksonValue bodyContainer,
+        MediaType contentType,
+        MethodParameter returnType,
+        ServerHttpRequest request,
+        ServerHttpResponse response
+    ) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            Class<?> dtoClass = dtoClass(returnType).orElseThrow();
+            Set<String> fields = SparseFieldsetUtil.parseFields(
+                servletRequest.getServletRequest().getParameter(SparseFieldsetUtil.FIELDS_PARAMETER),
+                dtoClass,
+                entityName(dtoClass)
+            );
+            if (fields != null) {
+                bodyContainer.setFilters(SparseFieldsetUtil.filters(fields));
+            }
+        }
+    }
+
+    /**
+     * The DTO class written by the endpoint, alone or in a list, when it supports sparse fieldsets.
+     */
+    private Optional<Class<?>> dtoClass(MethodParameter returnType) {
+        return dtoClasses.computeIfAbsent(returnType.getMethod(), method -> {
+            ResolvableType type = ResolvableType.forMethodParameter(returnType);
+            if (HttpEntity.class.isAssignableFrom(type.toClass())) {
+                type = type.as(HttpEntity.class).getGeneric(0);
+            }
+            if (Collection.class.isAssignableFrom(type.toClass())) {
+                type = type.as(Collection.class).getGeneric(0);
+            }
+            Class<?> dtoClass = type.resolve();
+            return dtoClass != null && objectMapper.findMixInClassFor(dtoClass) == SparseFieldsetUtil.FilteredMixIn.class
+                ? Optional.of(dtoClass)
+                : Optional.empty();
+        });
+    }
+
+    /**
+     * The name of the entity of a DTO class, as in the error responses of its resource.
+     */
+    private static String entityName(Class<?> dtoClass) {
+        String name = dtoClass.getSimpleName();
+        return StringUtils.uncapitalize(name.endsWith(DTO_SUFFIX) ? name.substring(0, name.length() - DTO_SUFFIX.length()) : name);
+    }
+}
@@ -1,28 +1,45 @@
 package io.github.vazh.web.rest;
 
-import io.github.vazh.repository.TaskRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.vazh.domain.Task;
 import io.github.vazh.service.TaskQueryService;
 import io.github.vazh.service.TaskService;
 import io.github.vazh.service.criteria.TaskCriteria;
+import io.github.vazh.service.dto.BulkItemResultDTO;
 import io.github.vazh.service.dto.TaskDTO;
 import io.github.vazh.web.rest.errors.BadRequestAlertException;
+import io.github.vazh.web.util.BulkRequestUtil;
+import io.github.vazh.web.util.ConditionalRequestUtil;
+import io.github.vazh.web.util.CountMode;
+import io.github.vazh.web.util.CursorPaginationUtil;
+import io.github.vazh.web.util.ExportFormat;
+import io.github.vazh.web.util.ExportUtil;
+import io.github.vazh.web.util.SlicePaginationUtil;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
-import tech.jhipster.web.util.ResponseUtil;
 
 /**
  * REST controller for managing {@link io.github.vazh.domain.Task}.
@@ -40,14 +57,14 @@ public class TaskResource {
 
     private final TaskService taskService;
 
-    private final TaskRepository taskRepository;
-
     private final TaskQueryService taskQueryService;
 
-    public TaskResource(TaskService taskService, TaskRepository taskRepository, TaskQueryService taskQueryService) {
+    private final ObjectMapper objectMapper;
+
+    public TaskResource(TaskService taskService, TaskQueryService taskQueryService, ObjectMapper objectMapper) {
         this.taskService = taskService;
-        this.taskRepository = taskRepository;
         this.taskQueryService = taskQueryService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -73,15 +90,21 @@ public class TaskResource {
      * {@code PUT  /tasks/:id} : Updates an existing task.
      *
      * @param id the id of the taskDTO to save.
+     * @param ifMatch the entity tags the current taskDTO must match, if any.
      * @param taskDTO the taskDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated taskDTO,
      * or with status {@code 400 (Bad Request)} if the taskDTO is not valid,
+     * or with status {@code 409 (Conflict)} if the taskDTO was updated since its version was read,
+     * or with status {@code 412 (Precondition Failed)} if the taskDTO does not match {@code ifMatch},
      * or with status {@code 500 (Internal Server Error)} if the taskDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<TaskDTO> updateTask(@PathVariable(value = "id", required = false) final Long id, @RequestBody TaskDTO taskDTO)
-        throws URISyntaxException {
+    public ResponseEntity<TaskDTO> updateTask(
+        @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @RequestBody TaskDTO taskDTO
+    ) throws URISyntaxException {
         log.debug("REST request to update Task : {}, {}", id, taskDTO);
         if (taskDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
@@ -90,30 +113,40 @@ public class TaskResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!taskRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        if (taskDTO.getVersion() == null) {
+            throw new BadRequestAlertException("Invalid version", ENTITY_NAME, "versionnull");
         }
+        ConditionalRequestUtil.checkIfMatch(ifMatch, () -> taskService.findOne(id), objectMapper, ENTITY_NAME);
 
-        taskDTO = taskService.update(taskDTO);
+        TaskDTO result = ConditionalRequestUtil.conditionalUpdate(
+            ifMatch,
+            () -> taskService.update(taskDTO),
+            ENTITY_NAME
+        ).orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
         return ResponseEntity.ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, taskDTO.getId().toString()))
-            .body(taskDTO);
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
+            .eTag(ConditionalRequestUtil.eTag(objectMapper, result))
+            .body(result);
     }
 
     /**
      * {@code PATCH  /tasks/:id} : Partial updates given fields of an existing task, field will ignore if it is null
      *
      * @param id the id of the taskDTO to save.
+     * @param ifMatch the entity tags the current taskDTO must match, if any.
      * @param taskDTO the taskDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated taskDTO,
      * or with status {@code 400 (Bad Request)} if the taskDTO is not valid,
      * or with status {@code 404 (Not Found)} if the taskDTO is not found,
+     * or with status {@code 409 (Conflict)} if the taskDTO was updated since its version was read,
+     * or with status {@code 412 (Precondition Failed)} if the taskDTO does not match {@code ifMatch},
      * or with status {@code 500 (Internal Server Error)} if the taskDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<TaskDTO> partialUpdateTask(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @RequestBody TaskDTO taskDTO
     ) throws URISyntaxException {
         log.debug("REST request to partial update Task partially : {}, {}", id, taskDTO);
@@ -124,35 +157,64 @@ public class TaskResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!taskRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Optional<TaskDTO> result = taskService.partialUpdate(taskDTO);
+        ConditionalRequestUtil.checkIfMatch(ifMatch, () -> taskService.findOne(id), objectMapper, ENTITY_NAME);
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, taskDTO.getId().toString())
-        );
+        TaskDTO result = ConditionalRequestUtil.conditionalUpdate(
+            ifMatch,
+            () -> taskService.partialUpdate(taskDTO),
+            ENTITY_NAME
+        ).orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        return ResponseEntity.ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
+            .eTag(ConditionalRequestUtil.eTag(objectMapper, result))
+            .body(result);
     }
 
     /**
      * {@code GET  /tasks} : get all the tasks.
      *
      * @param pageable the pagination information.
+     * @param after the cursor returned by a previous call, switches to keyset pagination when present (empty for the first window).
+     * @param count how the total number of entities is computed.
      * @param criteria the criteria which the requested entities should match.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of tasks in body.
      */
     @GetMapping("")
     public ResponseEntity<List<TaskDTO>> getAllTasks(
         TaskCriteria criteria,
+        @RequestParam(name = CursorPaginationUtil.CURSOR_PARAMETER, required = false) String after,
+        @RequestParam(name = "count", required = false, defaultValue = "EXACT") CountMode count,
         @org.springdoc.core.annotations.ParameterObject Pageable pageable
     ) {
         log.debug("REST request to get Tasks by criteria: {}", criteria);
 
-        Page<TaskDTO> page = taskQueryService.findByCriteria(criteria, pageable);
+        if (after != null) {
+            KeysetScrollPosition position = CursorPaginationUtil.decodeCursor(after, Task.class, pageable.getSort(), ENTITY_NAME);
+            Window<TaskDTO> window = taskQueryService.findByCriteria(criteria, position, pageable);
+            HttpHeaders headers = CursorPaginationUtil.generateCursorHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), window);
+            return ResponseEntity.ok()
+                .headers(headers)
+                .eTag(ConditionalRequestUtil.eTag(objectMapper, window.getContent()))
+                .body(window.getContent());
+        }
+
+        if (count == CountMode.NONE) {
+            Slice<TaskDTO> slice = taskQueryService.findSliceByCriteria(criteria, pageable);
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok()
+                .headers(headers)
+                .eTag(ConditionalRequestUtil.eTag(objectMapper, slice.getContent()))
+                .body(slice.getContent());
+        }
+
+        Page<TaskDTO> page = count == CountMode.ESTIMATED
+            ? taskQueryService.findByCriteriaWithEstimatedCount(criteria, pageable)
+            : taskQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        return ResponseEntity.ok()
+            .headers(headers)
+            .eTag(ConditionalRequestUtil.eTag(objectMapper, page.getContent()))
+            .body(page.getContent());
     }
 
     /**
@@ -167,17 +229,40 @@ public class TaskResource {
         return ResponseEntity.ok().body(taskQueryService.countByCriteria(criteria));
     }
 
+    /**
+     * {@code GET  /tasks/export} : export all the tasks.
+     * <p>
+     * The tasks are streamed from the database as they are written, so there is no limit on their number.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @param format the format of the export.
+     * @param sort the sort of the tasks, by id when unsorted.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the tasks in body.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+        TaskCriteria criteria,
+        @RequestParam(name = "format", required = false, defaultValue = "NDJSON") ExportFormat format,
+        Sort sort
+    ) {
+        log.debug("REST request to export Tasks by criteria: {}", criteria);
+        return ExportUtil.exportResponse("tasks", format, objectMapper, TaskDTO.class, consumer ->
+            taskQueryService.exportByCriteria(criteria, sort, consumer)
+        );
+    }
+
     /**
      * {@code GET  /tasks/:id} : get the "id" task.
      *
      * @param id the id of the taskDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the taskDTO, or with status {@code 404 (Not Found)}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the taskDTO, or with status {@code 404 (Not Found)},
+     * or with status {@code 304 (Not Modified)} if it matches the {@code If-None-Match} header.
      */
     @GetMapping("/{id}")
     public ResponseEntity<TaskDTO> getTask(@PathVariable("id") Long id) {
         log.debug("REST request to get Task : {}", id);
         Optional<TaskDTO> taskDTO = taskService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(taskDTO);
+        return ConditionalRequestUtil.wrapOrNotFound(taskDTO, objectMapper);
     }
 
     /**
@@ -194,4 +279,52 @@ public class TaskResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * {@code POST  /tasks/bulk} : Create new tasks in bulk.
+     *
+     * @param body the taskDTOs to create, as a JSON array or as newline delimited JSON.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each taskDTO,
+     * or with status {@code 400 (Bad Request)} if the body is not JSON.
+     * @throws IOException if the body cannot be read.
+     */
+    @PostMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<List<BulkItemResultDTO>> createTasks(InputStream body) throws IOException {
+        log.debug("REST request to save Tasks in bulk");
+        Iterator<TaskDTO> taskDTOs = BulkRequestUtil.readValues(body, TaskDTO.class, objectMapper, ENTITY_NAME);
+        return ResponseEntity.ok().body(taskService.saveAll(taskDTOs));
+    }
+
+    /**
+     * {@code PATCH  /tasks/bulk} : Partial updates given fields of existing tasks in bulk, field will ignore if it is null
+     *
+     * @param body the taskDTOs to update, as a JSON array or as newline delimited JSON.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each taskDTO,
+     * or with status {@code 400 (Bad Request)} if the body is not JSON.
+     * @throws IOException if the body cannot be read.
+     */
+    @PatchMapping(
+        value = "/bulk",
+        consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE, "application/merge-patch+json" }
+    )
+    public ResponseEntity<List<BulkItemResultDTO>> partialUpdateTasks(InputStream body) throws IOException {
+        log.debug("REST request to partial update Tasks in bulk");
+        Iterator<TaskDTO> taskDTOs = BulkRequestUtil.readValues(body, TaskDTO.class, objectMapper, ENTITY_NAME);
+        return ResponseEntity.ok().body(taskService.partialUpdateAll(taskDTOs));
+    }
+
+    /**
+     * {@code DELETE  /tasks/bulk} : delete tasks in bulk.
+     *
+     * @param body the ids of the taskDTOs to delete, as a JSON array or as newline delimited JSON.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each id,
+     * or with status {@code 400 (Bad Request)} if the body is not JSON.
+     * @throws IOException if the body cannot be read.
+     */
+    @DeleteMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<List<BulkItemResultDTO>> deleteTasks(InputStream body) throws IOException {
+        log.debug("REST request to delete Tasks in bulk");
+        Iterator<Long> ids = BulkRequestUtil.readValues(body, Long.class, objectMapper, ENTITY_NAME);
+        return ResponseEntity.ok().body(taskService.deleteAll(ids));
+    }
 }
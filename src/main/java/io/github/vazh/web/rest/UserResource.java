@@ -1,5 +1,6 @@
 package io.github.vazh.web.rest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.vazh.config.Constants;
 import io.github.vazh.domain.User;
 import io.github.vazh.repository.UserRepository;
@@ -10,6 +11,7 @@ import io.github.vazh.service.dto.AdminUserDTO;
 import io.github.vazh.web.rest.errors.BadRequestAlertException;
 import io.github.vazh.web.rest.errors.EmailAlreadyUsedException;
 import io.github.vazh.web.rest.errors.LoginAlreadyUsedException;
+import io.github.vazh.web.util.ConditionalRequestUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Pattern;
 import java.net.URI;
@@ -87,10 +89,13 @@ public class UserResource {
 
     private final MailService mailService;
 
-    public UserResource(UserService userService, UserRepository userRepository, MailService mailService) {
+    private final ObjectMapper objectMapper;
+
+    public UserResource(UserService userService, UserRepository userRepository, MailService mailService, ObjectMapper objectMapper) {
         this.userService = userService;
         this.userRepository = userRepository;
         this.mailService = mailService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -186,13 +191,17 @@ public class UserResource {
      * {@code GET /admin/users/:login} : get the "login" user.
      *
      * @param login the login of the user to find.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the "login" user, or with status {@code 404 (Not Found)}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the "login" user, or with status {@code 404 (Not Found)},
+     * or with status {@code 304 (Not Modified)} if it matches the {@code If-None-Match} or {@code If-Modified-Since} header.
      */
     @GetMapping("/users/{login}")
     @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
     public ResponseEntity<AdminUserDTO> getUser(@PathVariable("login") @Pattern(regexp = Constants.LOGIN_REGEX) String login) {
         log.debug("REST request to get User : {}", login);
-        return ResponseUtil.wrapOrNotFound(userService.getUserWithAuthoritiesByLogin(login).map(AdminUserDTO::new));
+        Optional<AdminUserDTO> user = userService.getUserWithAuthoritiesByLogin(login).map(AdminUserDTO::new);
+        HttpHeaders headers = new HttpHeaders();
+        user.map(AdminUserDTO::getLastModifiedDate).ifPresent(headers::setLastModified);
+        return ConditionalRequestUtil.wrapOrNotFound(user, headers, objectMapper);
     }
 
     /**
@@ -2,6 +2,8 @@ package io.github.vazh.web.rest.errors;
 
 import static org.springframework.core.annotation.AnnotatedElementUtils.findMergedAnnotation;
 
+import jakarta.persistence.LockTimeoutException;
+import jakarta.persistence.PessimisticLockException;
 import jakarta.servlet.http.HttpServletRequest;
 import java.net.URI;
 import java.util.Arrays;
@@ -10,10 +12,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import org.apache.commons.lang3.StringUtils;
+import org.hibernate.exception.LockAcquisitionException;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
 import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -47,6 +51,7 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
     private static final String MESSAGE_KEY = "message";
     private static final String PATH_KEY = "path";
     private static final boolean CASUAL_CHAIN_ENABLED = false;
+    private static final String LOCK_FAILURE_RETRY_AFTER_SECONDS = "1";
 
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
@@ -186,7 +191,9 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
     private String getMappedMessageKey(Throwable err) {
         if (err instanceof MethodArgumentNotValidException) {
             return ErrorConstants.ERR_VALIDATION;
-        } else if (err instanceof ConcurrencyFailureException || err.getCause() instanceof ConcurrencyFailureException) {
+        } else if (
+            err instanceof ConcurrencyFailureException || err.getCause() instanceof ConcurrencyFailureException || isLockFailure(err)
+        ) {
             return ErrorConstants.ERR_CONCURRENCY_FAILURE;
         }
         return null;
@@ -210,7 +217,7 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
     private HttpStatus getMappedStatus(Throwable err) {
         // Where we disagree with Spring defaults
         if (err instanceof AccessDeniedException) return HttpStatus.FORBIDDEN;
-        if (err instanceof ConcurrencyFailureException) return HttpStatus.CONFLICT;
+        if (err instanceof ConcurrencyFailureException || isLockFailure(err)) return HttpStatus.CONFLICT;
         if (err instanceof BadCredentialsException) return HttpStatus.UNAUTHORIZED;
         return null;
     }
@@ -220,7 +227,31 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
         return URI.create(extractURI(request));
     }
 
+    /**
+     * Whether the exception, or one of its causes, is a lock the database could not grant, such as a deadlock between
+     * two transactions, so retrying the request usually succeeds. The whole chain is checked, as the exceptions not
+     * translated by Spring are not {@link ConcurrencyFailureException}s.
+     */
+    private boolean isLockFailure(Throwable err) {
+        for (Throwable cause = err; cause != null; cause = cause.getCause()) {
+            if (
+                cause instanceof PessimisticLockingFailureException ||
+                cause instanceof PessimisticLockException ||
+                cause instanceof LockTimeoutException ||
+                cause instanceof LockAcquisitionException
+            ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private HttpHeaders buildHeaders(Throwable err) {
+        if (isLockFailure(err)) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.set(HttpHeaders.RETRY_AFTER, LOCK_FAILURE_RETRY_AFTER_SECONDS);
+            return headers;
+        }
         return err instanceof BadRequestAlertException badRequestAlertException
             ? HeaderUtil.createFailureAlert(
                 applicationName,
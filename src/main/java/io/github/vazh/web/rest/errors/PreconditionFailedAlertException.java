@@ -0,0 +1,19 @@
+package io.github.vazh.web.rest.errors;
+
+import org.springframework.http.HttpStatus;
+
+@SuppressWarnings("java:S110") // Inheritance tree of classes should not be too deep
+public class PreconditionFailedAlertException extends BadRequestAlertException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PreconditionFailedAlertException(String entityName) {
+        super(
+            HttpStatus.PRECONDITION_FAILED,
+            ErrorConstants.DEFAULT_TYPE,
+            "The entity was modified since it was read",
+            entityName,
+            "preconditionfailed"
+        );
+    }
+}
@@ -0,0 +1,40 @@
+package io.github.vazh.web.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.vazh.web.rest.errors.BadRequestAlertException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+/**
+ * Utility class for reading the body of the bulk endpoints.
+ */
+public final class BulkRequestUtil {
+
+    private BulkRequestUtil() {}
+
+    /**
+     * Read the items of a bulk request lazily, so that they are not all held in memory.
+     * <p>
+     * The items of a JSON array are read one by one like the ones of newline delimited JSON. An item which cannot be
+     * read fails the iteration.
+     *
+     * @param body the body of the request.
+     * @param valueType the type of the items.
+     * @param objectMapper the object mapper reading the items.
+     * @param entityName the name of the entity, for the error.
+     * @param <T> the type of the items.
+     * @return an iterator over the items.
+     * @throws IOException if the body cannot be read.
+     * @throws BadRequestAlertException if the body is not JSON.
+     */
+    public static <T> Iterator<T> readValues(InputStream body, Class<T> valueType, ObjectMapper objectMapper, String entityName)
+        throws IOException {
+        try {
+            return objectMapper.readerFor(valueType).readValues(body);
+        } catch (JsonProcessingException e) {
+            throw new BadRequestAlertException("Unreadable bulk request", entityName, "bulkunreadable");
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package io.github.vazh.web.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.vazh.web.rest.errors.BadRequestAlertException;
+import io.github.vazh.web.rest.errors.PreconditionFailedAlertException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Utility class for handling conditional requests.
+ * <p>
+ * A {@link ResponseEntity} with status {@code 200 (OK)} and an {@link HttpHeaders#ETAG} or {@link HttpHeaders#LAST_MODIFIED}
+ * header is answered by Spring MVC with {@code 304 (Not Modified)}, without writing its body, when it matches the
+ * {@code If-None-Match} or {@code If-Modified-Since} header of a {@code GET} request.
+ */
+public final class ConditionalRequestUtil {
+
+    private static final String WILDCARD = "*";
+
+    private ConditionalRequestUtil() {}
+
+    /**
+     * Compute the strong entity tag of a body, the hash of its JSON representation.
+     * <p>
+     * The body is serialized straight into the digest, without being buffered.
+     *
+     * @param objectMapper the object mapper writing the responses.
+     * @param body the body of the response.
+     * @return the quoted entity tag.
+     */
+    public static String eTag(ObjectMapper objectMapper, Object body) {
+        MessageDigest digest = newDigest();
+        try (OutputStream outputStream = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+            objectMapper.writeValue(outputStream, body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return quote(HexFormat.of().formatHex(digest.digest()));
+    }
+
+    /**
+     * Compute the strong entity tag of a versioned entity, its version.
+     *
+     * @param version the version of the entity.
+     * @return the quoted entity tag.
+     */
+    public static String eTag(Long version) {
+        return quote(String.valueOf(version));
+    }
+
+    /**
+     * Compute the strong entity tag of a list of versioned entities, the hash of their ids and versions.
+     * <p>
+     * Nothing is serialized, a list of entities read from the second level cache is tagged without any work on the entities.
+     *
+     * @param content the entities of the list.
+     * @param id the id of an entity.
+     * @param version the version of an entity.
+     * @param <T> the type of the entities.
+     * @return the quoted entity tag.
+     */
+    public static <T> String eTag(List<T> content, Function<T, Long> id, Function<T, Long> version) {
+        MessageDigest digest = newDigest();
+        ByteBuffer buffer = ByteBuffer.allocate(2 * Long.BYTES);
+        for (T element : content) {
+            buffer.clear();
+            buffer.putLong(id.apply(element)).putLong(version.apply(element));
+            digest.update(buffer.array());
+        }
+        return quote(HexFormat.of().formatHex(digest.digest()));
+    }
+
+    /**
+     * Wrap the optional into a {@link ResponseEntity} with an {@link HttpHeaders#ETAG} header, or into a
+     * {@link ResponseStatusException} with status {@code 404 (Not Found)} if it is empty.
+     *
+     * @param maybeResponse response to return if present.
+     * @param objectMapper the object mapper writing the responses.
+     * @param <X> type of the response.
+     * @return response containing {@code maybeResponse} if present.
+     */
+    public static <X> ResponseEntity<X> wrapOrNotFound(Optional<X> maybeResponse, ObjectMapper objectMapper) {
+        return wrapOrNotFound(maybeResponse, null, objectMapper);
+    }
+
+    /**
+     * Wrap the optional into a {@link ResponseEntity} with an {@link HttpHeaders#ETAG} header, or into a
+     * {@link ResponseStatusException} with status {@code 404 (Not Found)} if it is empty.
+     *
+     * @param maybeResponse response to return if present.
+     * @param version the version of the response.
+     * @param <X> type of the response.
+     * @return response containing {@code maybeResponse} if present.
+     */
+    public static <X> ResponseEntity<X> wrapOrNotFound(Optional<X> maybeResponse, Function<X, Long> version) {
+        return maybeResponse
+            .map(response -> ResponseEntity.ok().eTag(eTag(version.apply(response))).body(response))
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * Wrap the optional into a {@link ResponseEntity} with an {@link HttpHeaders#ETAG} header, or into a
+     * {@link ResponseStatusException} with status {@code 404 (Not Found)} if it is empty.
+     *
+     * @param maybeResponse response to return if present.
+     * @param header headers to be added to the response.
+     * @param objectMapper the object mapper writing the responses.
+     * @param <X> type of the response.
+     * @return response containing {@code maybeResponse} if present.
+     */
+    public static <X> ResponseEntity<X> wrapOrNotFound(Optional<X> maybeResponse, HttpHeaders header, ObjectMapper objectMapper) {
+        return maybeResponse
+            .map(response -> ResponseEntity.ok().headers(header).eTag(eTag(objectMapper, response)).body(response))
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * Check the {@code If-Match} header of an update against the current state of the entity.
+     * <p>
+     * Entity tags are compared with the strong comparison, so weak ones never match. The current state is only read when
+     * the header is present.
+     *
+     * @param ifMatch the {@code If-Match} header, {@code null} when absent.
+     * @param current the current state of the entity.
+     * @param objectMapper the object mapper writing the responses.
+     * @param entityName the name of the entity, for the error.
+     * @throws PreconditionFailedAlertException if none of the entity tags matches the current state.
+     */
+    public static void checkIfMatch(String ifMatch, Supplier<Optional<?>> current, ObjectMapper objectMapper, String entityName) {
+        if (ifMatch == null) {
+            return;
+        }
+        Optional<?> currentState = current.get();
+        if (currentState.isEmpty()) {
+            throw new PreconditionFailedAlertException(entityName);
+        }
+        String currentETag = null;
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (WILDCARD.equals(tag)) {
+                return;
+            }
+            if (currentETag == null) {
+                currentETag = eTag(objectMapper, currentState.orElseThrow());
+            }
+            if (tag.equals(currentETag)) {
+                return;
+            }
+        }
+        throw new PreconditionFailedAlertException(entityName);
+    }
+
+    /**
+     * Resolve the version an update must match, from the {@code If-Match} header holding the entity tags of versioned
+     * entities and from the version of the body.
+     *
+     * @param ifMatch the {@code If-Match} header, {@code null} when absent.
+     * @param version the version of the body, {@code null} when absent.
+     * @param entityName the name of the entity, for the error.
+     * @return the version the entity must match, {@code null} when there is none.
+     * @throws PreconditionFailedAlertException if the header holds no version, or only versions other than the one of the body.
+     * @throws BadRequestAlertException if the header holds several versions and the body none.
+     */
+    public static Long expectedVersion(String ifMatch, Long version, String entityName) {
+        if (ifMatch == null || WILDCARD.equals(ifMatch.trim())) {
+            return version;
+        }
+        List<Long> versions = new ArrayList<>();
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+                try {
+                    versions.add(Long.valueOf(tag.substring(1, tag.length() - 1)));
+                } catch (NumberFormatException e) {
+                    // Not the tag of a versioned entity, it matches none
+                }
+            }
+        }
+        if (version != null ? !versions.contains(version) : versions.isEmpty()) {
+            throw new PreconditionFailedAlertException(entityName);
+        }
+        if (version == null && versions.size() > 1) {
+            throw new BadRequestAlertException("Only one entity tag is supported", entityName, "ifmatchinvalid");
+        }
+        return version != null ? version : versions.get(0);
+    }
+
+    /**
+     * Run an update, a version conflict being reported with status {@code 412 (Precondition Failed)} when the update is
+     * conditioned by an {@code If-Match} header, instead of {@code 409 (Conflict)}.
+     *
+     * @param ifMatch the {@code If-Match} header, {@code null} when absent.
+     * @param update the update.
+     * @param entityName the name of the entity, for the error.
+     * @param <T> the type of the result of the update.
+     * @return the result of the update.
+     * @throws PreconditionFailedAlertException if the version of the entity changed and the update is conditioned.
+     */
+    public static <T> T conditionalUpdate(String ifMatch, Supplier<T> update, String entityName) {
+        try {
+            return update.get();
+        } catch (OptimisticLockingFailureException e) {
+            if (ifMatch == null) {
+                throw e;
+            }
+            throw new PreconditionFailedAlertException(entityName);
+        }
+    }
+
+    private static String quote(String tag) {
+        return '"' + tag + '"';
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package io.github.vazh.web.util;
+
+/**
+ * How the total number of elements is computed by the paginated list endpoints.
+ */
+public enum CountMode {
+    /**
+     * Exact count, through a {@code count} query. This is the default.
+     */
+    EXACT,
+    /**
+     * Estimated count, read from the database statistics when no filter is set, exact otherwise.
+     */
+    ESTIMATED,
+    /**
+     * No count at all, only whether a next page exists.
+     */
+    NONE,
+}
@@ -0,0 +1,149 @@
+package io.github.vazh.web.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.github.vazh.web.rest.errors.BadRequestAlertException;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling keyset (cursor based) pagination.
+ * <p>
+ * A cursor is the Base64 (URL safe) encoding of the JSON object holding the sort key values and the {@code id}
+ * tiebreaker of the last element of a window. Unlike offset pagination, no count query is issued and fetching
+ * a deep window costs the same as fetching the first one.
+ * <p>
+ * The next cursor is sent back both in the {@value #HEADER_X_NEXT_CURSOR} header and as a {@code rel="next"} link
+ * in the {@link HttpHeaders#LINK} header.
+ */
+public final class CursorPaginationUtil {
+
+    public static final String CURSOR_PARAMETER = "after";
+
+    public static final String HEADER_X_NEXT_CURSOR = "X-Next-Cursor";
+
+    private static final String ID_PROPERTY = "id";
+
+    private static final ObjectMapper CURSOR_MAPPER = JsonMapper.builder()
+        .addModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+
+    private static final TypeReference<LinkedHashMap<String, Object>> KEYS_TYPE = new TypeReference<>() {};
+
+    private CursorPaginationUtil() {}
+
+    /**
+     * Decode a cursor sent by a client into a {@link KeysetScrollPosition}.
+     * <p>
+     * An empty cursor starts from the beginning of the result set. Every sorted property must be a comparable value,
+     * possibly nested like {@code manager.id}, and the keys of the cursor must match the requested sort, plus the
+     * {@code id} tiebreaker.
+     *
+     * @param cursor the opaque cursor, as sent in the {@value #CURSOR_PARAMETER} request parameter.
+     * @param entityClass the entity class the keys belong to, used to restore the key types.
+     * @param sort the requested sort.
+     * @param entityName the name of the entity, used in the error response.
+     * @return the keyset position to scroll from.
+     * @throws BadRequestAlertException if the sort can't be keyed, or if the cursor can't be decoded or doesn't match the sort.
+     */
+    public static KeysetScrollPosition decodeCursor(String cursor, Class<?> entityClass, Sort sort, String entityName) {
+        Map<String, Class<?>> keyTypes = new LinkedHashMap<>();
+        sort.forEach(order -> keyTypes.put(order.getProperty(), keyType(entityClass, order.getProperty(), entityName)));
+        keyTypes.put(ID_PROPERTY, keyType(entityClass, ID_PROPERTY, entityName));
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        Map<String, Object> rawKeys;
+        try {
+            rawKeys = CURSOR_MAPPER.readValue(Base64.getUrlDecoder().decode(cursor), KEYS_TYPE);
+        } catch (IllegalArgumentException | IOException e) {
+            throw new BadRequestAlertException("Invalid cursor", entityName, "cursorinvalid");
+        }
+
+        if (!keyTypes.keySet().equals(rawKeys.keySet())) {
+            throw new BadRequestAlertException("Cursor does not match the requested sort", entityName, "cursorsortmismatch");
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : rawKeys.entrySet()) {
+            try {
+                keys.put(entry.getKey(), CURSOR_MAPPER.convertValue(entry.getValue(), keyTypes.get(entry.getKey())));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestAlertException("Invalid cursor", entityName, "cursorinvalid");
+            }
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    /**
+     * The type of the value of a sorted property, which must be comparable to be a key: the properties which are neither
+     * found nor comparable, like an association or a collection, can't be keyed.
+     */
+    private static Class<?> keyType(Class<?> entityClass, String property, String entityName) {
+        Class<?> type = entityClass;
+        for (String attribute : property.split("\\.")) {
+            PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(type, attribute);
+            if (descriptor == null) {
+                throw new BadRequestAlertException("Sort cannot be keyed", entityName, "cursorsortmismatch");
+            }
+            type = descriptor.getPropertyType();
+        }
+        if (!Comparable.class.isAssignableFrom(ClassUtils.resolvePrimitiveIfNecessary(type))) {
+            throw new BadRequestAlertException("Sort cannot be keyed", entityName, "cursorsortmismatch");
+        }
+        return type;
+    }
+
+    /**
+     * Encode a {@link KeysetScrollPosition} into an opaque cursor.
+     *
+     * @param position the position to encode.
+     * @return the cursor.
+     */
+    public static String encodeCursor(KeysetScrollPosition position) {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(CURSOR_MAPPER.writeValueAsBytes(position.getKeys()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode cursor", e);
+        }
+    }
+
+    /**
+     * Generate the headers pointing to the window following the given one.
+     * No header is added when the given window is the last one.
+     *
+     * @param uriBuilder the builder of the current request URI.
+     * @param window the window which is returned.
+     * @param <T> the type of the elements of the window.
+     * @return the {@link HttpHeaders}.
+     */
+    public static <T> HttpHeaders generateCursorHttpHeaders(UriComponentsBuilder uriBuilder, Window<T> window) {
+        HttpHeaders headers = new HttpHeaders();
+        if (window.hasNext() && !window.isEmpty()) {
+            ScrollPosition position = window.positionAt(window.size() - 1);
+            if (position instanceof KeysetScrollPosition keysetPosition) {
+                String cursor = encodeCursor(keysetPosition);
+                headers.add(HEADER_X_NEXT_CURSOR, cursor);
+                String link = uriBuilder.replaceQueryParam(CURSOR_PARAMETER, cursor).replaceQueryParam("page").toUriString();
+                headers.add(HttpHeaders.LINK, "<" + link + ">; rel=\"next\"");
+            }
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,35 @@
+package io.github.vazh.web.util;
+
+import java.nio.charset.StandardCharsets;
+import org.springframework.http.MediaType;
+
+/**
+ * Format of the export endpoints.
+ */
+public enum ExportFormat {
+    /**
+     * One JSON document per line. This is the default.
+     */
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+    /**
+     * Comma separated values with a header line, related entities are written as their id.
+     */
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+
+    private final MediaType mediaType;
+
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
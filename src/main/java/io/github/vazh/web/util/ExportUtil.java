@@ -0,0 +1,184 @@
+package io.github.vazh.web.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.StreamSupport;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Utility class for the export endpoints, streaming the entities to the response as they are read from the database.
+ */
+public final class ExportUtil {
+
+    private static final String CSV_SEPARATOR = ",";
+    private static final String CSV_LIST_SEPARATOR = "|";
+    private static final String CSV_FORMULA_PREFIXES = "=+-@\t\r";
+
+    private ExportUtil() {}
+
+    /**
+     * Build the response of an export endpoint.
+     * <p>
+     * The exporter runs once the response is committed, outside of the request thread: it must read the entities in
+     * its own transaction, and hand each DTO to the given consumer.
+     *
+     * @param fileName the name of the attachment, without extension.
+     * @param format the format of the export.
+     * @param objectMapper the object mapper serializing the DTOs.
+     * @param dtoClass the class of the DTOs.
+     * @param exporter the exporter, reading the DTOs.
+     * @param <T> the type of the DTOs.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the streamed DTOs in body.
+     */
+    public static <T> ResponseEntity<StreamingResponseBody> exportResponse(
+        String fileName,
+        ExportFormat format,
+        ObjectMapper objectMapper,
+        Class<T> dtoClass,
+        Consumer<Consumer<T>> exporter
+    ) {
+        StreamingResponseBody body = out -> {
+            DtoWriter<T> writer = format == ExportFormat.CSV
+                ? new CsvDtoWriter<>(objectMapper, dtoClass, out)
+                : new NdjsonDtoWriter<>(objectMapper, dtoClass, out);
+            exporter.accept(dto -> {
+                try {
+                    writer.write(dto);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.finish();
+        };
+        ContentDisposition contentDisposition = ContentDisposition.attachment().filename(fileName + "." + format.getExtension()).build();
+        return ResponseEntity.ok()
+            .contentType(format.getMediaType())
+            .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition.toString())
+            .body(body);
+    }
+
+    private interface DtoWriter<T> {
+        void write(T dto) throws IOException;
+
+        /**
+         * Flush the pending output, without closing the response stream.
+         */
+        void finish() throws IOException;
+    }
+
+    private static final class NdjsonDtoWriter<T> implements DtoWriter<T> {
+
+        private final JsonGenerator generator;
+        private final ObjectWriter objectWriter;
+        private boolean empty = true;
+
+        NdjsonDtoWriter(ObjectMapper objectMapper, Class<T> dtoClass, OutputStream out) throws IOException {
+            this.generator = objectMapper
+                .getFactory()
+                .createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .setRootValueSeparator(new SerializedString("\n"));
+            this.objectWriter = objectMapper.writerFor(dtoClass).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        }
+
+        @Override
+        public void write(T dto) throws IOException {
+            objectWriter.writeValue(generator, dto);
+            empty = false;
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (!empty) {
+                generator.writeRaw('\n');
+            }
+            generator.close();
+        }
+    }
+
+    private static final class CsvDtoWriter<T> implements DtoWriter<T> {
+
+        private final ObjectMapper objectMapper;
+        private final List<String> columns;
+        private final Writer writer;
+
+        CsvDtoWriter(ObjectMapper objectMapper, Class<T> dtoClass, OutputStream out) throws IOException {
+            this.objectMapper = objectMapper;
+            this.columns = objectMapper
+                .getSerializationConfig()
+                .introspect(objectMapper.constructType(dtoClass))
+                .findProperties()
+                .stream()
+                .filter(BeanPropertyDefinition::couldSerialize)
+                .map(BeanPropertyDefinition::getName)
+                .toList();
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.write(String.join(CSV_SEPARATOR, columns));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(T dto) throws IOException {
+            JsonNode row = objectMapper.valueToTree(dto);
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(CSV_SEPARATOR);
+                }
+                writer.write(escape(cell(row.get(columns.get(i)))));
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        /**
+         * Related entities are written as their id, and collections as the list of their elements.
+         */
+        private static String cell(JsonNode node) {
+            if (node == null || node.isNull()) {
+                return "";
+            }
+            if (node.isObject()) {
+                return cell(node.get("id"));
+            }
+            if (node.isArray()) {
+                return String.join(
+                    CSV_LIST_SEPARATOR,
+                    StreamSupport.stream(node.spliterator(), false).map(CsvDtoWriter::cell).toList()
+                );
+            }
+            if (node.isTextual() && !node.asText().isEmpty() && CSV_FORMULA_PREFIXES.indexOf(node.asText().charAt(0)) >= 0) {
+                // Keep spreadsheets from evaluating the value as a formula
+                return "'" + node.asText();
+            }
+            return node.asText();
+        }
+
+        private static String escape(String value) {
+            if (value.contains(CSV_SEPARATOR) || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+                return "\"" + value.replace("\"", "\"\"") + "\"";
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.vazh.web.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling pagination without a total count.
+ * <p>
+ * Same {@link HttpHeaders#LINK} format as {@link tech.jhipster.web.util.PaginationUtil}, without the {@code last} link
+ * and the {@code X-Total-Count} header, which both require counting the elements.
+ */
+public final class SlicePaginationUtil {
+
+    private static final String HEADER_LINK_FORMAT = "<%s>; rel=\"%s\"";
+
+    private SlicePaginationUtil() {}
+
+    /**
+     * Generate pagination headers for a Spring Data {@link Slice} object.
+     *
+     * @param uriBuilder the builder of the current request URI.
+     * @param slice the slice which is returned.
+     * @param <T> the type of the elements of the slice.
+     * @return the {@link HttpHeaders}.
+     */
+    public static <T> HttpHeaders generateSliceHttpHeaders(UriComponentsBuilder uriBuilder, Slice<T> slice) {
+        int pageNumber = slice.getNumber();
+        int pageSize = slice.getSize();
+        List<String> links = new ArrayList<>();
+        if (slice.hasNext()) {
+            links.add(prepareLink(uriBuilder, pageNumber + 1, pageSize, "next"));
+        }
+        if (slice.hasPrevious()) {
+            links.add(prepareLink(uriBuilder, pageNumber - 1, pageSize, "prev"));
+        }
+        links.add(prepareLink(uriBuilder, 0, pageSize, "first"));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.LINK, String.join(",", links));
+        return headers;
+    }
+
+    private static String prepareLink(UriComponentsBuilder uriBuilder, int pageNumber, int pageSize, String relType) {
+        String uri = uriBuilder
+            .replaceQueryParam("page", Integer.toString(pageNumber))
+            .replaceQueryParam("size", Integer.toString(pageSize))
+            .toUriString()
+            .replace(",", "%2C")
+            .replace(";", "%3B");
+        return String.format(HEADER_LINK_FORMAT, uri, relType);
+    }
+}
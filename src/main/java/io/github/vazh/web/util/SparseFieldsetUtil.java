@@ -0,0 +1,127 @@
+package io.github.vazh.web.util;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import io.github.vazh.web.rest.errors.BadRequestAlertException;
+import java.beans.PropertyDescriptor;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import org.springframework.beans.BeanUtils;
+
+/**
+ * Utility class for handling sparse fieldsets, the {@value #FIELDS_PARAMETER} request parameter listing the properties
+ * of the DTOs a client wants, separated by commas.
+ * <p>
+ * The DTOs supporting them are mixed in with {@link FilteredMixIn}. Their {@code id} is always written, and only the
+ * properties of the top level DTOs are filtered, the nested ones being written in full.
+ */
+public final class SparseFieldsetUtil {
+
+    public static final String FIELDS_PARAMETER = "fields";
+
+    static final String FILTER_ID = "sparseFieldset";
+
+    private static final String ID_PROPERTY = "id";
+
+    /**
+     * The filters writing all the properties, when no sparse fieldset is requested.
+     */
+    public static final FilterProvider ALL_FIELDS = new SimpleFilterProvider().addFilter(FILTER_ID, SimpleBeanPropertyFilter.serializeAll());
+
+    private SparseFieldsetUtil() {}
+
+    /**
+     * Parse the sparse fieldset sent by a client, without checking the properties.
+     *
+     * @param fields the properties, as sent in the {@value #FIELDS_PARAMETER} request parameter.
+     * @return the properties, {@code id} included, or {@code null} for all of them when {@code fields} is {@code null}.
+     */
+    public static Set<String> parseFields(String fields) {
+        if (fields == null) {
+            return null;
+        }
+        Set<String> properties = new LinkedHashSet<>();
+        properties.add(ID_PROPERTY);
+        for (String field : fields.split(",")) {
+            if (!field.isBlank()) {
+                properties.add(field.trim());
+            }
+        }
+        return Set.copyOf(properties);
+    }
+
+    /**
+     * Parse the sparse fieldset sent by a client, checking that every property belongs to the DTO.
+     *
+     * @param fields the properties, as sent in the {@value #FIELDS_PARAMETER} request parameter.
+     * @param dtoClass the DTO class the properties belong to.
+     * @param entityName the name of the entity, used in the error response.
+     * @return the properties, {@code id} included, or {@code null} for all of them when {@code fields} is {@code null}.
+     * @throws BadRequestAlertException if a property does not belong to the DTO.
+     */
+    public static Set<String> parseFields(String fields, Class<?> dtoClass, String entityName) {
+        Set<String> properties = parseFields(fields);
+        if (properties == null) {
+            return null;
+        }
+        Set<String> dtoProperties = new LinkedHashSet<>();
+        for (PropertyDescriptor descriptor : BeanUtils.getPropertyDescriptors(dtoClass)) {
+            if (descriptor.getReadMethod() != null && descriptor.getWriteMethod() != null) {
+                dtoProperties.add(descriptor.getName());
+            }
+        }
+        if (!dtoProperties.containsAll(properties)) {
+            throw new BadRequestAlertException("Invalid fields", entityName, "fieldsinvalid");
+        }
+        return properties;
+    }
+
+    /**
+     * Get the filters writing only the given properties of the top level DTOs.
+     *
+     * @param fields the properties to write.
+     * @return the filters.
+     */
+    public static FilterProvider filters(Set<String> fields) {
+        return new SimpleFilterProvider().addFilter(FILTER_ID, new TopLevelPropertyFilter(fields));
+    }
+
+    /**
+     * Mix-in of the DTOs supporting sparse fieldsets.
+     */
+    @JsonFilter(FILTER_ID)
+    public interface FilteredMixIn {}
+
+    private static final class TopLevelPropertyFilter extends SimpleBeanPropertyFilter {
+
+        private final Set<String> fields;
+
+        private TopLevelPropertyFilter(Set<String> fields) {
+            this.fields = fields;
+        }
+
+        @Override
+        public void serializeAsField(Object pojo, JsonGenerator generator, SerializerProvider provider, PropertyWriter writer)
+            throws Exception {
+            if (fields.contains(writer.getName()) || !isTopLevel(generator.getOutputContext())) {
+                writer.serializeAsField(pojo, generator, provider);
+            } else if (!generator.canOmitFields()) {
+                writer.serializeAsOmittedField(pojo, generator, provider);
+            }
+        }
+
+        /**
+         * The context is the one of the object being written, either the body or an element of the body.
+         */
+        private static boolean isTopLevel(JsonStreamContext context) {
+            JsonStreamContext parent = context.getParent();
+            return parent.inRoot() || (parent.inArray() && parent.getParent().inRoot());
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Web layer utilities.
+ */
+package io.github.vazh.web.util;
@@ -0,0 +1,181 @@
+package io.github.vazh.aop.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.vazh.repository.EmployeeRepository;
+import io.github.vazh.service.impl.EmployeeServiceImpl;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.stereotype.Repository;
+import org.springframework.stereotype.Service;
+
+/**
+ * Test class for the {@link LoggingInterceptor} and the {@link LoggingClassFilter}.
+ */
+class LoggingInterceptorTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void classFilterMatchesTheStereotypesOfTheLoggedPackages() {
+        LoggingClassFilter classFilter = new LoggingClassFilter(List.of("io.github.vazh.service", "io.github.vazh.repository"), List.of());
+
+        assertThat(classFilter.matches(EmployeeServiceImpl.class)).isTrue();
+        assertThat(classFilter.matches(EmployeeRepository.class)).isTrue();
+        assertThat(classFilter.matches(LoggingInterceptorTest.class)).isFalse();
+        assertThat(classFilter.matches(Greeter.class)).isFalse();
+    }
+
+    @Test
+    void classFilterSkipsTheDisabledPackages() {
+        LoggingClassFilter classFilter = new LoggingClassFilter(
+            List.of("io.github.vazh.service", "io.github.vazh.repository", "io.github.vazh.aop"),
+            List.of("io.github.vazh.repository", "io.github.vazh.aop.logging")
+        );
+
+        assertThat(classFilter.matches(EmployeeServiceImpl.class)).isTrue();
+        assertThat(classFilter.matches(EmployeeRepository.class)).isFalse();
+        assertThat(classFilter.matches(Greeter.class)).isFalse();
+    }
+
+    @Test
+    void everyCallIsTimedWithTheFullSampleRate() {
+        Greeter greeter = proxy(1);
+
+        assertThat(greeter.greet("Ada")).isEqualTo("Hello Ada");
+        assertThat(greeter.greet("Grace")).isEqualTo("Hello Grace");
+
+        assertThat(meterRegistry.get(LoggingInterceptor.METRIC_CALLS).tags("class", "Greeter", "method", "greet").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void noCallIsTimedWithoutSampling() {
+        Greeter greeter = proxy(0);
+
+        greeter.greet("Ada");
+
+        assertThat(meterRegistry.find(LoggingInterceptor.METRIC_CALLS).timer()).isNull();
+    }
+
+    @Test
+    void histogramIsOnlyPublishedOnDemand() {
+        List<Boolean> percentileHistograms = new ArrayList<>();
+        MeterFilter histogramCapture = new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                percentileHistograms.add(config.isPercentileHistogram());
+                return config;
+            }
+        };
+        meterRegistry.config().meterFilter(histogramCapture);
+        proxy(1).greet("Ada");
+
+        MeterRegistry histogramRegistry = new SimpleMeterRegistry();
+        histogramRegistry.config().meterFilter(histogramCapture);
+        proxy(1, histogramRegistry, true).greet("Ada");
+
+        assertThat(percentileHistograms).containsExactly(false, true);
+    }
+
+    @Test
+    void exceptionsAreRethrown() {
+        Greeter greeter = proxy(1);
+
+        assertThatThrownBy(() -> greeter.greet(null)).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(meterRegistry.get(LoggingInterceptor.METRIC_CALLS).timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void repositoryCallsAreTimedUnderTheirInterface() {
+        NameRepository names = repository(NameRepository.class);
+        NumberRepository numbers = repository(NumberRepository.class);
+
+        assertThat(names.find(1L)).isEqualTo("1");
+        assertThat(numbers.find(2L)).isEqualTo("2");
+        assertThat(numbers.find(3L)).isEqualTo("3");
+
+        assertThat(meterRegistry.get(LoggingInterceptor.METRIC_CALLS).tags("class", "NameRepository", "method", "find").timer().count()).isEqualTo(
+            1
+        );
+        assertThat(meterRegistry.get(LoggingInterceptor.METRIC_CALLS).tags("class", "NumberRepository", "method", "find").timer().count()).isEqualTo(
+            2
+        );
+        assertThat(meterRegistry.find(LoggingInterceptor.METRIC_CALLS).tags("class", "Store").timer()).isNull();
+    }
+
+    private Greeter proxy(double timingSampleRate) {
+        return proxy(timingSampleRate, meterRegistry, false);
+    }
+
+    private Greeter proxy(double timingSampleRate, MeterRegistry meterRegistry, boolean timingHistogram) {
+        ProxyFactory proxyFactory = new ProxyFactory(new Greeter());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(
+            new DefaultPointcutAdvisor(
+                new ComposablePointcut(new LoggingClassFilter(List.of("io.github.vazh.aop"), List.of())),
+                new LoggingInterceptor(() -> meterRegistry, timingSampleRate, timingHistogram)
+            )
+        );
+        return (Greeter) proxyFactory.getProxy();
+    }
+
+    /**
+     * Advise a proxy of the repository interface like Spring Data creates, whose target implements the generic interface.
+     */
+    private <R extends Store> R repository(Class<R> repositoryInterface) {
+        ProxyFactory repositoryFactory = new ProxyFactory();
+        repositoryFactory.setTarget(new SimpleStore());
+        repositoryFactory.setInterfaces(repositoryInterface);
+
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setTarget(repositoryFactory.getProxy());
+        proxyFactory.addInterface(repositoryInterface);
+        proxyFactory.addAdvisor(
+            new DefaultPointcutAdvisor(
+                new ComposablePointcut(new LoggingClassFilter(List.of("io.github.vazh.aop"), List.of())),
+                new LoggingInterceptor(() -> meterRegistry, 1, false)
+            )
+        );
+        return repositoryInterface.cast(proxyFactory.getProxy());
+    }
+
+    interface Store {
+        String find(Long id);
+    }
+
+    @Repository
+    interface NameRepository extends Store {}
+
+    @Repository
+    interface NumberRepository extends Store {}
+
+    static class SimpleStore implements Store {
+
+        @Override
+        public String find(Long id) {
+            return String.valueOf(id);
+        }
+    }
+
+    @Service
+    static class Greeter {
+
+        public String greet(String name) {
+            if (name == null) {
+                throw new IllegalArgumentException("name is required");
+            }
+            return "Hello " + name;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package io.github.vazh.aop.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.vazh.domain.Employee;
+import io.github.vazh.service.criteria.EmployeeCriteria;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import tech.jhipster.service.QueryService;
+
+/**
+ * Test class for the {@link QueryServiceMetricsAspect}.
+ */
+class QueryServiceMetricsAspectTest {
+
+    private MeterRegistry meterRegistry;
+    private QueryServiceMetricsAspect aspect;
+    private EmployeeTestQueryService queryService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        aspect = new QueryServiceMetricsAspect(meterRegistry, 2);
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new EmployeeTestQueryService());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(aspect);
+        queryService = proxyFactory.getProxy();
+    }
+
+    @Test
+    void shapeListsTheFiltersAndOperatorsSortedByName() {
+        EmployeeCriteria criteria = new EmployeeCriteria();
+        criteria.salary().setGreaterThan(30_000L);
+        criteria.salary().setLessThan(50_000L);
+        criteria.departmentId().setEquals(4L);
+        criteria.setDistinct(true);
+
+        assertThat(aspect.shape(criteria)).isEqualTo("Employee[departmentId.equals,salary.greaterThan,salary.lessThan]");
+        assertThat(aspect.shape(new EmployeeCriteria())).isEqualTo("Employee[]");
+    }
+
+    @Test
+    void callsAreTimedAndTheirRowsCountedByShape() {
+        EmployeeCriteria criteria = new EmployeeCriteria();
+        criteria.lastName().setContains("mit");
+
+        queryService.findByCriteria(criteria);
+        queryService.findByCriteria(criteria);
+        queryService.countByCriteria(criteria);
+
+        assertThat(
+            meterRegistry
+                .get(QueryServiceMetricsAspect.METRIC_CALLS)
+                .tags("entity", "Employee", "method", "findByCriteria", "shape", "Employee[lastName.contains]", "exception", "none")
+                .timer()
+                .count()
+        ).isEqualTo(2);
+        assertThat(meterRegistry.get(QueryServiceMetricsAspect.METRIC_ROWS).tags("method", "findByCriteria").summary().totalAmount()).isEqualTo(
+            6
+        );
+        assertThat(meterRegistry.get(QueryServiceMetricsAspect.METRIC_CALLS).tags("method", "countByCriteria").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.find(QueryServiceMetricsAspect.METRIC_ROWS).tags("method", "countByCriteria").summary()).isNull();
+    }
+
+    @Test
+    void shapesBeyondTheLimitAreTaggedAsOther() {
+        EmployeeCriteria criteria = new EmployeeCriteria();
+        queryService.findByCriteria(criteria);
+        criteria.email().setSpecified(true);
+        queryService.findByCriteria(criteria);
+        criteria.salary().setEquals(1L);
+        queryService.findByCriteria(criteria);
+        queryService.findByCriteria(new EmployeeCriteria());
+
+        assertThat(meterRegistry.get(QueryServiceMetricsAspect.METRIC_CALLS).tags("shape", "Employee[]").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get(QueryServiceMetricsAspect.METRIC_CALLS).tags("shape", "Employee[other]").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void failedCallsAreTaggedWithTheirException() {
+        assertThatThrownBy(() -> queryService.failByCriteria(new EmployeeCriteria())).isInstanceOf(IllegalStateException.class);
+
+        assertThat(
+            meterRegistry.get(QueryServiceMetricsAspect.METRIC_CALLS).tags("exception", "IllegalStateException").timer().count()
+        ).isEqualTo(1);
+    }
+
+    static class EmployeeTestQueryService extends QueryService<Employee> {
+
+        public Page<String> findByCriteria(EmployeeCriteria criteria) {
+            return new PageImpl<>(List.of("a", "b", "c"));
+        }
+
+        public long countByCriteria(EmployeeCriteria criteria) {
+            return 3;
+        }
+
+        public long failByCriteria(EmployeeCriteria criteria) {
+            throw new IllegalStateException();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package io.github.vazh.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import java.io.IOException;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.cache.internal.CacheKeyImplementation;
+import org.hibernate.cache.spi.entry.CollectionCacheEntry;
+import org.hibernate.cache.spi.entry.StandardCacheEntryImpl;
+import org.hibernate.cache.spi.support.AbstractReadWriteAccess;
+import org.junit.jupiter.api.Test;
+import org.redisson.codec.SerializationCodec;
+
+/**
+ * Test class for the {@link HibernateCacheCodec} codec.
+ */
+class HibernateCacheCodecTest {
+
+    private static final String EMPLOYEE = "io.github.vazh.domain.Employee";
+
+    private final HibernateCacheCodec codec = new HibernateCacheCodec(null, 1024);
+    private final SerializationCodec serializationCodec = new SerializationCodec();
+
+    @Test
+    void entityItemRoundTripsAndIsSmallerThanJavaSerialization() throws IOException {
+        AbstractReadWriteAccess.Item item = HibernateCacheCodec.newItem(employeeEntry(), null, 7_429_116_530_917_376L);
+
+        ByteBuf binary = codec.getValueEncoder().encode(item);
+        ByteBuf java = serializationCodec.getValueEncoder().encode(item);
+        assertThat(binary.readableBytes()).isLessThan(java.readableBytes() / 4);
+
+        AbstractReadWriteAccess.Item decoded = (AbstractReadWriteAccess.Item) codec.getValueDecoder().decode(binary, null);
+        assertThat(decoded.isReadable(7_429_116_530_917_377L)).isTrue();
+        StandardCacheEntryImpl entry = (StandardCacheEntryImpl) decoded.getValue();
+        assertThat(entry.getSubclass()).isEqualTo(EMPLOYEE);
+        assertThat(entry.getDisassembledState()).containsExactly(employeeEntry().getDisassembledState());
+        java.release();
+    }
+
+    @Test
+    void collectionEntryRoundTrips() throws IOException {
+        CollectionCacheEntry entry = HibernateCacheCodec.newCollectionEntry(new Serializable[] { 1L, 2L, 3L });
+
+        CollectionCacheEntry decoded = (CollectionCacheEntry) codec.getValueDecoder().decode(codec.getValueEncoder().encode(entry), null);
+
+        assertThat(decoded.getState()).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void cacheKeyEncodingIsStable() throws IOException {
+        CacheKeyImplementation key = new CacheKeyImplementation(1500L, EMPLOYEE, null, 1500);
+
+        byte[] first = ByteBufUtil.getBytes(codec.getMapKeyEncoder().encode(key));
+        byte[] second = ByteBufUtil.getBytes(codec.getMapKeyEncoder().encode(new CacheKeyImplementation(1500L, EMPLOYEE, null, 1500)));
+        Object decoded = codec.getMapKeyDecoder().decode(codec.getMapKeyEncoder().encode(key), null);
+
+        assertThat(first).isEqualTo(second);
+        assertThat(decoded).isEqualTo(key).hasSameHashCodeAs(key);
+    }
+
+    @Test
+    void otherValuesFallBackToJavaSerialization() throws IOException {
+        List<String> value = new ArrayList<>(List.of("user", "admin"));
+
+        Object decoded = codec.getValueDecoder().decode(codec.getValueEncoder().encode(value), null);
+
+        assertThat(decoded).isEqualTo(value);
+    }
+
+    @Test
+    void largePayloadIsCompressed() throws IOException {
+        String description = "Responsible for the quarterly reporting of the department. ".repeat(100);
+
+        ByteBuf encoded = codec.getValueEncoder().encode(description);
+
+        assertThat(encoded.readableBytes()).isLessThan(description.length() / 4);
+        assertThat(codec.getValueDecoder().decode(encoded, null)).isEqualTo(description);
+    }
+
+    @Test
+    void javaSerializedValueIsStillReadable() throws IOException {
+        AbstractReadWriteAccess.Item item = HibernateCacheCodec.newItem(employeeEntry(), null, 1L);
+
+        Object decoded = codec.getValueDecoder().decode(serializationCodec.getValueEncoder().encode(item), null);
+
+        assertThat(decoded).isInstanceOf(AbstractReadWriteAccess.Item.class);
+    }
+
+    private static StandardCacheEntryImpl employeeEntry() {
+        Serializable[] state = new Serializable[] {
+            "Anna",
+            "Smith",
+            "anna.smith@example.com",
+            "+33 6 12 34 56 78",
+            Instant.parse("2024-06-26T18:08:03Z"),
+            12_500L,
+            new BigDecimal("0.15"),
+            4L,
+            null,
+        };
+        return HibernateCacheCodec.newEntityEntry(state, EMPLOYEE, null);
+    }
+}
@@ -0,0 +1,143 @@
+package io.github.vazh.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.cache.spi.support.AbstractReadWriteAccess;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link NearCacheStorageAccess} class.
+ */
+class NearCacheStorageAccessTest {
+
+    private static final String REGION = "io.github.vazh.domain.Employee";
+
+    private DomainDataStorageAccess remote;
+    private MeterRegistry meterRegistry;
+    private List<Object> published;
+    private NearCacheStorageAccess storageAccess;
+
+    @BeforeEach
+    void setup() {
+        remote = mock(DomainDataStorageAccess.class);
+        meterRegistry = new SimpleMeterRegistry();
+        published = new ArrayList<>();
+        storageAccess = new NearCacheStorageAccess(REGION, remote, new ApplicationProperties.NearCache(), published::add, meterRegistry);
+    }
+
+    @Test
+    void remoteHitIsServedLocallyAfterwards() {
+        when(remote.getFromCache("key", null)).thenReturn("value");
+
+        assertThat(storageAccess.getFromCache("key", null)).isEqualTo("value");
+        assertThat(storageAccess.getFromCache("key", null)).isEqualTo("value");
+
+        verify(remote, times(1)).getFromCache("key", null);
+        assertThat(gets("local", "hit")).isEqualTo(1);
+        assertThat(gets("local", "miss")).isEqualTo(1);
+        assertThat(gets("remote", "hit")).isEqualTo(1);
+        assertThat(gets("remote", "miss")).isZero();
+    }
+
+    @Test
+    void remoteMissIsNotCached() {
+        assertThat(storageAccess.getFromCache("key", null)).isNull();
+        assertThat(storageAccess.getFromCache("key", null)).isNull();
+
+        verify(remote, times(2)).getFromCache("key", null);
+        assertThat(gets("remote", "miss")).isEqualTo(2);
+    }
+
+    @Test
+    void writeEvictsLocallyAndPublishesTheKey() {
+        when(remote.getFromCache("key", null)).thenReturn("value");
+        storageAccess.getFromCache("key", null);
+
+        storageAccess.putIntoCache("key", "other", null);
+        storageAccess.getFromCache("key", null);
+
+        verify(remote).putIntoCache("key", "other", null);
+        verify(remote, times(2)).getFromCache("key", null);
+        assertThat(published).containsExactly("key");
+    }
+
+    @Test
+    void loadIsNotPublished() {
+        storageAccess.putFromLoad("key", "value", null);
+
+        verify(remote).putFromLoad("key", "value", null);
+        assertThat(published).isEmpty();
+    }
+
+    @Test
+    void readWriteItemIsNotPublished() {
+        Object item = mock(AbstractReadWriteAccess.Lockable.class);
+
+        storageAccess.putIntoCache("key", item, null);
+
+        verify(remote).putIntoCache("key", item, null);
+        assertThat(published).isEmpty();
+    }
+
+    @Test
+    void readWriteSoftLockIsPublishedAndNotCachedLocally() {
+        Object softLock = mock(AbstractReadWriteAccess.Lockable.class, withSettings().extraInterfaces(SoftLock.class));
+        when(remote.getFromCache("key", null)).thenReturn(softLock);
+
+        storageAccess.putIntoCache("key", softLock, null);
+        storageAccess.getFromCache("key", null);
+        storageAccess.getFromCache("key", null);
+
+        assertThat(published).containsExactly("key");
+        verify(remote, times(2)).getFromCache("key", null);
+    }
+
+    @Test
+    void invalidationDuringRemoteReadPreventsLocalPopulation() {
+        when(remote.getFromCache(any(), any())).thenAnswer(invocation -> {
+            storageAccess.invalidateLocal(invocation.getArgument(0));
+            return "stale";
+        });
+
+        assertThat(storageAccess.getFromCache("key", null)).isEqualTo("stale");
+        storageAccess.getFromCache("key", null);
+
+        verify(remote, times(2)).getFromCache("key", null);
+    }
+
+    @Test
+    void regionInvalidationClearsTheLocalTier() {
+        when(remote.getFromCache("key", null)).thenReturn("value");
+        storageAccess.getFromCache("key", null);
+
+        storageAccess.invalidateLocal(null);
+        storageAccess.getFromCache("key", null);
+
+        verify(remote, times(2)).getFromCache("key", null);
+        assertThat(published).isEmpty();
+    }
+
+    private double gets(String tier, String result) {
+        return meterRegistry
+            .get(NearCacheStorageAccess.METRIC_GETS)
+            .tags("region", REGION, "tier", tier, "result", result)
+            .meter()
+            .measure()
+            .iterator()
+            .next()
+            .getValue();
+    }
+}
@@ -0,0 +1,48 @@
+package io.github.vazh.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.vazh.config.QueryPlanIndexesEndpoint.QueryIndexes;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link QueryPlanIndexesEndpoint}.
+ */
+class QueryPlanIndexesEndpointTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void collectsTheIndexesAndTheSequentialScansOfAPlan() throws Exception {
+        String explanation =
+            """
+            [{"Plan": {"Node Type": "Limit", "Total Cost": 42.5, "Plans": [
+              {"Node Type": "Nested Loop", "Plans": [
+                {"Node Type": "Index Scan", "Relation Name": "employee", "Index Name": "idx_employee__salary_id"},
+                {"Node Type": "Bitmap Heap Scan", "Relation Name": "department", "Plans": [
+                  {"Node Type": "Bitmap Index Scan", "Index Name": "department_pkey"}
+                ]},
+                {"Node Type": "Seq Scan", "Relation Name": "job"}
+              ]}
+            ]}}]
+            """;
+
+        QueryIndexes indexes = QueryPlanIndexesEndpoint.indexes(objectMapper.readTree(explanation));
+
+        assertThat(indexes.explained()).isTrue();
+        assertThat(indexes.indexes()).containsExactly("department_pkey", "idx_employee__salary_id");
+        assertThat(indexes.sequentialScans()).containsExactly("job");
+        assertThat(indexes.totalCost()).isEqualTo(42.5);
+    }
+
+    @Test
+    void reportsASequentialScanWithoutIndexes() throws Exception {
+        String explanation = "[{\"Plan\": {\"Node Type\": \"Seq Scan\", \"Relation Name\": \"employee\", \"Total Cost\": 1.1}}]";
+
+        QueryIndexes indexes = QueryPlanIndexesEndpoint.indexes(objectMapper.readTree(explanation));
+
+        assertThat(indexes.indexes()).isEmpty();
+        assertThat(indexes.sequentialScans()).containsExactly("employee");
+    }
+}
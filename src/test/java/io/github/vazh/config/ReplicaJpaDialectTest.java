@@ -0,0 +1,52 @@
+package io.github.vazh.config;
+
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.SQLException;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+/**
+ * Test class for the {@link ReplicaJpaDialect}.
+ */
+class ReplicaJpaDialectTest {
+
+    private final ReplicaJpaDialect dialect = new ReplicaJpaDialect();
+
+    private final SessionImplementor session = mock(SessionImplementor.class, RETURNS_DEEP_STUBS);
+
+    @BeforeEach
+    void setUp() {
+        when(session.unwrap(SessionImplementor.class)).thenReturn(session);
+        when(session.unwrap(Session.class)).thenReturn(session);
+        when(session.getCacheMode()).thenReturn(CacheMode.NORMAL);
+    }
+
+    @Test
+    void readOnlyTransactionsOnlyReadTheSecondLevelCache() throws SQLException {
+        DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+        definition.setReadOnly(true);
+
+        Object transactionData = dialect.beginTransaction(session, definition);
+        verify(session).setCacheMode(CacheMode.GET);
+
+        dialect.cleanupTransaction(transactionData);
+        verify(session).setCacheMode(CacheMode.NORMAL);
+    }
+
+    @Test
+    void readWriteTransactionsKeepTheCacheMode() throws SQLException {
+        Object transactionData = dialect.beginTransaction(session, new DefaultTransactionDefinition());
+        dialect.cleanupTransaction(transactionData);
+
+        verify(session, never()).setCacheMode(CacheMode.GET);
+    }
+}
@@ -0,0 +1,180 @@
+package io.github.vazh.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.listener.MessageListener;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Test class for the {@link ReplicaRoutingDataSource}.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private final Connection primaryConnection = mock(Connection.class);
+
+    private final DataSource primary = mock(DataSource.class);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ApplicationProperties.ReadReplicas properties = new ApplicationProperties.ReadReplicas();
+
+    private final RTopic topic = mock(RTopic.class);
+
+    private final RedissonClient redissonClient = mock(RedissonClient.class);
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(redissonClient.getTopic(eq(ReplicaRoutingDataSource.RECENT_WRITES_TOPIC), any())).thenReturn(topic);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void readsThePrimaryUntilTheReplicasAreChecked() throws SQLException {
+        ReplicaRoutingDataSource dataSource = routing(Map.of("replica-1", replica(0).dataSource()));
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        assertThat(routed("primary", "no-healthy-replica")).isEqualTo(1);
+    }
+
+    @Test
+    void spreadsTheReadsOverTheHealthyReplicas() throws SQLException {
+        Replica first = replica(0);
+        Replica second = replica(1.5);
+        ReplicaRoutingDataSource dataSource = routing(Map.of("replica-1", first.dataSource(), "replica-2", second.dataSource()));
+        dataSource.checkReplicas();
+
+        assertThat(dataSource.getConnection()).isNotSameAs(dataSource.getConnection()).isNotSameAs(primaryConnection);
+        assertThat(routed("replica", "read-only")).isEqualTo(2);
+        assertThat(meterRegistry.get(ReplicaRoutingDataSource.METRIC_LAG).tag("replica", "replica-2").gauge().value()).isEqualTo(1.5);
+        assertThat(meterRegistry.get(ReplicaRoutingDataSource.METRIC_HEALTHY).tag("replica", "replica-2").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void readsThePrimaryWhenTheReplicaLagsOrFails() throws SQLException {
+        Replica lagging = replica(60);
+        DataSource failing = mock(DataSource.class);
+        when(failing.getConnection()).thenThrow(new SQLException("Connection refused"));
+        ReplicaRoutingDataSource dataSource = routing(Map.of("replica-1", lagging.dataSource(), "replica-2", failing));
+        dataSource.checkReplicas();
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        assertThat(meterRegistry.get(ReplicaRoutingDataSource.METRIC_HEALTHY).tag("replica", "replica-1").gauge().value()).isZero();
+        assertThat(meterRegistry.get(ReplicaRoutingDataSource.METRIC_LAG).tag("replica", "replica-2").gauge().value()).isNaN();
+    }
+
+    @Test
+    void readsThePrimaryAfterAWriteOfTheSameUser() throws SQLException {
+        Replica replica = replica(0);
+        ReplicaRoutingDataSource dataSource = routing(Map.of("replica-1", replica.dataSource()));
+        dataSource.checkReplicas();
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("writer", "writer"));
+
+        TransactionSynchronizationManager.initSynchronization();
+        assertThat(dataSource.writes().getConnection()).isSameAs(primaryConnection);
+        assertThat(dataSource.getConnection()).isSameAs(replica.connection());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        assertThat(routed("primary", "recent-write")).isEqualTo(1);
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("reader", "reader"));
+        assertThat(dataSource.getConnection()).isSameAs(replica.connection());
+
+        ArgumentCaptor<ReplicaRoutingDataSource.RecentWrite> published = ArgumentCaptor.forClass(
+            ReplicaRoutingDataSource.RecentWrite.class
+        );
+        verify(topic).publish(published.capture());
+        assertThat(published.getValue().login()).isEqualTo("writer");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void readsThePrimaryAfterAWriteOfTheSameUserOnAnotherNode() throws SQLException {
+        ArgumentCaptor<MessageListener<ReplicaRoutingDataSource.RecentWrite>> listener = ArgumentCaptor.forClass(MessageListener.class);
+        Replica replica = replica(0);
+        ReplicaRoutingDataSource dataSource = routing(Map.of("replica-1", replica.dataSource()));
+        verify(topic).addListener(eq(ReplicaRoutingDataSource.RecentWrite.class), listener.capture());
+        dataSource.checkReplicas();
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("writer", "writer"));
+        assertThat(dataSource.getConnection()).isSameAs(replica.connection());
+
+        listener
+            .getValue()
+            .onMessage(ReplicaRoutingDataSource.RECENT_WRITES_TOPIC, new ReplicaRoutingDataSource.RecentWrite(UUID.randomUUID(), "writer"));
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void rolledBackWritesKeepTheReadsOnTheReplicas() throws SQLException {
+        Replica replica = replica(0);
+        ReplicaRoutingDataSource dataSource = routing(Map.of("replica-1", replica.dataSource()));
+        dataSource.checkReplicas();
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("writer", "writer"));
+
+        TransactionSynchronizationManager.initSynchronization();
+        dataSource.writes().getConnection();
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertThat(dataSource.getConnection()).isSameAs(replica.connection());
+    }
+
+    private ReplicaRoutingDataSource routing(Map<String, DataSource> replicas) {
+        return new ReplicaRoutingDataSource(primary, new LinkedHashMap<>(replicas), properties, redissonClient, meterRegistry);
+    }
+
+    private double routed(String route, String reason) {
+        return meterRegistry.get(ReplicaRoutingDataSource.METRIC_CONNECTIONS).tags("route", route, "reason", reason).counter().count();
+    }
+
+    private static Replica replica(double lagSeconds) throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getDouble(1)).thenReturn(lagSeconds);
+        return new Replica(dataSource, connection);
+    }
+
+    private record Replica(DataSource dataSource, Connection connection) {}
+}
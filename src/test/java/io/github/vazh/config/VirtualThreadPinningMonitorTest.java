@@ -0,0 +1,33 @@
+package io.github.vazh.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link VirtualThreadPinningMonitor}.
+ */
+class VirtualThreadPinningMonitorTest {
+
+    @Test
+    void sourceIsTheFirstClassOutsideTheJdk() {
+        assertThat(
+            VirtualThreadPinningMonitor.source(
+                List.of(
+                    "java.lang.VirtualThread",
+                    "jdk.internal.misc.Unsafe",
+                    "java.util.concurrent.locks.LockSupport",
+                    "org.postgresql.core.v3.QueryExecutorImpl",
+                    "com.zaxxer.hikari.pool.ProxyStatement"
+                )
+            )
+        ).isEqualTo("org.postgresql.core.v3.QueryExecutorImpl");
+    }
+
+    @Test
+    void sourceIsUnknownWithinTheJdk() {
+        assertThat(VirtualThreadPinningMonitor.source(List.of("java.lang.VirtualThread", "sun.nio.ch.NioSocketImpl"))).isEqualTo("unknown");
+        assertThat(VirtualThreadPinningMonitor.source(List.of())).isEqualTo("unknown");
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.vazh.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.vazh.IntegrationTest;
+import io.github.vazh.domain.Department;
+import io.github.vazh.domain.Department_;
+import io.github.vazh.domain.Employee;
+import io.github.vazh.domain.Employee_;
+import io.github.vazh.domain.Job;
+import io.github.vazh.domain.Job_;
+import io.github.vazh.domain.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceUnitUtil;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link BagRelationshipFetcher}.
+ */
+@IntegrationTest
+@Transactional
+class BagRelationshipFetcherIT {
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private BagRelationshipFetcher bagRelationshipFetcher;
+
+    private PersistenceUnitUtil persistenceUnitUtil;
+
+    private Department department;
+
+    private List<Employee> employees;
+
+    private List<Job> jobs;
+
+    @BeforeEach
+    void init() {
+        persistenceUnitUtil = em.getEntityManagerFactory().getPersistenceUnitUtil();
+        department = new Department().departmentName("bag-department");
+        em.persist(department);
+        Task task = new Task().title("bag-task");
+        em.persist(task);
+        Employee first = new Employee().firstName("bag-first").department(department);
+        Employee second = new Employee().firstName("bag-second").department(department);
+        em.persist(first);
+        em.persist(second);
+        Job firstJob = new Job().jobTitle("bag-first-job").employee(first).addTask(task);
+        Job secondJob = new Job().jobTitle("bag-second-job").employee(second);
+        em.persist(firstJob);
+        em.persist(secondJob);
+        em.flush();
+        em.clear();
+
+        department = em.find(Department.class, department.getId());
+        employees = List.of(em.find(Employee.class, second.getId()), em.find(Employee.class, first.getId()));
+        jobs = List.of(em.find(Job.class, secondJob.getId()), em.find(Job.class, firstJob.getId()));
+    }
+
+    @Test
+    void fetchManyToManyKeepsTheOrderOfTheParents() {
+        List<Job> result = bagRelationshipFetcher.fetch(jobs, Job_.tasks);
+
+        assertThat(result).isSameAs(jobs);
+        assertThat(result).allMatch(job -> persistenceUnitUtil.isLoaded(job, "tasks"));
+        assertThat(result.get(0).getTasks()).isEmpty();
+        assertThat(result.get(1).getTasks()).extracting(Task::getTitle).containsExactly("bag-task");
+    }
+
+    @Test
+    void fetchOneToMany() {
+        bagRelationshipFetcher.fetch(employees, Employee_.jobs);
+        bagRelationshipFetcher.fetch(List.of(department), Department_.employees);
+
+        assertThat(employees).allMatch(employee -> persistenceUnitUtil.isLoaded(employee, "jobs"));
+        assertThat(employees.get(0).getJobs()).extracting(Job::getJobTitle).containsExactly("bag-second-job");
+        assertThat(persistenceUnitUtil.isLoaded(department, "employees")).isTrue();
+        assertThat(department.getEmployees()).hasSize(2);
+    }
+
+    @Test
+    void fetchEmptyList() {
+        assertThat(bagRelationshipFetcher.fetch(List.<Job>of(), Job_.tasks)).isEmpty();
+    }
+}
@@ -0,0 +1,57 @@
+package io.github.vazh.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the registration of the {@link EmployeeViewRefresher}, discovered by every session factory.
+ */
+class EmployeeViewRefresherTest {
+
+    @Test
+    void listensToThePostgreSQLSessionFactories() {
+        assertThat(isRefreshing(PostgreSQLDialect.class)).isTrue();
+    }
+
+    @Test
+    void ignoresTheOtherSessionFactories() {
+        assertThat(isRefreshing(H2Dialect.class)).isFalse();
+    }
+
+    /**
+     * Boot a session factory of the dialect, without connecting to a database, and tell whether the refresher listens to
+     * its writes.
+     */
+    private static boolean isRefreshing(Class<? extends Dialect> dialect) {
+        StandardServiceRegistry serviceRegistry = new StandardServiceRegistryBuilder()
+            .applySetting(AvailableSettings.DIALECT, dialect.getName())
+            .applySetting(AvailableSettings.ALLOW_METADATA_ON_BOOT, false)
+            .build();
+        try (SessionFactory sessionFactory = new MetadataSources(serviceRegistry).buildMetadata().buildSessionFactory()) {
+            EventListenerRegistry listenerRegistry = sessionFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .requireService(EventListenerRegistry.class);
+            for (Object listener : listenerRegistry.getEventListenerGroup(EventType.PRE_INSERT).listeners()) {
+                if (listener instanceof EmployeeViewRefresher) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            StandardServiceRegistryBuilder.destroy(serviceRegistry);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package io.github.vazh.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.vazh.config.ApplicationProperties;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link QueryPlanStatements} and the SQL explained by the {@link QueryPlanRepository}.
+ */
+class QueryPlanStatementsTest {
+
+    private static final String QUERY = "select count(e) from Employee e where e.salary > :p0";
+
+    private final QueryPlanStatements statements = new QueryPlanStatements(new ApplicationProperties());
+
+    @Test
+    void recordsTheFirstSelectOfACapturedQuery() {
+        String result = statements.capture(QUERY, () -> {
+            assertThat(statements.inspect("update employee set salary=? where id=?")).startsWith("update");
+            statements.inspect("select count(e1_0.id) from employee e1_0 where e1_0.salary>?");
+            statements.inspect("select e1_0.id from employee e1_0");
+            return "result";
+        });
+
+        assertThat(result).isEqualTo("result");
+        assertThat(statements.getSql(QUERY)).contains("select count(e1_0.id) from employee e1_0 where e1_0.salary>?");
+    }
+
+    @Test
+    void ignoresTheStatementsOutsideOfACapture() {
+        statements.inspect("select e1_0.id from employee e1_0");
+
+        assertThat(statements.getSql(QUERY)).isEmpty();
+    }
+
+    @Test
+    void capturesAQueryOnce() {
+        statements.capture(QUERY, () -> statements.inspect("select 1"));
+        statements.capture(QUERY, () -> statements.inspect("select 2"));
+
+        assertThat(statements.getSql(QUERY)).contains("select 1");
+    }
+
+    @Test
+    void numbersTheParametersOutsideOfTheLiterals() {
+        assertThat(QueryPlanRepository.toNumberedParameters("select e.id from employee e where e.salary>? and e.email<>'?' offset ? rows"))
+            .isEqualTo("select e.id from employee e where e.salary>$1 and e.email<>'?' offset $2 rows");
+    }
+
+    @Test
+    void numbersTheParametersOutsideOfTheQuotedIdentifiersAndEscapedLiterals() {
+        assertThat(QueryPlanRepository.toNumberedParameters("select \"a?b\", 'it''s ?', E'\\' ?' from t where x = ? and y::text = ?"))
+            .isEqualTo("select \"a?b\", 'it''s ?', E'\\' ?' from t where x = $1 and y::text = $2");
+    }
+
+    @Test
+    void numbersTheParametersOutsideOfTheCommentsAndDollarQuotes() {
+        assertThat(
+            QueryPlanRepository.toNumberedParameters("select $tag$ ? $$ ? $tag$, $$ ' ? $$ -- why ?\nfrom t /* a ? /* b ? */ ? */ where x = ?")
+        ).isEqualTo("select $tag$ ? $$ ? $tag$, $$ ' ? $$ -- why ?\nfrom t /* a ? /* b ? */ ? */ where x = $1");
+    }
+
+    @Test
+    void unescapesTheQuestionMarkOperators() {
+        assertThat(QueryPlanRepository.toNumberedParameters("select d.tags ?? ? , d.tags ??| ? from document d where d.name$x = ?"))
+            .isEqualTo("select d.tags ? $1 , d.tags ?| $2 from document d where d.name$x = $3");
+    }
+}
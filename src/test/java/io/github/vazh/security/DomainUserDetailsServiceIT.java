@@ -15,6 +15,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -133,4 +134,15 @@ class DomainUserDetailsServiceIT {
             () -> domainUserDetailsService.loadUserByUsername(USER_THREE_LOGIN)
         );
     }
+
+    @Test
+    void assertThatPasswordIsRehashed() {
+        UserDetails userDetails = domainUserDetailsService.loadUserByUsername(USER_ONE_LOGIN);
+
+        UserDetails rehashedUserDetails = ((UserDetailsPasswordService) domainUserDetailsService).updatePassword(userDetails, "rehashed");
+
+        assertThat(rehashedUserDetails.getPassword()).isEqualTo("rehashed");
+        assertThat(userRepository.findOneByLogin(USER_ONE_LOGIN)).get().extracting(User::getPassword).isEqualTo("rehashed");
+        assertThat(domainUserDetailsService.loadUserByUsername(USER_ONE_LOGIN).getPassword()).isEqualTo("rehashed");
+    }
 }
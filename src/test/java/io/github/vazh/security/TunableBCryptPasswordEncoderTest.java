@@ -0,0 +1,47 @@
+package io.github.vazh.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Test class for the {@link TunableBCryptPasswordEncoder}.
+ */
+class TunableBCryptPasswordEncoderTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final TunableBCryptPasswordEncoder passwordEncoder = new TunableBCryptPasswordEncoder(5, meterRegistry);
+
+    @Test
+    void hashesOfAnotherCostStillMatch() {
+        String lowerCostHash = new BCryptPasswordEncoder(4).encode("password");
+        String higherCostHash = new BCryptPasswordEncoder(6).encode("password");
+
+        assertThat(passwordEncoder.matches("password", lowerCostHash)).isTrue();
+        assertThat(passwordEncoder.matches("password", higherCostHash)).isTrue();
+        assertThat(passwordEncoder.matches("wrong", higherCostHash)).isFalse();
+    }
+
+    @Test
+    void hashesOfAnotherCostAreUpgraded() {
+        assertThat(passwordEncoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password"))).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("password"))).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(passwordEncoder.encode("password"))).isFalse();
+        assertThat(passwordEncoder.upgradeEncoding("not a hash")).isFalse();
+        assertThat(passwordEncoder.upgradeEncoding(null)).isFalse();
+    }
+
+    @Test
+    void verificationsAreTimedByCost() {
+        passwordEncoder.matches("password", new BCryptPasswordEncoder(4).encode("password"));
+        passwordEncoder.matches("password", passwordEncoder.encode("password"));
+        passwordEncoder.matches("password", passwordEncoder.encode("password"));
+
+        assertThat(meterRegistry.get(TunableBCryptPasswordEncoder.METRIC_VERIFICATIONS).tag("cost", "4").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(TunableBCryptPasswordEncoder.METRIC_VERIFICATIONS).tag("cost", "5").timer().count()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,124 @@
+package io.github.vazh.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.github.vazh.config.ApplicationProperties;
+import io.github.vazh.domain.Authority;
+import io.github.vazh.domain.User;
+import io.github.vazh.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Test class for the {@link UserSnapshotCache}.
+ */
+class UserSnapshotCacheTest {
+
+    private UserRepository userRepository;
+    private RTopic topic;
+    private UserSnapshotCache userSnapshotCache;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        topic = mock(RTopic.class);
+        RedissonClient redissonClient = mock(RedissonClient.class);
+        when(redissonClient.getTopic(eq(UserSnapshotCache.INVALIDATION_TOPIC), any())).thenReturn(topic);
+        userSnapshotCache = new UserSnapshotCache(userRepository, redissonClient, new ApplicationProperties(), new SimpleMeterRegistry());
+
+        User user = new User();
+        user.setId(1L);
+        user.setLogin("john");
+        user.setEmail("john@localhost");
+        user.setPassword("hash");
+        user.setActivated(true);
+        Authority authority = new Authority();
+        authority.setName(AuthoritiesConstants.USER);
+        user.setAuthorities(Set.of(authority));
+        when(userRepository.findOneWithAuthoritiesByLogin("john")).thenReturn(Optional.of(user));
+        when(userRepository.findOneWithAuthoritiesByEmailIgnoreCase(anyString())).thenReturn(Optional.of(user));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void snapshotsAreLoadedOnceWithTheirAuthoritiesFlattened() {
+        UserSnapshot snapshot = userSnapshotCache.findByLogin("john").orElseThrow();
+
+        assertThat(userSnapshotCache.findByLogin("john")).containsSame(snapshot);
+        assertThat(snapshot.grantedAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly(AuthoritiesConstants.USER);
+        assertThat(snapshot.toUserDetails().getPassword()).isEqualTo("hash");
+        verify(userRepository, times(1)).findOneWithAuthoritiesByLogin("john");
+    }
+
+    @Test
+    void unknownUsersAreNotCached() {
+        assertThat(userSnapshotCache.findByLogin("jane")).isEmpty();
+        assertThat(userSnapshotCache.findByLogin("jane")).isEmpty();
+
+        verify(userRepository, times(2)).findOneWithAuthoritiesByLogin("jane");
+    }
+
+    @Test
+    void evictionIsPublishedToTheOtherNodes() {
+        userSnapshotCache.findByLogin("john");
+        userSnapshotCache.findByEmail("JOHN@localhost");
+
+        userSnapshotCache.evict("john", "john@localhost");
+        userSnapshotCache.findByLogin("john");
+        userSnapshotCache.findByEmail("john@localhost");
+
+        verify(topic).publish(any(UserSnapshotCache.Invalidation.class));
+        verify(userRepository, times(2)).findOneWithAuthoritiesByLogin("john");
+        verify(userRepository, times(2)).findOneWithAuthoritiesByEmailIgnoreCase(anyString());
+    }
+
+    @Test
+    void evictionIsPublishedOnlyOnceCommitted() {
+        TransactionSynchronizationManager.initSynchronization();
+        userSnapshotCache.evict("john", null);
+        userSnapshotCache.findByLogin("john");
+
+        verify(topic, never()).publish(any());
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK)
+        );
+        userSnapshotCache.findByLogin("john");
+
+        verify(topic, never()).publish(any());
+        verify(userRepository, times(2)).findOneWithAuthoritiesByLogin("john");
+    }
+
+    @Test
+    void evictionsOfOtherNodesAreApplied() {
+        userSnapshotCache.findByLogin("john");
+
+        userSnapshotCache.onInvalidation(new UserSnapshotCache.Invalidation(UUID.randomUUID(), "john", null));
+        userSnapshotCache.findByLogin("john");
+
+        verify(userRepository, times(2)).findOneWithAuthoritiesByLogin("john");
+    }
+}
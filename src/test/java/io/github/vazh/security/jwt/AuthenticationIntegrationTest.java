@@ -1,5 +1,7 @@
 package io.github.vazh.security.jwt;
 
+import io.github.vazh.config.ApplicationProperties;
+import io.github.vazh.config.AuthenticationExecutorConfiguration;
 import io.github.vazh.config.SecurityConfiguration;
 import io.github.vazh.config.SecurityJwtConfiguration;
 import io.github.vazh.config.WebConfigurer;
@@ -21,6 +23,8 @@ import tech.jhipster.config.JHipsterProperties;
     },
     classes = {
         JHipsterProperties.class,
+        ApplicationProperties.class,
+        AuthenticationExecutorConfiguration.class,
         WebConfigurer.class,
         SecurityConfiguration.class,
         SecurityJwtConfiguration.class,
@@ -0,0 +1,74 @@
+package io.github.vazh.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Test class for the {@link CachingJwtDecoder}.
+ */
+class CachingJwtDecoderTest {
+
+    private static final String INVALID_TOKEN = "invalid";
+    private static final String UNEXPIRING_TOKEN = "unexpiring";
+
+    private final AtomicInteger decodings = new AtomicInteger();
+    private MeterRegistry meterRegistry;
+    private CachingJwtDecoder jwtDecoder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jwtDecoder = new CachingJwtDecoder(
+            token -> {
+                decodings.incrementAndGet();
+                if (INVALID_TOKEN.equals(token)) {
+                    throw new BadJwtException("Malformed token");
+                }
+                Jwt.Builder jwt = Jwt.withTokenValue(token).header("alg", "HS512").subject(token);
+                if (!UNEXPIRING_TOKEN.equals(token)) {
+                    jwt.expiresAt(Instant.now().plusSeconds(60));
+                }
+                return jwt.build();
+            },
+            10,
+            meterRegistry
+        );
+    }
+
+    @Test
+    void validTokensAreDecodedOnce() {
+        Jwt jwt = jwtDecoder.decode("first");
+
+        assertThat(jwtDecoder.decode("first")).isSameAs(jwt);
+        assertThat(jwtDecoder.decode("second").getSubject()).isEqualTo("second");
+        assertThat(decodings).hasValue(2);
+        assertThat(meterRegistry.get(CachingJwtDecoder.METRIC_GETS).tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(CachingJwtDecoder.METRIC_GETS).tag("result", "miss").functionCounter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get(CachingJwtDecoder.METRIC_SIZE).gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void invalidTokensAlwaysReachTheDelegate() {
+        assertThatThrownBy(() -> jwtDecoder.decode(INVALID_TOKEN)).isInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> jwtDecoder.decode(INVALID_TOKEN)).isInstanceOf(BadJwtException.class);
+
+        assertThat(decodings).hasValue(2);
+    }
+
+    @Test
+    void tokensWithoutExpiryAreNotCached() {
+        jwtDecoder.decode(UNEXPIRING_TOKEN);
+        jwtDecoder.decode(UNEXPIRING_TOKEN);
+
+        assertThat(decodings).hasValue(2);
+    }
+}
@@ -0,0 +1,187 @@
+package io.github.vazh.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.github.vazh.config.ApplicationProperties;
+import io.github.vazh.domain.Department;
+import io.github.vazh.service.dto.BulkItemResultDTO;
+import io.github.vazh.service.dto.DepartmentDTO;
+import io.github.vazh.service.mapper.DepartmentMapper;
+import io.github.vazh.service.mapper.DepartmentMapperImpl;
+import jakarta.validation.Validation;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+/**
+ * Test class for the {@link BulkOperationService} class.
+ */
+class BulkOperationServiceTest {
+
+    private PlatformTransactionManager transactionManager;
+    private JpaRepository<Department, Long> repository;
+    private DepartmentMapper mapper;
+    private BulkOperationService bulkOperationService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        repository = mock(JpaRepository.class);
+        AtomicLong sequence = new AtomicLong();
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Department> departments = invocation.getArgument(0);
+            if (departments.stream().anyMatch(department -> "duplicate".equals(department.getDepartmentName()))) {
+                throw new DataIntegrityViolationException("duplicate");
+            }
+            departments.forEach(department -> department.setId(sequence.incrementAndGet()));
+            return departments;
+        });
+        mapper = new DepartmentMapperImpl();
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getBulk().setChunkSize(2);
+        bulkOperationService = new BulkOperationService(
+            transactionManager,
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            applicationProperties
+        );
+    }
+
+    @Test
+    void createWritesOneTransactionPerChunk() {
+        List<DepartmentDTO> dtos = List.of(dto(null, "first"), dto(7L, "with id"), dto(null, null), dto(null, "second"), dto(null, "third"));
+
+        List<BulkItemResultDTO> results = create(dtos.iterator());
+
+        assertThat(results).extracting(BulkItemResultDTO::getIndex).containsExactly(0, 1, 2, 3, 4);
+        assertThat(results).extracting(BulkItemResultDTO::getStatus).containsExactly(201, 400, 400, 201, 201);
+        assertThat(results).extracting(BulkItemResultDTO::getId).containsExactly(1L, null, null, 2L, 3L);
+        assertThat(results).extracting(BulkItemResultDTO::getErrorKey).containsExactly(null, "idexists", "validation", null, null);
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    void failedChunkIsRetriedItemByItem() {
+        List<BulkItemResultDTO> results = create(List.of(dto(null, "first"), dto(null, "duplicate")).iterator());
+
+        assertThat(results).extracting(BulkItemResultDTO::getStatus).containsExactly(201, 409);
+        assertThat(results).extracting(BulkItemResultDTO::getErrorKey).containsExactly(null, "integrityviolation");
+        verify(transactionManager, times(2)).rollback(any());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void unreadableItemStopsTheIteration() {
+        Iterator<DepartmentDTO> dtos = new Iterator<>() {
+            private boolean first = true;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public DepartmentDTO next() {
+                if (first) {
+                    first = false;
+                    return dto(null, "first");
+                }
+                throw new NoSuchElementException("unreadable");
+            }
+        };
+
+        List<BulkItemResultDTO> results = create(dtos);
+
+        assertThat(results).extracting(BulkItemResultDTO::getStatus).containsExactly(201, 400);
+        assertThat(results.get(1).getIndex()).isEqualTo(1);
+        assertThat(results.get(1).getErrorKey()).isEqualTo("unreadable");
+    }
+
+    @Test
+    void partialUpdateLoadsTheChunkAtOnce() {
+        Department existing = new Department().departmentName("before");
+        existing.setId(1L);
+        when(repository.findAllById(List.of(1L, 2L))).thenReturn(List.of(existing));
+
+        List<BulkItemResultDTO> results = bulkOperationService.partialUpdate(
+            List.of(dto(1L, "after"), dto(2L, "missing"), dto(null, "no id")).iterator(),
+            repository,
+            mapper,
+            DepartmentDTO::getId,
+            Department::getId,
+            DepartmentDTO::getVersion,
+            Department::getVersion
+        );
+
+        assertThat(results).extracting(BulkItemResultDTO::getStatus).containsExactly(200, 404, 400);
+        assertThat(results).extracting(BulkItemResultDTO::getErrorKey).containsExactly(null, "idnotfound", "idnull");
+        assertThat(existing.getDepartmentName()).isEqualTo("after");
+    }
+
+    @Test
+    void partialUpdateRejectsTheStaleVersions() {
+        Department current = new Department().departmentName("current");
+        current.setId(1L);
+        current.setVersion(3L);
+        Department unversioned = new Department().departmentName("unversioned");
+        unversioned.setId(2L);
+        unversioned.setVersion(5L);
+        when(repository.findAllById(List.of(1L, 2L))).thenReturn(List.of(current, unversioned));
+        DepartmentDTO stale = dto(1L, "stale");
+        stale.setVersion(2L);
+
+        List<BulkItemResultDTO> results = bulkOperationService.partialUpdate(
+            List.of(stale, dto(2L, "without version")).iterator(),
+            repository,
+            mapper,
+            DepartmentDTO::getId,
+            Department::getId,
+            DepartmentDTO::getVersion,
+            Department::getVersion
+        );
+
+        assertThat(results).extracting(BulkItemResultDTO::getStatus).containsExactly(409, 200);
+        assertThat(results).extracting(BulkItemResultDTO::getErrorKey).containsExactly("concurrencyFailure", null);
+        assertThat(results).extracting(BulkItemResultDTO::getId).containsExactly(1L, 2L);
+        assertThat(current.getDepartmentName()).isEqualTo("current");
+        assertThat(unversioned.getDepartmentName()).isEqualTo("without version");
+    }
+
+    @Test
+    void deleteReportsTheMissingIds() {
+        Department existing = new Department();
+        existing.setId(1L);
+        when(repository.findAllById(List.of(1L, 2L))).thenReturn(List.of(existing));
+
+        List<BulkItemResultDTO> results = bulkOperationService.delete(List.of(1L, 2L).iterator(), repository, Department::getId);
+
+        assertThat(results).extracting(BulkItemResultDTO::getStatus).containsExactly(204, 404);
+        assertThat(results).extracting(BulkItemResultDTO::getId).containsExactly(1L, 2L);
+        verify(repository).delete(existing);
+    }
+
+    private List<BulkItemResultDTO> create(Iterator<DepartmentDTO> dtos) {
+        return bulkOperationService.create(dtos, repository, mapper, DepartmentDTO::getId, Department::getId);
+    }
+
+    private static DepartmentDTO dto(Long id, String departmentName) {
+        DepartmentDTO dto = new DepartmentDTO();
+        dto.setId(id);
+        dto.setDepartmentName(departmentName);
+        return dto;
+    }
+}
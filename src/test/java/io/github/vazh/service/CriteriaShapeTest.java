@@ -0,0 +1,135 @@
+package io.github.vazh.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.vazh.config.ApplicationProperties;
+import io.github.vazh.domain.Employee;
+import io.github.vazh.domain.Job;
+import io.github.vazh.repository.QueryPlan;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import tech.jhipster.service.filter.LongFilter;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Test class for the {@link CriteriaShape} and the {@link QueryPlanCache}.
+ */
+class CriteriaShapeTest {
+
+    private static final Map<String, String> SELECTIONS = selections();
+
+    @Test
+    void criteriaWithTheSameOperatorsShareTheirKey() {
+        CriteriaShape smith = shape("mit", 30_000L, 4L);
+        CriteriaShape doe = shape("oe", 50_000L, 7L);
+        CriteriaShape equalName = new CriteriaShape(Employee.class).filter(new StringFilter().setEquals("Doe"), "lastName");
+
+        assertThat(smith.getKey()).isEqualTo(doe.getKey()).isNotEqualTo(equalName.getKey());
+        assertThat(smith.getParameters()).containsExactly(Map.entry("p0", "%MIT%"), Map.entry("p1", 30_000L), Map.entry("p2", 4L));
+        assertThat(doe.getParameters()).containsExactly(Map.entry("p0", "%OE%"), Map.entry("p1", 50_000L), Map.entry("p2", 7L));
+    }
+
+    @Test
+    void distinctIsPartOfTheKey() {
+        assertThat(shape("mit", 30_000L, 4L).distinct(true).getKey()).isNotEqualTo(shape("mit", 30_000L, 4L).getKey());
+    }
+
+    @Test
+    void compileFiltersJoinsAndSort() {
+        QueryPlan plan = shape("mit", 30_000L, 4L).compile(SELECTIONS, Sort.by(Sort.Order.desc("salary").nullsLast(), Sort.Order.asc("id")));
+
+        assertThat(plan.selectQuery()).isEqualTo(
+            "select e.id as id, e.department.id as department from Employee e left join e.department j0" +
+            " where upper(e.lastName) like :p0 and e.salary is not null and e.salary >= :p1 and j0.id = :p2" +
+            " order by e.salary desc nulls last, e.id asc"
+        );
+        assertThat(plan.countQuery()).isEqualTo(
+            "select count(e) from Employee e left join e.department j0" +
+            " where upper(e.lastName) like :p0 and e.salary is not null and e.salary >= :p1 and j0.id = :p2"
+        );
+    }
+
+    @Test
+    void compileEmptyAndDistinctShape() {
+        QueryPlan plan = new CriteriaShape(Employee.class)
+            .distinct(true)
+            .filter(new LongFilter().setIn(List.of()), "jobs", "id")
+            .compile(SELECTIONS, Sort.by(Sort.Order.asc("lastName").ignoreCase()));
+
+        assertThat(plan.selectQuery()).isEqualTo(
+            "select distinct e.id as id, e.department.id as department from Employee e left join e.jobs j0 where 1 = 0" +
+            " order by upper(e.lastName) asc"
+        );
+        assertThat(plan.countQuery()).isEqualTo("select count(distinct e) from Employee e left join e.jobs j0 where 1 = 0");
+        assertThat(new CriteriaShape(Employee.class).compile(SELECTIONS, Sort.unsorted()).countQuery()).isEqualTo(
+            "select count(e) from Employee e"
+        );
+    }
+
+    @Test
+    void compileRangeFilterOnAnAssociation() {
+        LongFilter managerFilter = new LongFilter();
+        managerFilter.setGreaterThan(3L);
+        managerFilter.setLessThanOrEqual(9L);
+        QueryPlan plan = new CriteriaShape(Employee.class).filter(managerFilter, "manager", "id").compile(SELECTIONS, Sort.unsorted());
+
+        assertThat(plan.selectQuery()).isEqualTo(
+            "select e.id as id, e.department.id as department from Employee e left join e.manager j0 left join e.manager j1" +
+            " where j0.id > :p0 and j1.id <= :p1"
+        );
+    }
+
+    @Test
+    void compileEntityShape() {
+        QueryPlan plan = new CriteriaShape(Job.class)
+            .distinct(true)
+            .filter(new StringFilter().setContains("dev"), "jobTitle")
+            .filter(new LongFilter().setEquals(5L), "tasks", "id")
+            .compile(null, Sort.by("jobTitle"));
+
+        assertThat(plan.selectQuery()).isEqualTo(
+            "select distinct e from Job e left join e.tasks j0 where upper(e.jobTitle) like :p0 and j0.id = :p1 order by e.jobTitle asc"
+        );
+        assertThat(plan.countQuery()).isEqualTo(
+            "select count(distinct e) from Job e left join e.tasks j0 where upper(e.jobTitle) like :p0 and j0.id = :p1"
+        );
+    }
+
+    @Test
+    void planIsCompiledOncePerShapeSelectionsAndSort() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        QueryPlanCache cache = new QueryPlanCache(new ApplicationProperties(), meterRegistry);
+
+        QueryPlan plan = shape("mit", 30_000L, 4L).plan(cache, SELECTIONS, Sort.by("id"));
+        assertThat(shape("oe", 50_000L, 7L).plan(cache, SELECTIONS, Sort.by("id"))).isSameAs(plan);
+        assertThat(shape("oe", 50_000L, 7L).plan(cache, SELECTIONS, Sort.by("lastName"))).isNotSameAs(plan);
+        assertThat(shape("oe", 50_000L, 7L).plan(cache, Map.of("id", "id"), Sort.by("id"))).isNotSameAs(plan);
+        assertThat(shape("oe", 50_000L, 7L).plan(cache, Sort.by("id"))).isNotSameAs(plan);
+
+        assertThat(meterRegistry.get(QueryPlanCache.METRIC_GETS).tags("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(QueryPlanCache.METRIC_GETS).tags("result", "miss").functionCounter().count()).isEqualTo(4);
+        assertThat(meterRegistry.get(QueryPlanCache.METRIC_SIZE).gauge().value()).isEqualTo(4);
+    }
+
+    private static CriteriaShape shape(String lastName, Long salary, Long departmentId) {
+        LongFilter salaryFilter = new LongFilter();
+        salaryFilter.setSpecified(true);
+        salaryFilter.setGreaterThanOrEqual(salary);
+        return new CriteriaShape(Employee.class)
+            .filter(new StringFilter().setContains(lastName), "lastName")
+            .filter(salaryFilter, "salary")
+            .filter(new LongFilter().setEquals(departmentId), "department", "id");
+    }
+
+    private static Map<String, String> selections() {
+        Map<String, String> selections = new LinkedHashMap<>();
+        selections.put("id", "id");
+        selections.put("department", "department.id");
+        return selections;
+    }
+}
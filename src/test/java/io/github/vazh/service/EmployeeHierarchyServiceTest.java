@@ -0,0 +1,105 @@
+package io.github.vazh.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.github.vazh.repository.EmployeeHierarchyRepository;
+import io.github.vazh.repository.EmployeeHierarchyRepository.EmployeeNode;
+import io.github.vazh.service.dto.EmployeeNodeDTO;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link EmployeeHierarchyService} class.
+ */
+class EmployeeHierarchyServiceTest {
+
+    private EmployeeHierarchyRepository employeeHierarchyRepository;
+    private EmployeeHierarchyService employeeHierarchyService;
+
+    @BeforeEach
+    void setup() {
+        employeeHierarchyRepository = mock(EmployeeHierarchyRepository.class);
+        employeeHierarchyService = new EmployeeHierarchyService(employeeHierarchyRepository);
+        // 1 manages 2 and 3, 2 manages 4 and 5
+        when(employeeHierarchyRepository.findReports(1L, null)).thenReturn(
+            List.of(node(1L, 100L, null, 0), node(2L, 50L, 1L, 1), node(3L, 30L, 1L, 1), node(4L, 20L, 2L, 2), node(5L, null, 2L, 2))
+        );
+        // The reports deeper than the depth are summed up on their manager at the depth
+        when(employeeHierarchyRepository.findReports(1L, 1)).thenReturn(
+            List.of(node(1L, 100L, null, 0), node(2L, 50L, 1L, 1, 2, 2, 20L), node(3L, 30L, 1L, 1))
+        );
+        when(employeeHierarchyRepository.findReports(1L, 0)).thenReturn(List.of(node(1L, 100L, null, 0, 2, 4, 100L)));
+    }
+
+    @Test
+    void findReportsRollsUpTheWholeOrganizationTest() {
+        List<EmployeeNodeDTO> reports = employeeHierarchyService.findReports(1L, null).orElseThrow();
+
+        assertThat(reports).extracting(EmployeeNodeDTO::getId).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(reports).extracting(EmployeeNodeDTO::getDirectReports).containsExactly(2, 2, 0, 0, 0);
+        assertThat(reports).extracting(EmployeeNodeDTO::getTotalReports).containsExactly(4, 2, 0, 0, 0);
+        assertThat(reports).extracting(EmployeeNodeDTO::getTotalSalary).containsExactly(200L, 70L, 30L, 20L, 0L);
+    }
+
+    @Test
+    void findReportsRollsUpBeyondTheDepthTest() {
+        List<EmployeeNodeDTO> reports = employeeHierarchyService.findReports(1L, 1).orElseThrow();
+
+        assertThat(reports).extracting(EmployeeNodeDTO::getId).containsExactly(1L, 2L, 3L);
+        assertThat(reports).extracting(EmployeeNodeDTO::getDirectReports).containsExactly(2, 2, 0);
+        assertThat(reports).extracting(EmployeeNodeDTO::getTotalReports).containsExactly(4, 2, 0);
+        assertThat(reports).extracting(EmployeeNodeDTO::getTotalSalary).containsExactly(200L, 70L, 30L);
+        assertThat(employeeHierarchyService.findReports(1L, 0).orElseThrow()).extracting(EmployeeNodeDTO::getTotalSalary).containsExactly(
+            200L
+        );
+    }
+
+    @Test
+    void findReportsOfMissingEmployeeTest() {
+        assertThat(employeeHierarchyService.findReports(6L, null)).isEmpty();
+    }
+
+    @Test
+    void findChainStopsAtACycleTest() {
+        // 7 and 8 manage each other
+        when(employeeHierarchyRepository.findChain(7L)).thenReturn(
+            List.of(node(7L, 10L, 8L, 0), node(8L, 10L, 7L, 1), node(7L, 10L, 8L, 2), node(8L, 10L, 7L, 3))
+        );
+
+        List<EmployeeNodeDTO> chain = employeeHierarchyService.findChain(7L).orElseThrow();
+
+        assertThat(chain).extracting(EmployeeNodeDTO::getId).containsExactly(7L, 8L);
+        assertThat(chain).extracting(EmployeeNodeDTO::getTotalReports).containsOnlyNulls();
+    }
+
+    private static EmployeeNode node(Long id, Long salary, Long managerId, int depth) {
+        return node(id, salary, managerId, depth, 0, 0, 0L);
+    }
+
+    private static EmployeeNode node(
+        Long id,
+        Long salary,
+        Long managerId,
+        int depth,
+        int deeperDirectReports,
+        int deeperReports,
+        long deeperSalary
+    ) {
+        return new EmployeeNode(
+            id,
+            "First " + id,
+            "Last " + id,
+            null,
+            salary,
+            managerId,
+            null,
+            depth,
+            deeperDirectReports,
+            deeperReports,
+            deeperSalary
+        );
+    }
+}
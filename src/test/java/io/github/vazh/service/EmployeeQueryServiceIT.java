@@ -0,0 +1,142 @@
+package io.github.vazh.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.vazh.IntegrationTest;
+import io.github.vazh.domain.Department;
+import io.github.vazh.domain.Employee;
+import io.github.vazh.domain.Job;
+import io.github.vazh.repository.CriteriaProjectionRepository;
+import io.github.vazh.repository.QueryPlanRepository;
+import io.github.vazh.service.criteria.EmployeeCriteria;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link EmployeeQueryService}, checking that the query plans compiled from a {@link CriteriaShape}
+ * match the same rows as the specification of the criteria.
+ */
+@IntegrationTest
+@Transactional
+class EmployeeQueryServiceIT {
+
+    @Autowired
+    private EmployeeQueryService employeeQueryService;
+
+    @Autowired
+    private CriteriaProjectionRepository criteriaProjectionRepository;
+
+    @Autowired
+    private QueryPlanRepository queryPlanRepository;
+
+    @Autowired
+    private QueryPlanCache queryPlanCache;
+
+    @Autowired
+    private EntityManager em;
+
+    private Department research;
+
+    private Department sales;
+
+    private Employee firstManager;
+
+    private Employee secondManager;
+
+    private List<Employee> employees;
+
+    private List<Job> jobs;
+
+    @BeforeEach
+    void initTest() {
+        research = persist(new Department().departmentName("Research"));
+        sales = persist(new Department().departmentName("Sales"));
+        firstManager = persist(new Employee().lastName("First manager").department(research));
+        secondManager = persist(new Employee().lastName("Second manager").department(sales));
+        employees = List.of(
+            firstManager,
+            secondManager,
+            persist(new Employee().lastName("Analyst").manager(firstManager).department(research)),
+            persist(new Employee().lastName("Seller").manager(secondManager).department(sales)),
+            persist(new Employee().lastName("Intern"))
+        );
+        jobs = List.of(
+            persist(new Job().jobTitle("Analysis").employee(employees.get(2))),
+            persist(new Job().jobTitle("Reporting").employee(employees.get(2))),
+            persist(new Job().jobTitle("Selling").employee(employees.get(3)))
+        );
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void rangeFiltersOnAssociationsMatchTheSpecification() {
+        EmployeeCriteria managerCriteria = ownCriteria();
+        managerCriteria.managerId().setGreaterThan(firstManager.getId());
+        assertSameRows(managerCriteria, employees.get(3));
+
+        EmployeeCriteria departmentCriteria = ownCriteria();
+        departmentCriteria.departmentId().setLessThanOrEqual(research.getId());
+        departmentCriteria.departmentId().setGreaterThanOrEqual(research.getId());
+        assertSameRows(departmentCriteria, firstManager, employees.get(2));
+
+        EmployeeCriteria jobCriteria = ownCriteria();
+        jobCriteria.jobId().setGreaterThanOrEqual(jobs.get(1).getId());
+        jobCriteria.jobId().setLessThan(jobs.get(2).getId() + 1);
+        assertSameRows(jobCriteria, employees.get(2), employees.get(2), employees.get(3));
+
+        jobCriteria.setDistinct(true);
+        assertSameRows(jobCriteria, employees.get(2), employees.get(3));
+    }
+
+    @Test
+    void otherFiltersOnAssociationsMatchTheSpecification() {
+        EmployeeCriteria managerCriteria = ownCriteria();
+        managerCriteria.managerId().setSpecified(false);
+        managerCriteria.departmentId().setNotEquals(sales.getId());
+        assertSameRows(managerCriteria, firstManager);
+
+        EmployeeCriteria jobCriteria = ownCriteria();
+        jobCriteria.jobId().setIn(List.of(jobs.get(0).getId(), jobs.get(2).getId()));
+        assertSameRows(jobCriteria, employees.get(2), employees.get(3));
+    }
+
+    /**
+     * Criteria matching only the employees of the test.
+     */
+    private EmployeeCriteria ownCriteria() {
+        EmployeeCriteria criteria = new EmployeeCriteria();
+        criteria.id().setIn(employees.stream().map(Employee::getId).toList());
+        return criteria;
+    }
+
+    private void assertSameRows(EmployeeCriteria criteria, Employee... expected) {
+        Pageable page = Pageable.unpaged(Sort.by("id"));
+        List<Long> specificationIds = criteriaProjectionRepository
+            .findAll(Employee.class, employeeQueryService.createSpecification(criteria), root -> List.of(root.get("id").alias("id")), page)
+            .map(tuple -> tuple.get("id", Long.class))
+            .getContent();
+
+        CriteriaShape shape = employeeQueryService.createShape(criteria);
+        List<Long> planIds = queryPlanRepository
+            .findAll(shape.plan(queryPlanCache, Map.of("id", "id"), page.getSort()), shape.getParameters(), page)
+            .map(tuple -> tuple.get("id", Long.class))
+            .getContent();
+
+        assertThat(planIds).isEqualTo(specificationIds);
+        assertThat(planIds).containsExactly(Stream.of(expected).map(Employee::getId).toArray(Long[]::new));
+    }
+
+    private <T> T persist(T entity) {
+        em.persist(entity);
+        return entity;
+    }
+}
@@ -0,0 +1,42 @@
+package io.github.vazh.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+/**
+ * Test class for the {@link QueryServiceUtil} utility class.
+ */
+class QueryServiceUtilTest {
+
+    @Test
+    void offsetPositionOfFirstPageIsInitial() {
+        assertThat(QueryServiceUtil.offsetPosition(PageRequest.of(0, 20)).isInitial()).isTrue();
+    }
+
+    @Test
+    void offsetPositionPointsToTheElementBeforeThePage() {
+        // Scrolling starts right after the given offset
+        assertThat(QueryServiceUtil.offsetPosition(PageRequest.of(2, 20)).getOffset()).isEqualTo(39L);
+    }
+
+    @Test
+    void estimatedPageKeepsTheEstimate() {
+        Page<String> page = QueryServiceUtil.toEstimatedPage(new SliceImpl<>(List.of("a", "b"), PageRequest.of(0, 2), true), 1000L);
+
+        assertThat(page.getTotalElements()).isEqualTo(1000L);
+        assertThat(page.getContent()).containsExactly("a", "b");
+    }
+
+    @Test
+    void estimatedPageIsNeverLowerThanTheSlice() {
+        Page<String> page = QueryServiceUtil.toEstimatedPage(new SliceImpl<>(List.of("a", "b"), PageRequest.of(5, 2), true), 3L);
+
+        assertThat(page.getTotalElements()).isEqualTo(13L);
+        assertThat(page.hasNext()).isTrue();
+    }
+}
@@ -0,0 +1,35 @@
+package io.github.vazh.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the full-text queries of the {@link SearchService}.
+ */
+class SearchServiceTest {
+
+    @Test
+    void eachWordMatchesTheWordsStartingWithIt() {
+        assertThat(SearchService.toQuery("Grace HOPPER")).contains("grace:* & hopper:*");
+    }
+
+    @Test
+    void wordsAreSplitLikeTheSearchVectors() {
+        assertThat(SearchService.toQuery("grace.hopper@example.com")).contains("grace:* & hopper:* & example:* & com:*");
+        assertThat(SearchService.toQuery("Zoë  Müller-Lüdenscheidt")).contains("zoë:* & müller:* & lüdenscheidt:*");
+    }
+
+    @Test
+    void operatorsAreDropped() {
+        assertThat(SearchService.toQuery("a & !(b | c:*) <-> 'd'")).contains("a:* & b:* & c:* & d:*");
+        assertThat(SearchService.toQuery("&|!():*'")).isEmpty();
+        assertThat(SearchService.toQuery(null)).isEmpty();
+    }
+
+    @Test
+    void wordsAreSearchedOnceUpToAMaximum() {
+        assertThat(SearchService.toQuery("a A a")).contains("a:*");
+        assertThat(SearchService.toQuery("1 2 3 4 5 6 7 8 9 10")).contains("1:* & 2:* & 3:* & 4:* & 5:* & 6:* & 7:* & 8:*");
+    }
+}
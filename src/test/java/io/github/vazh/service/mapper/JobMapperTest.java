@@ -5,6 +5,7 @@ import static io.github.vazh.domain.JobTestSamples.*;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
 
 class JobMapperTest {
 
@@ -13,6 +14,7 @@ class JobMapperTest {
     @BeforeEach
     void setUp() {
         jobMapper = new JobMapperImpl();
+        ReflectionTestUtils.setField(jobMapper, "entityReferenceMapper", new EntityReferenceMapper());
     }
 
     @Test
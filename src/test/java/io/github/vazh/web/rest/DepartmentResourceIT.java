@@ -172,6 +172,30 @@ class DepartmentResourceIT {
             .andExpect(jsonPath("$.[*].departmentName").value(hasItem(DEFAULT_DEPARTMENT_NAME)));
     }
 
+    @Test
+    @Transactional
+    void getAllDepartmentsWithFields() throws Exception {
+        // Initialize the database
+        insertedDepartment = departmentRepository.saveAndFlush(department);
+
+        // Get the ids of all the departments
+        restDepartmentMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&fields=location"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(department.getId().intValue())))
+            .andExpect(jsonPath("$.[*].departmentName").doesNotExist());
+        restDepartmentMockMvc
+            .perform(get(ENTITY_API_URL_ID + "?fields=departmentName", department.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.departmentName").value(DEFAULT_DEPARTMENT_NAME))
+            .andExpect(jsonPath("$.version").doesNotExist());
+        restDepartmentMockMvc.perform(get(ENTITY_API_URL + "?fields=unknown")).andExpect(status().isBadRequest());
+        restDepartmentMockMvc
+            .perform(get(ENTITY_API_URL_ID + "?fields=unknown", department.getId()))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.fieldsinvalid"));
+    }
+
     @Test
     @Transactional
     void getDepartment() throws Exception {
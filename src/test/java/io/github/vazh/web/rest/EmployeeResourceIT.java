@@ -3,31 +3,40 @@ package io.github.vazh.web.rest;
 import static io.github.vazh.domain.EmployeeAsserts.*;
 import static io.github.vazh.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.vazh.IntegrationTest;
 import io.github.vazh.domain.Department;
 import io.github.vazh.domain.Employee;
 import io.github.vazh.domain.Employee;
 import io.github.vazh.repository.EmployeeRepository;
+import io.github.vazh.service.dto.BulkItemResultDTO;
+import io.github.vazh.service.dto.DepartmentDTO;
 import io.github.vazh.service.dto.EmployeeDTO;
 import io.github.vazh.service.mapper.EmployeeMapper;
 import jakarta.persistence.EntityManager;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
+import org.hibernate.Session;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -177,6 +186,80 @@ class EmployeeResourceIT {
         assertSameRepositoryCount(databaseSizeBeforeCreate);
     }
 
+    @Test
+    @Transactional
+    void createAndUpdateEmployeeWithIdOnlyReferences() throws Exception {
+        Department department = DepartmentResourceIT.createEntity(em);
+        em.persist(department);
+        Employee manager = createEntity(em);
+        em.persist(manager);
+        em.flush();
+
+        // The references only hold an id, as sent by the client
+        EmployeeDTO employeeDTO = employeeMapper.toDto(employee);
+        employeeDTO.setManager(idOnlyEmployee(manager.getId()));
+        employeeDTO.setDepartment(idOnlyDepartment(department.getId()));
+        EmployeeDTO returnedEmployeeDTO = om.readValue(
+            restEmployeeMockMvc
+                .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(employeeDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.manager.id").value(manager.getId().intValue()))
+                .andExpect(jsonPath("$.department.id").value(department.getId().intValue()))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            EmployeeDTO.class
+        );
+        insertedEmployee = employeeRepository.findById(returnedEmployeeDTO.getId()).orElseThrow();
+        assertThat(insertedEmployee.getManager().getId()).isEqualTo(manager.getId());
+        assertThat(insertedEmployee.getDepartment().getId()).isEqualTo(department.getId());
+
+        Employee otherManager = createEntity(em);
+        em.persist(otherManager);
+        em.flush();
+        returnedEmployeeDTO.setManager(idOnlyEmployee(otherManager.getId()));
+        returnedEmployeeDTO.setFirstName(UPDATED_FIRST_NAME);
+        restEmployeeMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, returnedEmployeeDTO.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(returnedEmployeeDTO))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.manager.id").value(otherManager.getId().intValue()))
+            .andExpect(jsonPath("$.department.id").value(department.getId().intValue()));
+
+        EmployeeDTO partialEmployeeDTO = new EmployeeDTO();
+        partialEmployeeDTO.setId(returnedEmployeeDTO.getId());
+        partialEmployeeDTO.setManager(idOnlyEmployee(manager.getId()));
+        restEmployeeMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, partialEmployeeDTO.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(partialEmployeeDTO))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.firstName").value(UPDATED_FIRST_NAME))
+            .andExpect(jsonPath("$.manager.id").value(manager.getId().intValue()))
+            .andExpect(jsonPath("$.department.id").value(department.getId().intValue()));
+
+        // The referenced entities are not changed by the writes
+        assertThat(getPersistedEmployee(manager).getFirstName()).isEqualTo(DEFAULT_FIRST_NAME);
+        assertThat(getPersistedEmployee(otherManager).getFirstName()).isEqualTo(DEFAULT_FIRST_NAME);
+    }
+
+    private static EmployeeDTO idOnlyEmployee(Long id) {
+        EmployeeDTO employeeDTO = new EmployeeDTO();
+        employeeDTO.setId(id);
+        return employeeDTO;
+    }
+
+    private static DepartmentDTO idOnlyDepartment(Long id) {
+        DepartmentDTO departmentDTO = new DepartmentDTO();
+        departmentDTO.setId(id);
+        return departmentDTO;
+    }
+
     @Test
     @Transactional
     void getAllEmployees() throws Exception {
@@ -198,6 +281,274 @@ class EmployeeResourceIT {
             .andExpect(jsonPath("$.[*].commissionPct").value(hasItem(DEFAULT_COMMISSION_PCT.intValue())));
     }
 
+    @Test
+    @Transactional
+    void getAllEmployeesLoadsNoEntity() throws Exception {
+        // Initialize the database
+        Employee manager = EmployeeResourceIT.createEntity(em);
+        em.persist(manager);
+        employee.setManager(manager);
+        insertedEmployee = employeeRepository.saveAndFlush(employee);
+        em.clear();
+
+        // Get all the employeeList, the ids of the managers are read without loading them
+        restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].manager.id").value(hasItem(manager.getId().intValue())))
+            .andExpect(jsonPath("$.[*].version").value(hasItem(employee.getVersion().intValue())));
+        assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    @Transactional
+    void getAllEmployeesWithFields() throws Exception {
+        // Initialize the database
+        insertedEmployee = employeeRepository.saveAndFlush(employee);
+
+        // Get the names of all the employees
+        restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&fields=firstName,lastName"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(employee.getId().intValue())))
+            .andExpect(jsonPath("$.[*].firstName").value(hasItem(DEFAULT_FIRST_NAME)))
+            .andExpect(jsonPath("$.[*].lastName").value(hasItem(DEFAULT_LAST_NAME)))
+            .andExpect(jsonPath("$.[*].email").doesNotExist())
+            .andExpect(jsonPath("$.[*].version").doesNotExist());
+        restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL_ID + "?fields=email", employee.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.email").value(DEFAULT_EMAIL))
+            .andExpect(jsonPath("$.firstName").doesNotExist());
+        restEmployeeMockMvc.perform(get(ENTITY_API_URL + "?fields=unknown")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getAllEmployeesWithoutCount() throws Exception {
+        // Initialize the database
+        insertedEmployee = employeeRepository.saveAndFlush(employee);
+
+        // Get all the employeeList without counting them
+        restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&count=NONE&id.equals=" + employee.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(employee.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getAllEmployeesWithEstimatedCount() throws Exception {
+        // Initialize the database
+        insertedEmployee = employeeRepository.saveAndFlush(employee);
+
+        // Get all the employeeList with an estimated total
+        restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&count=ESTIMATED"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(employee.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getAllEmployeesWithCursor() throws Exception {
+        // Initialize the database
+        insertedEmployee = employeeRepository.saveAndFlush(employee);
+        Employee otherEmployee = employeeRepository.saveAndFlush(createUpdatedEntity(em));
+
+        // Get the first window of the employeeList
+        MvcResult firstWindow = restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,asc&size=1&after=&id.in=" + employee.getId() + "," + otherEmployee.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().exists("X-Next-Cursor"))
+            .andExpect(jsonPath("$.[*].id").value(contains(employee.getId().intValue())))
+            .andReturn();
+
+        // Get the next window from the returned cursor
+        restEmployeeMockMvc
+            .perform(
+                get(
+                    ENTITY_API_URL +
+                    "?sort=id,asc&size=1&after=" +
+                    firstWindow.getResponse().getHeader("X-Next-Cursor") +
+                    "&id.in=" +
+                    employee.getId() +
+                    "," +
+                    otherEmployee.getId()
+                )
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(otherEmployee.getId().intValue())));
+
+        employeeRepository.delete(otherEmployee);
+    }
+
+    @Test
+    @Transactional
+    void getAllEmployeesWithCursorSortedByManager() throws Exception {
+        // Initialize the database, the employee being the manager of the other one
+        insertedEmployee = employeeRepository.saveAndFlush(employee);
+        Employee otherEmployee = employeeRepository.saveAndFlush(createUpdatedEntity(em).manager(employee));
+        String ids = employee.getId() + "," + otherEmployee.getId();
+
+        // Get the first window, sorted by the manager id read from the foreign key, the null ones last
+        MvcResult firstWindow = restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=manager.id,asc&size=1&after=&id.in=" + ids))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("X-Next-Cursor"))
+            .andExpect(jsonPath("$.[*].id").value(contains(otherEmployee.getId().intValue())))
+            .andExpect(jsonPath("$.[0].manager.id").value(employee.getId().intValue()))
+            .andReturn();
+
+        // Get the next window from the returned cursor
+        restEmployeeMockMvc
+            .perform(
+                get(
+                    ENTITY_API_URL +
+                    "?sort=manager.id,asc&size=1&after=" +
+                    firstWindow.getResponse().getHeader("X-Next-Cursor") +
+                    "&id.in=" +
+                    ids
+                )
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Next-Cursor"))
+            .andExpect(jsonPath("$.[*].id").value(contains(employee.getId().intValue())));
+
+        // An association can't be keyed
+        restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=manager,asc&after="))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.cursorsortmismatch"));
+
+        employeeRepository.delete(otherEmployee);
+    }
+
+    @Test
+    @Transactional
+    void getAllEmployeesWithCursorAndFields() throws Exception {
+        // Initialize the database
+        insertedEmployee = employeeRepository.saveAndFlush(employee);
+        Employee otherEmployee = employeeRepository.saveAndFlush(createUpdatedEntity(em));
+        String ids = employee.getId() + "," + otherEmployee.getId();
+
+        // Get the first window of the emails, sorted by a property which is not requested
+        MvcResult firstWindow = restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=lastName,desc&size=1&after=&fields=email&id.in=" + ids))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("X-Next-Cursor"))
+            .andExpect(jsonPath("$.[*].id").value(contains(otherEmployee.getId().intValue())))
+            .andExpect(jsonPath("$.[0].email").value(UPDATED_EMAIL))
+            .andExpect(jsonPath("$.[0].lastName").doesNotExist())
+            .andReturn();
+
+        // Get the next window from the returned cursor
+        restEmployeeMockMvc
+            .perform(
+                get(
+                    ENTITY_API_URL +
+                    "?sort=lastName,desc&size=1&fields=email&after=" +
+                    firstWindow.getResponse().getHeader("X-Next-Cursor") +
+                    "&id.in=" +
+                    ids
+                )
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Next-Cursor"))
+            .andExpect(jsonPath("$.[*].id").value(contains(employee.getId().intValue())))
+            .andExpect(jsonPath("$.[0].email").value(DEFAULT_EMAIL));
+        restEmployeeMockMvc.perform(get(ENTITY_API_URL + "?after=&fields=unknown")).andExpect(status().isBadRequest());
+
+        employeeRepository.delete(otherEmployee);
+    }
+
+    @Test
+    @Transactional
+    void getAllEmployeesWithInvalidCursor() throws Exception {
+        restEmployeeMockMvc.perform(get(ENTITY_API_URL + "?sort=id,asc&after=invalid")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportEmployeesAsNdjson() throws Exception {
+        // Initialize the database, outside of a test transaction as the export reads in its own one
+        insertedEmployee = employeeRepository.saveAndFlush(employee);
+        Employee otherEmployee = employeeRepository.saveAndFlush(createUpdatedEntity(em));
+        Employee filteredEmployee = employeeRepository.saveAndFlush(createEntity(em).salary(SMALLER_SALARY));
+
+        try {
+            MvcResult result = restEmployeeMockMvc
+                .perform(
+                    get(
+                        ENTITY_API_URL +
+                        "/export?sort=id,desc&salary.greaterThanOrEqual=" +
+                        DEFAULT_SALARY +
+                        "&id.in=" +
+                        employee.getId() +
+                        "," +
+                        otherEmployee.getId() +
+                        "," +
+                        filteredEmployee.getId()
+                    )
+                )
+                .andExpect(request().asyncStarted())
+                .andReturn();
+            String body = restEmployeeMockMvc
+                .perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"employees.ndjson\""))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+            // One document per line, in the requested order, without the employee filtered out by the criteria
+            String[] lines = body.split("\n");
+            assertThat(body).endsWith("\n");
+            assertThat(lines).hasSize(2);
+            EmployeeDTO first = om.readValue(lines[0], EmployeeDTO.class);
+            EmployeeDTO second = om.readValue(lines[1], EmployeeDTO.class);
+            assertThat(first.getId()).isEqualTo(otherEmployee.getId());
+            assertThat(first.getLastName()).isEqualTo(UPDATED_LAST_NAME);
+            assertThat(second.getId()).isEqualTo(employee.getId());
+            assertThat(second.getLastName()).isEqualTo(DEFAULT_LAST_NAME);
+        } finally {
+            employeeRepository.delete(otherEmployee);
+            employeeRepository.delete(filteredEmployee);
+        }
+    }
+
+    @Test
+    void exportEmployeesAsCsv() throws Exception {
+        // Initialize the database, outside of a test transaction as the export reads in its own one
+        insertedEmployee = employeeRepository.saveAndFlush(employee.firstName("=SUM(A1:A2)").lastName("O'Brien, \"Junior\""));
+
+        MvcResult result = restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL + "/export?format=CSV&id.equals=" + employee.getId()))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        String body = restEmployeeMockMvc
+            .perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("text/csv"))
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"employees.csv\""))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        String[] lines = body.split("\r\n");
+        assertThat(lines).hasSize(2);
+        List<String> columns = List.of(lines[0].split(","));
+        assertThat(columns).contains("id", "firstName", "lastName", "manager", "department");
+        // The formula is neutralized, and the separator and the quotes of the last name are escaped
+        assertThat(lines[1])
+            .startsWith(employee.getId() + ",")
+            .contains(",'=SUM(A1:A2),")
+            .contains(",\"O'Brien, \"\"Junior\"\"\",");
+    }
+
     @Test
     @Transactional
     void getEmployee() throws Exception {
@@ -722,6 +1073,84 @@ class EmployeeResourceIT {
         restEmployeeMockMvc.perform(get(ENTITY_API_URL_ID, Long.MAX_VALUE)).andExpect(status().isNotFound());
     }
 
+    @Test
+    @Transactional
+    void getNotModifiedEmployee() throws Exception {
+        // Initialize the database
+        insertedEmployee = employeeRepository.saveAndFlush(employee);
+        String eTag = "\"" + employee.getVersion() + "\"";
+
+        restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL_ID, employee.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag));
+        restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL_ID, employee.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    @Transactional
+    void getEmployeeReportsAndChain() throws Exception {
+        // Initialize the database
+        Employee manager = EmployeeResourceIT.createEntity(em);
+        em.persist(manager);
+        employee.setManager(manager);
+        insertedEmployee = employeeRepository.saveAndFlush(employee);
+
+        restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/reports", manager.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(manager.getId().intValue(), employee.getId().intValue())))
+            .andExpect(jsonPath("$.[*].depth").value(contains(0, 1)))
+            .andExpect(jsonPath("$.[0].directReports").value(1))
+            .andExpect(jsonPath("$.[0].totalReports").value(1))
+            .andExpect(jsonPath("$.[0].totalSalary").value(2 * DEFAULT_SALARY.intValue()));
+        restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/reports?depth=0", manager.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(manager.getId().intValue())))
+            .andExpect(jsonPath("$.[0].directReports").value(1))
+            .andExpect(jsonPath("$.[0].totalReports").value(1))
+            .andExpect(jsonPath("$.[0].totalSalary").value(2 * DEFAULT_SALARY.intValue()));
+        restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/chain", employee.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(employee.getId().intValue(), manager.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getEmployeeReportsAndChainWithACycle() throws Exception {
+        // Initialize the database with two employees managing each other
+        Employee manager = EmployeeResourceIT.createEntity(em);
+        em.persist(manager);
+        employee.setManager(manager);
+        insertedEmployee = employeeRepository.saveAndFlush(employee);
+        manager.setManager(employee);
+        em.flush();
+
+        restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/reports", manager.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(manager.getId().intValue(), employee.getId().intValue())))
+            .andExpect(jsonPath("$.[*].depth").value(contains(0, 1)))
+            .andExpect(jsonPath("$.[0].totalReports").value(1));
+        restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/chain", employee.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(employee.getId().intValue(), manager.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getReportsOfNonExistingEmployee() throws Exception {
+        restEmployeeMockMvc.perform(get(ENTITY_API_URL_ID + "/reports", Long.MAX_VALUE)).andExpect(status().isNotFound());
+        restEmployeeMockMvc.perform(get(ENTITY_API_URL_ID + "/chain", Long.MAX_VALUE)).andExpect(status().isNotFound());
+        restEmployeeMockMvc.perform(get(ENTITY_API_URL_ID + "/reports?depth=-1", Long.MAX_VALUE)).andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void putExistingEmployee() throws Exception {
@@ -757,6 +1186,67 @@ class EmployeeResourceIT {
         assertPersistedEmployeeToMatchAllProperties(updatedEmployee);
     }
 
+    @Test
+    @Transactional
+    void putExistingEmployeeWithIfMatch() throws Exception {
+        // Initialize the database
+        insertedEmployee = employeeRepository.saveAndFlush(employee);
+        long version = employee.getVersion();
+
+        // The version is taken from the If-Match header when the body has none
+        EmployeeDTO employeeDTO = employeeMapper.toDto(employee);
+        employeeDTO.setVersion(null);
+        employeeDTO.setFirstName(UPDATED_FIRST_NAME);
+
+        restEmployeeMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, employeeDTO.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"" + version + "\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(employeeDTO))
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + (version + 1) + "\""))
+            .andExpect(jsonPath("$.firstName").value(UPDATED_FIRST_NAME));
+    }
+
+    @Test
+    @Transactional
+    void putStaleEmployee() throws Exception {
+        // Initialize the database
+        insertedEmployee = employeeRepository.saveAndFlush(employee);
+
+        EmployeeDTO employeeDTO = employeeMapper.toDto(employee);
+        employeeDTO.setVersion(employee.getVersion() + 1);
+
+        restEmployeeMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, employeeDTO.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(employeeDTO))
+            )
+            .andExpect(status().isConflict());
+    }
+
+    @Test
+    @Transactional
+    void putEmployeeWithFailedIfMatch() throws Exception {
+        // Initialize the database
+        insertedEmployee = employeeRepository.saveAndFlush(employee);
+
+        EmployeeDTO employeeDTO = employeeMapper.toDto(employee);
+        employeeDTO.setVersion(null);
+
+        restEmployeeMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, employeeDTO.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"" + (employee.getVersion() + 1) + "\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(employeeDTO))
+            )
+            .andExpect(status().isPreconditionFailed());
+    }
+
     @Test
     @Transactional
     void putNonExistingEmployee() throws Exception {
@@ -961,6 +1451,114 @@ class EmployeeResourceIT {
         assertDecrementedRepositoryCount(databaseSizeBeforeDelete);
     }
 
+    @Test
+    void bulkCreateEmployees() throws Exception {
+        long databaseSizeBeforeCreate = getRepositoryCount();
+
+        // Five items over three chunks, the third one being rejected
+        List<EmployeeDTO> employeeDTOs = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            employeeDTOs.add(employeeMapper.toDto(createEntity(em)));
+        }
+        employeeDTOs.get(2).setId(Long.MAX_VALUE);
+
+        List<BulkItemResultDTO> results = om.readValue(
+            restEmployeeMockMvc
+                .perform(post(ENTITY_API_URL + "/bulk").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(employeeDTOs)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].index").value(contains(0, 1, 2, 3, 4)))
+                .andExpect(jsonPath("$.[*].status").value(contains(201, 201, 400, 201, 201)))
+                .andExpect(jsonPath("$.[2].errorKey").value("idexists"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            new TypeReference<List<BulkItemResultDTO>>() {}
+        );
+
+        try {
+            assertThat(getRepositoryCount()).isEqualTo(databaseSizeBeforeCreate + 4);
+            for (BulkItemResultDTO result : results) {
+                if (result.getStatus() == 201) {
+                    assertThat(employeeRepository.findById(result.getId())).hasValueSatisfying(created ->
+                        assertThat(created.getFirstName()).isEqualTo(DEFAULT_FIRST_NAME)
+                    );
+                }
+            }
+        } finally {
+            results.stream().filter(result -> result.getStatus() == 201).forEach(result -> employeeRepository.deleteById(result.getId()));
+        }
+    }
+
+    @Test
+    void bulkPartialUpdateEmployees() throws Exception {
+        List<Employee> employees = employeeRepository.saveAllAndFlush(List.of(createEntity(em), createEntity(em), createEntity(em)));
+
+        try {
+            // Newline delimited items over two chunks: the current version, a stale version, no version, and a missing id
+            StringBuilder body = new StringBuilder();
+            for (int i = 0; i < employees.size(); i++) {
+                EmployeeDTO partialEmployeeDTO = new EmployeeDTO();
+                partialEmployeeDTO.setId(employees.get(i).getId());
+                partialEmployeeDTO.setLastName(UPDATED_LAST_NAME);
+                if (i == 0) {
+                    partialEmployeeDTO.setVersion(employees.get(i).getVersion());
+                } else if (i == 1) {
+                    partialEmployeeDTO.setVersion(employees.get(i).getVersion() + 1);
+                }
+                body.append(om.writeValueAsString(partialEmployeeDTO)).append('\n');
+            }
+            EmployeeDTO missingEmployeeDTO = new EmployeeDTO();
+            missingEmployeeDTO.setId(Long.MAX_VALUE);
+            body.append(om.writeValueAsString(missingEmployeeDTO)).append('\n');
+
+            restEmployeeMockMvc
+                .perform(patch(ENTITY_API_URL + "/bulk").contentType(MediaType.APPLICATION_NDJSON).content(body.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].status").value(contains(200, 409, 200, 404)))
+                .andExpect(jsonPath("$.[1].errorKey").value("concurrencyFailure"))
+                .andExpect(jsonPath("$.[3].errorKey").value("idnotfound"));
+
+            // Only the given fields of the items applied are updated
+            for (Employee existing : List.of(employees.get(0), employees.get(2))) {
+                Employee updated = getPersistedEmployee(existing);
+                assertThat(updated.getLastName()).isEqualTo(UPDATED_LAST_NAME);
+                assertThat(updated.getFirstName()).isEqualTo(DEFAULT_FIRST_NAME);
+                assertThat(updated.getSalary()).isEqualTo(DEFAULT_SALARY);
+                assertThat(updated.getVersion()).isEqualTo(existing.getVersion() + 1);
+            }
+            Employee stale = getPersistedEmployee(employees.get(1));
+            assertThat(stale.getLastName()).isEqualTo(DEFAULT_LAST_NAME);
+            assertThat(stale.getVersion()).isEqualTo(employees.get(1).getVersion());
+        } finally {
+            employeeRepository.deleteAllById(employees.stream().map(Employee::getId).toList());
+        }
+    }
+
+    @Test
+    void bulkDeleteEmployees() throws Exception {
+        List<Employee> employees = employeeRepository.saveAllAndFlush(List.of(createEntity(em), createEntity(em), createEntity(em)));
+        long databaseSizeBeforeDelete = getRepositoryCount();
+        Long firstId = employees.get(0).getId();
+        Long secondId = employees.get(1).getId();
+
+        try {
+            restEmployeeMockMvc
+                .perform(
+                    delete(ENTITY_API_URL + "/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsBytes(List.of(firstId, Long.MAX_VALUE, secondId)))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].status").value(contains(204, 404, 204)))
+                .andExpect(jsonPath("$.[*].id").value(contains(firstId.intValue(), Long.MAX_VALUE, secondId.intValue())));
+
+            assertThat(getRepositoryCount()).isEqualTo(databaseSizeBeforeDelete - 2);
+            assertThat(employeeRepository.existsById(employees.get(2).getId())).isTrue();
+        } finally {
+            employeeRepository.deleteById(employees.get(2).getId());
+        }
+    }
+
     protected long getRepositoryCount() {
         return employeeRepository.count();
     }
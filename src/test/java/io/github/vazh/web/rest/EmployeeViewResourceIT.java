@@ -0,0 +1,161 @@
+package io.github.vazh.web.rest;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import io.github.vazh.IntegrationTest;
+import io.github.vazh.domain.Department;
+import io.github.vazh.domain.Employee;
+import io.github.vazh.domain.Job;
+import io.github.vazh.repository.DepartmentRepository;
+import io.github.vazh.repository.EmployeeRepository;
+import io.github.vazh.repository.JobRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link EmployeeViewResource} REST controller, and the refresh of the read model by the
+ * Hibernate events of its source entities.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+@Transactional
+class EmployeeViewResourceIT {
+
+    private static final String ENTITY_API_URL = "/api/employee-views";
+
+    private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restEmployeeViewMockMvc;
+
+    private Department department;
+
+    private Employee manager;
+
+    private Employee employee;
+
+    @BeforeEach
+    void initTest() {
+        department = departmentRepository.saveAndFlush(new Department().departmentName("Research"));
+        manager = employeeRepository.saveAndFlush(EmployeeResourceIT.createEntity(em).firstName("Grace").lastName("Hopper"));
+        employee = employeeRepository.saveAndFlush(
+            EmployeeResourceIT.createEntity(em).firstName("Alan").lastName("Turing").manager(manager).department(department)
+        );
+        jobRepository.saveAndFlush(JobResourceIT.createEntity(em).jobTitle("Analyst").employee(employee));
+        jobRepository.saveAndFlush(JobResourceIT.createEntity(em).jobTitle("Cryptanalyst").employee(employee));
+    }
+
+    @Test
+    void getEmployeeView() throws Exception {
+        restEmployeeViewMockMvc
+            .perform(get(ENTITY_API_URL_ID, employee.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.id").value(employee.getId().intValue()))
+            .andExpect(jsonPath("$.version").value(employee.getVersion().intValue()))
+            .andExpect(jsonPath("$.firstName").value("Alan"))
+            .andExpect(jsonPath("$.lastName").value("Turing"))
+            .andExpect(jsonPath("$.managerId").value(manager.getId().intValue()))
+            .andExpect(jsonPath("$.managerFirstName").value("Grace"))
+            .andExpect(jsonPath("$.managerLastName").value("Hopper"))
+            .andExpect(jsonPath("$.departmentId").value(department.getId().intValue()))
+            .andExpect(jsonPath("$.departmentName").value("Research"))
+            .andExpect(jsonPath("$.jobTitle").value("Cryptanalyst"));
+    }
+
+    @Test
+    void getNonExistingEmployeeView() throws Exception {
+        restEmployeeViewMockMvc.perform(get(ENTITY_API_URL_ID, Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getAllEmployeeViewsByCriteria() throws Exception {
+        restEmployeeViewMockMvc
+            .perform(get(ENTITY_API_URL + "?departmentName.contains=esearc&managerLastName.equals=Hopper&sort=id,asc"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "1"))
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$.[0].id").value(employee.getId().intValue()))
+            .andExpect(jsonPath("$.[0].jobTitle").value("Cryptanalyst"));
+
+        restEmployeeViewMockMvc
+            .perform(get(ENTITY_API_URL + "/count?departmentId.equals=" + department.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().string("1"));
+    }
+
+    @Test
+    void employeeViewFollowsTheChangesOfTheDepartmentAndTheManager() throws Exception {
+        department.setDepartmentName("Computing");
+        departmentRepository.saveAndFlush(department);
+        manager.setLastName("Hopper-Murray");
+        employeeRepository.saveAndFlush(manager);
+
+        restEmployeeViewMockMvc
+            .perform(get(ENTITY_API_URL_ID, employee.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.departmentName").value("Computing"))
+            .andExpect(jsonPath("$.managerLastName").value("Hopper-Murray"));
+    }
+
+    @Test
+    void employeeViewFollowsTheChangesNotFlushedYet() throws Exception {
+        employee.setPhoneNumber("+44 20 7946 0000");
+        department.setDepartmentName("Computing");
+
+        restEmployeeViewMockMvc
+            .perform(get(ENTITY_API_URL + "?id.equals=" + employee.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].phoneNumber").value("+44 20 7946 0000"))
+            .andExpect(jsonPath("$.[0].departmentName").value("Computing"));
+    }
+
+    @Test
+    void employeeViewFollowsTheJobsAndTheDeletes() throws Exception {
+        Job job = jobRepository.saveAndFlush(JobResourceIT.createEntity(em).jobTitle("Professor").employee(employee));
+
+        restEmployeeViewMockMvc
+            .perform(get(ENTITY_API_URL_ID, employee.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.jobId").value(job.getId().intValue()))
+            .andExpect(jsonPath("$.jobTitle").value("Professor"));
+
+        jobRepository.delete(job);
+        jobRepository.flush();
+
+        restEmployeeViewMockMvc
+            .perform(get(ENTITY_API_URL_ID, employee.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.jobTitle").value("Cryptanalyst"));
+
+        Employee intern = employeeRepository.saveAndFlush(EmployeeResourceIT.createEntity(em).department(department));
+        restEmployeeViewMockMvc.perform(get(ENTITY_API_URL_ID, intern.getId())).andExpect(status().isOk());
+
+        employeeRepository.delete(intern);
+        employeeRepository.flush();
+
+        restEmployeeViewMockMvc.perform(get(ENTITY_API_URL_ID, intern.getId())).andExpect(status().isNotFound());
+    }
+}
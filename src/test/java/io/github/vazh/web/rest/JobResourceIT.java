@@ -15,11 +15,14 @@ import io.github.vazh.domain.Job;
 import io.github.vazh.domain.Task;
 import io.github.vazh.repository.JobRepository;
 import io.github.vazh.service.JobService;
+import io.github.vazh.service.dto.EmployeeDTO;
 import io.github.vazh.service.dto.JobDTO;
+import io.github.vazh.service.dto.TaskDTO;
 import io.github.vazh.service.mapper.JobMapper;
 import jakarta.persistence.EntityManager;
 import java.util.ArrayList;
 import java.util.Random;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -164,6 +167,64 @@ class JobResourceIT {
         assertSameRepositoryCount(databaseSizeBeforeCreate);
     }
 
+    @Test
+    @Transactional
+    void createAndUpdateJobWithIdOnlyReferences() throws Exception {
+        Employee employee = EmployeeResourceIT.createEntity(em);
+        em.persist(employee);
+        Task task = TaskResourceIT.createEntity(em);
+        em.persist(task);
+        em.flush();
+
+        // The references only hold an id, as sent by the client
+        EmployeeDTO employeeDTO = new EmployeeDTO();
+        employeeDTO.setId(employee.getId());
+        TaskDTO taskDTO = new TaskDTO();
+        taskDTO.setId(task.getId());
+        JobDTO jobDTO = jobMapper.toDto(job);
+        jobDTO.setEmployee(employeeDTO);
+        jobDTO.setTasks(Set.of(taskDTO));
+        JobDTO returnedJobDTO = om.readValue(
+            restJobMockMvc
+                .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(jobDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.employee.id").value(employee.getId().intValue()))
+                .andExpect(jsonPath("$.tasks.[0].id").value(task.getId().intValue()))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            JobDTO.class
+        );
+        insertedJob = jobRepository.findById(returnedJobDTO.getId()).orElseThrow();
+
+        returnedJobDTO.setJobTitle(UPDATED_JOB_TITLE);
+        restJobMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, returnedJobDTO.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(returnedJobDTO))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.employee.id").value(employee.getId().intValue()))
+            .andExpect(jsonPath("$.tasks.[0].id").value(task.getId().intValue()));
+
+        JobDTO partialJobDTO = new JobDTO();
+        partialJobDTO.setId(returnedJobDTO.getId());
+        partialJobDTO.setEmployee(employeeDTO);
+        partialJobDTO.setTasks(Set.of(taskDTO));
+        restJobMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, partialJobDTO.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(partialJobDTO))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.jobTitle").value(UPDATED_JOB_TITLE))
+            .andExpect(jsonPath("$.employee.id").value(employee.getId().intValue()))
+            .andExpect(jsonPath("$.tasks.[0].id").value(task.getId().intValue()));
+        assertThat(getPersistedJob(insertedJob).getTasks()).extracting(Task::getId).containsExactly(task.getId());
+    }
+
     @Test
     @Transactional
     void getAllJobs() throws Exception {
@@ -0,0 +1,100 @@
+package io.github.vazh.web.rest;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import io.github.vazh.IntegrationTest;
+import io.github.vazh.domain.Employee;
+import io.github.vazh.repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link SearchResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+@Transactional
+class SearchResourceIT {
+
+    private static final String SEARCH_API_URL = "/api/_search/{entity}";
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restSearchMockMvc;
+
+    private Employee byName;
+
+    private Employee byEmail;
+
+    @BeforeEach
+    void initTest() {
+        byName = employeeRepository.saveAndFlush(
+            EmployeeResourceIT.createEntity(em).firstName("Grace").lastName("Hopperfield").email("admiral@example.com")
+        );
+        byEmail = employeeRepository.saveAndFlush(
+            EmployeeResourceIT.createEntity(em).firstName("Alan").lastName("Turing").email("hopperfield.fan@example.com")
+        );
+    }
+
+    @Test
+    void searchRanksANameMatchAboveAnEmailMatch() throws Exception {
+        restSearchMockMvc
+            .perform(get(SEARCH_API_URL, "employees").param("q", "hopper"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().string("X-Total-Count", "2"))
+            .andExpect(jsonPath("$.[*].id").value(contains(byName.getId().intValue(), byEmail.getId().intValue())));
+    }
+
+    @Test
+    void searchMatchesAllTheWords() throws Exception {
+        restSearchMockMvc
+            .perform(get(SEARCH_API_URL, "employees").param("q", "Grace HOPPER"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$.[0].id").value(byName.getId().intValue()));
+    }
+
+    @Test
+    void searchWithoutMatch() throws Exception {
+        restSearchMockMvc
+            .perform(get(SEARCH_API_URL, "employees").param("q", "Lovelace"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "0"))
+            .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void searchOperatorsAreIgnored() throws Exception {
+        restSearchMockMvc
+            .perform(get(SEARCH_API_URL, "employees").param("q", "grace & !(:*"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void searchAnUnknownEntity() throws Exception {
+        restSearchMockMvc.perform(get(SEARCH_API_URL, "users").param("q", "admin")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void searchWithoutWords() throws Exception {
+        restSearchMockMvc.perform(get(SEARCH_API_URL, "employees").param("q", " ")).andExpect(status().isBadRequest());
+    }
+}
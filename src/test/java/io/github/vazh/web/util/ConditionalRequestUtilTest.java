@@ -0,0 +1,139 @@
+package io.github.vazh.web.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.vazh.domain.Region;
+import io.github.vazh.service.dto.RegionDTO;
+import io.github.vazh.web.rest.errors.BadRequestAlertException;
+import io.github.vazh.web.rest.errors.PreconditionFailedAlertException;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Test class for the {@link ConditionalRequestUtil} utility class.
+ */
+class ConditionalRequestUtilTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void eTagFollowsTheContentTest() {
+        String eTag = ConditionalRequestUtil.eTag(objectMapper, region(1L, "Europe"));
+
+        assertThat(eTag).startsWith("\"").endsWith("\"");
+        assertThat(ConditionalRequestUtil.eTag(objectMapper, region(1L, "Europe"))).isEqualTo(eTag);
+        assertThat(ConditionalRequestUtil.eTag(objectMapper, region(1L, "Asia"))).isNotEqualTo(eTag);
+        assertThat(ConditionalRequestUtil.eTag(objectMapper, List.of(region(1L, "Europe")))).isNotEqualTo(eTag);
+    }
+
+    @Test
+    void versionETagTest() {
+        RegionDTO region = region(1L, "Europe");
+        region.setVersion(3L);
+
+        assertThat(ConditionalRequestUtil.eTag(3L)).isEqualTo("\"3\"");
+        assertThat(ConditionalRequestUtil.wrapOrNotFound(Optional.of(region), RegionDTO::getVersion).getHeaders().getETag()).isEqualTo(
+            "\"3\""
+        );
+    }
+
+    @Test
+    void listETagFollowsTheIdsAndVersionsTest() {
+        RegionDTO first = region(1L, "Europe");
+        first.setVersion(0L);
+        RegionDTO second = region(2L, "Asia");
+        second.setVersion(0L);
+        String eTag = listETag(List.of(first, second));
+
+        first.setRegionName("Africa");
+        assertThat(listETag(List.of(first, second))).isEqualTo(eTag);
+        first.setVersion(1L);
+        assertThat(listETag(List.of(first, second))).isNotEqualTo(eTag);
+        assertThat(listETag(List.of(second, first))).isNotEqualTo(listETag(List.of(first, second)));
+    }
+
+    @Test
+    void wrapOrNotFoundTest() {
+        RegionDTO region = region(1L, "Europe");
+
+        ResponseEntity<RegionDTO> response = ConditionalRequestUtil.wrapOrNotFound(Optional.of(region), objectMapper);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isEqualTo(ConditionalRequestUtil.eTag(objectMapper, region));
+        assertThat(response.getBody()).isSameAs(region);
+        assertThatThrownBy(() -> ConditionalRequestUtil.wrapOrNotFound(Optional.empty(), objectMapper))
+            .isInstanceOf(ResponseStatusException.class)
+            .extracting(e -> ((ResponseStatusException) e).getStatusCode())
+            .isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void checkIfMatchTest() {
+        RegionDTO region = region(1L, "Europe");
+        String eTag = ConditionalRequestUtil.eTag(objectMapper, region);
+
+        assertThatNoException().isThrownBy(() -> checkIfMatch(null, Optional.empty()));
+        assertThatNoException().isThrownBy(() -> checkIfMatch("*", Optional.of(region)));
+        assertThatNoException().isThrownBy(() -> checkIfMatch("\"other\", " + eTag, Optional.of(region)));
+        assertThatThrownBy(() -> checkIfMatch("\"other\"", Optional.of(region))).isInstanceOf(PreconditionFailedAlertException.class);
+        assertThatThrownBy(() -> checkIfMatch("W/" + eTag, Optional.of(region))).isInstanceOf(PreconditionFailedAlertException.class);
+        assertThatThrownBy(() -> checkIfMatch("*", Optional.empty())).isInstanceOf(PreconditionFailedAlertException.class);
+    }
+
+    @Test
+    void expectedVersionTest() {
+        assertThat(ConditionalRequestUtil.expectedVersion(null, null, "region")).isNull();
+        assertThat(ConditionalRequestUtil.expectedVersion(null, 2L, "region")).isEqualTo(2L);
+        assertThat(ConditionalRequestUtil.expectedVersion("*", 2L, "region")).isEqualTo(2L);
+        assertThat(ConditionalRequestUtil.expectedVersion("\"3\"", null, "region")).isEqualTo(3L);
+        assertThat(ConditionalRequestUtil.expectedVersion("\"2\", \"3\"", 3L, "region")).isEqualTo(3L);
+        assertThatThrownBy(() -> ConditionalRequestUtil.expectedVersion("\"2\"", 3L, "region")).isInstanceOf(
+            PreconditionFailedAlertException.class
+        );
+        assertThatThrownBy(() -> ConditionalRequestUtil.expectedVersion("W/\"3\"", null, "region")).isInstanceOf(
+            PreconditionFailedAlertException.class
+        );
+        assertThatThrownBy(() -> ConditionalRequestUtil.expectedVersion("\"2\", \"3\"", null, "region")).isExactlyInstanceOf(
+            BadRequestAlertException.class
+        );
+    }
+
+    @Test
+    void conditionalUpdateTest() {
+        Supplier<Object> conflict = () -> {
+            throw new ObjectOptimisticLockingFailureException(Region.class, 1L);
+        };
+
+        assertThat(ConditionalRequestUtil.conditionalUpdate(null, () -> "updated", "region")).isEqualTo("updated");
+        assertThatThrownBy(() -> ConditionalRequestUtil.conditionalUpdate(null, conflict, "region")).isInstanceOf(
+            ObjectOptimisticLockingFailureException.class
+        );
+        assertThatThrownBy(() -> ConditionalRequestUtil.conditionalUpdate("\"0\"", conflict, "region")).isInstanceOf(
+            PreconditionFailedAlertException.class
+        );
+    }
+
+    private static String listETag(List<RegionDTO> regions) {
+        return ConditionalRequestUtil.eTag(regions, RegionDTO::getId, RegionDTO::getVersion);
+    }
+
+    private void checkIfMatch(String ifMatch, Optional<?> current) {
+        ConditionalRequestUtil.checkIfMatch(ifMatch, () -> current, objectMapper, "region");
+    }
+
+    private static RegionDTO region(Long id, String regionName) {
+        RegionDTO region = new RegionDTO();
+        region.setId(id);
+        region.setRegionName(regionName);
+        return region;
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.vazh.web.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.vazh.domain.Employee;
+import io.github.vazh.web.rest.errors.BadRequestAlertException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Test class for the {@link CursorPaginationUtil} utility class.
+ */
+class CursorPaginationUtilTest {
+
+    private static final String ENTITY_NAME = "employee";
+
+    @Test
+    void decodeEmptyCursorStartsFromTheBeginning() {
+        KeysetScrollPosition position = CursorPaginationUtil.decodeCursor("", Employee.class, Sort.unsorted(), ENTITY_NAME);
+        assertThat(position.isInitial()).isTrue();
+    }
+
+    @Test
+    void encodedCursorRoundTripsWithTypedKeys() {
+        Instant hireDate = Instant.parse("2024-06-26T18:08:03Z");
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("hireDate", hireDate);
+        keys.put("id", 1500L);
+
+        String cursor = CursorPaginationUtil.encodeCursor(ScrollPosition.forward(keys));
+        KeysetScrollPosition position = CursorPaginationUtil.decodeCursor(cursor, Employee.class, Sort.by("hireDate"), ENTITY_NAME);
+
+        assertThat(position.getKeys()).containsEntry("hireDate", hireDate).containsEntry("id", 1500L);
+        assertThat(position.scrollsForward()).isTrue();
+    }
+
+    @Test
+    void encodedCursorRoundTripsWithNestedAndNullKeys() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("manager.id", null);
+        keys.put("id", 1500L);
+
+        String cursor = CursorPaginationUtil.encodeCursor(ScrollPosition.forward(keys));
+        KeysetScrollPosition position = CursorPaginationUtil.decodeCursor(cursor, Employee.class, Sort.by("manager.id"), ENTITY_NAME);
+
+        assertThat(position.getKeys()).containsEntry("manager.id", null).containsEntry("id", 1500L);
+    }
+
+    @Test
+    void sortWhichCannotBeKeyedIsRejected() {
+        for (String property : List.of("manager", "jobs.id", "unknown")) {
+            assertThatThrownBy(() -> CursorPaginationUtil.decodeCursor("", Employee.class, Sort.by(property), ENTITY_NAME))
+                .isInstanceOf(BadRequestAlertException.class)
+                .hasFieldOrPropertyWithValue("errorKey", "cursorsortmismatch");
+        }
+    }
+
+    @Test
+    void cursorNotMatchingSortIsRejected() {
+        String cursor = CursorPaginationUtil.encodeCursor(ScrollPosition.forward(Map.of("id", 1L)));
+
+        assertThatThrownBy(() -> CursorPaginationUtil.decodeCursor(cursor, Employee.class, Sort.by("lastName"), ENTITY_NAME))
+            .isInstanceOf(BadRequestAlertException.class)
+            .hasFieldOrPropertyWithValue("errorKey", "cursorsortmismatch");
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThatThrownBy(() -> CursorPaginationUtil.decodeCursor("not-a-cursor", Employee.class, Sort.unsorted(), ENTITY_NAME))
+            .isInstanceOf(BadRequestAlertException.class)
+            .hasFieldOrPropertyWithValue("errorKey", "cursorinvalid");
+    }
+
+    @Test
+    void generateCursorHttpHeadersPointsToTheNextWindow() {
+        Window<String> window = Window.from(List.of("a", "b"), index -> ScrollPosition.forward(Map.of("id", (long) index)), true);
+
+        HttpHeaders headers = CursorPaginationUtil.generateCursorHttpHeaders(
+            UriComponentsBuilder.fromUriString("http://localhost/api/employees?size=2&after="),
+            window
+        );
+
+        String cursor = headers.getFirst(CursorPaginationUtil.HEADER_X_NEXT_CURSOR);
+        assertThat(cursor).isEqualTo(CursorPaginationUtil.encodeCursor(ScrollPosition.forward(Map.of("id", 1L))));
+        assertThat(headers.getFirst(HttpHeaders.LINK)).isEqualTo("<http://localhost/api/employees?size=2&after=" + cursor + ">; rel=\"next\"");
+    }
+
+    @Test
+    void generateCursorHttpHeadersIsEmptyOnTheLastWindow() {
+        Window<String> window = Window.from(List.of("a"), index -> ScrollPosition.forward(Map.of("id", (long) index)), false);
+
+        HttpHeaders headers = CursorPaginationUtil.generateCursorHttpHeaders(UriComponentsBuilder.fromUriString("http://localhost"), window);
+
+        assertThat(headers).isEmpty();
+    }
+}
@@ -0,0 +1,93 @@
+package io.github.vazh.web.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.vazh.service.dto.EmployeeDTO;
+import io.github.vazh.service.dto.JobDTO;
+import io.github.vazh.service.dto.TaskDTO;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Test class for the {@link ExportUtil} utility class.
+ */
+class ExportUtilTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void exportNdjsonTest() throws IOException {
+        ResponseEntity<StreamingResponseBody> response = export(ExportFormat.NDJSON, List.of(job(1L, "first"), job(2L, "second")));
+
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION)).isEqualTo("attachment; filename=\"jobs.ndjson\"");
+        List<String> lines = body(response).lines().toList();
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines.get(0), JobDTO.class).getJobTitle()).isEqualTo("first");
+        assertThat(objectMapper.readValue(lines.get(1), JobDTO.class).getJobTitle()).isEqualTo("second");
+        assertThat(body(response)).endsWith("}\n");
+    }
+
+    @Test
+    void exportEmptyNdjsonTest() throws IOException {
+        assertThat(body(export(ExportFormat.NDJSON, List.of()))).isEmpty();
+    }
+
+    @Test
+    void exportCsvTest() throws IOException {
+        JobDTO job = job(1L, "first");
+        job.setVersion(2L);
+        job.setMinSalary(100L);
+        EmployeeDTO employee = new EmployeeDTO();
+        employee.setId(7L);
+        job.setEmployee(employee);
+        TaskDTO task = new TaskDTO();
+        task.setId(3L);
+        job.setTasks(Set.of(task));
+
+        ResponseEntity<StreamingResponseBody> response = export(ExportFormat.CSV, List.of(job));
+
+        assertThat(response.getHeaders().getContentType()).isEqualTo(new MediaType("text", "csv", StandardCharsets.UTF_8));
+        assertThat(body(response)).isEqualTo("id,version,jobTitle,minSalary,maxSalary,tasks,employee\r\n1,2,first,100,,3,7\r\n");
+    }
+
+    @Test
+    void exportCsvEscapingTest() throws IOException {
+        ResponseEntity<StreamingResponseBody> response = export(
+            ExportFormat.CSV,
+            List.of(job(1L, "a, \"quoted\"\nvalue"), job(2L, "=SUM(A1:A2)"))
+        );
+
+        assertThat(body(response).split("\r\n")).containsExactly(
+            "id,version,jobTitle,minSalary,maxSalary,tasks,employee",
+            "1,,\"a, \"\"quoted\"\"\nvalue\",,,,",
+            "2,,'=SUM(A1:A2),,,,"
+        );
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(ExportFormat format, List<JobDTO> jobs) {
+        return ExportUtil.exportResponse("jobs", format, objectMapper, JobDTO.class, consumer -> jobs.forEach(consumer));
+    }
+
+    private static String body(ResponseEntity<StreamingResponseBody> response) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static JobDTO job(Long id, String jobTitle) {
+        JobDTO job = new JobDTO();
+        job.setId(id);
+        job.setJobTitle(jobTitle);
+        return job;
+    }
+}
@@ -0,0 +1,48 @@
+package io.github.vazh.web.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Test class for the {@link SlicePaginationUtil} utility class.
+ */
+class SlicePaginationUtilTest {
+
+    private static final String BASE_URL = "/api/_search/example";
+
+    @Test
+    void generateSliceHttpHeadersTest() {
+        UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUriString(BASE_URL);
+        Slice<String> slice = new SliceImpl<>(List.of("a", "b"), PageRequest.of(3, 2), true);
+
+        HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(uriBuilder, slice);
+
+        assertThat(headers.get(HttpHeaders.LINK)).containsExactly(
+            "<" +
+            BASE_URL +
+            "?page=4&size=2>; rel=\"next\",<" +
+            BASE_URL +
+            "?page=2&size=2>; rel=\"prev\",<" +
+            BASE_URL +
+            "?page=0&size=2>; rel=\"first\""
+        );
+        assertThat(headers.containsKey("X-Total-Count")).isFalse();
+    }
+
+    @Test
+    void generateSliceHttpHeadersOnLastSliceTest() {
+        UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUriString(BASE_URL);
+        Slice<String> slice = new SliceImpl<>(List.of("a"), PageRequest.of(0, 2), false);
+
+        HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(uriBuilder, slice);
+
+        assertThat(headers.get(HttpHeaders.LINK)).containsExactly("<" + BASE_URL + "?page=0&size=2>; rel=\"first\"");
+    }
+}
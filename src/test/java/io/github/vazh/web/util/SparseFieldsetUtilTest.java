@@ -0,0 +1,72 @@
+package io.github.vazh.web.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.vazh.service.dto.DepartmentDTO;
+import io.github.vazh.service.dto.EmployeeDTO;
+import io.github.vazh.web.rest.errors.BadRequestAlertException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link SparseFieldsetUtil} utility class.
+ */
+class SparseFieldsetUtilTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .addMixIn(EmployeeDTO.class, SparseFieldsetUtil.FilteredMixIn.class)
+        .addMixIn(DepartmentDTO.class, SparseFieldsetUtil.FilteredMixIn.class)
+        .setFilterProvider(SparseFieldsetUtil.ALL_FIELDS);
+
+    @Test
+    void parseFieldsTest() {
+        assertThat(SparseFieldsetUtil.parseFields(null)).isNull();
+        assertThat(SparseFieldsetUtil.parseFields(" firstName, ,lastName")).containsExactlyInAnyOrder("id", "firstName", "lastName");
+        assertThat(SparseFieldsetUtil.parseFields("", EmployeeDTO.class, "employee")).containsExactly("id");
+        assertThat(SparseFieldsetUtil.parseFields("manager,version", EmployeeDTO.class, "employee")).containsExactlyInAnyOrder(
+            "id",
+            "manager",
+            "version"
+        );
+        assertThatThrownBy(() -> SparseFieldsetUtil.parseFields("firstName,class", EmployeeDTO.class, "employee")).isInstanceOf(
+            BadRequestAlertException.class
+        );
+    }
+
+    @Test
+    void allFieldsAreWrittenByDefaultTest() throws Exception {
+        String json = objectMapper.writeValueAsString(employee());
+
+        assertThat(json).contains("\"firstName\":\"John\"", "\"lastName\":\"Doe\"", "\"email\":\"john@localhost\"");
+    }
+
+    @Test
+    void onlyTheFieldsOfTopLevelDtosAreWrittenTest() throws Exception {
+        Set<String> fields = SparseFieldsetUtil.parseFields("lastName,department");
+        String json = objectMapper.writer(SparseFieldsetUtil.filters(fields)).writeValueAsString(employee());
+        String listJson = objectMapper.writer(SparseFieldsetUtil.filters(fields)).writeValueAsString(List.of(employee()));
+
+        JsonNode employee = objectMapper.readTree(json);
+        assertThat(employee.properties()).extracting(Map.Entry::getKey).containsExactly("id", "lastName", "department");
+        assertThat(employee.get("department").get("departmentName").asText()).isEqualTo("Sales");
+        assertThat(objectMapper.readTree(listJson)).containsExactly(employee);
+    }
+
+    private static EmployeeDTO employee() {
+        DepartmentDTO department = new DepartmentDTO();
+        department.setId(2L);
+        department.setDepartmentName("Sales");
+        EmployeeDTO employee = new EmployeeDTO();
+        employee.setId(1L);
+        employee.setFirstName("John");
+        employee.setLastName("Doe");
+        employee.setEmail("john@localhost");
+        employee.setDepartment(department);
+        return employee;
+    }
+}